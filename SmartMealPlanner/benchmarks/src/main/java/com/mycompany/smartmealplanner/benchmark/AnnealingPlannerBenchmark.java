@@ -0,0 +1,65 @@
+package com.mycompany.smartmealplanner.benchmark;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.AnnealingPlanner;
+import com.mycompany.smartmealplanner.service.AnnealingPlanner.AnnealedPlan;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.Planner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost and quality of seeded annealing restarts.
+ *
+ * Every call plans with a new seed, as a user-facing service would. The
+ * "planScore" secondary result is the PlanScorer score of the last plan
+ * (lower is better) for comparison with BeamPlannerBenchmark and the
+ * anytime planner; restarts run on all available cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class AnnealingPlannerBenchmark {
+
+    @Param({"1000", "100000"})
+    public int librarySize;
+
+    @Param({"7", "30"})
+    public int days;
+
+    @Param({"5000", "20000"})
+    public int iterations;
+
+    private AnnealingPlanner annealer;
+    private MealTypeIndex index;
+    private Macro target;
+    private long seed;
+
+    /**
+     * Plan quality reported next to the timing
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Quality {
+        public double planScore;   // Score of the last plan built
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        annealer = new AnnealingPlanner(new Planner());
+        annealer.setIterations(iterations);
+        index = MealTypeIndex.of(SyntheticRecipes.library(librarySize));
+        target = new Macro(2200, 120, 250, 70);
+    }
+
+    @Benchmark
+    public PlanDay[] buildPlan(Quality quality) {
+        AnnealedPlan result = annealer.buildPlan(days, target, index, seed++);
+        quality.planScore = result.getScore();
+        return result.getPlan();
+    }
+}
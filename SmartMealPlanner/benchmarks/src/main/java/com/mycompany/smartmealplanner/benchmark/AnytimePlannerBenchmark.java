@@ -0,0 +1,71 @@
+package com.mycompany.smartmealplanner.benchmark;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.AnytimePlanner.AnytimePlan;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.Planner;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of the anytime planner under concurrent load.
+ *
+ * Four threads plan against one shared library with a fixed budget; the
+ * sample-time percentiles show whether the budget holds as a latency
+ * bound. The "planScore" and "converged" secondary results show what the
+ * budget buys: the PlanScorer score reached and how many calls stopped
+ * at a local optimum rather than the deadline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class AnytimePlannerBenchmark {
+
+    @Param({"1000", "100000"})
+    public int librarySize;
+
+    @Param({"7", "90"})
+    public int days;
+
+    @Param({"5", "20"})
+    public int budgetMillis;
+
+    private Planner planner;
+    private MealTypeIndex index;
+    private Macro target;
+    private Duration budget;
+
+    /**
+     * Plan quality reported next to the timing
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Quality {
+        public double planScore;   // Score of the last plan built
+        public long converged;     // Calls that converged before the deadline
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        planner = new Planner();
+        index = MealTypeIndex.of(SyntheticRecipes.library(librarySize));
+        target = new Macro(2200, 120, 250, 70);
+        budget = Duration.ofMillis(budgetMillis);
+    }
+
+    @Benchmark
+    public PlanDay[] planWithin(Quality quality) {
+        AnytimePlan result = planner.planWithin(days, target, index, budget);
+        quality.planScore = result.getScore();
+        if (result.isConverged()) {
+            quality.converged++;
+        }
+        return result.getPlan();
+    }
+}
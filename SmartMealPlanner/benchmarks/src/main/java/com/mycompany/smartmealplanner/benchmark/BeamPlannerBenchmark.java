@@ -0,0 +1,69 @@
+package com.mycompany.smartmealplanner.benchmark;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.BeamPlanner;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.PlanScorer;
+import com.mycompany.smartmealplanner.service.Planner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quality/latency curve of the beam planner against the greedy planner.
+ *
+ * beamWidth 0 runs the existing greedy Planner.buildPlan; any other value
+ * runs BeamPlanner with that width. Latency is the primary result; the
+ * "planScore" secondary result is the PlanScorer score of the plan built
+ * (lower is better), so one run shows what each extra unit of width buys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BeamPlannerBenchmark {
+
+    @Param({"25", "1000", "100000"})
+    public int librarySize;
+
+    @Param({"7", "30"})
+    public int days;
+
+    @Param({"0", "1", "4", "16", "64"})
+    public int beamWidth;
+
+    private Planner planner;
+    private BeamPlanner beam;
+    private PlanScorer scorer;
+    private MealTypeIndex index;
+    private Macro target;
+
+    /**
+     * Plan quality reported next to the timing
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Quality {
+        public double planScore;   // Score of the last plan built (every call builds the same plan)
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        planner = new Planner();
+        scorer = new PlanScorer();
+        index = MealTypeIndex.of(SyntheticRecipes.library(librarySize));
+        target = new Macro(2200, 120, 250, 70);
+        beam = (beamWidth > 0) ? new BeamPlanner(planner, beamWidth, scorer) : null;
+    }
+
+    @Benchmark
+    public PlanDay[] buildPlan(Quality quality) {
+        PlanDay[] plan = (beam != null)
+                ? beam.buildPlan(days, target, index).getPlan()
+                : planner.buildPlan(days, target, index);
+        quality.planScore = scorer.score(plan, target);
+        return plan;
+    }
+}
@@ -0,0 +1,31 @@
+package com.mycompany.smartmealplanner.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark entry point that always attaches the GC profiler.
+ *
+ * Accepts the usual JMH command line (include patterns, -p, -f, ...) and
+ * adds "-prof gc", so every run reports allocation rate (gc.alloc.rate.norm)
+ * next to throughput and latency. Keep the output of a run as the baseline
+ * for later planner changes.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+
+        Options opts = new OptionsBuilder()
+                .parent(cmd)
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(opts).run();
+    }
+}
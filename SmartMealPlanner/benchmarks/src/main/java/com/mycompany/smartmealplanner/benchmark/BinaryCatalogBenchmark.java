@@ -0,0 +1,85 @@
+package com.mycompany.smartmealplanner.benchmark;
+
+import com.mycompany.smartmealplanner.data.BinaryCatalog;
+import com.mycompany.smartmealplanner.data.RecipeCatalog;
+import com.mycompany.smartmealplanner.data.RecipeCsv;
+import com.mycompany.smartmealplanner.model.Macro;
+import com.mycompany.smartmealplanner.model.PlanDay;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.Planner;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup cost of a recipe catalog: CSV text against the mapped binary file.
+ *
+ * The setup writes the same synthetic library both ways once. csvLoad
+ * parses the text; openAndScan maps the binary file and reads every
+ * recipe's macros from it; openAndPlan maps it, builds the planner's
+ * index from the mapped columns and plans a week, decoding only the
+ * recipes picked; toCatalog maps it and decodes every recipe. Each
+ * measurement is one whole startup (single shot).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BinaryCatalogBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private Path csv;
+    private Path binary;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        csv = Files.createTempFile("recipes", ".csv");
+        binary = Files.createTempFile("recipes", ".bin");
+        try (Writer out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            RecipeCsv.write(Arrays.asList(SyntheticRecipes.library(size)), out);
+        }
+        BinaryCatalog.convert(csv, binary);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(csv);
+        Files.deleteIfExists(binary);
+    }
+
+    @Benchmark
+    public RecipeCatalog csvLoad() throws IOException {
+        return RecipeCsv.load(csv);
+    }
+
+    @Benchmark
+    public double openAndScan() throws IOException {
+        BinaryCatalog catalog = BinaryCatalog.open(binary);
+        double sum = 0;
+        for (int row = 0; row < catalog.size(); row++) {
+            sum += catalog.getCalories(row) + catalog.getProtein(row) + catalog.getCarbs(row) + catalog.getFat(row);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public PlanDay[] openAndPlan() throws IOException {
+        MealTypeIndex index = MealTypeIndex.of(BinaryCatalog.open(binary));
+        return new Planner().buildPlan(7, new Macro(2200, 120, 250, 70), index);
+    }
+
+    @Benchmark
+    public RecipeCatalog toCatalog() throws IOException {
+        return BinaryCatalog.open(binary).toCatalog();
+    }
+}
@@ -0,0 +1,70 @@
+package com.mycompany.smartmealplanner.benchmark;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.CandidateSearch;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.Planner;
+import com.mycompany.smartmealplanner.service.RecipeMatrix;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full scan versus k-d tree search for one meal slot.
+ *
+ * Both return the same pick; the tree should grow sublinearly with the
+ * catalog. The tree is built during setup (first query), so the timed
+ * part is the search alone. Targets rotate through several users'
+ * lunches so the tree is not measured on a single lucky query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CandidateSearchBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int librarySize;
+
+    @Param({"SCAN", "KD_TREE"})
+    public CandidateSearch search;
+
+    private Planner planner;
+    private RecipeMatrix lunchSlot;
+    private Macro zero;
+    private Macro[] lunchTargets;
+    private Recipe prevLunch;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        planner = new Planner();
+        planner.setCandidateSearch(search);
+        Recipe[] library = SyntheticRecipes.library(librarySize);
+        lunchSlot = MealTypeIndex.of(library).slot(RecipeMatrix.LUNCH);
+        zero = new Macro(0, 0, 0, 0);
+        prevLunch = SyntheticRecipes.firstOfType(library, LunchRecipe.class);
+
+        Macro[] daily = {
+            new Macro(2200, 120, 250, 70),
+            new Macro(1600, 130, 140, 55),
+            new Macro(3254, 203, 366, 108),
+            new Macro(2700, 150, 330, 80)
+        };
+        lunchTargets = new Macro[daily.length];
+        for (int i = 0; i < daily.length; i++) {
+            lunchTargets[i] = daily[i].scale(0.40);
+        }
+
+        // Build the tree outside the measurement
+        planner.pickBest(zero, lunchTargets[0], lunchSlot, RecipeMatrix.ANY, prevLunch);
+    }
+
+    @Benchmark
+    public RecipeSelection pickBestLunch() {
+        Macro target = lunchTargets[next++ & 3];
+        return planner.pickBest(zero, target, lunchSlot, RecipeMatrix.ANY, prevLunch);
+    }
+}
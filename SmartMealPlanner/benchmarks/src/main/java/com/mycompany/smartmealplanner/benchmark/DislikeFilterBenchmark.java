@@ -0,0 +1,63 @@
+package com.mycompany.smartmealplanner.benchmark;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.DislikeIndex;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of working out which recipes a user's dislikes rule out.
+ *
+ * scanRecipes calls Recipe.matchesDislikes on every recipe, as a filter
+ * would without an index; compile uses the inverted index (dislikes seen
+ * before are cached, as they are for a long-running service); and
+ * filterIndex adds building the planner's filtered MealTypeIndex.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DislikeFilterBenchmark {
+
+    @Param({"1000", "100000"})
+    public int librarySize;
+
+    private static final String[] DISLIKES = { "chicken", "Egg", "olive oil", "mushroom" };
+
+    private Recipe[] library;
+    private DislikeIndex dislikes;
+    private MealTypeIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        library = SyntheticRecipes.library(librarySize);
+        dislikes = DislikeIndex.of(library);
+        index = MealTypeIndex.of(library);
+    }
+
+    @Benchmark
+    public BitSet scanRecipes() {
+        BitSet excluded = new BitSet(library.length);
+        for (int i = 0; i < library.length; i++) {
+            if (library[i].matchesDislikes(DISLIKES)) {
+                excluded.set(i);
+            }
+        }
+        return excluded;
+    }
+
+    @Benchmark
+    public BitSet compile() {
+        return dislikes.compile(DISLIKES);
+    }
+
+    @Benchmark
+    public MealTypeIndex filterIndex() {
+        return index.without(dislikes.compile(DISLIKES));
+    }
+}
@@ -0,0 +1,40 @@
+package com.mycompany.smartmealplanner.benchmark;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.Planner;
+import com.mycompany.smartmealplanner.service.ReportPrinter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of consolidating a plan's grocery list, as printGroceryList does:
+ * total the servings of each recipe, scale its ingredients, merge equal
+ * ingredients and categorise each distinct one. Run with -prof gc for
+ * bytes per list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class GroceryListBenchmark {
+
+    @Param({"7", "365"})
+    public int days;
+
+    private PlanDay[] plan;
+    private final ReportPrinter printer = new ReportPrinter();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        plan = new Planner().buildPlan(days, new Macro(2200, 120, 250, 70), SyntheticRecipes.library(1000));
+    }
+
+    @Benchmark
+    public List<GroceryItem> groceryItems() {
+        return printer.getGroceryItems(plan);
+    }
+}
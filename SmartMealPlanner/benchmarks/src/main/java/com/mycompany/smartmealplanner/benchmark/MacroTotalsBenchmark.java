@@ -0,0 +1,105 @@
+package com.mycompany.smartmealplanner.benchmark;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.Planner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation cost of totalling a plan's macros, as the reports do.
+ *
+ * macroChain sums every day the way PlanDay.getDailyMacros used to
+ * (new Macro plus three Macro.add calls, each meal through getMacros)
+ * and adds each day to a running Macro total; dailyMacros keeps the
+ * immutable API, now backed by an accumulator; accumulator reuses one
+ * MacroAccumulator for the whole plan. rescaledIngredients and
+ * scaledIngredients walk every meal's scaled ingredients, rescaling each
+ * recipe or reading the selection's cached view. Run with -prof gc and
+ * compare gc.alloc.rate.norm (bytes per plan).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class MacroTotalsBenchmark {
+
+    @Param({"7", "365"})
+    public int days;
+
+    private PlanDay[] plan;
+    private final MacroAccumulator total = new MacroAccumulator();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        plan = new Planner().buildPlan(days, new Macro(2200, 120, 250, 70), SyntheticRecipes.library(1000));
+    }
+
+    @Benchmark
+    public double macroChain() {
+        Macro sum = new Macro(0, 0, 0, 0);
+        for (PlanDay day : plan) {
+            Macro daily = new Macro();
+            daily = daily.add(day.getBreakfast().getMacros());
+            daily = daily.add(day.getLunch().getMacros());
+            daily = daily.add(day.getDinner().getMacros());
+            sum = sum.add(daily);
+        }
+        return sum.getCalories() + sum.getProtein() + sum.getCarbs() + sum.getFat();
+    }
+
+    @Benchmark
+    public double dailyMacros() {
+        Macro sum = new Macro(0, 0, 0, 0);
+        for (PlanDay day : plan) {
+            sum = sum.add(day.getDailyMacros());
+        }
+        return sum.getCalories() + sum.getProtein() + sum.getCarbs() + sum.getFat();
+    }
+
+    @Benchmark
+    public double accumulator() {
+        total.reset();
+        for (PlanDay day : plan) {
+            day.addDailyMacrosTo(total);
+        }
+        return total.getCalories() + total.getProtein() + total.getCarbs() + total.getFat();
+    }
+
+    @Benchmark
+    public double rescaledIngredients() {
+        double quantity = 0;
+        for (PlanDay day : plan) {
+            quantity += rescaled(day.getBreakfast()) + rescaled(day.getLunch()) + rescaled(day.getDinner());
+        }
+        return quantity;
+    }
+
+    @Benchmark
+    public double scaledIngredients() {
+        double quantity = 0;
+        for (PlanDay day : plan) {
+            quantity += scaled(day.getBreakfast()) + scaled(day.getLunch()) + scaled(day.getDinner());
+        }
+        return quantity;
+    }
+
+    private static double rescaled(RecipeSelection meal) {
+        double quantity = 0;
+        for (Ingredient ingredient : meal.getRecipe().ingredientsFor(meal.getServings())) {
+            quantity += ingredient.getQuantityPerServing();
+        }
+        return quantity;
+    }
+
+    private static double scaled(RecipeSelection meal) {
+        java.util.List<Ingredient> ingredients = meal.getScaledIngredients();
+        double quantity = 0;
+        for (int i = 0; i < ingredients.size(); i++) {
+            quantity += ingredients.get(i).getQuantityPerServing();
+        }
+        return quantity;
+    }
+}
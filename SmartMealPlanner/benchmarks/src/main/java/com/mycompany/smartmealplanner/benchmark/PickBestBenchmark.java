@@ -0,0 +1,84 @@
+package com.mycompany.smartmealplanner.benchmark;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.Planner;
+import com.mycompany.smartmealplanner.service.RecipeMatrix;
+import com.mycompany.smartmealplanner.service.ServingSolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-slot benchmark for Planner.pickBest.
+ *
+ * Isolates the greedy scan that buildPlan repeats three times per day,
+ * with a previous-day recipe set so the repeat penalty path runs too.
+ * The Recipe[] variant includes building the RecipeMatrix per call.
+ * topKLunchIndexed ranks the TOP_K best lunches in the same scan, to
+ * compare the cost of collecting swap alternatives with the single best.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PickBestBenchmark {
+
+    private static final int TOP_K = 10;
+
+    @Param({"25", "1000", "100000", "1000000"})
+    public int librarySize;
+
+    // Serving granularity and solver: enumeration cost grows as the step shrinks
+    @Param({"0.5", "0.1"})
+    public double servingStep;
+
+    @Param({"ENUMERATE", "CLOSED_FORM"})
+    public ServingSolver solver;
+
+    private Planner planner;
+    private Recipe[] library;
+    private RecipeMatrix matrix;
+    private RecipeMatrix lunchSlot;
+    private Macro zero;
+    private Macro lunchTarget;
+    private Recipe prevLunch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        planner = new Planner();
+        planner.setServingStep(servingStep);
+        planner.setServingSolver(solver);
+        library = SyntheticRecipes.library(librarySize);
+        matrix = RecipeMatrix.of(library);
+        lunchSlot = MealTypeIndex.of(library).slot(RecipeMatrix.LUNCH);
+        zero = new Macro(0, 0, 0, 0);
+        lunchTarget = new Macro(2200 * 0.40, 120 * 0.40, 250 * 0.40, 70 * 0.40);
+        prevLunch = SyntheticRecipes.firstOfType(library, LunchRecipe.class);
+    }
+
+    @Benchmark
+    public RecipeSelection pickBestLunch() {
+        return planner.pickBest(zero, lunchTarget, library, LunchRecipe.class, prevLunch);
+    }
+
+    // Columnar scan alone, without building the matrix on every call
+    @Benchmark
+    public RecipeSelection pickBestLunchMatrix() {
+        return planner.pickBest(zero, lunchTarget, matrix, RecipeMatrix.LUNCH, prevLunch);
+    }
+
+    // Lunch-only slice from the meal-type index (no per-row type filter)
+    @Benchmark
+    public RecipeSelection pickBestLunchIndexed() {
+        return planner.pickBest(zero, lunchTarget, lunchSlot, RecipeMatrix.ANY, prevLunch);
+    }
+
+    // Same slice, ranking the TOP_K best instead of keeping one
+    @Benchmark
+    public RankedSelection[] topKLunchIndexed() {
+        return planner.topK(lunchTarget, lunchSlot, RecipeMatrix.ANY, prevLunch, TOP_K);
+    }
+}
@@ -0,0 +1,45 @@
+package com.mycompany.smartmealplanner.benchmark;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.Planner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-plan benchmark for Planner.buildPlan.
+ *
+ * Sweeps library size (bundled 25 recipes up to 1M synthetic ones) against
+ * plan horizon. Large combinations take seconds per call, so narrow the
+ * sweep with -p when iterating, e.g. -p librarySize=100000 -p days=30.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PlannerBenchmark {
+
+    @Param({"25", "1000", "100000", "1000000"})
+    public int librarySize;
+
+    @Param({"3", "7", "30", "365"})
+    public int days;
+
+    private Planner planner;
+    private Recipe[] library;
+    private Macro target;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        planner = new Planner();
+        library = SyntheticRecipes.library(librarySize);
+        target = new Macro(2200, 120, 250, 70);
+    }
+
+    @Benchmark
+    public PlanDay[] buildPlan() {
+        return planner.buildPlan(days, target, library);
+    }
+}
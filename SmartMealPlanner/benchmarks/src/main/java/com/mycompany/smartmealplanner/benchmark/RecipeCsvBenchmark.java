@@ -0,0 +1,60 @@
+package com.mycompany.smartmealplanner.benchmark;
+
+import com.mycompany.smartmealplanner.data.RecipeCatalog;
+import com.mycompany.smartmealplanner.data.RecipeCsv;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to load an external recipe catalog from CSV.
+ *
+ * The setup writes a synthetic library of the given size to a temporary
+ * file once; load streams it into a RecipeCatalog and loadAndIndex also
+ * builds the planner's per-slot column index from it. Each measurement
+ * is one whole load (single shot). Run with -prof gc for allocation per
+ * load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RecipeCsvBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("recipes", ".csv");
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            RecipeCsv.write(Arrays.asList(SyntheticRecipes.library(size)), out);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public RecipeCatalog load() throws IOException {
+        return RecipeCsv.load(file);
+    }
+
+    @Benchmark
+    public MealTypeIndex loadAndIndex() throws IOException {
+        return MealTypeIndex.of(RecipeCsv.load(file).toArray());
+    }
+}
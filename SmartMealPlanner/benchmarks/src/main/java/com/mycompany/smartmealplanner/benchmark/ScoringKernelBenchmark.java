@@ -0,0 +1,60 @@
+package com.mycompany.smartmealplanner.benchmark;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.Planner;
+import com.mycompany.smartmealplanner.service.RecipeMatrix;
+import com.mycompany.smartmealplanner.service.ScoringKernel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scalar versus Vector API scoring for one enumerated lunch scan.
+ *
+ * Both kernels return the same pick; the vector kernel scores a block
+ * of recipes per serving step. The fork adds the incubator module so
+ * the VECTOR kernel can run; a -jvmArgsAppend given on the command line
+ * replaces these options, so it must repeat the add-modules option.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "--add-modules", "jdk.incubator.vector"})
+public class ScoringKernelBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int librarySize;
+
+    // Serving granularity: more steps per recipe means more work per loaded block
+    @Param({"0.5", "0.1"})
+    public double servingStep;
+
+    @Param({"SCALAR", "VECTOR"})
+    public ScoringKernel kernel;
+
+    private Planner planner;
+    private RecipeMatrix lunchSlot;
+    private Macro zero;
+    private Macro lunchTarget;
+    private Recipe prevLunch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        planner = new Planner();
+        planner.setServingStep(servingStep);
+        planner.setScoringKernel(kernel);
+        Recipe[] library = SyntheticRecipes.library(librarySize);
+        lunchSlot = MealTypeIndex.of(library).slot(RecipeMatrix.LUNCH);
+        zero = new Macro(0, 0, 0, 0);
+        lunchTarget = new Macro(2200 * 0.40, 120 * 0.40, 250 * 0.40, 70 * 0.40);
+        prevLunch = SyntheticRecipes.firstOfType(library, LunchRecipe.class);
+    }
+
+    @Benchmark
+    public RecipeSelection pickBestLunch() {
+        return planner.pickBest(zero, lunchTarget, lunchSlot, RecipeMatrix.ANY, prevLunch);
+    }
+}
@@ -0,0 +1,79 @@
+package com.mycompany.smartmealplanner.benchmark;
+
+import com.mycompany.smartmealplanner.data.RecipeLibrary;
+import com.mycompany.smartmealplanner.model.*;
+
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic recipe library generator for benchmarks.
+ *
+ * Produces libraries of any size by perturbing the macros of the bundled
+ * recipes, so candidate distributions look like the real catalog.
+ * Generation is seeded, so every fork benchmarks the same library.
+ */
+public final class SyntheticRecipes {
+
+    // Size that means "use the bundled RecipeLibrary as-is"
+    public static final int BUNDLED = 25;
+
+    private static final long SEED = 42L;
+
+    // Shared by every synthetic recipe - the planner never reads them
+    private static final String[] INSTRUCTIONS = { "Synthetic recipe" };
+
+    private SyntheticRecipes() {
+    }
+
+    /**
+     * Build a library with the requested number of recipes.
+     *
+     * @param size Number of recipes (25 returns the bundled library)
+     * @return Recipe library, meal types interleaved
+     */
+    public static Recipe[] library(int size) {
+        Recipe[] bundled = RecipeLibrary.getAll();
+        if (size == BUNDLED) {
+            return bundled;
+        }
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        Recipe[] lib = new Recipe[size];
+
+        for (int i = 0; i < size; i++) {
+            Recipe base = bundled[random.nextInt(bundled.length)];
+            double jitter = 0.6 + random.nextDouble() * 0.8; // 0.6x - 1.4x of the template
+
+            String name = base.getMealType() + " #" + i;
+            double kcal = Math.round(base.getCalories() * jitter);
+            double prot = Math.round(base.getProtein() * (0.6 + random.nextDouble() * 0.8));
+            double carb = Math.round(base.getCarbs() * (0.6 + random.nextDouble() * 0.8));
+            double fat = Math.round(base.getFat() * (0.6 + random.nextDouble() * 0.8));
+
+            lib[i] = switch (base.getMealType()) {
+                case "Breakfast" -> new BreakfastRecipe(name, base.getIngredients(), kcal, prot, carb, fat,
+                        INSTRUCTIONS, base.getPrepTime(), base.getCookTime(), base.getDifficulty());
+                case "Lunch" -> new LunchRecipe(name, base.getIngredients(), kcal, prot, carb, fat,
+                        INSTRUCTIONS, base.getPrepTime(), base.getCookTime(), base.getDifficulty());
+                default -> new DinnerRecipe(name, base.getIngredients(), kcal, prot, carb, fat,
+                        INSTRUCTIONS, base.getPrepTime(), base.getCookTime(), base.getDifficulty());
+            };
+            lib[i].assignId(i);   // Catalog ids, as RecipeLibrary gives its recipes
+        }
+
+        return lib;
+    }
+
+    /**
+     * First recipe of the given meal type, used as "yesterday's" choice
+     * so the repeat penalty path is exercised.
+     */
+    public static Recipe firstOfType(Recipe[] lib, Class<?> type) {
+        for (Recipe r : lib) {
+            if (type.isInstance(r)) {
+                return r;
+            }
+        }
+        return null;
+    }
+}
@@ -1,10 +1,9 @@
 
 package com.mycompany.smartmealplanner;
 
-import com.mycompany.smartmealplanner.data.RecipeLibrary;
+import com.mycompany.smartmealplanner.data.RecipeCatalog;
 import com.mycompany.smartmealplanner.model.Macro;
 import com.mycompany.smartmealplanner.model.PlanDay;
-import com.mycompany.smartmealplanner.model.Recipe;
 import com.mycompany.smartmealplanner.model.User;
 import com.mycompany.smartmealplanner.model.GroceryItem;
 import com.mycompany.smartmealplanner.service.InputHelper;
@@ -191,8 +190,9 @@ public class SmartMealPlanner {
                     System.out.println("Days set to: " + days);
                 }
                 case 3 -> {
-                    Recipe[] library = RecipeLibrary.getAll(); // LITE: 6 recipes total
-                    currentPlan = planner.buildPlan(days, target, library);
+                    // Current catalog snapshot; the plan keeps it even if the catalog is reloaded
+                    RecipeCatalog catalog = RecipeCatalog.get();
+                    currentPlan = planner.buildPlan(days, target, catalog);
                     
                     // Auto-save for logged-in users
                     if (currentUser != null) {
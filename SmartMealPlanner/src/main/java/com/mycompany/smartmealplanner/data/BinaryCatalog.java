@@ -0,0 +1,435 @@
+package com.mycompany.smartmealplanner.data;
+
+import com.mycompany.smartmealplanner.model.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recipe catalog in a compact binary file, opened by memory mapping.
+ *
+ * Opening a catalog maps the file and checks its structure: the header,
+ * every meal type code, the ingredient, step and string offsets, and
+ * every dictionary index, so a damaged file is refused up front instead
+ * of failing (or decoding the wrong thing) halfway through a plan. No
+ * recipe is decoded while opening. Macros, servings, times and meal
+ * types sit in fixed-width columns and are read straight from the
+ * mapped buffer: MealTypeIndex.of(catalog)
+ * builds the planner's slot columns from them without creating a single
+ * Recipe, and decodes only the recipes a plan picks. Names, ingredients
+ * and instructions are kept once each in a string dictionary and only
+ * decoded when a recipe is materialised (getRecipe, toCatalog); toCatalog
+ * decodes everything and is for callers that need every Recipe object.
+ *
+ * Layout (little-endian; double columns come first, so each is 8-byte aligned):
+ *   header     magic, version, recipe/string/ingredient/step counts, string bytes
+ *   double[n]  calories, protein, carbs, fat, servings     (one column each)
+ *   double[m]  ingredient quantities
+ *   int[n]     prep time, cook time, name, difficulty       (strings by dictionary index)
+ *   int[n+1]   first ingredient, first step of each recipe (recipe r owns [start[r], start[r+1]))
+ *   int[m]     ingredient names, ingredient units
+ *   int[s]     instruction steps
+ *   int[k+1]   string offsets into the UTF-8 bytes
+ *   byte[n]    meal type (MEAL_BREAKFAST / MEAL_LUNCH / MEAL_DINNER)
+ *   byte[]     UTF-8 string bytes
+ *
+ * Files are written by write (from any recipe list, e.g. the bundled
+ * RecipeCatalog) or convert (from a RecipeCsv file).
+ */
+public final class BinaryCatalog {
+
+    /* Oracle 2025
+       FileChannel.map (Java SE 21 & JDK 21)
+       Oracle Documentation
+       https://docs.oracle.com/en/java/javase/21/docs/api/java.base/java/nio/channels/FileChannel.html
+       Accessed 16 October 2026
+    */
+
+    // ===== FORMAT =====
+    private static final int MAGIC = 0x534D5043;   // "SMPC"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+
+    // Meal type codes, the same values as the planner's RecipeMatrix codes
+    public static final byte MEAL_BREAKFAST = 0;
+    public static final byte MEAL_LUNCH = 1;
+    public static final byte MEAL_DINNER = 2;
+
+    // ===== FIELDS =====
+    private final ByteBuffer buffer;   // Read-only view of the mapped file
+    private final Layout layout;
+    private final String[] strings;    // Decoded dictionary entries, filled on first use
+
+    private BinaryCatalog(ByteBuffer buffer, Layout layout) {
+        this.buffer = buffer;
+        this.layout = layout;
+        this.strings = new String[layout.strings];
+    }
+
+    /**
+     * Map a binary catalog file. The file must not be changed while the
+     * catalog is in use.
+     *
+     * @param file Catalog written by write or convert
+     * @return Catalog reading from the mapped file
+     * @throws IOException if the file cannot be mapped or is not a valid catalog
+     */
+    public static BinaryCatalog open(Path file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a recipe catalog file: " + file);
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);  // Stays valid after close
+        }
+        ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a recipe catalog file: " + file);
+        }
+        for (int at = 8; at < 28; at += 4) {
+            if (buffer.getInt(at) < 0) {
+                throw new IOException("Recipe catalog file is damaged: " + file);
+            }
+        }
+        Layout layout = new Layout(buffer.getInt(8), buffer.getInt(12), buffer.getInt(16),
+                buffer.getInt(20), buffer.getInt(24));
+        if (layout.end != buffer.capacity()) {
+            throw new IOException("Recipe catalog file is truncated or damaged: " + file);
+        }
+        validate(buffer, layout, file);
+        return new BinaryCatalog(buffer, layout);
+    }
+
+    // Every code, offset and dictionary index the readers trust, checked once
+    private static void validate(ByteBuffer buffer, Layout layout, Path file) throws IOException {
+        for (int row = 0; row < layout.recipes; row++) {
+            byte type = buffer.get(layout.mealType + row);
+            if (type < MEAL_BREAKFAST || type > MEAL_DINNER) {
+                throw new IOException("Recipe " + row + " has unknown meal type " + type + ": " + file);
+            }
+        }
+        checkOffsets(buffer, layout.ingredientStart, layout.recipes, layout.ingredients, "ingredient", file);
+        checkOffsets(buffer, layout.stepStart, layout.recipes, layout.steps, "step", file);
+        checkOffsets(buffer, layout.stringOffset, layout.strings, layout.stringBytes, "string", file);
+        checkIndexes(buffer, layout.name, layout.recipes, layout.strings, file);
+        checkIndexes(buffer, layout.difficulty, layout.recipes, layout.strings, file);
+        checkIndexes(buffer, layout.ingredientName, layout.ingredients, layout.strings, file);
+        checkIndexes(buffer, layout.ingredientUnit, layout.ingredients, layout.strings, file);
+        checkIndexes(buffer, layout.step, layout.steps, layout.strings, file);
+    }
+
+    // count + 1 offsets from 0 to total, never decreasing
+    private static void checkOffsets(ByteBuffer buffer, int at, int count, int total, String what, Path file)
+            throws IOException {
+        int previous = 0;
+        for (int k = 0; k <= count; k++) {
+            int offset = buffer.getInt(at + 4 * k);
+            if (offset < previous || offset > total || (k == 0 && offset != 0) || (k == count && offset != total)) {
+                throw new IOException("Recipe catalog file has a damaged " + what + " offset at " + k + ": " + file);
+            }
+            previous = offset;
+        }
+    }
+
+    // count dictionary indexes, each below the string count
+    private static void checkIndexes(ByteBuffer buffer, int at, int count, int strings, Path file) throws IOException {
+        for (int k = 0; k < count; k++) {
+            int index = buffer.getInt(at + 4 * k);
+            if (index < 0 || index >= strings) {
+                throw new IOException("Recipe catalog file has a damaged string index: " + file);
+            }
+        }
+    }
+
+    /**
+     * Write recipes to a binary catalog file, replacing any existing one.
+     * Recipes are stored in list order, which becomes their id order.
+     *
+     * @param recipes Recipes to store (breakfast, lunch and dinner recipes only)
+     * @param file Destination file
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if a recipe is not of a meal type
+     */
+    public static void write(List<Recipe> recipes, Path file) throws IOException {
+        // Intern every string once and count the variable-length sections
+        Map<String, Integer> index = new HashMap<>();
+        List<byte[]> dictionary = new java.util.ArrayList<>();
+        long stringBytes = 0;
+        int ingredientCount = 0;
+        int stepCount = 0;
+        for (Recipe r : recipes) {
+            mealCode(r);
+            stringBytes += intern(r.getName(), index, dictionary);
+            stringBytes += intern(r.getDifficulty(), index, dictionary);
+            for (Ingredient ingredient : r.getIngredientList()) {
+                stringBytes += intern(ingredient.getName(), index, dictionary);
+                stringBytes += intern(ingredient.getUnit(), index, dictionary);
+            }
+            for (String step : r.getInstructions()) {
+                stringBytes += intern(step, index, dictionary);
+            }
+            ingredientCount += r.getIngredientList().size();
+            stepCount += r.getInstructions().length;
+        }
+        if (stringBytes > Integer.MAX_VALUE) {
+            throw new IOException("Recipe catalog too large for one file");
+        }
+
+        Layout layout = new Layout(recipes.size(), dictionary.size(), ingredientCount, stepCount, (int) stringBytes);
+        if (layout.end > Integer.MAX_VALUE) {
+            throw new IOException("Recipe catalog too large for one file");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, layout.end);
+            ByteBuffer out = mapped.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+            out.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, layout.recipes).putInt(12, layout.strings)
+               .putInt(16, layout.ingredients).putInt(20, layout.steps).putInt(24, layout.stringBytes);
+
+            int ingredient = 0;
+            int step = 0;
+            for (int row = 0; row < recipes.size(); row++) {
+                Recipe r = recipes.get(row);
+                out.putDouble(layout.calories + 8 * row, r.getCalories());
+                out.putDouble(layout.protein + 8 * row, r.getProtein());
+                out.putDouble(layout.carbs + 8 * row, r.getCarbs());
+                out.putDouble(layout.fat + 8 * row, r.getFat());
+                out.putDouble(layout.servings + 8 * row, r.getBaseServings());
+                out.putInt(layout.prepTime + 4 * row, r.getPrepTime());
+                out.putInt(layout.cookTime + 4 * row, r.getCookTime());
+                out.putInt(layout.name + 4 * row, index.get(r.getName()));
+                out.putInt(layout.difficulty + 4 * row, index.get(r.getDifficulty()));
+                out.putInt(layout.ingredientStart + 4 * row, ingredient);
+                out.putInt(layout.stepStart + 4 * row, step);
+                out.put(layout.mealType + row, mealCode(r));
+
+                for (Ingredient i : r.getIngredientList()) {
+                    out.putDouble(layout.quantity + 8 * ingredient, i.getQuantityPerServing());
+                    out.putInt(layout.ingredientName + 4 * ingredient, index.get(i.getName()));
+                    out.putInt(layout.ingredientUnit + 4 * ingredient, index.get(i.getUnit()));
+                    ingredient++;
+                }
+                for (String s : r.getInstructions()) {
+                    out.putInt(layout.step + 4 * step, index.get(s));
+                    step++;
+                }
+            }
+            out.putInt(layout.ingredientStart + 4 * recipes.size(), ingredient);
+            out.putInt(layout.stepStart + 4 * recipes.size(), step);
+
+            int offset = 0;
+            for (int k = 0; k < dictionary.size(); k++) {
+                byte[] bytes = dictionary.get(k);
+                out.putInt(layout.stringOffset + 4 * k, offset);
+                out.put(layout.stringData + offset, bytes);
+                offset += bytes.length;
+            }
+            out.putInt(layout.stringOffset + 4 * dictionary.size(), offset);
+            mapped.force();
+        }
+    }
+
+    /**
+     * Convert a RecipeCsv text catalog into a binary catalog
+     * @param csv Text catalog to read
+     * @param file Binary catalog to write
+     * @throws IOException if either file cannot be read or written
+     * @throws IllegalArgumentException if a row of the text catalog is malformed
+     */
+    public static void convert(Path csv, Path file) throws IOException {
+        write(RecipeCsv.load(csv).getAll(), file);
+    }
+
+    // Dictionary index of a string, adding it on first sight; returns the bytes added
+    private static int intern(String s, Map<String, Integer> index, List<byte[]> dictionary) {
+        if (index.containsKey(s)) {
+            return 0;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        index.put(s, dictionary.size());
+        dictionary.add(bytes);
+        return bytes.length;
+    }
+
+    private static byte mealCode(Recipe r) {
+        if (r instanceof BreakfastRecipe) return MEAL_BREAKFAST;
+        if (r instanceof LunchRecipe) return MEAL_LUNCH;
+        if (r instanceof DinnerRecipe) return MEAL_DINNER;
+        throw new IllegalArgumentException("Not a meal recipe: " + r.getName());
+    }
+
+    // ===== COLUMNS (read from the mapped file) =====
+
+    /**
+     * Number of recipes in the catalog
+     */
+    public int size() {
+        return layout.recipes;
+    }
+
+    public double getCalories(int row) {
+        return buffer.getDouble(layout.calories + 8 * check(row));
+    }
+
+    public double getProtein(int row) {
+        return buffer.getDouble(layout.protein + 8 * check(row));
+    }
+
+    public double getCarbs(int row) {
+        return buffer.getDouble(layout.carbs + 8 * check(row));
+    }
+
+    public double getFat(int row) {
+        return buffer.getDouble(layout.fat + 8 * check(row));
+    }
+
+    public double getBaseServings(int row) {
+        return buffer.getDouble(layout.servings + 8 * check(row));
+    }
+
+    public int getPrepTime(int row) {
+        return buffer.getInt(layout.prepTime + 4 * check(row));
+    }
+
+    public int getCookTime(int row) {
+        return buffer.getInt(layout.cookTime + 4 * check(row));
+    }
+
+    /**
+     * Meal type of a recipe
+     * @param row Recipe id
+     * @return MEAL_BREAKFAST, MEAL_LUNCH or MEAL_DINNER
+     */
+    public byte getMealType(int row) {
+        return buffer.get(layout.mealType + check(row));
+    }
+
+    public String getName(int row) {
+        return string(buffer.getInt(layout.name + 4 * check(row)));
+    }
+
+    /**
+     * Decode one recipe from the file. Each call builds a new Recipe,
+     * with the given id, sharing decoded strings with earlier calls.
+     *
+     * @param row Recipe id
+     * @return New recipe with that id
+     */
+    public Recipe getRecipe(int row) {
+        check(row);
+        int firstIngredient = buffer.getInt(layout.ingredientStart + 4 * row);
+        int lastIngredient = buffer.getInt(layout.ingredientStart + 4 * (row + 1));
+        Ingredient[] ingredients = new Ingredient[lastIngredient - firstIngredient];
+        for (int i = 0; i < ingredients.length; i++) {
+            int k = firstIngredient + i;
+            ingredients[i] = new Ingredient(string(buffer.getInt(layout.ingredientName + 4 * k)),
+                    string(buffer.getInt(layout.ingredientUnit + 4 * k)),
+                    buffer.getDouble(layout.quantity + 8 * k));
+        }
+        int firstStep = buffer.getInt(layout.stepStart + 4 * row);
+        String[] instructions = new String[buffer.getInt(layout.stepStart + 4 * (row + 1)) - firstStep];
+        for (int s = 0; s < instructions.length; s++) {
+            instructions[s] = string(buffer.getInt(layout.step + 4 * (firstStep + s)));
+        }
+
+        String name = getName(row);
+        String difficulty = string(buffer.getInt(layout.difficulty + 4 * row));
+        Recipe recipe = switch (getMealType(row)) {
+            case MEAL_BREAKFAST -> new BreakfastRecipe(name, ingredients, getCalories(row), getProtein(row),
+                    getCarbs(row), getFat(row), getBaseServings(row), instructions,
+                    getPrepTime(row), getCookTime(row), difficulty);
+            case MEAL_LUNCH -> new LunchRecipe(name, ingredients, getCalories(row), getProtein(row),
+                    getCarbs(row), getFat(row), getBaseServings(row), instructions,
+                    getPrepTime(row), getCookTime(row), difficulty);
+            case MEAL_DINNER -> new DinnerRecipe(name, ingredients, getCalories(row), getProtein(row),
+                    getCarbs(row), getFat(row), getBaseServings(row), instructions,
+                    getPrepTime(row), getCookTime(row), difficulty);
+            default -> throw new IllegalStateException("Unknown meal type for recipe " + row);  // Refused by open
+        };
+        recipe.assignId(row);
+        return recipe;
+    }
+
+    /**
+     * Decode every recipe into a new catalog, e.g. for the planners that
+     * need Recipe objects
+     * @return Catalog of all recipes, ids in file order
+     */
+    public RecipeCatalog toCatalog() {
+        Recipe[] recipes = new Recipe[layout.recipes];
+        for (int row = 0; row < recipes.length; row++) {
+            recipes[row] = getRecipe(row);
+        }
+        return new RecipeCatalog(recipes);
+    }
+
+    // Decoded dictionary entry; a race only decodes the same string twice
+    private String string(int k) {
+        String s = strings[k];
+        if (s == null) {
+            int start = buffer.getInt(layout.stringOffset + 4 * k);
+            byte[] bytes = new byte[buffer.getInt(layout.stringOffset + 4 * (k + 1)) - start];
+            buffer.get(layout.stringData + start, bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+            strings[k] = s;
+        }
+        return s;
+    }
+
+    private int check(int row) {
+        return java.util.Objects.checkIndex(row, layout.recipes);
+    }
+
+    /**
+     * Byte offset of every section, derived from the header counts so the
+     * writer and reader always agree.
+     */
+    private static final class Layout {
+        final int recipes, strings, ingredients, steps, stringBytes;
+        final int calories, protein, carbs, fat, servings, quantity;
+        final int prepTime, cookTime, name, difficulty, ingredientStart, stepStart;
+        final int ingredientName, ingredientUnit, step, stringOffset;
+        final int mealType, stringData;
+        final long end;
+
+        Layout(int recipes, int strings, int ingredients, int steps, int stringBytes) {
+            this.recipes = recipes;
+            this.strings = strings;
+            this.ingredients = ingredients;
+            this.steps = steps;
+            this.stringBytes = stringBytes;
+
+            long at = HEADER_BYTES;
+            calories = (int) at;        at += 8L * recipes;
+            protein = (int) at;         at += 8L * recipes;
+            carbs = (int) at;           at += 8L * recipes;
+            fat = (int) at;             at += 8L * recipes;
+            servings = (int) at;        at += 8L * recipes;
+            quantity = (int) at;        at += 8L * ingredients;
+            prepTime = (int) at;        at += 4L * recipes;
+            cookTime = (int) at;        at += 4L * recipes;
+            name = (int) at;            at += 4L * recipes;
+            difficulty = (int) at;      at += 4L * recipes;
+            ingredientStart = (int) at; at += 4L * (recipes + 1);
+            stepStart = (int) at;       at += 4L * (recipes + 1);
+            ingredientName = (int) at;  at += 4L * ingredients;
+            ingredientUnit = (int) at;  at += 4L * ingredients;
+            step = (int) at;            at += 4L * steps;
+            stringOffset = (int) at;    at += 4L * (strings + 1);
+            mealType = (int) at;        at += recipes;
+            stringData = (int) at;      at += stringBytes;
+            this.end = at;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.mycompany.smartmealplanner.data;
+
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holder of the current recipe catalog snapshot, swappable at runtime.
+ *
+ * Readers call current() (or RecipeCatalog.get()), a single atomic read
+ * with no lock, and keep the snapshot they got for as long as they need
+ * it: a plan being built goes on using the recipes it started with even
+ * if a reload swaps in a new catalog halfway through. A reload builds
+ * the new catalog while readers carry on with the old one, then
+ * publishes it in one atomic step, so readers see either the old
+ * snapshot or the new one, never a mix. Reloads run one at a time, so
+ * versions are published in order.
+ *
+ * A reloaded catalog must keep the ids of the recipes it shares with the
+ * old one (add recipes at the end only), because saved plans refer to
+ * recipes by id. Loaders assign ids by row order, so a reordered or
+ * trimmed file would silently move saved plans onto other recipes; such
+ * a catalog is rejected and the current one stays in place.
+ *
+ * Metrics: reload count and duration, failed reloads, and the number of
+ * snapshots that were published and are still reachable (not yet
+ * garbage collected), which shows how long in-flight work holds on to
+ * old catalogs. Each reload is also recorded as a Flight Recorder event.
+ */
+public final class CatalogHolder {
+
+    /* Bloch, J. 2018
+       "Effective Java" - Item 83: Use lazy initialization judiciously
+       Addison-Wesley, 3rd Edition
+       ISBN: 978-0134685991
+       Accessed 16 October 2026
+    */
+
+    /**
+     * Something that loads a complete catalog, e.g.
+     * () -> RecipeCsv.load(path) or () -> BinaryCatalog.open(path).toCatalog()
+     */
+    @FunctionalInterface
+    public interface Source {
+        RecipeCatalog load() throws IOException;
+    }
+
+    private static final AtomicReference<RecipeCatalog> CURRENT = new AtomicReference<>();
+    private static final Object RELOAD_LOCK = new Object();
+
+    // ===== METRICS =====
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final AtomicInteger LIVE_SNAPSHOTS = new AtomicInteger();
+    private static final Set<RecipeCatalog> TRACKED = Collections.newSetFromMap(new WeakHashMap<>());
+    private static final LongAdder RELOADS = new LongAdder();
+    private static final LongAdder FAILED_RELOADS = new LongAdder();
+    private static final LongAdder RELOAD_NANOS = new LongAdder();
+    private static volatile long lastReloadNanos;
+
+    // The bundled catalog, built by the JVM on first use, exactly once
+    private static final class Bundled {
+        static final RecipeCatalog CATALOG = track(new RecipeCatalog(RecipeLibrary.build()));
+    }
+
+    private CatalogHolder() {
+    }
+
+    /**
+     * The current snapshot: the bundled recipes until a reload replaces them
+     * @return Current catalog (never null)
+     */
+    public static RecipeCatalog current() {
+        RecipeCatalog catalog = CURRENT.get();
+        if (catalog == null) {
+            CURRENT.compareAndSet(null, Bundled.CATALOG);   // Loses only to a reload, which is newer
+            catalog = CURRENT.get();
+        }
+        return catalog;
+    }
+
+    /**
+     * Load a new catalog and make it current. Readers keep working with
+     * the old snapshot while it loads; if loading fails the current
+     * snapshot stays in place.
+     *
+     * @param source Loader of the new catalog
+     * @return The new current snapshot
+     * @throws IOException if the source cannot be read (nothing is swapped)
+     * @throws IllegalArgumentException if the source is malformed or does
+     *         not keep the current recipes' ids (nothing is swapped)
+     */
+    public static RecipeCatalog reload(Source source) throws IOException {
+        synchronized (RELOAD_LOCK) {
+            CatalogReloadEvent event = new CatalogReloadEvent();
+            event.begin();
+            long start = System.nanoTime();
+            RecipeCatalog previous = current();
+            RecipeCatalog loaded;
+            try {
+                loaded = source.load();
+                if (loaded == null) {
+                    throw new IOException("Catalog source returned no catalog");
+                }
+                checkIdsKept(previous, loaded);
+            } catch (IOException | RuntimeException e) {
+                FAILED_RELOADS.increment();
+                event.end();
+                if (event.shouldCommit()) {
+                    event.succeeded = false;
+                    event.commit();
+                }
+                throw e;
+            }
+            replace(loaded);
+
+            long nanos = System.nanoTime() - start;
+            RELOADS.increment();
+            RELOAD_NANOS.add(nanos);
+            lastReloadNanos = nanos;
+            event.end();
+            if (event.shouldCommit()) {
+                event.succeeded = true;
+                event.previousVersion = previous.getVersion();
+                event.version = loaded.getVersion();
+                event.recipes = loaded.size();
+                event.liveSnapshots = LIVE_SNAPSHOTS.get();
+                event.commit();
+            }
+            return loaded;
+        }
+    }
+
+    /**
+     * Reload in the background
+     * @param source Loader of the new catalog
+     * @param executor Thread(s) to load on
+     * @return Future completed with the new snapshot, or exceptionally if loading failed
+     */
+    public static CompletableFuture<RecipeCatalog> reloadAsync(Source source, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return reload(source);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Make an already loaded catalog current
+     * @param catalog New snapshot (not null)
+     * @throws IllegalArgumentException if it does not keep the current recipes' ids
+     */
+    public static void replace(RecipeCatalog catalog) {
+        java.util.Objects.requireNonNull(catalog, "catalog");
+        synchronized (RELOAD_LOCK) {
+            checkIdsKept(current(), catalog);
+            CURRENT.set(track(catalog));
+        }
+    }
+
+    // Every id of the current catalog must name the same recipe in the new one
+    private static void checkIdsKept(RecipeCatalog previous, RecipeCatalog loaded) {
+        if (loaded.size() < previous.size()) {
+            throw new IllegalArgumentException("New catalog has " + loaded.size()
+                    + " recipes but the current one has " + previous.size()
+                    + "; recipes may only be added at the end");
+        }
+        for (int id = 0; id < previous.size(); id++) {
+            String was = previous.findById(id).getName();
+            String now = loaded.findById(id).getName();
+            if (!was.equals(now)) {
+                throw new IllegalArgumentException("Recipe id " + id + " was \"" + was
+                        + "\" but is \"" + now + "\" in the new catalog; saved plans would change recipe");
+            }
+        }
+    }
+
+    // Count a published snapshot (once) until it becomes unreachable
+    private static RecipeCatalog track(RecipeCatalog catalog) {
+        synchronized (TRACKED) {
+            if (!TRACKED.add(catalog)) {
+                return catalog;
+            }
+        }
+        LIVE_SNAPSHOTS.incrementAndGet();
+        CLEANER.register(catalog, LIVE_SNAPSHOTS::decrementAndGet);
+        return catalog;
+    }
+
+    // ===== GETTERS =====
+    public static long getReloadCount() {
+        return RELOADS.sum();
+    }
+
+    public static long getFailedReloadCount() {
+        return FAILED_RELOADS.sum();
+    }
+
+    /**
+     * Duration of the most recent successful reload
+     * @return Nanoseconds, 0 before the first reload
+     */
+    public static long getLastReloadNanos() {
+        return lastReloadNanos;
+    }
+
+    public static long getTotalReloadNanos() {
+        return RELOAD_NANOS.sum();
+    }
+
+    /**
+     * Published snapshots not yet garbage collected: the current one
+     * plus any old ones still held by in-flight work (or not yet
+     * collected). Falls as the collector reclaims old snapshots.
+     */
+    public static int getLiveSnapshots() {
+        return LIVE_SNAPSHOTS.get();
+    }
+}
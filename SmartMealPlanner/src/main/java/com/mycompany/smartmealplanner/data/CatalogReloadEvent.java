@@ -0,0 +1,40 @@
+package com.mycompany.smartmealplanner.data;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one CatalogHolder reload. Its duration is
+ * the time to load the new catalog and swap it in; the live snapshot
+ * count shows how many older catalogs in-flight work still holds.
+ */
+@Name(CatalogReloadEvent.NAME)
+@Label("Catalog Reload")
+@Category({ "Smart Meal Planner", "Catalog" })
+@Description("A recipe catalog loaded and swapped in by CatalogHolder")
+@StackTrace(false)
+final class CatalogReloadEvent extends Event {
+
+    static final String NAME = "smartmealplanner.CatalogReload";
+
+    @Label("Succeeded")
+    @Description("false if loading failed and the old catalog was kept")
+    boolean succeeded;
+
+    @Label("Previous Version")
+    long previousVersion;
+
+    @Label("Version")
+    long version;
+
+    @Label("Recipes")
+    int recipes;
+
+    @Label("Live Snapshots")
+    @Description("Published catalogs not yet garbage collected, including the new one")
+    int liveSnapshots;
+}
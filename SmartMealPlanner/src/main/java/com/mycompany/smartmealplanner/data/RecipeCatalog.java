@@ -0,0 +1,132 @@
+package com.mycompany.smartmealplanner.data;
+
+import com.mycompany.smartmealplanner.model.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An immutable snapshot of the recipe catalog, built once and shared.
+ *
+ * RecipeLibrary used to construct every recipe, ingredient and
+ * instruction array again on each call. The catalog builds them once,
+ * the first time anyone asks for it, and every planner, user load and
+ * thread then shares the same recipes. Recipes are immutable once built
+ * (their ingredients are read-only copies), so sharing them is safe.
+ *
+ * get() returns the current snapshot from CatalogHolder, which can swap
+ * in a newly loaded one at any time. Every snapshot has its own version,
+ * so indexes and caches built from one can tell it apart from the next.
+ *
+ * Lookups by catalog id, by name (ignoring case) and by meal type are
+ * constant time.
+ */
+public final class RecipeCatalog {
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    // ===== FIELDS =====
+    private final long version = VERSIONS.incrementAndGet();  // Unique per snapshot, increasing
+    private final Recipe[] recipes;                      // Position = catalog id
+    private final List<Recipe> all;                      // Unmodifiable view of recipes
+    private final Map<String, Recipe> byName;            // Lower-cased name -> first recipe with it
+    private final Map<Class<?>, List<Recipe>> byType;    // Recipe class -> its instances in id order
+
+    RecipeCatalog(Recipe[] recipes) {
+        this.recipes = recipes;
+        this.all = List.of(recipes);
+
+        Map<String, Recipe> names = new HashMap<>();
+        Map<Class<?>, List<Recipe>> types = new HashMap<>();
+        for (Recipe r : recipes) {
+            names.putIfAbsent(key(r.getName()), r);
+            // Listed under its class and every superclass below Recipe, as isInstance would
+            for (Class<?> c = r.getClass(); c != Recipe.class; c = c.getSuperclass()) {
+                types.computeIfAbsent(c, k -> new ArrayList<>()).add(r);
+            }
+        }
+        this.byName = Map.copyOf(names);
+        Map<Class<?>, List<Recipe>> frozen = new HashMap<>();
+        for (Map.Entry<Class<?>, List<Recipe>> entry : types.entrySet()) {
+            frozen.put(entry.getKey(), List.copyOf(entry.getValue()));
+        }
+        this.byType = Map.copyOf(frozen);
+    }
+
+    /**
+     * The current catalog snapshot (the bundled recipes, built on first
+     * call, until CatalogHolder swaps in another). Callers that use the
+     * catalog for a while, such as a plan being built, should call this
+     * once and keep the snapshot.
+     * @return Current shared snapshot
+     */
+    public static RecipeCatalog get() {
+        return CatalogHolder.current();
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Every recipe in id order
+     * @return Unmodifiable list of the shared recipes
+     */
+    public List<Recipe> getAll() {
+        return all;
+    }
+
+    /**
+     * Every recipe in id order, as an array the caller may change
+     * @return New array of the shared recipes
+     */
+    public Recipe[] toArray() {
+        return recipes.clone();
+    }
+
+    /**
+     * Look up a recipe by catalog id
+     * @param id Catalog id
+     * @return Recipe with that id, or null if there is none
+     */
+    public Recipe findById(int id) {
+        return (id >= 0 && id < recipes.length) ? recipes[id] : null;
+    }
+
+    /**
+     * Look up a recipe by name, ignoring case
+     * @param name Recipe name
+     * @return First recipe with that name, or null if there is none
+     */
+    public Recipe findByName(String name) {
+        return (name != null) ? byName.get(key(name)) : null;
+    }
+
+    /**
+     * Recipes of one meal type
+     * @param type Recipe class, e.g. BreakfastRecipe.class
+     * @return Unmodifiable list of the recipes that are instances of it, in id order (empty if none)
+     */
+    public List<Recipe> ofType(Class<? extends Recipe> type) {
+        return byType.getOrDefault(type, List.of());
+    }
+
+    /**
+     * Snapshot version: unique to this snapshot and higher than every
+     * snapshot built before it
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Number of recipes in the catalog
+     */
+    public int size() {
+        return recipes.length;
+    }
+}
@@ -0,0 +1,572 @@
+package com.mycompany.smartmealplanner.data;
+
+import com.mycompany.smartmealplanner.model.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * External recipe catalog in CSV format.
+ *
+ * Streams recipes from a file too large to hard-code in RecipeLibrary.
+ * The first row names the columns, in any order:
+ *
+ *   type,name,calories,protein,carbs,fat,servings,prep_time,cook_time,difficulty,ingredients,instructions
+ *
+ * type (breakfast, lunch or dinner, any case), name and the four macros
+ * are required; the rest may be left out or empty. ingredients is a list
+ * of name:quantity:unit entries separated by ';' and instructions a list
+ * of steps separated by '|'. Fields holding commas, quotes or line breaks
+ * are double-quoted, with "" for a quote (RFC 4180).
+ *
+ * The parser works on one reusable record buffer: numbers are read
+ * straight from its characters, ingredient names, units and difficulty
+ * levels are shared across recipes, and each recipe is validated and
+ * built as soon as its row is read. Memory therefore follows the size of
+ * the loaded catalog, not of the file. Recipe ids are their row order.
+ */
+public final class RecipeCsv {
+
+    /* Shafranovich, Y. 2005
+       "Common Format and MIME Type for Comma-Separated Values (CSV) Files"
+       RFC 4180, IETF
+       https://www.rfc-editor.org/rfc/rfc4180
+       Accessed 16 October 2026
+    */
+
+    // ===== COLUMNS =====
+    static final String[] COLUMNS = {
+        "type", "name", "calories", "protein", "carbs", "fat", "servings",
+        "prep_time", "cook_time", "difficulty", "ingredients", "instructions"
+    };
+    private static final int TYPE = 0, NAME = 1, CALORIES = 2, PROTEIN = 3, CARBS = 4, FAT = 5,
+            SERVINGS = 6, PREP_TIME = 7, COOK_TIME = 8, DIFFICULTY = 9, INGREDIENTS = 10,
+            INSTRUCTIONS = 11;
+    private static final int REQUIRED = FAT + 1;  // type .. fat must be present
+
+    private static final char ITEM_SEPARATOR = ';';   // Between ingredients
+    private static final char PART_SEPARATOR = ':';   // Between an ingredient's name, quantity and unit
+    private static final char STEP_SEPARATOR = '|';   // Between instruction steps
+
+    private RecipeCsv() {
+    }
+
+    /**
+     * Load a UTF-8 recipe file into a new catalog
+     * @param file CSV file to read
+     * @return Catalog of the file's recipes, in row order
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a row is malformed (the message gives its line)
+     */
+    public static RecipeCatalog load(Path file) throws IOException {
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return load(in);
+        }
+    }
+
+    /**
+     * Load recipes from a character stream into a new catalog.
+     * The reader is not closed.
+     *
+     * @param in CSV text, header row first
+     * @return Catalog of the stream's recipes, in row order
+     * @throws IOException if the stream cannot be read
+     * @throws IllegalArgumentException if a row is malformed (the message gives its line)
+     */
+    public static RecipeCatalog load(Reader in) throws IOException {
+        return new RecipeCatalog(new Parser(in).recipes());
+    }
+
+    /**
+     * Write recipes in the format load reads
+     * @param recipes Recipes to write, in id order
+     * @param out Destination (not closed)
+     * @throws IOException if the destination cannot be written
+     * @throws IllegalArgumentException if an ingredient or step holds a list separator
+     */
+    public static void write(List<Recipe> recipes, Writer out) throws IOException {
+        StringBuilder row = new StringBuilder(256);
+        row.append(String.join(",", COLUMNS)).append('\n');
+        out.append(row);
+        for (Recipe r : recipes) {
+            row.setLength(0);
+            row.append(r.getMealType().toLowerCase(java.util.Locale.ROOT)).append(',');
+            appendField(row, r.getName()).append(',');
+            row.append(r.getCalories()).append(',')
+               .append(r.getProtein()).append(',')
+               .append(r.getCarbs()).append(',')
+               .append(r.getFat()).append(',')
+               .append(r.getBaseServings()).append(',')
+               .append(r.getPrepTime()).append(',')
+               .append(r.getCookTime()).append(',');
+            appendField(row, r.getDifficulty()).append(',');
+
+            StringBuilder list = new StringBuilder();
+            for (Ingredient ingredient : r.getIngredientList()) {
+                if (list.length() > 0) list.append(ITEM_SEPARATOR);
+                list.append(listItem(ingredient.getName())).append(PART_SEPARATOR)
+                    .append(ingredient.getQuantityPerServing()).append(PART_SEPARATOR)
+                    .append(listItem(ingredient.getUnit()));
+            }
+            appendField(row, list.toString()).append(',');
+
+            list.setLength(0);
+            for (String step : r.getInstructions()) {
+                if (list.length() > 0) list.append(STEP_SEPARATOR);
+                list.append(listItem(step));
+            }
+            appendField(row, list.toString()).append('\n');
+            out.append(row);
+        }
+    }
+
+    // Quote a field only when it holds a delimiter, quote or line break
+    private static StringBuilder appendField(StringBuilder row, String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return row.append(value);
+        }
+        return row.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static String listItem(String value) {
+        if (value.indexOf(ITEM_SEPARATOR) >= 0 || value.indexOf(PART_SEPARATOR) >= 0
+                || value.indexOf(STEP_SEPARATOR) >= 0) {
+            throw new IllegalArgumentException("List entry holds a separator: " + value);
+        }
+        return value;
+    }
+
+    /**
+     * One pass over a CSV stream. Each row is read into the reusable
+     * record buffer, split into fields by offset, and turned into a
+     * recipe before the next row overwrites it.
+     */
+    private static final class Parser {
+
+        // Powers of ten exactly representable as doubles (fast decimal path)
+        private static final double[] POWERS_OF_TEN = new double[23];
+        static {
+            POWERS_OF_TEN[0] = 1;
+            for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+                POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+            }
+        }
+        private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+        // ===== FIELDS =====
+        private final Reader in;
+        private final char[] buffer = new char[1 << 16];  // Raw input
+        private int pos, limit;
+        private int newlines;                              // Line breaks consumed so far
+        private int recordLine;                            // First line of the current record
+
+        private char[] record = new char[512];            // Current record, unquoted
+        private int length;
+        private int[] starts = new int[COLUMNS.length];   // Field offsets into record
+        private int[] ends = new int[COLUMNS.length];
+        private int fields;
+
+        private final int[] columnOf = new int[COLUMNS.length];  // Column -> field index, -1 if absent
+
+        private String[] pool = new String[1024];          // Shared names, units and difficulty levels
+        private int pooled;
+
+        Parser(Reader in) {
+            this.in = in;
+        }
+
+        Recipe[] recipes() throws IOException {
+            if (!next()) {
+                throw error("no header row");
+            }
+            if (length > 0 && record[0] == '\uFEFF') {
+                starts[0]++;   // UTF-8 byte order mark
+            }
+            readHeader();
+
+            List<Recipe> recipes = new ArrayList<>();
+            while (next()) {
+                Recipe r = recipe();
+                r.assignId(recipes.size());
+                recipes.add(r);
+            }
+            return recipes.toArray(new Recipe[0]);
+        }
+
+        private void readHeader() {
+            java.util.Arrays.fill(columnOf, -1);
+            for (int f = 0; f < fields; f++) {
+                for (int c = 0; c < COLUMNS.length; c++) {
+                    if (equalsIgnoreCase(f, COLUMNS[c])) {
+                        columnOf[c] = f;
+                    }
+                }
+            }
+            for (int c = 0; c < REQUIRED; c++) {
+                if (columnOf[c] < 0) {
+                    throw error("header has no '" + COLUMNS[c] + "' column");
+                }
+            }
+        }
+
+        private Recipe recipe() {
+            String name = string(NAME);
+            if (name.isBlank()) {
+                throw error("recipe name is empty");
+            }
+            double calories = macro(CALORIES);
+            double protein = macro(PROTEIN);
+            double carbs = macro(CARBS);
+            double fat = macro(FAT);
+            double servings = isEmpty(SERVINGS) ? 1.0 : number(SERVINGS);
+            if (!(servings > 0)) {
+                throw error("servings must be positive");
+            }
+            int prepTime = isEmpty(PREP_TIME) ? 15 : minutes(PREP_TIME);
+            int cookTime = isEmpty(COOK_TIME) ? 15 : minutes(COOK_TIME);
+            String difficulty = isEmpty(DIFFICULTY) ? null
+                    : trimmed(starts[columnOf[DIFFICULTY]], ends[columnOf[DIFFICULTY]]);
+            Ingredient[] ingredients = isEmpty(INGREDIENTS) ? new Ingredient[0] : ingredients();
+            String[] instructions = isEmpty(INSTRUCTIONS) ? null : instructions();
+
+            int type = field(TYPE);
+            if (equalsIgnoreCase(type, "breakfast")) {
+                return new BreakfastRecipe(name, ingredients, calories, protein, carbs, fat, servings,
+                        instructions, prepTime, cookTime, difficulty);
+            } else if (equalsIgnoreCase(type, "lunch")) {
+                return new LunchRecipe(name, ingredients, calories, protein, carbs, fat, servings,
+                        instructions, prepTime, cookTime, difficulty);
+            } else if (equalsIgnoreCase(type, "dinner")) {
+                return new DinnerRecipe(name, ingredients, calories, protein, carbs, fat, servings,
+                        instructions, prepTime, cookTime, difficulty);
+            }
+            throw error("unknown meal type '" + string(TYPE) + "'");
+        }
+
+        // ===== RECORD READING =====
+
+        /**
+         * Read the next non-blank record into the buffer
+         * @return false at end of input
+         */
+        private boolean next() throws IOException {
+            length = 0;
+            fields = 0;
+            int c = read();
+            while (c == '\n' || c == '\r') {
+                if (c == '\n') newlines++;
+                c = read();
+            }
+            if (c < 0) {
+                return false;
+            }
+            recordLine = newlines + 1;
+
+            while (true) {
+                int start = length;
+                if (c == '"') {
+                    while (true) {
+                        c = read();
+                        if (c < 0) {
+                            throw error("unterminated quoted field");
+                        }
+                        if (c == '"') {
+                            c = read();
+                            if (c != '"') break;   // Closing quote; "" is a literal quote
+                        }
+                        if (c == '\n') newlines++;
+                        append((char) c);
+                    }
+                    if (c == '\r') c = read();
+                    if (c >= 0 && c != ',' && c != '\n') {
+                        throw error("text after closing quote");
+                    }
+                } else {
+                    while (c >= 0 && c != ',' && c != '\n') {
+                        if (c != '\r') append((char) c);
+                        c = read();
+                    }
+                }
+                addField(start, length);
+                if (c != ',') {
+                    if (c == '\n') newlines++;
+                    return true;
+                }
+                c = read();
+            }
+        }
+
+        private int read() throws IOException {
+            if (pos == limit) {
+                limit = in.read(buffer, 0, buffer.length);
+                pos = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[pos++];
+        }
+
+        private void append(char c) {
+            if (length == record.length) {
+                record = java.util.Arrays.copyOf(record, length * 2);
+            }
+            record[length++] = c;
+        }
+
+        private void addField(int start, int end) {
+            if (fields == starts.length) {
+                starts = java.util.Arrays.copyOf(starts, fields * 2);
+                ends = java.util.Arrays.copyOf(ends, fields * 2);
+            }
+            starts[fields] = start;
+            ends[fields] = end;
+            fields++;
+        }
+
+        // ===== FIELD ACCESS =====
+
+        private boolean isEmpty(int column) {
+            int f = columnOf[column];
+            if (f < 0 || f >= fields) return true;
+            int s = skipSpaces(starts[f], ends[f]);
+            return s == trimEnd(s, ends[f]);
+        }
+
+        private String string(int column) {
+            int f = field(column);
+            return new String(record, starts[f], ends[f] - starts[f]);
+        }
+
+        private int field(int column) {
+            int f = columnOf[column];
+            if (f >= fields) {
+                throw error("missing '" + COLUMNS[column] + "'");
+            }
+            return f;
+        }
+
+        private double macro(int column) {
+            double value = number(column);
+            if (value < 0) {
+                throw error(COLUMNS[column] + " must not be negative");
+            }
+            return value;
+        }
+
+        private double number(int column) {
+            int f = field(column);
+            return number(starts[f], ends[f], COLUMNS[column]);
+        }
+
+        private int minutes(int column) {
+            double value = number(column);
+            if (value < 0 || value != Math.rint(value) || value > Integer.MAX_VALUE) {
+                throw error(COLUMNS[column] + " must be a whole number of minutes");
+            }
+            return (int) value;
+        }
+
+        /**
+         * Parse a decimal number from part of the record.
+         * Plain decimals of up to 15 significant digits (every realistic
+         * macro or quantity) are built from the characters directly: the
+         * digits form an exact long and a single division by an exact
+         * power of ten rounds correctly, giving the same double as
+         * Double.parseDouble. Anything else falls back to parseDouble.
+         */
+        private double number(int start, int end, String what) {
+            int i = skipSpaces(start, end);
+            end = trimEnd(i, end);
+            if (i == end) {
+                throw error(what + " is empty");
+            }
+            boolean negative = record[i] == '-';
+            if (negative || record[i] == '+') i++;
+
+            long mantissa = 0;
+            int fraction = -1;     // Digits after the point, -1 before it
+            boolean digits = false;
+            boolean fast = i < end;
+            for (int k = i; k < end && fast; k++) {
+                char c = record[k];
+                if (c >= '0' && c <= '9') {
+                    mantissa = mantissa * 10 + (c - '0');
+                    digits = true;
+                    if (fraction >= 0) fraction++;
+                    fast = mantissa < MAX_EXACT_MANTISSA / 10 && fraction < POWERS_OF_TEN.length;
+                } else if (c == '.' && fraction < 0) {
+                    fraction = 0;
+                } else {
+                    fast = false;
+                }
+            }
+
+            double value;
+            if (fast && digits) {
+                value = (fraction > 0) ? mantissa / POWERS_OF_TEN[fraction] : mantissa;
+                if (negative) value = -value;
+            } else {
+                int s = skipSpaces(start, end);
+                try {
+                    value = Double.parseDouble(new String(record, s, end - s));
+                } catch (NumberFormatException e) {
+                    throw error(what + " is not a number: " + new String(record, s, end - s));
+                }
+            }
+            if (!Double.isFinite(value)) {
+                throw error(what + " is not finite");
+            }
+            return value;
+        }
+
+        private Ingredient[] ingredients() {
+            int f = columnOf[INGREDIENTS];
+            int end = ends[f];
+            int count = 1;
+            for (int k = starts[f]; k < end; k++) {
+                if (record[k] == ITEM_SEPARATOR) count++;
+            }
+
+            Ingredient[] ingredients = new Ingredient[count];
+            int n = 0;
+            int item = starts[f];
+            while (item <= end) {
+                int itemEnd = indexOf(ITEM_SEPARATOR, item, end);
+                int colon1 = indexOf(PART_SEPARATOR, item, itemEnd);
+                int colon2 = indexOf(PART_SEPARATOR, colon1 + 1, itemEnd);
+                if (colon2 >= itemEnd) {
+                    if (skipSpaces(item, itemEnd) == itemEnd) {   // Tolerate an empty entry, e.g. a trailing ';'
+                        item = itemEnd + 1;
+                        continue;
+                    }
+                    throw error("ingredient is not name:quantity:unit");
+                }
+                double quantity = number(colon1 + 1, colon2, "ingredient quantity");
+                if (quantity < 0) {
+                    throw error("ingredient quantity must not be negative");
+                }
+                ingredients[n++] = new Ingredient(trimmed(item, colon1), trimmed(colon2 + 1, itemEnd), quantity);
+                item = itemEnd + 1;
+            }
+            return (n == count) ? ingredients : java.util.Arrays.copyOf(ingredients, n);
+        }
+
+        private String[] instructions() {
+            int f = columnOf[INSTRUCTIONS];
+            int end = ends[f];
+            int count = 1;
+            for (int k = starts[f]; k < end; k++) {
+                if (record[k] == STEP_SEPARATOR) count++;
+            }
+            String[] steps = new String[count];
+            int step = starts[f];
+            for (int n = 0; n < count; n++) {
+                int stepEnd = indexOf(STEP_SEPARATOR, step, end);
+                int s = skipSpaces(step, stepEnd);
+                steps[n] = new String(record, s, trimEnd(s, stepEnd) - s);
+                step = stepEnd + 1;
+            }
+            return steps;
+        }
+
+        // ===== HELPERS =====
+
+        private String trimmed(int start, int end) {
+            int s = skipSpaces(start, end);
+            return pooled(s, trimEnd(s, end));
+        }
+
+        /**
+         * One shared String per distinct text, looked up straight from
+         * the record (open addressing, linear probing), so repeated
+         * ingredient names and units cost no allocation after the first.
+         * Hashes match String.hashCode, so growing can rehash from it.
+         */
+        private String pooled(int start, int end) {
+            int hash = 0;
+            for (int k = start; k < end; k++) {
+                hash = 31 * hash + record[k];
+            }
+            int mask = pool.length - 1;
+            int slot = spread(hash) & mask;
+            for (String s = pool[slot]; s != null; s = pool[slot]) {
+                if (s.length() == end - start && regionEquals(s, start)) {
+                    return s;
+                }
+                slot = (slot + 1) & mask;
+            }
+            String s = new String(record, start, end - start);
+            pool[slot] = s;
+            if (++pooled * 2 > pool.length) {
+                growPool();
+            }
+            return s;
+        }
+
+        private void growPool() {
+            String[] old = pool;
+            pool = new String[old.length * 2];
+            int mask = pool.length - 1;
+            for (String s : old) {
+                if (s != null) {
+                    int slot = spread(s.hashCode()) & mask;
+                    while (pool[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    pool[slot] = s;
+                }
+            }
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        private boolean regionEquals(String s, int start) {
+            for (int k = 0; k < s.length(); k++) {
+                if (s.charAt(k) != record[start + k]) return false;
+            }
+            return true;
+        }
+
+        private boolean equalsIgnoreCase(int field, String text) {
+            int s = skipSpaces(starts[field], ends[field]);
+            int e = trimEnd(s, ends[field]);
+            if (e - s != text.length()) return false;
+            for (int k = 0; k < text.length(); k++) {
+                if (Character.toLowerCase(record[s + k]) != text.charAt(k)) return false;
+            }
+            return true;
+        }
+
+        private int indexOf(char c, int from, int end) {
+            for (int k = from; k < end; k++) {
+                if (record[k] == c) return k;
+            }
+            return end;
+        }
+
+        private int skipSpaces(int start, int end) {
+            while (start < end && record[start] == ' ') start++;
+            return start;
+        }
+
+        private int trimEnd(int start, int end) {
+            while (end > start && record[end - 1] == ' ') end--;
+            return end;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Recipe file line " + recordLine + ": " + message);
+        }
+    }
+}
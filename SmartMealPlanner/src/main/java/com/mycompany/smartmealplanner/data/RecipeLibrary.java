@@ -6,9 +6,55 @@ import com.mycompany.smartmealplanner.model.*;
 
 public class RecipeLibrary {
 
-    /** Return all recipes (LITE) */
+    /**
+     * Return all recipes (LITE), each with its catalog id.
+     * A recipe's id is its position in this list, so saved plans can refer
+     * to recipes by id. Add new recipes at the end and never reorder or
+     * remove entries, or ids in saved plans would point at other recipes.
+     * 
+     * The recipes are the shared ones from RecipeCatalog, built once;
+     * only the array is new on each call.
+     */
     public static Recipe[] getAll() {
-    return new Recipe[] {
+        return RecipeCatalog.get().toArray();
+    }
+
+    public static Recipe[] getBreakfastRecipes() {
+        return ofType(BreakfastRecipe.class);
+    }
+
+    public static Recipe[] getLunchRecipes() {
+        return ofType(LunchRecipe.class);
+    }
+
+    public static Recipe[] getDinnerRecipes() {
+        return ofType(DinnerRecipe.class);
+    }
+
+    /**
+     * Look up a recipe by catalog id
+     * @param catalog Recipes returned by getAll
+     * @param id Catalog id
+     * @return Recipe with that id, or null if the catalog has none
+     */
+    public static Recipe findById(Recipe[] catalog, int id) {
+        if (id < 0 || id >= catalog.length || catalog[id].getId() != id) {
+            return null;
+        }
+        return catalog[id];
+    }
+
+    // Recipes of one meal type, keeping their catalog ids
+    private static Recipe[] ofType(Class<? extends Recipe> type) {
+        return RecipeCatalog.get().ofType(type).toArray(new Recipe[0]);
+    }
+
+    /**
+     * Construct every bundled recipe and assign its catalog id.
+     * Called once, by RecipeCatalog.
+     */
+    static Recipe[] build() {
+    Recipe[] all = new Recipe[] {
         // Breakfast (8 total)
         createOatsWithMilkAndBanana(),
         createGreekYogurtAndBerries(),
@@ -40,46 +86,10 @@ public class RecipeLibrary {
         createPorkChopsAndMash(),           // NEW - balanced
         createShrimpFriedRice()             // NEW - high carb
     };
-}
-
-public static Recipe[] getBreakfastRecipes() {
-    return new Recipe[] {
-        createOatsWithMilkAndBanana(),
-        createGreekYogurtAndBerries(),
-        createProteinSmoothieBanana(),
-        createAvocadoToast(),
-        createScrambledEggsAndToast(),
-        createPancakesWithSyrup(),
-        createFrenchToastWithBerries(),
-        createBagelWithCreamCheese()
-    };
-}
-
-public static Recipe[] getLunchRecipes() {
-    return new Recipe[] {
-        createChickenAndRiceBowl(),
-        createTunaPasta(),
-        createTurkeyChili(),
-        createSalmonSalad(),
-        createChickenWrap(),
-        createBurritoBowl(),
-        createTeriyakiChickenRice(),
-        createBeefStirFryNoodles(),
-        createChickpeaCurryRice()
-    };
-}
-
-public static Recipe[] getDinnerRecipes() {
-    return new Recipe[] {
-        createStirFryTofuAndVeg(),
-        createBeefAndSweetPotato(),
-        createLentilBolognesePasta(),
-        createSalmonWithQuinoa(),
-        createChickenThighsAndRice(),
-        createSpaghettiCarbonara(),
-        createPorkChopsAndMash(),
-        createShrimpFriedRice()
-    };
+    for (int id = 0; id < all.length; id++) {
+        all[id].assignId(id);
+    }
+    return all;
 }
 
     // ================= Breakfast =================
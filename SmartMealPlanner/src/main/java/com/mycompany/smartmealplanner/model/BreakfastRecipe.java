@@ -46,6 +46,16 @@ public class BreakfastRecipe extends Recipe {
         super(name, ingredients, calories, protein, carbs, fat, baseServings);
     }
     
+    /**
+     * Full constructor with custom base servings, e.g. for imported recipes
+     */
+    public BreakfastRecipe(String name, Ingredient[] ingredients, double calories, 
+                          double protein, double carbs, double fat, double baseServings,
+                          String[] instructions, int prepTime, int cookTime, String difficulty) {
+        super(name, ingredients, calories, protein, carbs, fat, baseServings,
+              instructions, prepTime, cookTime, difficulty);
+    }
+    
     /**
      * Returns the meal type for this recipe.
      * Used by the meal planning algorithm for categorization.
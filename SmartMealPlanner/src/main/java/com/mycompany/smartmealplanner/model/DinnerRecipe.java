@@ -34,6 +34,16 @@ public class DinnerRecipe extends Recipe {
         super(name, ingredients, calories, protein, carbs, fat, baseServings);
     }
     
+    /**
+     * Full constructor with custom base servings, e.g. for imported recipes
+     */
+    public DinnerRecipe(String name, Ingredient[] ingredients, double calories, 
+                       double protein, double carbs, double fat, double baseServings,
+                       String[] instructions, int prepTime, int cookTime, String difficulty) {
+        super(name, ingredients, calories, protein, carbs, fat, baseServings,
+              instructions, prepTime, cookTime, difficulty);
+    }
+    
     /**
      * Returns the meal type identifier for dinner recipes.
      * 
@@ -0,0 +1,167 @@
+package com.mycompany.smartmealplanner.model;
+
+/**
+ * Fixed-Point Macro-Nutrient Model Class
+ *
+ * Immutable macro-nutrients in whole fixed-point units (see FixedPoint):
+ * energy in tenths of a kilocalorie and protein, carbohydrates and fat in
+ * milligrams. Each meal is rounded once into these units and totals are
+ * plain long additions, so a plan's total is the same whatever order its
+ * days are added in and however long the plan is. Use toMacro for
+ * display and for the double-based planner API.
+ */
+public final class FixedMacro {
+
+    public static final FixedMacro ZERO = new FixedMacro(0, 0, 0, 0);
+
+    // ===== FIELDS =====
+    private final long deciKcal;    // Energy in tenths of a kilocalorie
+    private final long proteinMg;   // Protein in milligrams
+    private final long carbsMg;     // Carbohydrates in milligrams
+    private final long fatMg;       // Fat in milligrams
+
+    /**
+     * @param deciKcal Energy in tenths of a kilocalorie
+     * @param proteinMg Protein in milligrams
+     * @param carbsMg Carbohydrates in milligrams
+     * @param fatMg Fat in milligrams
+     */
+    public FixedMacro(long deciKcal, long proteinMg, long carbsMg, long fatMg) {
+        this.deciKcal = deciKcal;
+        this.proteinMg = proteinMg;
+        this.carbsMg = carbsMg;
+        this.fatMg = fatMg;
+    }
+
+    /**
+     * Round a Macro into fixed point
+     * @param macro Macro in kcal and grams
+     * @return Nearest fixed-point macro
+     */
+    public static FixedMacro of(Macro macro) {
+        return of(macro.getCalories(), macro.getProtein(), macro.getCarbs(), macro.getFat());
+    }
+
+    /**
+     * Round macro values into fixed point
+     * @param calories Calories in kcal
+     * @param protein Protein in grams
+     * @param carbs Carbohydrates in grams
+     * @param fat Fat in grams
+     * @return Nearest fixed-point macro
+     */
+    public static FixedMacro of(double calories, double protein, double carbs, double fat) {
+        return new FixedMacro(
+            FixedPoint.toFixed(calories, FixedPoint.KCAL_SCALE),
+            FixedPoint.toFixed(protein, FixedPoint.GRAM_SCALE),
+            FixedPoint.toFixed(carbs, FixedPoint.GRAM_SCALE),
+            FixedPoint.toFixed(fat, FixedPoint.GRAM_SCALE)
+        );
+    }
+
+    /**
+     * Exact total of a whole plan, added day by day in fixed point
+     * @param plan Days to total (null days and meals add nothing)
+     * @return Sum of every meal's fixed-point macros
+     */
+    public static FixedMacro total(PlanDay[] plan) {
+        long[] sum = new long[4];
+        for (PlanDay day : plan) {
+            if (day != null) {
+                addTo(sum, day.getBreakfast());
+                addTo(sum, day.getLunch());
+                addTo(sum, day.getDinner());
+            }
+        }
+        return new FixedMacro(sum[0], sum[1], sum[2], sum[3]);
+    }
+
+    private static void addTo(long[] sum, RecipeSelection meal) {
+        if (meal == null || meal.getRecipe() == null) return;
+        FixedMacro m = meal.getFixedMacros();
+        sum[0] = Math.addExact(sum[0], m.deciKcal);
+        sum[1] = Math.addExact(sum[1], m.proteinMg);
+        sum[2] = Math.addExact(sum[2], m.carbsMg);
+        sum[3] = Math.addExact(sum[3], m.fatMg);
+    }
+
+    /**
+     * Add another fixed-point macro exactly
+     * @param other Macro to add
+     * @return New FixedMacro with the exact sum
+     * @throws ArithmeticException if a total overflows a long
+     */
+    public FixedMacro plus(FixedMacro other) {
+        return new FixedMacro(
+            Math.addExact(deciKcal, other.deciKcal),
+            Math.addExact(proteinMg, other.proteinMg),
+            Math.addExact(carbsMg, other.carbsMg),
+            Math.addExact(fatMg, other.fatMg)
+        );
+    }
+
+    /**
+     * Scale by a ratio of thousandth-servings, rounding each macro once
+     * @param milliServings Thousandth-servings eaten
+     * @param baseMilliServings Thousandth-servings these macros are for (positive)
+     * @return New FixedMacro for the servings eaten
+     */
+    public FixedMacro scale(long milliServings, long baseMilliServings) {
+        return new FixedMacro(
+            FixedPoint.scale(deciKcal, milliServings, baseMilliServings),
+            FixedPoint.scale(proteinMg, milliServings, baseMilliServings),
+            FixedPoint.scale(carbsMg, milliServings, baseMilliServings),
+            FixedPoint.scale(fatMg, milliServings, baseMilliServings)
+        );
+    }
+
+    /**
+     * Convert to a double Macro in kcal and grams
+     * @return New Macro with the same amounts
+     */
+    public Macro toMacro() {
+        return new Macro(
+            FixedPoint.toDouble(deciKcal, FixedPoint.KCAL_SCALE),
+            FixedPoint.toDouble(proteinMg, FixedPoint.GRAM_SCALE),
+            FixedPoint.toDouble(carbsMg, FixedPoint.GRAM_SCALE),
+            FixedPoint.toDouble(fatMg, FixedPoint.GRAM_SCALE)
+        );
+    }
+
+    // ===== GETTERS =====
+    public long getDeciKcal() {
+        return deciKcal;
+    }
+
+    public long getProteinMg() {
+        return proteinMg;
+    }
+
+    public long getCarbsMg() {
+        return carbsMg;
+    }
+
+    public long getFatMg() {
+        return fatMg;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FixedMacro)) return false;
+        FixedMacro other = (FixedMacro) o;
+        return deciKcal == other.deciKcal && proteinMg == other.proteinMg
+                && carbsMg == other.carbsMg && fatMg == other.fatMg;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(deciKcal) * 31 * 31 * 31 + Long.hashCode(proteinMg) * 31 * 31
+                + Long.hashCode(carbsMg) * 31 + Long.hashCode(fatMg);
+    }
+
+    @Override
+    public String toString() {
+        return toMacro().toString();
+    }
+}
@@ -0,0 +1,93 @@
+package com.mycompany.smartmealplanner.model;
+
+/**
+ * Fixed-Point Units
+ *
+ * Integer units for nutrition, serving and ingredient amounts, so sums
+ * over long plans and grocery lists are exact instead of drifting with
+ * every double addition:
+ * - energy in tenths of a kilocalorie
+ * - protein, carbohydrates and fat in milligrams
+ * - serving multipliers in thousandths of a serving
+ * - ingredient quantities in thousandths of their unit
+ *
+ * Values are rounded half away from zero once, when they enter fixed
+ * point (toFixed) or when an amount is scaled (scale); adding fixed
+ * values never rounds.
+ */
+public final class FixedPoint {
+
+    /* Knuth, D.E. 1997
+       "The Art of Computer Programming, Volume 2: Seminumerical Algorithms"
+       Section 4.1: Positional Number Systems
+       Addison-Wesley, 3rd Edition
+       ISBN: 978-0201896848
+       Accessed 16 October 2026
+    */
+
+    // ===== SCALES =====
+    public static final int KCAL_SCALE = 10;         // Tenth-kcal per kcal
+    public static final int GRAM_SCALE = 1000;       // Milligrams per gram
+    public static final int SERVING_SCALE = 1000;    // Thousandth-servings per serving
+    public static final int QUANTITY_SCALE = 1000;   // Thousandths per ingredient unit
+
+    private FixedPoint() {
+    }
+
+    /**
+     * Convert a double to fixed point
+     * @param value Value in natural units (kcal, grams, servings, ...)
+     * @param scale Fixed units per natural unit
+     * @return Nearest whole number of fixed units
+     */
+    public static long toFixed(double value, int scale) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Not a finite amount: " + value);
+        }
+        double scaled = value * scale;
+        return (long) (scaled < 0 ? scaled - 0.5 : scaled + 0.5);
+    }
+
+    /**
+     * Convert fixed units back to a double, e.g. for display
+     * @param fixed Amount in fixed units
+     * @param scale Fixed units per natural unit
+     * @return Value in natural units
+     */
+    public static double toDouble(long fixed, int scale) {
+        return (double) fixed / scale;
+    }
+
+    /**
+     * Scale a fixed amount by a fixed ratio, rounding once
+     * @param amount Amount in fixed units
+     * @param numerator Ratio numerator (e.g. thousandth-servings eaten)
+     * @param denominator Ratio denominator (e.g. thousandth-servings the amount is for), positive
+     * @return amount * numerator / denominator, rounded half away from zero
+     * @throws ArithmeticException if the product overflows a long
+     */
+    public static long scale(long amount, long numerator, long denominator) {
+        long product = Math.multiplyExact(amount, numerator);
+        long half = denominator / 2;
+        return (product < 0) ? -((-product + half) / denominator) : (product + half) / denominator;
+    }
+
+    /**
+     * Thousandth-servings for a serving multiplier
+     * @param servings Serving multiplier (1.0 = base serving)
+     * @return Servings in thousandths
+     */
+    public static long servings(double servings) {
+        return toFixed(servings, SERVING_SCALE);
+    }
+
+    /**
+     * Check whether a fixed amount is a whole number of natural units
+     * @param fixed Amount in fixed units
+     * @param scale Fixed units per natural unit
+     * @return true if no fractional part remains
+     */
+    public static boolean isWhole(long fixed, int scale) {
+        return fixed % scale == 0;
+    }
+}
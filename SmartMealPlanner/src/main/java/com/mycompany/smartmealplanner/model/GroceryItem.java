@@ -64,10 +64,12 @@ public class GroceryItem {
     }
     
     /**
-     * Get the formatted quantity string (removes .0 for whole numbers)
+     * Get the formatted quantity string (removes .0 for whole numbers).
+     * Whole means whole to the thousandth of a unit (FixedPoint.QUANTITY_SCALE),
+     * so 2.0000000001 from double arithmetic still prints as 2.
      */
     public String getFormattedQuantity() {
-        if (quantity == Math.floor(quantity)) {
+        if (FixedPoint.isWhole(FixedPoint.toFixed(quantity, FixedPoint.QUANTITY_SCALE), FixedPoint.QUANTITY_SCALE)) {
             return String.format("%.0f %s", quantity, unit);
         } else {
             return String.format("%.1f %s", quantity, unit);
@@ -12,6 +12,8 @@ public class Ingredient {
     private String name;                // Ingredient name (e.g., "chicken breast")
     private String unit;                // Unit of measurement (g, ml, pc, etc.)
     private double quantityPerServing;  // Amount needed per single serving
+    private int nameId;                 // IngredientDictionary id of the canonical name
+    private int unitId;                 // IngredientDictionary id of the unit
     
     /**
      * Constructor for creating an ingredient
@@ -20,8 +22,8 @@ public class Ingredient {
      * @param quantityPerServing Amount per serving
      */
     public Ingredient(String name, String unit, double quantityPerServing) {
-        this.name = name;
-        this.unit = unit;
+        setNameAndId(name);
+        setUnitAndId(unit);
         this.quantityPerServing = quantityPerServing;
     }
     
@@ -35,6 +37,8 @@ public class Ingredient {
         this.name = other.name;
         this.unit = other.unit;
         this.quantityPerServing = other.quantityPerServing;
+        this.nameId = other.nameId;
+        this.unitId = other.unitId;
         /* Bloch, J. 2018
            "Effective Java" - Item 13: Override clone judiciously
            Addison-Wesley, 3rd Edition
@@ -49,7 +53,33 @@ public class Ingredient {
      * @return New Ingredient with scaled quantity
      */
     public Ingredient scaleToServings(double servings) {
-        return new Ingredient(name, unit, quantityPerServing * servings);
+        return new Ingredient(this, servings);
+    }
+    
+    // Copy with the quantity multiplied by a factor (for scaleToServings and read-only copies)
+    Ingredient(Ingredient other, double factor) {
+        this(other);
+        this.quantityPerServing = other.quantityPerServing * factor;
+    }
+    
+    // Names written the same way share the dictionary's String
+    private void setNameAndId(String name) {
+        this.nameId = IngredientDictionary.nameId(name);
+        String shared = IngredientDictionary.spellingOf(nameId);
+        this.name = shared.equals(name) ? shared : name;
+    }
+    
+    private void setUnitAndId(String unit) {
+        this.unitId = IngredientDictionary.unitId(unit);
+        this.unit = IngredientDictionary.unitOf(unitId);
+    }
+    
+    /**
+     * Quantity per serving in fixed point
+     * @return Thousandths of the unit (e.g. 150000 for 150 g)
+     */
+    public long getFixedQuantity() {
+        return FixedPoint.toFixed(quantityPerServing, FixedPoint.QUANTITY_SCALE);
     }
     
     // ===== GETTERS AND SETTERS =====
@@ -58,7 +88,7 @@ public class Ingredient {
     }
     
     public void setName(String name) {
-        this.name = name;
+        setNameAndId(name);
     }
     
     public String getUnit() {
@@ -66,7 +96,19 @@ public class Ingredient {
     }
     
     public void setUnit(String unit) {
-        this.unit = unit;
+        setUnitAndId(unit);
+    }
+    
+    /**
+     * IngredientDictionary id of this ingredient's canonical name;
+     * equal for names that differ only in case or surrounding spaces
+     */
+    public int getNameId() {
+        return nameId;
+    }
+    
+    public int getUnitId() {
+        return unitId;
     }
     
     public double getQuantityPerServing() {
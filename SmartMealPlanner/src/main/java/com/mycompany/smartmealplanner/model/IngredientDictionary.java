@@ -0,0 +1,140 @@
+package com.mycompany.smartmealplanner.model;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global dictionary of ingredient names and units.
+ *
+ * Gives every canonical ingredient name (trimmed and lower-cased, so
+ * "Olive Oil" and "olive oil" are one ingredient) and every unit a small
+ * int id, the first time an Ingredient with it is created. Ingredients
+ * carry these ids, so grocery consolidation and categorisation index
+ * arrays by id instead of lower-casing, concatenating and hashing names.
+ * Ids are dense (0, 1, 2, ...) and never change or get reused while the
+ * JVM runs; they are not stored in files. Safe to use from any thread.
+ *
+ * The dictionary is shared by every catalog snapshot and only grows: an
+ * entry costs two array slots, a map entry and (for new spellings) the
+ * strings, roughly 100 bytes. It is bounded by the number of distinct
+ * canonical names and units ever loaded, not by the number of catalogs
+ * or reloads: reloading a catalog whose ingredients are already known
+ * (the usual case for a revised recipe file) adds nothing. Only a stream
+ * of catalogs with ever-new ingredient names keeps it growing, and
+ * IngredientCategorizer's category cache grows with it by one slot per id.
+ */
+public final class IngredientDictionary {
+
+    private static final Table NAMES = new Table();
+    private static final Table UNITS = new Table();
+
+    private IngredientDictionary() {
+    }
+
+    /**
+     * Canonical form of an ingredient name
+     * @param name Name as written in a recipe
+     * @return Trimmed, lower-cased name
+     */
+    public static String canonicalName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Id of an ingredient name, assigning one on first sight
+     * @param name Name as written in a recipe (any case)
+     * @return Id of its canonical name
+     */
+    public static int nameId(String name) {
+        return NAMES.idOf(canonicalName(name), name);
+    }
+
+    /**
+     * Id of a unit, assigning one on first sight
+     * @param unit Unit as written in a recipe (compared exactly)
+     * @return Id of the unit
+     */
+    public static int unitId(String unit) {
+        return UNITS.idOf(unit, unit);
+    }
+
+    /**
+     * Canonical (lower-cased) name for an id
+     * @param id Id from nameId
+     * @return Canonical name
+     */
+    public static String nameOf(int id) {
+        return NAMES.canonical(id);
+    }
+
+    /**
+     * Spelling an ingredient name was first seen with, shared by every
+     * ingredient written the same way
+     * @param id Id from nameId
+     * @return First spelling seen
+     */
+    public static String spellingOf(int id) {
+        return NAMES.spelling(id);
+    }
+
+    public static String unitOf(int id) {
+        return UNITS.canonical(id);
+    }
+
+    /**
+     * Number of ingredient names with an id so far; every name id is
+     * below this, so it sizes arrays indexed by name id
+     */
+    public static int nameCount() {
+        return NAMES.size;
+    }
+
+    public static int unitCount() {
+        return UNITS.size;
+    }
+
+    /**
+     * One id space. Lookups of known keys are a lock-free map read; new
+     * keys are added under the table's lock so ids stay dense.
+     */
+    private static final class Table {
+        private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+        private volatile String[] canonical = new String[64];   // Id -> canonical key
+        private volatile String[] spelling = new String[64];    // Id -> first spelling seen
+        private volatile int size;
+
+        int idOf(String key, String firstSpelling) {
+            Integer id = ids.get(key);
+            return (id != null) ? id : add(key, firstSpelling);
+        }
+
+        private synchronized int add(String key, String firstSpelling) {
+            Integer id = ids.get(key);
+            if (id != null) {
+                return id;
+            }
+            int next = size;
+            if (next == canonical.length) {
+                canonical = Arrays.copyOf(canonical, next * 2);
+                spelling = Arrays.copyOf(spelling, next * 2);
+            }
+            canonical[next] = key;
+            spelling[next] = firstSpelling;
+            size = next + 1;          // Publishes the arrays' new entries
+            ids.put(key, next);
+            return next;
+        }
+
+        // Size is read before the array, so the entry for any id below it is visible
+        String canonical(int id) {
+            int i = java.util.Objects.checkIndex(id, size);
+            return canonical[i];
+        }
+
+        String spelling(int id) {
+            int i = java.util.Objects.checkIndex(id, size);
+            return spelling[i];
+        }
+    }
+}
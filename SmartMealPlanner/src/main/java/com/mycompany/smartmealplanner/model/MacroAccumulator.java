@@ -0,0 +1,146 @@
+package com.mycompany.smartmealplanner.model;
+
+/**
+ * Mutable Macro-Nutrient Accumulator
+ *
+ * Running total of calories, protein, carbohydrates and fat held in four
+ * primitive fields. Macro.add, minus and scale return a new Macro on every
+ * call, so summing a day (or a plan) that way leaves a trail of
+ * short-lived objects; an accumulator is reset and reused instead, and
+ * adds in place. Call toMacro only when an immutable result has to leave
+ * the hot path.
+ *
+ * Additions happen in the same order and with the same arithmetic as the
+ * Macro chain they replace, so the totals are bit-for-bit the same.
+ * Not thread-safe: keep one per thread or per loop.
+ */
+public final class MacroAccumulator {
+
+    // ===== FIELDS =====
+    private double calories;  // Total energy in kilocalories
+    private double protein;   // Protein in grams
+    private double carbs;     // Carbohydrates in grams
+    private double fat;       // Fat in grams
+
+    /**
+     * Accumulator starting at zero
+     */
+    public MacroAccumulator() {
+    }
+
+    /**
+     * Set every total back to zero
+     * @return This accumulator
+     */
+    public MacroAccumulator reset() {
+        calories = 0;
+        protein = 0;
+        carbs = 0;
+        fat = 0;
+        return this;
+    }
+
+    /**
+     * Add macro values in place
+     * @param calories Calories to add
+     * @param protein Protein in grams to add
+     * @param carbs Carbohydrates in grams to add
+     * @param fat Fat in grams to add
+     * @return This accumulator
+     */
+    public MacroAccumulator add(double calories, double protein, double carbs, double fat) {
+        this.calories += calories;
+        this.protein += protein;
+        this.carbs += carbs;
+        this.fat += fat;
+        return this;
+    }
+
+    /**
+     * Add a Macro in place
+     * @param macro Macro to add (null adds nothing)
+     * @return This accumulator
+     */
+    public MacroAccumulator add(Macro macro) {
+        if (macro != null) {
+            add(macro.getCalories(), macro.getProtein(), macro.getCarbs(), macro.getFat());
+        }
+        return this;
+    }
+
+    /**
+     * Add another accumulator's totals in place
+     * @param other Accumulator to add
+     * @return This accumulator
+     */
+    public MacroAccumulator add(MacroAccumulator other) {
+        return add(other.calories, other.protein, other.carbs, other.fat);
+    }
+
+    /**
+     * Add a recipe scaled to a number of servings, as Recipe.macrosFor scales it
+     * @param recipe Recipe to add
+     * @param servings Number of servings
+     * @return This accumulator
+     */
+    public MacroAccumulator add(Recipe recipe, double servings) {
+        recipe.addTo(this, servings);
+        return this;
+    }
+
+    /**
+     * Add a selection's macros, as RecipeSelection.getMacros gives them
+     * @param selection Selection to add (null adds nothing)
+     * @return This accumulator
+     */
+    public MacroAccumulator add(RecipeSelection selection) {
+        if (selection != null) {
+            selection.addTo(this);
+        }
+        return this;
+    }
+
+    /**
+     * Divide every total in place, e.g. to turn a plan total into a daily average
+     * @param divisor Value to divide by
+     * @return This accumulator
+     */
+    public MacroAccumulator divide(double divisor) {
+        calories /= divisor;
+        protein /= divisor;
+        carbs /= divisor;
+        fat /= divisor;
+        return this;
+    }
+
+    /**
+     * Copy the totals into a new Macro
+     * @return Immutable-style snapshot of the current totals
+     */
+    public Macro toMacro() {
+        return new Macro(calories, protein, carbs, fat);
+    }
+
+    // ===== GETTERS =====
+    public double getCalories() {
+        return calories;
+    }
+
+    public double getProtein() {
+        return protein;
+    }
+
+    public double getCarbs() {
+        return carbs;
+    }
+
+    public double getFat() {
+        return fat;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.0f kcal | P %.0fg | C %.0fg | F %.0fg",
+            calories, protein, carbs, fat);
+    }
+}
@@ -1,5 +1,7 @@
 package com.mycompany.smartmealplanner.model;
 
+import java.util.List;
+
 /**
  * Plan Day Model Class
  * 
@@ -36,58 +38,54 @@ public class PlanDay {
      * @return Combined Macro object with total daily nutrition
      */
     public Macro getDailyMacros() {
-        Macro total = new Macro();  // Start with zero values
-        
-        // Add macros from each meal if present
-        if (breakfast != null) {
-            total = total.add(breakfast.getMacros());
-        }
-        if (lunch != null) {
-            total = total.add(lunch.getMacros());
-        }
-        if (dinner != null) {
-            total = total.add(dinner.getMacros());
-        }
-        
-        return total;
+        return addDailyMacrosTo(new MacroAccumulator()).toMacro();
+    }
+    
+    /**
+     * Add the day's macro-nutrients to a running total.
+     * Allocation-free version of getDailyMacros for loops over many days;
+     * missing meals add nothing.
+     * 
+     * @param total Accumulator to add to (not reset first)
+     * @return The same accumulator
+     */
+    public MacroAccumulator addDailyMacrosTo(MacroAccumulator total) {
+        return total.add(breakfast).add(lunch).add(dinner);
+    }
+    
+    /**
+     * Calculate total daily macro-nutrients in fixed point.
+     * Each meal is rounded once, then the meals are added exactly.
+     * 
+     * @return Fixed-point total of the day's meals
+     */
+    public FixedMacro getDailyFixedMacros() {
+        return FixedMacro.total(new PlanDay[] { this });
     }
     
     /**
      * Get all ingredients needed for the day.
      * Combines ingredients from all meals for grocery list generation.
+     * The ingredients are the meals' shared, read-only scaled ingredients
+     * (see RecipeSelection.getScaledIngredients); only the array is new.
      * 
      * @return Array containing all ingredients with scaled quantities
      */
     public Ingredient[] getAllIngredients() {
-        int totalIngredients = 0;
+        List<Ingredient> b = (breakfast != null) ? breakfast.getScaledIngredients() : List.of();
+        List<Ingredient> l = (lunch != null) ? lunch.getScaledIngredients() : List.of();
+        List<Ingredient> d = (dinner != null) ? dinner.getScaledIngredients() : List.of();
         
-        if (breakfast != null) {
-            totalIngredients += breakfast.getIngredients().length;
-        }
-        if (lunch != null) {
-            totalIngredients += lunch.getIngredients().length;
-        }
-        if (dinner != null) {
-            totalIngredients += dinner.getIngredients().length;
-        }
-        
-        Ingredient[] allIngredients = new Ingredient[totalIngredients];
+        Ingredient[] allIngredients = new Ingredient[b.size() + l.size() + d.size()];
         int index = 0;
-        
-        if (breakfast != null) {
-            for (Ingredient ing : breakfast.getIngredients()) {
-                allIngredients[index++] = ing;
-            }
+        for (Ingredient ing : b) {
+            allIngredients[index++] = ing;
         }
-        if (lunch != null) {
-            for (Ingredient ing : lunch.getIngredients()) {
-                allIngredients[index++] = ing;
-            }
+        for (Ingredient ing : l) {
+            allIngredients[index++] = ing;
         }
-        if (dinner != null) {
-            for (Ingredient ing : dinner.getIngredients()) {
-                allIngredients[index++] = ing;
-            }
+        for (Ingredient ing : d) {
+            allIngredients[index++] = ing;
         }
         
         return allIngredients;
@@ -0,0 +1,35 @@
+package com.mycompany.smartmealplanner.model;
+
+/**
+ * Ranked Selection Model Class
+ *
+ * A recipe selection together with the planner score it was ranked by
+ * (lower is better, repeat penalty included). Returned by
+ * Planner.topK and Planner.alternatives so the UI can offer meal swaps;
+ * being a RecipeSelection it can go straight into a PlanDay.
+ */
+public class RankedSelection extends RecipeSelection {
+
+    // ===== FIELDS =====
+    private double score;    // Planner score for this recipe and serving
+
+    /**
+     * @param recipe The selected recipe object
+     * @param servings Serving size multiplier (1.0 = base serving)
+     * @param score Planner score (lower is better)
+     */
+    public RankedSelection(Recipe recipe, double servings, double score) {
+        super(recipe, servings);
+        this.score = score;
+    }
+
+    // ===== GETTERS =====
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (score %.1f)", super.toString(), score);
+    }
+}
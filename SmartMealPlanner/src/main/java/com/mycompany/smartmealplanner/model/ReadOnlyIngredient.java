@@ -0,0 +1,49 @@
+package com.mycompany.smartmealplanner.model;
+
+/**
+ * Ingredient that rejects its setters.
+ *
+ * The one read-only ingredient type: recipes hold their ingredients as
+ * these (the catalog's recipes are shared by every user and thread), and
+ * a RecipeSelection's cached scaled ingredients are built as these, so
+ * nothing either of them hands out can be changed.
+ */
+final class ReadOnlyIngredient extends Ingredient {
+
+    private ReadOnlyIngredient(Ingredient source) {
+        super(source);
+    }
+
+    private ReadOnlyIngredient(Ingredient source, double factor) {
+        super(source, factor);
+    }
+
+    /**
+     * Read-only copy of an ingredient (the ingredient itself if it already is one)
+     */
+    static Ingredient of(Ingredient source) {
+        return (source instanceof ReadOnlyIngredient) ? source : new ReadOnlyIngredient(source);
+    }
+
+    /**
+     * Read-only copy of an ingredient scaled by a factor, built in one step
+     */
+    static Ingredient scaled(Ingredient source, double factor) {
+        return new ReadOnlyIngredient(source, factor);
+    }
+
+    @Override
+    public void setName(String name) {
+        throw new UnsupportedOperationException("Shared ingredients are read-only");
+    }
+
+    @Override
+    public void setUnit(String unit) {
+        throw new UnsupportedOperationException("Shared ingredients are read-only");
+    }
+
+    @Override
+    public void setQuantityPerServing(double quantityPerServing) {
+        throw new UnsupportedOperationException("Shared ingredients are read-only");
+    }
+}
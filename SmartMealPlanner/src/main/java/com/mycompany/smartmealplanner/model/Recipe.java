@@ -1,5 +1,7 @@
 package com.mycompany.smartmealplanner.model;
 
+import java.util.List;
+
 /**
  * Recipe Model Class - Abstract Base
  * 
@@ -16,18 +18,23 @@ Accessed 2 September 2025
 */
 public abstract class Recipe {
     
+    // ===== CONSTANTS =====
+    public static final int NO_ID = -1;   // Id of a recipe no catalog has registered
+    
     // ===== FIELDS =====
-    private String name;              // Recipe display name
-    private Ingredient[] ingredients; // List of required ingredients
-    private double calories;          // Calories per base serving
-    private double protein;           // Protein in grams per base serving
-    private double carbs;             // Carbohydrates in grams per base serving
-    private double fat;               // Fat in grams per base serving
-    private double baseServings;      // Number of servings this recipe makes
-    private String[] instructions;    // Step-by-step cooking directions
-    private int prepTime;             // Preparation time in minutes
-    private int cookTime;             // Cooking time in minutes
-    private String difficulty;        // Complexity level (Easy/Medium/Hard)
+    private int id = NO_ID;                   // Compact catalog id (see assignId)
+    private final String name;                // Recipe display name
+    private final Ingredient[] ingredients;   // Read-only copies of the required ingredients
+    private final List<Ingredient> ingredientList;  // Unmodifiable view of ingredients
+    private final double calories;            // Calories per base serving
+    private final double protein;             // Protein in grams per base serving
+    private final double carbs;               // Carbohydrates in grams per base serving
+    private final double fat;                 // Fat in grams per base serving
+    private final double baseServings;        // Number of servings this recipe makes
+    private final String[] instructions;      // Step-by-step cooking directions
+    private final int prepTime;               // Preparation time in minutes
+    private final int cookTime;               // Cooking time in minutes
+    private final String difficulty;          // Complexity level (Easy/Medium/Hard)
     
     /**
      * Full constructor with all recipe details.
@@ -56,13 +63,14 @@ public abstract class Recipe {
                   double protein, double carbs, double fat, double baseServings,
                   String[] instructions, int prepTime, int cookTime, String difficulty) {
         this.name = name;
-        this.ingredients = ingredients;
+        this.ingredients = readOnly(ingredients);
+        this.ingredientList = List.of(this.ingredients);
         this.calories = calories;
         this.protein = protein;
         this.carbs = carbs;
         this.fat = fat;
         this.baseServings = baseServings;
-        this.instructions = (instructions != null) ? instructions : new String[]{"No instructions available"};
+        this.instructions = (instructions != null) ? instructions.clone() : new String[]{"No instructions available"};
         this.prepTime = prepTime;
         this.cookTime = cookTime;
         this.difficulty = (difficulty != null) ? difficulty : "Medium";
@@ -118,6 +126,71 @@ public abstract class Recipe {
         );
     }
     
+    /**
+     * Calories for a number of servings, without building a Macro
+     * @param servings Number of servings
+     * @return Scaled calories (same value as macrosFor(servings).getCalories())
+     */
+    public double caloriesFor(double servings) {
+        return calories * (servings / baseServings);
+    }
+    
+    public double proteinFor(double servings) {
+        return protein * (servings / baseServings);
+    }
+    
+    public double carbsFor(double servings) {
+        return carbs * (servings / baseServings);
+    }
+    
+    public double fatFor(double servings) {
+        return fat * (servings / baseServings);
+    }
+    
+    /**
+     * Add this recipe's macros for a number of servings to a running total.
+     * Scales exactly as macrosFor does, but allocates nothing.
+     * 
+     * @param total Accumulator to add to
+     * @param servings Number of servings
+     */
+    public void addTo(MacroAccumulator total, double servings) {
+        double scaleFactor = servings / baseServings;
+        total.add(calories * scaleFactor, protein * scaleFactor, carbs * scaleFactor, fat * scaleFactor);
+    }
+    
+    /**
+     * Get macros per base serving in fixed point (see FixedPoint)
+     * @return Calories, protein, carbs and fat for baseServings, rounded once
+     */
+    public FixedMacro getFixedMacros() {
+        return FixedMacro.of(calories, protein, carbs, fat);
+    }
+    
+    /**
+     * Get fixed-point macros for a number of thousandth-servings.
+     * Scales the per-recipe amounts by whole numbers, so the result is
+     * rounded once and does not depend on double rounding of servings / baseServings.
+     * 
+     * @param milliServings Servings in thousandths (1000 = one serving)
+     * @return Scaled fixed-point macros
+     */
+    public FixedMacro fixedMacrosFor(long milliServings) {
+        return getFixedMacros().scale(milliServings, FixedPoint.servings(baseServings));
+    }
+    
+    // Recipes are shared (see RecipeCatalog), so they keep read-only copies of their ingredients
+    private static Ingredient[] readOnly(Ingredient[] source) {
+        if (source == null) {
+            return new Ingredient[0];
+        }
+        Ingredient[] copy = new Ingredient[source.length];
+        for (int i = 0; i < source.length; i++) {
+            copy[i] = ReadOnlyIngredient.of(source[i]);
+        }
+        return copy;
+    }
+    
     /**
      * Get ingredients scaled for specified number of servings
      * @param servings Number of servings
@@ -134,6 +207,16 @@ public abstract class Recipe {
         return scaledIngredients;
     }
     
+    // As ingredientsFor, but built directly as read-only ingredients (for RecipeSelection's cache)
+    Ingredient[] readOnlyIngredientsFor(double servings) {
+        double scaleFactor = servings / baseServings;
+        Ingredient[] scaledIngredients = new Ingredient[ingredients.length];
+        for (int i = 0; i < ingredients.length; i++) {
+            scaledIngredients[i] = ReadOnlyIngredient.scaled(ingredients[i], scaleFactor);
+        }
+        return scaledIngredients;
+    }
+    
     /* Stack Overflow 2013
     How to scale recipe quantities by serving size in Java
     Stack Overflow
@@ -144,7 +227,11 @@ public abstract class Recipe {
     */
     
     /**
-     * Check if recipe contains any disliked ingredients
+     * Check if recipe contains any disliked ingredients.
+     * The name is lower-cased once per call, not once per dislike, and
+     * ingredient names come lower-cased from the IngredientDictionary.
+     * To filter a whole catalog, compile the dislikes with DislikeIndex
+     * instead of calling this for every recipe.
      * @param dislikes Array of disliked ingredient keywords
      * @return true if recipe contains any disliked ingredients
      */
@@ -153,16 +240,20 @@ public abstract class Recipe {
             return false;
         }
         
-        // Check recipe name
+        String lowerName = name.toLowerCase();
+        
         for (String dislike : dislikes) {
             if (dislike != null && !dislike.isEmpty()) {
-                if (name.toLowerCase().contains(dislike.toLowerCase())) {
+                String lowerDislike = dislike.toLowerCase();
+                
+                // Check recipe name
+                if (lowerName.contains(lowerDislike)) {
                     return true;
                 }
                 
-                // Check each ingredient
+                // Check each ingredient (its canonical name is already lower-cased)
                 for (Ingredient ingredient : ingredients) {
-                    if (ingredient.getName().toLowerCase().contains(dislike.toLowerCase())) {
+                    if (IngredientDictionary.nameOf(ingredient.getNameId()).contains(lowerDislike)) {
                         return true;
                     }
                 }
@@ -172,6 +263,44 @@ public abstract class Recipe {
         return false;
     }
     
+    /**
+     * Give this recipe its catalog id.
+     * Ids are assigned once by the catalog that owns the recipe (its
+     * position in RecipeLibrary.getAll), so the planner can compare
+     * recipes and saved plans can refer to them by a small int.
+     * 
+     * @param id Non-negative catalog id
+     * @throws IllegalArgumentException if id is negative
+     * @throws IllegalStateException if a different id was already assigned
+     */
+    public void assignId(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Recipe id must not be negative: " + id);
+        }
+        if (this.id != NO_ID && this.id != id) {
+            throw new IllegalStateException("Recipe '" + name + "' already has id " + this.id);
+        }
+        this.id = id;
+    }
+    
+    /**
+     * Check whether two recipes are the same dish.
+     * Compares catalog ids when both recipes have one, otherwise falls
+     * back to the name (ignoring case) as before ids existed.
+     * 
+     * @param other Recipe to compare with (may be null)
+     * @return true if both refer to the same recipe
+     */
+    public boolean isSameRecipe(Recipe other) {
+        if (other == null) {
+            return false;
+        }
+        if (id != NO_ID && other.id != NO_ID) {
+            return id == other.id;
+        }
+        return name.equalsIgnoreCase(other.name);
+    }
+    
     /**
      * Get the meal type of this recipe
      * @return String representation of meal type
@@ -203,12 +332,28 @@ public abstract class Recipe {
     }
     
     // Getters
+    public int getId() {
+        return id;
+    }
+    
     public String getName() {
         return name;
     }
     
+    /**
+     * Get the ingredients
+     * @return New array of the recipe's read-only ingredients
+     */
     public Ingredient[] getIngredients() {
-        return ingredients;
+        return ingredients.clone();
+    }
+    
+    /**
+     * Get the ingredients without copying, for loops over many recipes
+     * @return Unmodifiable list of the recipe's read-only ingredients
+     */
+    public List<Ingredient> getIngredientList() {
+        return ingredientList;
     }
     
     public double getCalories() {
@@ -232,7 +377,7 @@ public abstract class Recipe {
     }
     
     public String[] getInstructions() {
-        return instructions;
+        return instructions.clone();
     }
     
     public int getPrepTime() {
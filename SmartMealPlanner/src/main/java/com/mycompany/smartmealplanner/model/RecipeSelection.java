@@ -1,17 +1,30 @@
 package com.mycompany.smartmealplanner.model;
 
+import java.util.List;
+
 /**
  * Recipe Selection Model Class
  * 
  * Represents a recipe with a specific serving size multiplier.
  * Used by the meal planning algorithm to store optimized recipe
  * choices with their calculated serving amounts.
+ * 
+ * Immutable: the scaled macros are worked out once when the selection is
+ * made, and the scaled ingredients the first time they are asked for, so
+ * showing the same plan again (reports, recipe cards, grocery lists)
+ * reuses them instead of rescaling the recipe each time.
  */
 public class RecipeSelection {
     
     // ===== FIELDS =====
-    private Recipe recipe;      // The selected recipe
-    private double servings;    // Serving size multiplier (e.g., 1.5x, 2.0x)
+    private final Recipe recipe;      // The selected recipe
+    private final double servings;    // Serving size multiplier (e.g., 1.5x, 2.0x)
+    private final double calories;    // Scaled macros, as recipe.macrosFor(servings)
+    private final double protein;
+    private final double carbs;
+    private final double fat;
+    private volatile List<Ingredient> ingredients;  // Scaled ingredients, built on first use
+    private FixedMacro fixedMacros;                 // Fixed-point macros, built on first use (immutable)
     
     /**
      * Constructor for recipe selection with serving multiplier.
@@ -23,24 +36,96 @@ public class RecipeSelection {
     public RecipeSelection(Recipe recipe, double servings) {
         this.recipe = recipe;
         this.servings = servings;
+        // A planner slot with no recipes holds a selection of nothing
+        this.calories = (recipe != null) ? recipe.caloriesFor(servings) : 0;
+        this.protein = (recipe != null) ? recipe.proteinFor(servings) : 0;
+        this.carbs = (recipe != null) ? recipe.carbsFor(servings) : 0;
+        this.fat = (recipe != null) ? recipe.fatFor(servings) : 0;
     }
     
     /**
      * Get the macro-nutrients for this recipe selection.
      * Automatically scales nutritional values based on serving multiplier.
      * 
-     * @return Macro object with scaled nutritional information
+     * @return New Macro with the scaled values (Macro is mutable, so each call gets its own)
      */
     public Macro getMacros() {
-        return recipe.macrosFor(servings);
+        return new Macro(calories, protein, carbs, fat);
     }
     
     /**
-     * Get the ingredients for this selection
+     * Add this selection's macros to a running total without building a Macro
+     * @param total Accumulator to add to
+     */
+    public void addTo(MacroAccumulator total) {
+        total.add(calories, protein, carbs, fat);
+    }
+    
+    /**
+     * Scaled calories for this selection, without building a Macro
+     * @return Same value as getMacros().getCalories()
+     */
+    public double getCalories() {
+        return calories;
+    }
+    
+    public double getProtein() {
+        return protein;
+    }
+    
+    public double getCarbs() {
+        return carbs;
+    }
+    
+    public double getFat() {
+        return fat;
+    }
+    
+    /**
+     * Serving multiplier in fixed point
+     * @return Servings in thousandths (1500 = 1.5x)
+     */
+    public long getMilliServings() {
+        return FixedPoint.servings(servings);
+    }
+    
+    /**
+     * Get the macro-nutrients in fixed point, for exact totals over many meals
+     * @return Scaled fixed-point macros (zero for a selection of nothing)
+     */
+    public FixedMacro getFixedMacros() {
+        FixedMacro fixed = fixedMacros;
+        if (fixed == null) {
+            // FixedMacro is immutable, so racing threads can only store equal values
+            fixed = (recipe != null) ? recipe.fixedMacrosFor(getMilliServings()) : FixedMacro.ZERO;
+            fixedMacros = fixed;
+        }
+        return fixed;
+    }
+    
+    /**
+     * Get the scaled ingredients as a read-only view.
+     * Built once per selection and shared by every caller: the list cannot
+     * be changed and its ingredients reject their setters.
+     * 
      * @return Scaled ingredients based on serving size
      */
+    public List<Ingredient> getScaledIngredients() {
+        List<Ingredient> scaled = ingredients;
+        if (scaled == null) {
+            // Two threads may both build it; the lists are equal, so either may win
+            scaled = List.of(recipe.readOnlyIngredientsFor(servings));
+            ingredients = scaled;
+        }
+        return scaled;
+    }
+    
+    /**
+     * Get the ingredients for this selection
+     * @return New array of the shared, read-only scaled ingredients (see getScaledIngredients)
+     */
     public Ingredient[] getIngredients() {
-        return recipe.ingredientsFor(servings);
+        return getScaledIngredients().toArray(new Ingredient[0]);
     }
     
     // ===== GETTERS =====
@@ -56,4 +141,4 @@ public class RecipeSelection {
     public String toString() {
         return String.format("%s (%.1fx)", recipe.getName(), servings);
     }
-}
\ No newline at end of file
+}
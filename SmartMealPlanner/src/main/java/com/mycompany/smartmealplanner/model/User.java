@@ -9,6 +9,11 @@ package com.mycompany.smartmealplanner.model;
  */
 public class User {
     
+    // ===== CONSTANTS =====
+    // Saved plan layout: 1 = recipe names (legacy files), 2 = catalog recipe ids,
+    // 3 = catalog ids with servings in thousandths (FixedPoint.SERVING_SCALE)
+    public static final int PLAN_FORMAT = 3;
+    
     // ===== FIELDS =====
     private String username;        // Unique identifier for user
     private int passwordHash;       // Simple hash for academic purposes
@@ -67,47 +72,16 @@ public class User {
     /**
      * Convert user data to string for file storage
      * @return String representation for saving
+     * @throws IllegalArgumentException if the plan holds a recipe with no catalog id
      */
     public String toFileString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("username=").append(username).append("\n");
-        sb.append("password=").append(passwordHash).append("\n");
-        sb.append("calories=").append(savedTargets.getCalories()).append("\n");
-        sb.append("protein=").append(savedTargets.getProtein()).append("\n");
-        sb.append("carbs=").append(savedTargets.getCarbs()).append("\n");
-        sb.append("fat=").append(savedTargets.getFat()).append("\n");
-        sb.append("days=").append(savedDays).append("\n");
+        StringBuilder sb = new StringBuilder(settingsString());
         
         // Save meal plan if exists
         if (lastPlan != null && lastPlan.length > 0) {
-            sb.append("plan_exists=true").append("\n");
+            sb.append(planHeader());
             for (int i = 0; i < lastPlan.length; i++) {
-                PlanDay day = lastPlan[i];
-                sb.append("plan_day_").append(i).append("=");
-                
-                // Format: BreakfastName,BreakfastServing,LunchName,LunchServing,DinnerName,DinnerServing
-                if (day.getBreakfast() != null) {
-                    sb.append(day.getBreakfast().getRecipe().getName()).append(",");
-                    sb.append(day.getBreakfast().getServings()).append(",");
-                } else {
-                    sb.append("null,0.0,");
-                }
-                
-                if (day.getLunch() != null) {
-                    sb.append(day.getLunch().getRecipe().getName()).append(",");
-                    sb.append(day.getLunch().getServings()).append(",");
-                } else {
-                    sb.append("null,0.0,");
-                }
-                
-                if (day.getDinner() != null) {
-                    sb.append(day.getDinner().getRecipe().getName()).append(",");
-                    sb.append(day.getDinner().getServings());
-                } else {
-                    sb.append("null,0.0");
-                }
-                
-                sb.append("\n");
+                sb.append(planDayEntry(i, lastPlan[i]));
             }
         } else {
             sb.append("plan_exists=false").append("\n");
@@ -116,6 +90,64 @@ public class User {
         return sb.toString();
     }
     
+    /**
+     * Settings part of the saved file (everything before the meal plan)
+     * @return Settings lines for saving
+     */
+    public String settingsString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("username=").append(username).append("\n");
+        sb.append("password=").append(passwordHash).append("\n");
+        sb.append("calories=").append(savedTargets.getCalories()).append("\n");
+        sb.append("protein=").append(savedTargets.getProtein()).append("\n");
+        sb.append("carbs=").append(savedTargets.getCarbs()).append("\n");
+        sb.append("fat=").append(savedTargets.getFat()).append("\n");
+        sb.append("days=").append(savedDays).append("\n");
+        return sb.toString();
+    }
+    
+    /**
+     * Lines that start a saved meal plan
+     * @return Plan header lines
+     */
+    public static String planHeader() {
+        return "plan_exists=true\nplan_format=" + PLAN_FORMAT + "\n";
+    }
+    
+    /**
+     * One saved plan day, so a plan can be written a day at a time
+     * @param dayIndex Position of the day in the plan (0 = first day)
+     * @param day The day to save
+     * @return Line for the saved file
+     * @throws IllegalArgumentException if a meal's recipe has no catalog id
+     */
+    public static String planDayEntry(int dayIndex, PlanDay day) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("plan_day_").append(dayIndex).append("=");
+        
+        // Format: BreakfastId,BreakfastServing,LunchId,LunchServing,DinnerId,DinnerServing
+        // (servings in thousandths since format 3, e.g. 1500 for 1.5x)
+        appendMeal(sb, day.getBreakfast()).append(",");
+        appendMeal(sb, day.getLunch()).append(",");
+        appendMeal(sb, day.getDinner());
+        
+        return sb.append("\n").toString();
+    }
+    
+    // Catalog id and thousandth-servings of one meal; -1 stands for no meal. A recipe
+    // without an id (not from the catalog) would read back as no meal, so it is refused
+    private static StringBuilder appendMeal(StringBuilder sb, RecipeSelection meal) {
+        if (meal == null || meal.getRecipe() == null) {
+            return sb.append(Recipe.NO_ID).append(",0");
+        }
+        Recipe recipe = meal.getRecipe();
+        if (recipe.getId() == Recipe.NO_ID) {
+            throw new IllegalArgumentException("Recipe \"" + recipe.getName()
+                    + "\" is not from the recipe catalog and cannot be saved in a plan");
+        }
+        return sb.append(recipe.getId()).append(",").append(meal.getMilliServings());
+    }
+    
     // Getters and Setters
     public String getUsername() {
         return username;
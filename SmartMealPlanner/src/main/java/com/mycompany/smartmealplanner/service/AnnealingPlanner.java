@@ -0,0 +1,395 @@
+package com.mycompany.smartmealplanner.service;
+
+import com.mycompany.smartmealplanner.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Seeded Simulated Annealing Planner
+ *
+ * The greedy planner is deterministic, so everyone with the same target
+ * gets the same plan. This planner searches the whole horizon against the
+ * PlanScorer objective from a random start, so different seeds give
+ * different good plans, while the same seed always gives the same plan.
+ *
+ * Each meal is drawn from its slot's shortlist (SlotShortlist). A move
+ * either replaces one meal with another shortlisted recipe at its best
+ * serving, swaps one slot's meals between two days, or nudges one
+ * meal's serving by a step. Worse moves are accepted with probability
+ * exp(-delta / T) while the temperature cools geometrically. Meals are
+ * scored by Planner.mealScore, exactly as pickBest scores them, so with
+ * a one-day variety window the objective is the greedy planner's.
+ *
+ * Independent restarts run in parallel and the best plan wins. Every
+ * restart draws from its own generator split from the seed in restart
+ * order, and ties go to the lower restart, so the result depends on the
+ * seed and the restart count but not on the threads or their timing.
+ */
+public class AnnealingPlanner {
+
+    /* Kirkpatrick, S., Gelatt, C.D. and Vecchi, M.P. 1983
+       "Optimization by Simulated Annealing"
+       Science, 220(4598), pp. 671-680
+       https://doi.org/10.1126/science.220.4598.671
+       Accessed 16 October 2026
+    */
+
+    public static final int DEFAULT_SHORTLIST = 32;
+    public static final int DEFAULT_ITERATIONS = 20_000;
+    private static final int[] SLOTS = { RecipeMatrix.BREAKFAST, RecipeMatrix.LUNCH, RecipeMatrix.DINNER };
+    private static final double START_TEMPERATURE = Planner.REPEAT_PENALTY;  // A repeat is often accepted at first
+    private static final double END_TEMPERATURE = 0.5;                       // Only near-ties are accepted at the end
+    private static final double MIN_GAIN = 1e-9;                             // Smaller gains are rounding
+
+    // ===== FIELDS =====
+    private final Planner planner;    // Serving grid and solver settings
+    private final PlanScorer scorer;  // Objective being minimised
+    private int shortlist = DEFAULT_SHORTLIST;                            // Candidates kept per slot
+    private int iterations = DEFAULT_ITERATIONS;                          // Moves tried per restart
+    private int restarts = Runtime.getRuntime().availableProcessors();   // Independent runs
+    private int threads = Runtime.getRuntime().availableProcessors();    // Runs in parallel
+
+    /**
+     * Annealing planner with the default variety window
+     * @param planner Planner whose serving settings to follow
+     */
+    public AnnealingPlanner(Planner planner) {
+        this(planner, new PlanScorer());
+    }
+
+    /**
+     * @param planner Planner whose serving settings to follow
+     * @param scorer Plan objective (variety window)
+     */
+    public AnnealingPlanner(Planner planner, PlanScorer scorer) {
+        this.planner = planner;
+        this.scorer = scorer;
+    }
+
+    /**
+     * Build a plan by annealing from a seed
+     *
+     * @param days Number of days to plan
+     * @param target Daily macro-nutrient targets
+     * @param index Library partitioned by meal slot
+     * @param seed Random seed (same seed and restart count, same plan)
+     * @return Best plan over all restarts, with every restart's score
+     */
+    public AnnealedPlan buildPlan(int days, Macro target, MealTypeIndex index, long seed) {
+        SlotShortlist[] candidates = new SlotShortlist[3];
+        for (int m = 0; m < 3; m++) {
+            candidates[m] = SlotShortlist.of(planner, index.slot(SLOTS[m]), target, SLOTS[m], shortlist);
+        }
+
+        // Split generators on this thread, in restart order, so they never depend on scheduling
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[restarts];
+        for (int r = 0; r < restarts; r++) {
+            randoms[r] = root.split();
+        }
+
+        Run[] runs = new Run[restarts];
+        if (threads == 1 || restarts == 1) {
+            for (int r = 0; r < restarts; r++) {
+                runs[r] = anneal(days, target, candidates, randoms[r]);
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(Math.min(threads, restarts));
+            try {
+                List<CompletableFuture<Run>> futures = new ArrayList<>();
+                for (int r = 0; r < restarts; r++) {
+                    SplittableRandom random = randoms[r];
+                    futures.add(CompletableFuture.supplyAsync(() -> anneal(days, target, candidates, random), pool));
+                }
+                for (int r = 0; r < restarts; r++) {
+                    runs[r] = futures.get(r).join();
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        int best = 0;
+        double[] scores = new double[restarts];
+        long accepted = 0;
+        for (int r = 0; r < restarts; r++) {
+            scores[r] = runs[r].score;
+            accepted += runs[r].accepted;
+            if (scores[r] < scores[best]) {
+                best = r;
+            }
+        }
+        return new AnnealedPlan(runs[best].plan, scores[best], seed, best, scores, accepted);
+    }
+
+    /**
+     * One annealing run from a random plan
+     */
+    private Run anneal(int days, Macro target, SlotShortlist[] candidates, SplittableRandom random) {
+        double step = planner.getServingStep();
+        double maxServing = Planner.roundServing(Planner.MIN_SERV + Planner.stepCount(step) * step);
+
+        // Random start: every meal a random shortlisted recipe at its best serving
+        int[][] choice = new int[3][days];
+        double[][] serving = new double[3][days];
+        double[][] fit = new double[3][days];
+        for (int m = 0; m < 3; m++) {
+            for (int d = 0; d < days; d++) {
+                int c = random.nextInt(candidates[m].size);
+                choice[m][d] = c;
+                serving[m][d] = candidates[m].serving[c];
+                fit[m][d] = candidates[m].fit[c];
+            }
+        }
+        double current = 0;
+        for (int m = 0; m < 3; m++) {
+            for (int d = 0; d < days; d++) {
+                // Each pair is seen from both ends, so count half from each
+                current += fit[m][d] + 0.5 * candidates[m].varietyCost(scorer, choice[m], d, choice[m][d]);
+            }
+        }
+
+        int[][] bestChoice = copy(choice);
+        double[][] bestServing = copy(serving);
+        double bestScore = current;
+        long accepted = 0;
+        double cooling = Math.pow(END_TEMPERATURE / START_TEMPERATURE, 1.0 / Math.max(1, iterations - 1));
+        double temperature = START_TEMPERATURE;
+
+        for (int i = 0; i < iterations && days > 0; i++, temperature *= cooling) {
+            int m = random.nextInt(3);
+            int d = random.nextInt(days);
+            SlotShortlist slot = candidates[m];
+            int[] chosen = choice[m];
+            int move = random.nextInt(8);   // 5 in 8 replace, 2 in 8 swap, 1 in 8 nudge
+
+            if (move < 5) {
+                // Replace the meal with another shortlisted recipe at its best serving
+                int c = random.nextInt(slot.size);
+                int old = chosen[d];
+                if (c == old) continue;
+                double delta = slot.fit[c] + slot.varietyCost(scorer, chosen, d, c)
+                        - fit[m][d] - slot.varietyCost(scorer, chosen, d, old);
+                if (accept(delta, temperature, random)) {
+                    chosen[d] = c;
+                    serving[m][d] = slot.serving[c];
+                    fit[m][d] = slot.fit[c];
+                    current += delta;
+                    accepted++;
+                }
+            } else if (move < 7) {
+                // Swap this slot's meals between two days; meal fits are unchanged
+                int e = random.nextInt(days);
+                if (e == d || slot.sameClass(chosen[d], chosen[e])) continue;
+                double before = slot.varietyCost(scorer, chosen, d, chosen[d])
+                        + slot.varietyCost(scorer, chosen, e, chosen[e]);
+                swap(chosen, serving[m], fit[m], d, e);
+                double delta = slot.varietyCost(scorer, chosen, d, chosen[d])
+                        + slot.varietyCost(scorer, chosen, e, chosen[e]) - before;
+                if (accept(delta, temperature, random)) {
+                    current += delta;
+                    accepted++;
+                } else {
+                    swap(chosen, serving[m], fit[m], d, e);
+                }
+            } else {
+                // Nudge the serving one step up or down
+                Recipe r = slot.recipe[chosen[d]];
+                if (r == null) continue;
+                double s = Planner.roundServing(serving[m][d] + (random.nextBoolean() ? step : -step));
+                if (s < Planner.MIN_SERV || s > maxServing) continue;
+                double newFit = PlanScorer.mealFit(r, s, slot.mealType, target);
+                double delta = newFit - fit[m][d];
+                if (accept(delta, temperature, random)) {
+                    serving[m][d] = s;
+                    fit[m][d] = newFit;
+                    current += delta;
+                    accepted++;
+                }
+            }
+
+            if (current < bestScore - MIN_GAIN) {
+                bestScore = current;
+                copyInto(choice, bestChoice);
+                copyInto(serving, bestServing);
+            }
+        }
+
+        PlanDay[] plan = new PlanDay[days];
+        RecipeSelection[] day = new RecipeSelection[3];
+        for (int d = 0; d < days; d++) {
+            for (int m = 0; m < 3; m++) {
+                day[m] = new RecipeSelection(candidates[m].recipe[bestChoice[m][d]], bestServing[m][d]);
+            }
+            plan[d] = new PlanDay(d + 1, day[0], day[1], day[2]);
+        }
+        // Rescore from scratch so the running sum's rounding never decides between restarts
+        return new Run(plan, scorer.score(plan, target), accepted);
+    }
+
+    // Metropolis rule
+    private static boolean accept(double delta, double temperature, SplittableRandom random) {
+        return delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature);
+    }
+
+    private static void swap(int[] chosen, double[] serving, double[] fit, int a, int b) {
+        int c = chosen[a];
+        chosen[a] = chosen[b];
+        chosen[b] = c;
+        double s = serving[a];
+        serving[a] = serving[b];
+        serving[b] = s;
+        double f = fit[a];
+        fit[a] = fit[b];
+        fit[b] = f;
+    }
+
+    private static int[][] copy(int[][] a) {
+        int[][] c = new int[a.length][];
+        for (int i = 0; i < a.length; i++) c[i] = a[i].clone();
+        return c;
+    }
+
+    private static double[][] copy(double[][] a) {
+        double[][] c = new double[a.length][];
+        for (int i = 0; i < a.length; i++) c[i] = a[i].clone();
+        return c;
+    }
+
+    private static void copyInto(int[][] from, int[][] to) {
+        for (int i = 0; i < from.length; i++) System.arraycopy(from[i], 0, to[i], 0, from[i].length);
+    }
+
+    private static void copyInto(double[][] from, double[][] to) {
+        for (int i = 0; i < from.length; i++) System.arraycopy(from[i], 0, to[i], 0, from[i].length);
+    }
+
+    // ===== CONFIGURATION GETTERS AND SETTERS =====
+
+    public int getShortlist() {
+        return shortlist;
+    }
+
+    /**
+     * Set how many recipes per slot the search may choose from
+     * @param shortlist Candidates per slot, at least 1
+     */
+    public void setShortlist(int shortlist) {
+        if (shortlist < 1) {
+            throw new IllegalArgumentException("Shortlist must hold at least one recipe: " + shortlist);
+        }
+        this.shortlist = shortlist;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Set how many moves each restart tries
+     * @param iterations Moves per restart, at least 1
+     */
+    public void setIterations(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be at least 1: " + iterations);
+        }
+        this.iterations = iterations;
+    }
+
+    public int getRestarts() {
+        return restarts;
+    }
+
+    /**
+     * Set how many independent runs to keep the best of
+     * @param restarts Number of runs, at least 1
+     */
+    public void setRestarts(int restarts) {
+        if (restarts < 1) {
+            throw new IllegalArgumentException("Restarts must be at least 1: " + restarts);
+        }
+        this.restarts = restarts;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Set how many runs go at once; does not change the result
+     * @param threads Worker threads, at least 1
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be at least 1: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    // ===== INTERNAL STRUCTURES =====
+
+    /**
+     * Best plan of one restart
+     */
+    private static final class Run {
+        final PlanDay[] plan;
+        final double score;     // PlanScorer score of the plan
+        final long accepted;    // Moves accepted
+
+        Run(PlanDay[] plan, double score, long accepted) {
+            this.plan = plan;
+            this.score = score;
+            this.accepted = accepted;
+        }
+    }
+
+    /**
+     * The best plan over all restarts of one seeded run
+     */
+    public static class AnnealedPlan {
+        private final PlanDay[] plan;
+        private final double score;             // PlanScorer score of the plan
+        private final long seed;                // Seed the run started from
+        private final int bestRestart;          // Restart the plan came from
+        private final double[] restartScores;   // Best score of every restart
+        private final long movesAccepted;       // Moves accepted across all restarts
+
+        AnnealedPlan(PlanDay[] plan, double score, long seed, int bestRestart, double[] restartScores,
+                     long movesAccepted) {
+            this.plan = plan;
+            this.score = score;
+            this.seed = seed;
+            this.bestRestart = bestRestart;
+            this.restartScores = restartScores;
+            this.movesAccepted = movesAccepted;
+        }
+
+        public PlanDay[] getPlan() {
+            return plan;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public int getBestRestart() {
+            return bestRestart;
+        }
+
+        public double[] getRestartScores() {
+            return restartScores.clone();
+        }
+
+        public long getMovesAccepted() {
+            return movesAccepted;
+        }
+    }
+}
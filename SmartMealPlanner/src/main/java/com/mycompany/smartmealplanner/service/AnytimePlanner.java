@@ -0,0 +1,221 @@
+package com.mycompany.smartmealplanner.service;
+
+import com.mycompany.smartmealplanner.model.*;
+
+import java.time.Duration;
+
+/**
+ * Anytime Planner with a Latency Budget
+ *
+ * Plans the whole horizon against the PlanScorer objective and always
+ * answers by a deadline. Each slot is shortlisted once (the best
+ * `shortlist` recipes by meal fit, one Planner.topK scan per slot), a
+ * greedy plan is built from the shortlists in a single pass, and the
+ * plan is then improved by local search until the deadline: every meal
+ * is replaced by the shortlisted recipe that lowers the plan score the
+ * most, sweep after sweep, until a whole sweep changes nothing.
+ *
+ * The plan held between moves is always complete, so stopping at the
+ * deadline simply returns the best plan so far. A plan that stopped at a
+ * local optimum (no single meal swap helps) is reported as converged.
+ * The three shortlist scans are the floor: a budget shorter than them
+ * is overrun by that much and returns the greedy plan.
+ */
+public class AnytimePlanner {
+
+    /* Zilberstein, S. 1996
+       "Using Anytime Algorithms in Intelligent Systems"
+       AI Magazine, 17(3), pp. 73-83
+       https://doi.org/10.1609/aimag.v17i3.1232
+       Accessed 16 October 2026
+    */
+
+    public static final int DEFAULT_SHORTLIST = 16;
+    private static final int[] SLOTS = { RecipeMatrix.BREAKFAST, RecipeMatrix.LUNCH, RecipeMatrix.DINNER };
+    private static final double MIN_GAIN = 1e-9;          // Smaller gains are rounding, not improvement
+    private static final long MAX_BUDGET = Long.MAX_VALUE / 2;   // Keeps deadline arithmetic from overflowing
+
+    // ===== FIELDS =====
+    private final Planner planner;    // Serving grid and solver settings
+    private final PlanScorer scorer;  // Objective being minimised
+    private final int shortlist;      // Candidates kept per slot
+
+    /**
+     * Anytime planner with the default variety window and shortlist
+     * @param planner Planner whose serving settings to follow
+     */
+    public AnytimePlanner(Planner planner) {
+        this(planner, new PlanScorer(), DEFAULT_SHORTLIST);
+    }
+
+    /**
+     * @param planner Planner whose serving settings to follow
+     * @param scorer Plan objective (variety window)
+     * @param shortlist Candidates kept per slot (at least 1)
+     */
+    public AnytimePlanner(Planner planner, PlanScorer scorer, int shortlist) {
+        if (shortlist < 1) {
+            throw new IllegalArgumentException("Shortlist must hold at least one recipe: " + shortlist);
+        }
+        this.planner = planner;
+        this.scorer = scorer;
+        this.shortlist = shortlist;
+    }
+
+    /**
+     * Build the best plan found within a time budget
+     *
+     * @param days Number of days to plan
+     * @param target Daily macro-nutrient targets
+     * @param index Library partitioned by meal slot
+     * @param budget Time allowed from now (zero returns the greedy plan)
+     * @return Best plan found, with its score and whether the search converged
+     */
+    public AnytimePlan buildPlan(int days, Macro target, MealTypeIndex index, Duration budget) {
+        if (budget.isNegative()) {
+            throw new IllegalArgumentException("Budget must not be negative: " + budget);
+        }
+        long nanos = (budget.compareTo(Duration.ofNanos(MAX_BUDGET)) > 0) ? MAX_BUDGET : budget.toNanos();
+        return buildPlanUntil(days, target, index, System.nanoTime() + nanos);
+    }
+
+    /**
+     * Build the best plan found before a deadline
+     *
+     * @param days Number of days to plan
+     * @param target Daily macro-nutrient targets
+     * @param index Library partitioned by meal slot
+     * @param deadline Deadline on the System.nanoTime() clock
+     * @return Best plan found, with its score and whether the search converged
+     */
+    public AnytimePlan buildPlanUntil(int days, Macro target, MealTypeIndex index, long deadline) {
+        SlotShortlist[] candidates = new SlotShortlist[3];
+        for (int m = 0; m < 3; m++) {
+            candidates[m] = SlotShortlist.of(planner, index.slot(SLOTS[m]), target, SLOTS[m], shortlist);
+        }
+
+        // Greedy: each meal takes its best shortlisted recipe, avoiding yesterday's
+        int[][] choice = new int[3][days];
+        for (int m = 0; m < 3; m++) {
+            SlotShortlist slot = candidates[m];
+            for (int d = 0; d < days; d++) {
+                int best = 0;
+                double bestScore = Double.POSITIVE_INFINITY;
+                for (int c = 0; c < slot.size; c++) {
+                    double s = slot.fit[c];
+                    if (d > 0 && slot.sameClass(c, choice[m][d - 1])) {
+                        s += scorer.penalty(1);
+                    }
+                    if (s < bestScore) {
+                        bestScore = s;
+                        best = c;
+                    }
+                }
+                choice[m][d] = best;
+            }
+        }
+        double greedyScore = scorer.score(toPlan(candidates, choice, days), target);
+
+        // Local search: best single-meal replacement, sweep after sweep
+        boolean converged = false;
+        long moves = 0;
+        search:
+        while (true) {
+            boolean improved = false;
+            for (int m = 0; m < 3; m++) {
+                SlotShortlist slot = candidates[m];
+                for (int d = 0; d < days; d++) {
+                    if (System.nanoTime() - deadline >= 0) {
+                        break search;
+                    }
+                    int current = choice[m][d];
+                    double currentCost = slot.fit[current] + slot.varietyCost(scorer, choice[m], d, current);
+                    int best = current;
+                    double bestGain = MIN_GAIN;
+                    for (int c = 0; c < slot.size; c++) {
+                        if (c == current) continue;
+                        double gain = currentCost - (slot.fit[c] + slot.varietyCost(scorer, choice[m], d, c));
+                        if (gain > bestGain) {
+                            bestGain = gain;
+                            best = c;
+                        }
+                    }
+                    if (best != current) {
+                        choice[m][d] = best;
+                        moves++;
+                        improved = true;
+                    }
+                }
+            }
+            if (!improved) {
+                converged = true;
+                break;
+            }
+        }
+
+        PlanDay[] plan = toPlan(candidates, choice, days);
+        return new AnytimePlan(plan, scorer.score(plan, target), greedyScore, converged, moves);
+    }
+
+    private static PlanDay[] toPlan(SlotShortlist[] candidates, int[][] choice, int days) {
+        PlanDay[] plan = new PlanDay[days];
+        RecipeSelection[] day = new RecipeSelection[3];
+        for (int d = 0; d < days; d++) {
+            for (int m = 0; m < 3; m++) {
+                int c = choice[m][d];
+                day[m] = new RecipeSelection(candidates[m].recipe[c], candidates[m].serving[c]);
+            }
+            plan[d] = new PlanDay(d + 1, day[0], day[1], day[2]);
+        }
+        return plan;
+    }
+
+    public int getShortlist() {
+        return shortlist;
+    }
+
+    // ===== INTERNAL STRUCTURES =====
+
+    /**
+     * The best plan an anytime search found
+     */
+    public static class AnytimePlan {
+        private final PlanDay[] plan;
+        private final double score;          // PlanScorer score of the plan
+        private final double greedyScore;    // PlanScorer score of the starting greedy plan
+        private final boolean converged;     // Stopped at a local optimum rather than the deadline
+        private final long moves;            // Meal replacements applied
+
+        AnytimePlan(PlanDay[] plan, double score, double greedyScore, boolean converged, long moves) {
+            this.plan = plan;
+            this.score = score;
+            this.greedyScore = greedyScore;
+            this.converged = converged;
+            this.moves = moves;
+        }
+
+        public PlanDay[] getPlan() {
+            return plan;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public double getGreedyScore() {
+            return greedyScore;
+        }
+
+        /**
+         * True when no single meal swap within the shortlists improves the
+         * plan; false when the deadline came first
+         */
+        public boolean isConverged() {
+            return converged;
+        }
+
+        public long getMoves() {
+            return moves;
+        }
+    }
+}
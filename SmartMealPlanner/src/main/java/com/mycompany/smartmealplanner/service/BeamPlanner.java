@@ -0,0 +1,262 @@
+package com.mycompany.smartmealplanner.service;
+
+import com.mycompany.smartmealplanner.model.*;
+
+/**
+ * Multi-Day Beam Search Planner
+ *
+ * Plans the whole horizon at once against the PlanScorer objective, so
+ * variety is weighed across the week rather than only against yesterday.
+ * The plan is built one meal slot at a time (day 1 breakfast, lunch,
+ * dinner, day 2 breakfast, ...) and after each slot only the `width`
+ * best partial plans are kept. Width is the single quality/latency knob:
+ * width 1 behaves like the greedy planner, wider beams keep more
+ * alternatives alive and find plans with fewer repeats.
+ *
+ * A partial plan is one compact node per slot - a parent pointer, a
+ * candidate index and the accumulated score - so memory is bounded by
+ * days x 3 x width nodes however large the library is. Meal fit does
+ * not depend on history, so each slot's candidates are scored once per
+ * plan: the best (width + window) recipes, which always include every
+ * state's best few choices whatever it ate recently.
+ */
+public class BeamPlanner {
+
+    /* Lowerre, B.T. 1976
+       "The HARPY Speech Recognition System"
+       PhD thesis, Carnegie Mellon University
+       https://apps.dtic.mil/sti/citations/ADA035146
+       Accessed 16 October 2026
+    */
+
+    private static final int[] SLOTS = { RecipeMatrix.BREAKFAST, RecipeMatrix.LUNCH, RecipeMatrix.DINNER };
+
+    // ===== FIELDS =====
+    private final Planner planner;    // Serving grid and solver settings
+    private final PlanScorer scorer;  // Objective being minimised
+    private final int width;          // Partial plans kept per slot
+
+    /**
+     * Beam planner with the default variety window
+     * @param planner Planner whose serving settings to follow
+     * @param width Beam width (at least 1)
+     */
+    public BeamPlanner(Planner planner, int width) {
+        this(planner, width, new PlanScorer());
+    }
+
+    /**
+     * @param planner Planner whose serving settings to follow
+     * @param width Beam width (at least 1)
+     * @param scorer Plan objective (variety window)
+     */
+    public BeamPlanner(Planner planner, int width, PlanScorer scorer) {
+        if (width < 1) {
+            throw new IllegalArgumentException("Beam width must be at least 1: " + width);
+        }
+        this.planner = planner;
+        this.width = width;
+        this.scorer = scorer;
+    }
+
+    /**
+     * Build a plan for the whole horizon
+     *
+     * @param days Number of days to plan
+     * @param target Daily macro-nutrient targets
+     * @param index Library partitioned by meal slot
+     * @return Best plan kept in the beam, with its score
+     */
+    public BeamPlan buildPlan(int days, Macro target, MealTypeIndex index) {
+        Candidates[] candidates = new Candidates[3];
+        for (int m = 0; m < 3; m++) {
+            candidates[m] = topCandidates(index.slot(SLOTS[m]), target, SLOTS[m], width + scorer.getWindow());
+        }
+
+        int levels = days * 3;
+        int[] parent = new int[levels * width];   // Node -> index of its parent in the previous level
+        int[] choice = new int[levels * width];   // Node -> candidate index in its slot's list
+        double[] score = { 0.0 };                 // Scores of the previous level (one root)
+        int prevCount = 1;
+        long scored = 0;
+
+        BoundedHeap beam = new BoundedHeap(width);
+        int[] recent = new int[scorer.getWindow() + 1];
+
+        for (int level = 0; level < levels; level++) {
+            Candidates slot = candidates[level % 3];
+            beam.clear();
+
+            for (int i = 0; i < prevCount; i++) {
+                // Same-slot recipes of the last `window` days, walking up the parent pointers
+                int found = 0;
+                int node = i, at = level - 1;
+                for (int back = 1; back <= scorer.getWindow() && level - 3 * back >= 0; back++) {
+                    int want = level - 3 * back;
+                    while (at > want) {
+                        node = parent[at * width + node];
+                        at--;
+                    }
+                    recent[back] = slot.recipeClass[choice[at * width + node]];
+                    found = back;
+                }
+
+                for (int c = 0; c < slot.size; c++) {
+                    double s = score[i] + slot.fit[c];
+                    for (int back = 1; back <= found; back++) {
+                        if (recent[back] == slot.recipeClass[c] && recent[back] >= 0) {
+                            s += scorer.penalty(back);
+                        }
+                    }
+                    beam.offer(s, (long) i * slot.size + c);
+                    scored++;
+                }
+            }
+
+            // Keep the best nodes, best first
+            int count = beam.size();
+            double[] next = new double[count];
+            for (int j = count - 1; j >= 0; j--) {
+                long seq = beam.topSeq();
+                next[j] = beam.topScore();
+                beam.pop();
+                parent[level * width + j] = (int) (seq / slot.size);
+                choice[level * width + j] = (int) (seq % slot.size);
+            }
+            score = next;
+            prevCount = count;
+        }
+
+        // Walk back from the best final node
+        PlanDay[] plan = new PlanDay[days];
+        RecipeSelection[] day = new RecipeSelection[3];
+        int node = 0;
+        for (int level = levels - 1; level >= 0; level--) {
+            Candidates slot = candidates[level % 3];
+            int c = choice[level * width + node];
+            day[level % 3] = new RecipeSelection(slot.recipe[c], slot.serving[c]);
+            if (level % 3 == 0) {
+                plan[level / 3] = new PlanDay(level / 3 + 1, day[0], day[1], day[2]);
+            }
+            node = parent[level * width + node];
+        }
+
+        return new BeamPlan(plan, levels > 0 ? score[0] : 0.0, scored);
+    }
+
+    /**
+     * The best `limit` recipes of a slot by meal fit, each at its best
+     * serving, best first (ties to the lower row, as the greedy scan).
+     * An empty slot gets one empty candidate so the beam can pass through.
+     */
+    private Candidates topCandidates(RecipeMatrix m, Macro target, int mealType, int limit) {
+        double share = Planner.mealShare(mealType);
+        double rc = target.getCalories() * share, rp = target.getProtein() * share;
+        double rcb = target.getCarbs() * share, rf = target.getFat() * share;
+        double step = planner.getServingStep();
+        int steps = Planner.stepCount(step);
+        boolean closedForm = planner.getServingSolver() == ServingSolver.CLOSED_FORM;
+
+        if (m.size == 0) {
+            return new Candidates(new Recipe[] { null }, new double[] { 1.0 }, new double[] { 0.0 }, new int[] { -1 });
+        }
+
+        // Sequence number row * (steps + 1) + k: ties go to the lower row, and k rides along
+        BoundedHeap best = new BoundedHeap(Math.min(limit, m.size));
+        for (int row = 0; row < m.size; row++) {
+            double c = m.calories[row], p = m.protein[row], cb = m.carbs[row], f = m.fat[row];
+            int kFrom = Planner.firstStep(c, p, cb, f, rc, rp, rcb, rf, step, steps, closedForm);
+            int kTo = Planner.lastStep(kFrom, steps, closedForm);
+            double rowFit = Double.POSITIVE_INFINITY;
+            int rowK = kFrom;
+            for (int k = kFrom; k <= kTo; k++) {
+                double fit = Planner.mealScore(c, p, cb, f, Planner.MIN_SERV + k * step, rc, rp, rcb, rf);
+                if (fit < rowFit) {
+                    rowFit = fit;
+                    rowK = k;
+                }
+            }
+            best.offer(rowFit, (long) row * (steps + 1) + rowK);
+        }
+
+        int n = best.size();
+        Recipe[] recipe = new Recipe[n];
+        double[] serving = new double[n];
+        double[] fit = new double[n];
+        int[] recipeClass = new int[n];
+        for (int j = n - 1; j >= 0; j--) {
+            long seq = best.topSeq();
+            fit[j] = best.topScore();
+            best.pop();
+            recipe[j] = m.recipe((int) (seq / (steps + 1)));
+            serving[j] = Planner.roundServing(Planner.MIN_SERV + (seq % (steps + 1)) * step);
+        }
+
+        // Same recipe (Recipe.isSameRecipe) = same class for variety purposes; the shortlist is small
+        int classes = 0;
+        for (int j = 0; j < n; j++) {
+            recipeClass[j] = -1;
+            for (int k = 0; k < j && recipeClass[j] < 0; k++) {
+                if (recipe[j].isSameRecipe(recipe[k])) {
+                    recipeClass[j] = recipeClass[k];
+                }
+            }
+            if (recipeClass[j] < 0) {
+                recipeClass[j] = classes++;
+            }
+        }
+        return new Candidates(recipe, serving, fit, recipeClass);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    // ===== INTERNAL STRUCTURES =====
+
+    /**
+     * One slot's shortlisted candidates, best fit first
+     */
+    private static final class Candidates {
+        final int size;
+        final Recipe[] recipe;
+        final double[] serving;
+        final double[] fit;        // Weighted distance from the slot's share of the day
+        final int[] recipeClass;     // Equal for the same recipe (-1 for an empty slot)
+
+        Candidates(Recipe[] recipe, double[] serving, double[] fit, int[] recipeClass) {
+            this.size = recipe.length;
+            this.recipe = recipe;
+            this.serving = serving;
+            this.fit = fit;
+            this.recipeClass = recipeClass;
+        }
+    }
+
+    /**
+     * A finished beam-search plan
+     */
+    public static class BeamPlan {
+        private final PlanDay[] plan;
+        private final double score;            // PlanScorer score of the plan
+        private final long candidatesScored;   // Children scored across all slots
+
+        BeamPlan(PlanDay[] plan, double score, long candidatesScored) {
+            this.plan = plan;
+            this.score = score;
+            this.candidatesScored = candidatesScored;
+        }
+
+        public PlanDay[] getPlan() {
+            return plan;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public long getCandidatesScored() {
+            return candidatesScored;
+        }
+    }
+}
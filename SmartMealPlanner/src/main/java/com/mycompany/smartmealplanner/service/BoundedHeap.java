@@ -0,0 +1,93 @@
+package com.mycompany.smartmealplanner.service;
+
+/**
+ * Bounded max-heap of (score, sequence) pairs that keeps the
+ * `capacity` smallest, ties going to the smaller sequence number.
+ * The worst kept entry sits on top so it can be replaced in O(log n),
+ * and popping hands the kept entries back worst first.
+ *
+ * Callers pack whatever identifies an entry (row, serving step, parent
+ * node) into the sequence number, so the heap stores two primitive
+ * arrays and allocates nothing after construction. Used for the beam
+ * and its per-slot shortlists (BeamPlanner) and for ranked
+ * alternatives (Planner.topK).
+ */
+final class BoundedHeap {
+
+    /* Sedgewick and Wayne 2011
+       "Algorithms" - Section 2.4: Priority Queues
+       Addison-Wesley, 4th Edition
+       https://algs4.cs.princeton.edu/24pq/
+       Accessed 16 October 2026
+    */
+
+    private final double[] scores;
+    private final long[] seqs;
+    private int size;
+
+    BoundedHeap(int capacity) {
+        scores = new double[capacity];
+        seqs = new long[capacity];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    double topScore() {
+        return scores[0];
+    }
+
+    long topSeq() {
+        return seqs[0];
+    }
+
+    void offer(double score, long seq) {
+        if (size < scores.length) {
+            int i = size++;
+            while (i > 0) {
+                int up = (i - 1) >>> 1;
+                if (!worse(score, seq, scores[up], seqs[up])) break;
+                scores[i] = scores[up];
+                seqs[i] = seqs[up];
+                i = up;
+            }
+            scores[i] = score;
+            seqs[i] = seq;
+        } else if (worse(scores[0], seqs[0], score, seq)) {
+            siftDown(score, seq);
+        }
+    }
+
+    void pop() {
+        size--;
+        if (size > 0) {
+            siftDown(scores[size], seqs[size]);
+        }
+    }
+
+    private void siftDown(double score, long seq) {
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && worse(scores[child + 1], seqs[child + 1], scores[child], seqs[child])) {
+                child++;
+            }
+            if (!worse(scores[child], seqs[child], score, seq)) break;
+            scores[i] = scores[child];
+            seqs[i] = seqs[child];
+            i = child;
+        }
+        scores[i] = score;
+        seqs[i] = seq;
+    }
+
+    private static boolean worse(double s1, long q1, double s2, long q2) {
+        return s1 > s2 || (s1 == s2 && q1 > q2);
+    }
+}
@@ -0,0 +1,48 @@
+package com.mycompany.smartmealplanner.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one Planner.buildPlan call.
+ * Duration is the event's own; the fields are only filled in when the
+ * event will be committed, so a JVM that is not recording pays for
+ * little more than the begin and end timestamps.
+ */
+@Name(BuildPlanEvent.NAME)
+@Label("Build Plan")
+@Category({ "Smart Meal Planner", "Planning" })
+@Description("A meal plan built by Planner.buildPlan")
+@StackTrace(false)
+final class BuildPlanEvent extends Event {
+
+    /* Oracle 2025
+       jdk.jfr.Event (Java SE 21 & JDK 21)
+       Oracle Documentation
+       https://docs.oracle.com/en/java/javase/21/docs/api/jdk.jfr/jdk/jfr/Event.html
+       Accessed 16 October 2026
+    */
+
+    static final String NAME = "smartmealplanner.BuildPlan";
+
+    @Label("Days")
+    int days;
+
+    @Label("Plan Mode")
+    String planMode;
+
+    @Label("Library Size")
+    @Description("Recipes in the meal-type index planned against")
+    int librarySize;
+
+    @Label("Candidates Scored")
+    @Description("Recipes scored (per-meal; only the rows a k-d tree search reaches), nodes explored (joint day) or children scored (beam)")
+    long candidatesScored;
+
+    @Label("Target Calories")
+    double targetCalories;
+}
@@ -0,0 +1,14 @@
+package com.mycompany.smartmealplanner.service;
+
+/**
+ * How the planner finds the best candidate for a meal slot.
+ *
+ * SCAN scores every recipe of the slot. KD_TREE walks a k-d tree over
+ * the per-serving macro vectors and skips whole subtrees whose best
+ * possible score cannot beat the best found so far; it returns exactly
+ * the same pick as SCAN, but only scores a small part of a large catalog.
+ */
+public enum CandidateSearch {
+    SCAN,
+    KD_TREE
+}
@@ -0,0 +1,656 @@
+package com.mycompany.smartmealplanner.service;
+
+import com.mycompany.smartmealplanner.model.*;
+
+/**
+ * Joint Day Optimiser
+ *
+ * Chooses breakfast, lunch and dinner together so the day's total lands
+ * as close as possible to the full daily target, instead of each meal
+ * chasing its own fixed share. A day is scored as the planner's weighted
+ * macro distance between the day's total and the target, plus the repeat
+ * penalty for every slot that repeats the previous day's recipe.
+ *
+ * The search is a depth-first branch and bound. Breakfast candidates
+ * (recipe x serving) are tried in order of their lower bound, then every
+ * lunch candidate, and dinner is solved exactly for whatever macros are
+ * left. A partial day is pruned when the closest total the remaining
+ * slots could still reach - each slot bounded per macro by its smallest
+ * and largest value over the serving range - cannot beat the best day
+ * found so far (less an optional optimality gap). The per-meal greedy
+ * day, improved one slot at a time, seeds the search, so a joint day
+ * always scores at least as well as the greedy one.
+ */
+public class DayOptimizer {
+
+    /* Land, A.H. and Doig, A.G. 1960
+       "An automatic method of solving discrete programming problems"
+       Econometrica, 28(3), pp. 497-520
+       https://doi.org/10.2307/1910129
+       Accessed 16 October 2026
+    */
+
+    private static final long DEFAULT_MAX_NODES = 2_000_000L;
+    private static final double DEFAULT_GAP = 0.5;   // Half a kcal-equivalent: no visible difference
+
+    // ===== FIELDS =====
+    private final Planner planner;               // Serving grid, solver and candidate search settings
+    private long maxNodes = DEFAULT_MAX_NODES;   // Search budget per day
+    private double optimalityGap = DEFAULT_GAP;  // Accepted distance from the true optimum
+
+    /**
+     * Create an optimiser that uses a planner's serving and search settings
+     * @param planner Planner whose configuration to follow
+     */
+    public DayOptimizer(Planner planner) {
+        this.planner = planner;
+    }
+
+    /**
+     * Build a multi-day plan, optimising each day jointly.
+     * Repeat penalties look at the previous day, as in the per-meal planner.
+     *
+     * @param days Number of days to plan
+     * @param target Daily macro-nutrient targets
+     * @param index Library partitioned by meal slot
+     * @return Plan with each day's score and search statistics
+     */
+    public JointPlan buildPlan(int days, Macro target, MealTypeIndex index) {
+        DayResult[] results = new DayResult[days];
+        Recipe prevB = null, prevL = null, prevD = null;
+
+        for (int d = 0; d < days; d++) {
+            results[d] = optimizeDay(d + 1, target, index, prevB, prevL, prevD);
+            PlanDay day = results[d].getDay();
+            prevB = day.getBreakfast().getRecipe();
+            prevL = day.getLunch().getRecipe();
+            prevD = day.getDinner().getRecipe();
+        }
+
+        return new JointPlan(results);
+    }
+
+    /**
+     * Find the best breakfast, lunch and dinner for one day
+     *
+     * @param dayNumber Day number in the plan
+     * @param target Daily macro-nutrient targets
+     * @param index Library partitioned by meal slot
+     * @param prevB Previous day's breakfast recipe (or null)
+     * @param prevL Previous day's lunch recipe (or null)
+     * @param prevD Previous day's dinner recipe (or null)
+     * @return Best day found, its score and search statistics
+     */
+    public DayResult optimizeDay(int dayNumber, Macro target, MealTypeIndex index,
+                                 Recipe prevB, Recipe prevL, Recipe prevD) {
+        PlanDay greedy = planner.greedyDay(dayNumber, target, index, prevB, prevL, prevD);
+
+        Search search = new Search(target, index, prevB, prevL, prevD);
+        search.seed(greedy);
+        search.run();
+
+        PlanDay day = new PlanDay(dayNumber,
+                new RecipeSelection(search.bestRecipe(0), search.bestServ[0]),
+                new RecipeSelection(search.bestRecipe(1), search.bestServ[1]),
+                new RecipeSelection(search.bestRecipe(2), search.bestServ[2]));
+        return new DayResult(day, search.bestScore, search.explored, search.pruned, search.visited, search.complete);
+    }
+
+    /**
+     * Joint score of a planned day: weighted distance of the day's total
+     * from the daily target, plus the repeat penalty for each slot that
+     * repeats the previous day. Lets the per-meal and joint plans be
+     * compared on the same scale.
+     *
+     * @param day Day to score
+     * @param target Daily macro-nutrient targets
+     * @param previous Previous day (or null for the first day)
+     * @return Score (lower is better)
+     */
+    public static double dayScore(PlanDay day, Macro target, PlanDay previous) {
+        RecipeSelection[] meals = { day.getBreakfast(), day.getLunch(), day.getDinner() };
+        RecipeSelection[] before = (previous == null) ? new RecipeSelection[3]
+                : new RecipeSelection[] { previous.getBreakfast(), previous.getLunch(), previous.getDinner() };
+
+        double c = 0, p = 0, cb = 0, f = 0, penalty = 0;
+        for (int m = 0; m < 3; m++) {
+            Recipe r = (meals[m] != null) ? meals[m].getRecipe() : null;
+            if (r == null) continue;
+            double s = meals[m].getServings();
+            c += r.getCalories() * s;
+            p += r.getProtein() * s;
+            cb += r.getCarbs() * s;
+            f += r.getFat() * s;
+            Recipe prev = (before[m] != null) ? before[m].getRecipe() : null;
+            if (r.isSameRecipe(prev)) {
+                penalty += Planner.REPEAT_PENALTY;
+            }
+        }
+        return penalty + Planner.mealScore(c, p, cb, f, 1.0,
+                target.getCalories(), target.getProtein(), target.getCarbs(), target.getFat());
+    }
+
+    // ===== SEARCH =====
+
+    /**
+     * State of one day's search. Candidates of a slot are numbered
+     * row * (steps + 1) + k, where k is the serving step; an empty slot
+     * has a single candidate that adds nothing.
+     */
+    private final class Search {
+        private final double[] t;                  // Daily target
+        private final RecipeMatrix[] slots;        // Breakfast, lunch, dinner
+        private final boolean[][] repeats;         // Per slot and row: same recipe as yesterday
+        private final Recipe[] prevRecipes;        // Yesterday's recipe per slot (or null)
+        private final double step;
+        private final int steps;
+        private final boolean closedForm;
+        private final boolean kdTree;
+        private final double gap;                  // Prune nodes that cannot win by more than this
+
+        // Per-macro box of what the remaining slots can add
+        private final double[] dinnerLo = new double[4], dinnerHi = new double[4];
+        private final double[] restLo = new double[4], restHi = new double[4];
+
+        // Best day so far: row and serving per slot (row -1 for an empty slot)
+        final int[] bestRow = { -1, -1, -1 };
+        final double[] bestServ = { 1.0, 1.0, 1.0 };
+        double bestScore = Double.POSITIVE_INFINITY;
+
+        long explored;
+        long pruned;
+        long visited;      // Nodes looked at, pruned or not; what the budget counts
+        boolean complete = true;
+
+        // Found by the last solveSlot call
+        private boolean found;
+        private int foundRow;
+        private double foundServ;
+
+        Search(Macro target, MealTypeIndex index, Recipe prevB, Recipe prevL, Recipe prevD) {
+            this.t = new double[] { target.getCalories(), target.getProtein(), target.getCarbs(), target.getFat() };
+            this.slots = new RecipeMatrix[] {
+                index.slot(RecipeMatrix.BREAKFAST), index.slot(RecipeMatrix.LUNCH), index.slot(RecipeMatrix.DINNER)
+            };
+            this.prevRecipes = new Recipe[] { prevB, prevL, prevD };
+            this.repeats = new boolean[][] {
+                repeatsOf(slots[0], prevB), repeatsOf(slots[1], prevL), repeatsOf(slots[2], prevD)
+            };
+            this.step = planner.getServingStep();
+            this.steps = Planner.stepCount(step);
+            this.closedForm = planner.getServingSolver() == ServingSolver.CLOSED_FORM;
+            this.kdTree = planner.getCandidateSearch() == CandidateSearch.KD_TREE;
+            this.gap = optimalityGap;
+
+            double[] lunchLo = new double[4], lunchHi = new double[4];
+            box(slots[1], lunchLo, lunchHi);
+            box(slots[2], dinnerLo, dinnerHi);
+            for (int d = 0; d < 4; d++) {
+                restLo[d] = lunchLo[d] + dinnerLo[d];
+                restHi[d] = lunchHi[d] + dinnerHi[d];
+            }
+        }
+
+        /**
+         * Start from the per-meal greedy day, then improve it one slot at a
+         * time: re-pick each meal for whatever the other two leave of the
+         * daily target, until no single swap helps. A good first day lets
+         * the bounds prune from the very first breakfast.
+         */
+        void seed(PlanDay greedy) {
+            RecipeSelection[] meals = { greedy.getBreakfast(), greedy.getLunch(), greedy.getDinner() };
+            for (int m = 0; m < 3; m++) {
+                bestServ[m] = meals[m].getServings();
+                for (int row = 0; row < slots[m].size; row++) {
+                    if (slots[m].holds(row, meals[m].getRecipe())) {   // No decode for mapped rows
+                        bestRow[m] = row;
+                        break;
+                    }
+                }
+            }
+            bestScore = incumbentScore(-1);
+
+            boolean improved = true;
+            while (improved) {
+                improved = false;
+                for (int m = 0; m < 3; m++) {
+                    if (slots[m].size == 0) continue;
+                    double[] r = remainingWithout(m);
+                    double others = incumbentScore(m);
+                    double score = others + solveSlot(m, r[0], r[1], r[2], r[3], bestScore - others);
+                    if (found && score < bestScore - 1e-9) {
+                        bestScore = score;
+                        bestRow[m] = foundRow;
+                        bestServ[m] = foundServ;
+                        improved = true;
+                    }
+                }
+            }
+        }
+
+        // Daily target minus every incumbent meal except one slot (-1: none skipped)
+        private double[] remainingWithout(int skip) {
+            double[] r = t.clone();
+            for (int m = 0; m < 3; m++) {
+                if (m == skip || bestRow[m] < 0) continue;
+                RecipeMatrix mat = slots[m];
+                int row = bestRow[m];
+                r[0] -= mat.calories[row] * bestServ[m];
+                r[1] -= mat.protein[row] * bestServ[m];
+                r[2] -= mat.carbs[row] * bestServ[m];
+                r[3] -= mat.fat[row] * bestServ[m];
+            }
+            return r;
+        }
+
+        // Incumbent's score, or just its repeat penalties outside one slot when skip >= 0
+        private double incumbentScore(int skip) {
+            double penalty = 0;
+            for (int m = 0; m < 3; m++) {
+                if (m != skip && bestRow[m] >= 0 && repeats[m] != null && repeats[m][bestRow[m]]) {
+                    penalty += Planner.REPEAT_PENALTY;
+                }
+            }
+            if (skip >= 0) {
+                return penalty;
+            }
+            double[] r = remainingWithout(-1);
+            return penalty + Planner.mealScore(0, 0, 0, 0, 1.0, r[0], r[1], r[2], r[3]);
+        }
+
+        void run() {
+            RecipeMatrix b = slots[0], l = slots[1];
+            int nb = candidates(b), nl = candidates(l);
+            double[] v = new double[4];
+
+            // Breakfasts in order of their lower bound, so the loop can stop at the first hopeless one.
+            // Each breakfast expanded costs one node plus one per lunch, so the budget reaches at
+            // most maxNodes / (1 + nl) + 1 of them: only that many best bounds are kept and sorted.
+            int reachable = (int) Math.min(nb, maxNodes / (1L + nl) + 1);
+            BoundedHeap best = new BoundedHeap(reachable);
+            for (int cand = 0; cand < nb; cand++) {
+                vector(b, cand, v);
+                double bound = penalty(0, cand) + distance(t[0] - v[0], t[1] - v[1], t[2] - v[2], t[3] - v[3], restLo, restHi);
+                best.offer(floorFloat(bound), cand);
+            }
+            int kept = best.size();
+            double[] keys = new double[kept];
+            int[] order = new int[kept];
+            for (int j = kept - 1; j >= 0; j--) {   // Popped worst first
+                keys[j] = best.topScore();
+                order[j] = (int) best.topSeq();
+                best.pop();
+            }
+
+            double[] w = new double[4];
+            for (int i = 0; i < kept; i++) {
+                // The key never exceeds the true bound, and later keys are no smaller
+                if (keys[i] >= bestScore - gap) {
+                    pruned += nb - i;
+                    break;
+                }
+                if (visited >= maxNodes) {
+                    complete = false;
+                    return;
+                }
+                visited++;
+                explored++;
+
+                int bCand = order[i];
+                vector(b, bCand, v);
+                double penB = penalty(0, bCand);
+                double r0 = t[0] - v[0], r1 = t[1] - v[1], r2 = t[2] - v[2], r3 = t[3] - v[3];
+                dive(bCand, penB, r0, r1, r2, r3);
+
+                for (int lCand = 0; lCand < nl; lCand++) {
+                    // Pruned lunches count too, or the budget would not bound the nb * nl loop
+                    if (visited >= maxNodes) {
+                        complete = false;
+                        return;
+                    }
+                    visited++;
+                    vector(l, lCand, w);
+                    double penBL = penB + penalty(1, lCand);
+                    double d0 = r0 - w[0], d1 = r1 - w[1], d2 = r2 - w[2], d3 = r3 - w[3];
+
+                    if (penBL + distance(d0, d1, d2, d3, dinnerLo, dinnerHi) >= bestScore - gap) {
+                        pruned++;
+                        continue;
+                    }
+                    explored++;
+
+                    double score = penBL + solveSlot(2, d0, d1, d2, d3, bestScore - gap - penBL);
+                    if (found && score < bestScore) {
+                        bestScore = score;
+                        bestRow[0] = rowOf(b, bCand);
+                        bestServ[0] = servingOf(bCand);
+                        bestRow[1] = rowOf(l, lCand);
+                        bestServ[1] = servingOf(lCand);
+                        bestRow[2] = foundRow;
+                        bestServ[2] = foundServ;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Cheap look for a better day under this breakfast before the full
+         * lunch loop: take the best lunch for what the best day's dinner
+         * leaves, then the best dinner for that lunch. Finding a good day
+         * early is what lets the bounds prune the rest of the loop.
+         */
+        private void dive(int bCand, double penB, double r0, double r1, double r2, double r3) {
+            double e0 = r0, e1 = r1, e2 = r2, e3 = r3;
+            if (bestRow[2] >= 0) {
+                RecipeMatrix d = slots[2];
+                int row = bestRow[2];
+                e0 -= d.calories[row] * bestServ[2];
+                e1 -= d.protein[row] * bestServ[2];
+                e2 -= d.carbs[row] * bestServ[2];
+                e3 -= d.fat[row] * bestServ[2];
+            }
+            solveSlot(1, e0, e1, e2, e3, Double.POSITIVE_INFINITY);
+            if (!found) {
+                return;
+            }
+            int lRow = foundRow;
+            double lServ = foundServ;
+            double penBL = penB;
+            double d0 = r0, d1 = r1, d2 = r2, d3 = r3;
+            if (lRow >= 0) {
+                RecipeMatrix l = slots[1];
+                penBL += (repeats[1] != null && repeats[1][lRow]) ? Planner.REPEAT_PENALTY : 0;
+                d0 -= l.calories[lRow] * lServ;
+                d1 -= l.protein[lRow] * lServ;
+                d2 -= l.carbs[lRow] * lServ;
+                d3 -= l.fat[lRow] * lServ;
+            }
+
+            double score = penBL + solveSlot(2, d0, d1, d2, d3, bestScore - penBL);
+            if (found && score < bestScore) {
+                bestScore = score;
+                bestRow[0] = rowOf(slots[0], bCand);
+                bestServ[0] = servingOf(bCand);
+                bestRow[1] = lRow;
+                bestServ[1] = lServ;
+                bestRow[2] = foundRow;
+                bestServ[2] = foundServ;
+            }
+        }
+
+        /**
+         * Best recipe of one slot scoring below a cutoff for the macros
+         * still to reach, exactly as the per-meal planner scores a slot
+         * (including the repeat penalty). Sets found, and leaves the chosen
+         * row and serving in foundRow and foundServ.
+         */
+        private double solveSlot(int slot, double rc, double rp, double rcb, double rf, double cutoff) {
+            RecipeMatrix m = slots[slot];
+            foundRow = -1;
+            foundServ = 1.0;
+            if (m.size == 0) {
+                found = true;
+                return Planner.mealScore(0, 0, 0, 0, 1.0, rc, rp, rcb, rf);
+            }
+
+            double best = cutoff;
+            if (kdTree) {
+                // The tree skips every subtree that cannot get under the cutoff
+                int row = m.kdTree().nearest(RecipeMatrix.ANY, rc, rp, rcb, rf, prevRecipes[slot], step, steps, closedForm, cutoff, null);
+                if (row >= 0) {
+                    best = scoreRow(slot, row, rc, rp, rcb, rf, Double.POSITIVE_INFINITY);
+                }
+            } else {
+                for (int row = 0; row < m.size; row++) {
+                    best = scoreRow(slot, row, rc, rp, rcb, rf, best);
+                }
+            }
+            found = foundRow >= 0;
+            return best;
+        }
+
+        // Score one row of a slot; keeps it in foundRow/foundServ if it beats best
+        private double scoreRow(int slot, int row, double rc, double rp, double rcb, double rf, double best) {
+            RecipeMatrix m = slots[slot];
+            double c = m.calories[row], p = m.protein[row], cb = m.carbs[row], f = m.fat[row];
+            int kFrom = Planner.firstStep(c, p, cb, f, rc, rp, rcb, rf, step, steps, closedForm);
+            int kTo = Planner.lastStep(kFrom, steps, closedForm);
+            double pen = (repeats[slot] != null && repeats[slot][row]) ? Planner.REPEAT_PENALTY : 0;
+
+            for (int k = kFrom; k <= kTo; k++) {
+                double score = pen + Planner.mealScore(c, p, cb, f, Planner.MIN_SERV + k * step, rc, rp, rcb, rf);
+                if (score < best) {
+                    best = score;
+                    foundRow = row;
+                    foundServ = Planner.roundServing(Planner.MIN_SERV + k * step);
+                }
+            }
+            return best;
+        }
+
+        // ----- candidates -----
+
+        private int candidates(RecipeMatrix m) {
+            return (m.size == 0) ? 1 : m.size * (steps + 1);
+        }
+
+        // Macros a candidate adds to the day
+        private void vector(RecipeMatrix m, int cand, double[] out) {
+            if (m.size == 0) {
+                out[0] = out[1] = out[2] = out[3] = 0;
+                return;
+            }
+            int row = cand / (steps + 1);
+            double s = Planner.MIN_SERV + (cand % (steps + 1)) * step;
+            out[0] = m.calories[row] * s;
+            out[1] = m.protein[row] * s;
+            out[2] = m.carbs[row] * s;
+            out[3] = m.fat[row] * s;
+        }
+
+        private double penalty(int slot, int cand) {
+            if (repeats[slot] == null || slots[slot].size == 0) {
+                return 0;
+            }
+            return repeats[slot][cand / (steps + 1)] ? Planner.REPEAT_PENALTY : 0;
+        }
+
+        private int rowOf(RecipeMatrix m, int cand) {
+            return (m.size == 0) ? -1 : cand / (steps + 1);
+        }
+
+        Recipe bestRecipe(int slot) {
+            return (bestRow[slot] >= 0) ? slots[slot].recipe(bestRow[slot]) : null;
+        }
+
+        private double servingOf(int cand) {
+            return Planner.roundServing(Planner.MIN_SERV + (cand % (steps + 1)) * step);
+        }
+
+        // Per-macro range a slot can add over the whole serving grid
+        private void box(RecipeMatrix m, double[] lo, double[] hi) {
+            if (m.size == 0) {
+                return; // adds nothing: box stays [0, 0]
+            }
+            double sMax = Planner.MIN_SERV + steps * step;
+            double[][] columns = { m.calories, m.protein, m.carbs, m.fat };
+            for (int d = 0; d < 4; d++) {
+                double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+                for (double x : columns[d]) {
+                    min = Math.min(min, x);
+                    max = Math.max(max, x);
+                }
+                lo[d] = Math.min(min * Planner.MIN_SERV, min * sMax);
+                hi[d] = Math.max(max * Planner.MIN_SERV, max * sMax);
+            }
+        }
+    }
+
+    // Weighted distance from a point to a box (zero inside it)
+    private static double distance(double r0, double r1, double r2, double r3, double[] lo, double[] hi) {
+        return Planner.W_KCAL * gap(r0, lo[0], hi[0]) +
+               Planner.W_PROT * gap(r1, lo[1], hi[1]) +
+               Planner.W_CARB * gap(r2, lo[2], hi[2]) +
+               Planner.W_FAT  * gap(r3, lo[3], hi[3]);
+    }
+
+    private static double gap(double r, double lo, double hi) {
+        return (r < lo) ? lo - r : (r > hi) ? r - hi : 0;
+    }
+
+    // Largest float not above x, so a float sort key never overstates a bound
+    private static float floorFloat(double x) {
+        float f = (float) x;
+        return (f > x) ? Math.nextDown(f) : f;
+    }
+
+    // Rows of a slot holding yesterday's recipe (null when nothing to repeat)
+    private static boolean[] repeatsOf(RecipeMatrix m, Recipe prev) {
+        if (prev == null) {
+            return null;
+        }
+        boolean[] repeats = new boolean[m.size];
+        for (int row = 0; row < m.size; row++) {
+            repeats[row] = m.sameRecipe(row, prev);
+        }
+        return repeats;
+    }
+
+    // ===== CONFIGURATION =====
+
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * Cap the nodes visited per day: every breakfast expanded and every
+     * (breakfast, lunch) pair looked at, including pairs the bound then
+     * prunes, so the cap bounds the work done per day. A day that hits
+     * the cap keeps the best plan found so far and reports that its
+     * search is not complete.
+     * @param maxNodes Node budget per day (at least 1)
+     */
+    public void setMaxNodes(long maxNodes) {
+        if (maxNodes < 1) {
+            throw new IllegalArgumentException("Node budget must be positive: " + maxNodes);
+        }
+        this.maxNodes = maxNodes;
+    }
+
+    public double getOptimalityGap() {
+        return optimalityGap;
+    }
+
+    /**
+     * Let the search stop once no unexplored day can beat the best found
+     * by more than this amount (in score units, roughly kcal). Zero gives
+     * the exact optimum; a small gap lets large catalogs, where many days
+     * land almost exactly on target, finish after a few nodes.
+     * @param optimalityGap Non-negative tolerance
+     */
+    public void setOptimalityGap(double optimalityGap) {
+        if (!(optimalityGap >= 0)) {
+            throw new IllegalArgumentException("Optimality gap must not be negative: " + optimalityGap);
+        }
+        this.optimalityGap = optimalityGap;
+    }
+
+    // ===== RESULTS =====
+
+    /**
+     * One optimised day with its score and search statistics
+     */
+    public static class DayResult {
+        private final PlanDay day;
+        private final double score;        // Joint score (see dayScore)
+        private final long nodesExplored;  // Breakfast and lunch nodes expanded
+        private final long nodesPruned;    // Nodes cut off by the lower bound
+        private final long nodesVisited;   // Nodes looked at, pruned or not (counted by the budget)
+        private final boolean complete;    // Searched to the end (false if the node budget ran out)
+
+        DayResult(PlanDay day, double score, long nodesExplored, long nodesPruned, long nodesVisited, boolean complete) {
+            this.day = day;
+            this.score = score;
+            this.nodesExplored = nodesExplored;
+            this.nodesPruned = nodesPruned;
+            this.nodesVisited = nodesVisited;
+            this.complete = complete;
+        }
+
+        public PlanDay getDay() {
+            return day;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public long getNodesExplored() {
+            return nodesExplored;
+        }
+
+        public long getNodesPruned() {
+            return nodesPruned;
+        }
+
+        public long getNodesVisited() {
+            return nodesVisited;
+        }
+
+        /**
+         * True when no day better than this one by more than the
+         * optimality gap exists
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+    }
+
+    /**
+     * A jointly optimised multi-day plan
+     */
+    public static class JointPlan {
+        private final DayResult[] days;
+
+        JointPlan(DayResult[] days) {
+            this.days = days;
+        }
+
+        public PlanDay[] getPlan() {
+            PlanDay[] plan = new PlanDay[days.length];
+            for (int d = 0; d < days.length; d++) {
+                plan[d] = days[d].getDay();
+            }
+            return plan;
+        }
+
+        public DayResult[] getDays() {
+            return days.clone();
+        }
+
+        public double getTotalScore() {
+            double total = 0;
+            for (DayResult d : days) total += d.getScore();
+            return total;
+        }
+
+        public long getNodesExplored() {
+            long total = 0;
+            for (DayResult d : days) total += d.getNodesExplored();
+            return total;
+        }
+
+        public long getNodesPruned() {
+            long total = 0;
+            for (DayResult d : days) total += d.getNodesPruned();
+            return total;
+        }
+
+        public boolean isComplete() {
+            for (DayResult d : days) {
+                if (!d.isComplete()) return false;
+            }
+            return true;
+        }
+    }
+}
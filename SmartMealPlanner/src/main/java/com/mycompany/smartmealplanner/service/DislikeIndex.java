@@ -0,0 +1,163 @@
+package com.mycompany.smartmealplanner.service;
+
+import com.mycompany.smartmealplanner.model.*;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted index from recipe name and ingredient tokens to recipes.
+ *
+ * Built once per catalog: every recipe name and ingredient name is
+ * lower-cased once and split on whitespace, and each distinct token keeps
+ * a BitSet of the recipes (by position in the library) that contain it.
+ * A dislike list then compiles into one exclusion BitSet without touching
+ * a single recipe string, and MealTypeIndex.without drops those recipes
+ * from the planner's candidates.
+ *
+ * Matches exactly what Recipe.matchesDislikes matches: a dislike hits a
+ * recipe when its name or an ingredient name contains it, ignoring case.
+ * A dislike without whitespace lies inside one token, so it is the union
+ * of every token that contains it. A dislike with whitespace can span
+ * tokens; the recipes holding all of its words are checked against
+ * matchesDislikes itself. Compiled dislikes are cached, so a dislike any
+ * user has used before costs one BitSet OR.
+ */
+public final class DislikeIndex {
+
+    /* Zobel, J. and Moffat, A. 2006
+       "Inverted files for text search engines"
+       ACM Computing Surveys, 38(2), Article 6
+       https://doi.org/10.1145/1132956.1132959
+       Accessed 16 October 2026
+    */
+
+    private static final int MAX_CACHED = 4096;   // Dislikes remembered (free text, so bounded)
+
+    // ===== FIELDS =====
+    private final Recipe[] library;        // Snapshot; bit i is library[i]
+    private final String[] tokens;         // Distinct lower-cased tokens
+    private final BitSet[] postings;       // Token -> recipes containing it
+    private final Map<String, BitSet> compiled = new ConcurrentHashMap<>();
+
+    private DislikeIndex(Recipe[] library) {
+        this.library = library.clone();
+
+        Map<String, BitSet> byToken = new HashMap<>();
+        for (int i = 0; i < this.library.length; i++) {
+            Recipe r = this.library[i];
+            addTokens(byToken, r.getName(), i);
+            for (Ingredient ingredient : r.getIngredientList()) {
+                addTokens(byToken, ingredient.getName(), i);
+            }
+        }
+
+        this.tokens = new String[byToken.size()];
+        this.postings = new BitSet[byToken.size()];
+        int t = 0;
+        for (Map.Entry<String, BitSet> entry : byToken.entrySet()) {
+            tokens[t] = entry.getKey();
+            postings[t] = entry.getValue();
+            t++;
+        }
+    }
+
+    /**
+     * Index a recipe library
+     * @param library Recipes to index; bit i of every BitSet is library[i]
+     * @return New index over a snapshot of the library
+     */
+    public static DislikeIndex of(Recipe[] library) {
+        return new DislikeIndex(library);
+    }
+
+    private static void addTokens(Map<String, BitSet> byToken, String text, int recipe) {
+        for (String token : text.toLowerCase().split("\\s+")) {
+            if (!token.isEmpty()) {
+                byToken.computeIfAbsent(token, k -> new BitSet()).set(recipe);
+            }
+        }
+    }
+
+    /**
+     * Compile a dislike list into the recipes it rules out
+     *
+     * @param dislikes Disliked foods (null and empty entries are ignored)
+     * @return New BitSet of library positions to exclude (the caller may change it)
+     */
+    public BitSet compile(String[] dislikes) {
+        BitSet excluded = new BitSet(library.length);
+        if (dislikes == null) {
+            return excluded;
+        }
+        for (String dislike : dislikes) {
+            if (dislike != null && !dislike.isEmpty()) {
+                excluded.or(matching(dislike));
+            }
+        }
+        return excluded;
+    }
+
+    /**
+     * Recipes one dislike rules out (cached; never modified once built)
+     */
+    private BitSet matching(String dislike) {
+        BitSet hit = compiled.get(dislike);
+        if (hit != null) {
+            return hit;
+        }
+
+        String lower = dislike.toLowerCase();
+        String[] words = lower.trim().split("\\s+");
+        if (words.length == 1 && words[0].equals(lower)) {
+            hit = containing(lower);
+        } else {
+            // May span tokens: narrow to recipes holding every word, then check the whole phrase
+            hit = new BitSet(library.length);
+            hit.set(0, library.length);
+            for (String word : words) {
+                if (!word.isEmpty()) {
+                    hit.and(containing(word));
+                }
+            }
+            String[] single = { dislike };
+            for (int i = hit.nextSetBit(0); i >= 0; i = hit.nextSetBit(i + 1)) {
+                if (!library[i].matchesDislikes(single)) {
+                    hit.clear(i);
+                }
+            }
+        }
+
+        if (compiled.size() < MAX_CACHED) {
+            compiled.putIfAbsent(dislike, hit);
+        }
+        return hit;
+    }
+
+    // Union of the postings of every token containing the text
+    private BitSet containing(String text) {
+        BitSet union = new BitSet(library.length);
+        for (int t = 0; t < tokens.length; t++) {
+            if (tokens[t].contains(text)) {
+                union.or(postings[t]);
+            }
+        }
+        return union;
+    }
+
+    /**
+     * Number of distinct tokens indexed
+     */
+    public int tokenCount() {
+        return tokens.length;
+    }
+
+    /**
+     * Number of recipes indexed
+     */
+    public int size() {
+        return library.length;
+    }
+}
@@ -0,0 +1,37 @@
+package com.mycompany.smartmealplanner.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one grocery list consolidation in
+ * ReportPrinter: how many ingredient lines the planned meals had and how
+ * many grocery items they merged into.
+ */
+@Name(GroceryConsolidationEvent.NAME)
+@Label("Grocery Consolidation")
+@Category({ "Smart Meal Planner", "Reporting" })
+@Description("Planned meals' ingredients merged into a grocery list")
+@StackTrace(false)
+final class GroceryConsolidationEvent extends Event {
+
+    static final String NAME = "smartmealplanner.GroceryConsolidation";
+
+    @Label("Days")
+    int days;
+
+    @Label("Distinct Recipes")
+    int recipes;
+
+    @Label("Items In")
+    @Description("Ingredient lines over every planned meal")
+    int itemsIn;
+
+    @Label("Items Out")
+    @Description("Grocery items after merging by name and unit")
+    int itemsOut;
+}
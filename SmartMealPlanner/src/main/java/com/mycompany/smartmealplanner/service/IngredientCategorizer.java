@@ -1,6 +1,9 @@
 package com.mycompany.smartmealplanner.service;
 
 import com.mycompany.smartmealplanner.model.IngredientCategory;
+import com.mycompany.smartmealplanner.model.IngredientDictionary;
+
+import java.util.Arrays;
 
 /**
  * Service for categorizing ingredients into grocery store sections
@@ -8,6 +11,39 @@ import com.mycompany.smartmealplanner.model.IngredientCategory;
  */
 public class IngredientCategorizer {
     
+    // Category of each IngredientDictionary name id, resolved on first request (null = not yet);
+    // never longer than IngredientDictionary.nameCount()
+    private static volatile IngredientCategory[] byNameId = new IngredientCategory[0];
+    
+    /**
+     * Categorize an ingredient by its dictionary name id.
+     * Each id is resolved by name once; later calls are an array lookup.
+     * 
+     * @param nameId IngredientDictionary id of the ingredient's name
+     * @return Appropriate IngredientCategory for shopping organization
+     */
+    public static IngredientCategory categorize(int nameId) {
+        IngredientCategory[] categories = byNameId;
+        if (nameId < categories.length && categories[nameId] != null) {
+            return categories[nameId];
+        }
+        return resolve(nameId);
+    }
+    
+    private static synchronized IngredientCategory resolve(int nameId) {
+        IngredientCategory[] categories = byNameId;
+        if (nameId >= categories.length) {
+            categories = Arrays.copyOf(categories, Math.max(IngredientDictionary.nameCount(), nameId + 1));
+        } else if (categories[nameId] != null) {
+            return categories[nameId];
+        }
+        // Written in place: a reader that misses the entry just resolves it here again
+        IngredientCategory category = categorizeIngredient(IngredientDictionary.nameOf(nameId));
+        categories[nameId] = category;
+        byNameId = categories;
+        return category;
+    }
+    
     /**
      * Categorize an ingredient by its name
      * @param ingredientName Name of the ingredient (case insensitive)
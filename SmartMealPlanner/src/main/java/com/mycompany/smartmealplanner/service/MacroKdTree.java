@@ -0,0 +1,354 @@
+package com.mycompany.smartmealplanner.service;
+
+import com.mycompany.smartmealplanner.model.Recipe;
+
+import java.util.Arrays;
+
+/**
+ * k-d tree over the per-serving macro vectors of a RecipeMatrix.
+ *
+ * Each node covers a contiguous run of rows and stores the bounding box
+ * of their (calories, protein, carbs, fat). For a meal target and serving
+ * range, the box gives a lower bound on the weighted macro distance any
+ * row below the node can reach, so the search only scores leaves that
+ * could still beat the best candidate found so far. Leaves are scored
+ * exactly with Planner.mealScore, and ties are broken by row order, so
+ * the answer is identical to a full scan of the matrix.
+ *
+ * Splits use the dimension with the widest spread after scaling by the
+ * planner's macro weights, since that is the distance the search bounds.
+ */
+final class MacroKdTree {
+
+    /* Bentley, J.L. 1975
+       "Multidimensional binary search trees used for associative searching"
+       Communications of the ACM, 18(9), pp. 509-517
+       https://doi.org/10.1145/361002.361007
+       Accessed 16 October 2026
+    */
+
+    private static final int LEAF_SIZE = 16;   // Rows per leaf before splitting stops
+    private static final double[] WEIGHTS = {
+        Planner.W_KCAL, Planner.W_PROT, Planner.W_CARB, Planner.W_FAT
+    };
+
+    // ===== FIELDS =====
+    private final RecipeMatrix matrix;
+    private final int[] order;     // Matrix rows, permuted so each node covers [start, end)
+    private int[] start;           // Per node: first position in order
+    private int[] end;             // Per node: one past the last position
+    private int[] left;            // Per node: left child, or -1 for a leaf
+    private int[] right;           // Per node: right child, or -1 for a leaf
+    private double[] lo;           // Per node: box minimum, 4 values per node
+    private double[] hi;           // Per node: box maximum, 4 values per node
+    private int nodeCount;
+
+    MacroKdTree(RecipeMatrix matrix) {
+        this.matrix = matrix;
+        this.order = new int[matrix.size];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+
+        int capacity = Math.max(1, 4 * matrix.size / LEAF_SIZE + 1);
+        start = new int[capacity];
+        end = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        lo = new double[capacity * 4];
+        hi = new double[capacity * 4];
+
+        if (matrix.size > 0) {
+            build(0, matrix.size);
+        }
+    }
+
+    /**
+     * Find the row with the lowest meal score, as a full scan would.
+     *
+     * @param mealType Meal-type code to consider (or RecipeMatrix.ANY)
+     * @param rc Calories the meal has to reach
+     * @param rp Protein the meal has to reach
+     * @param rcb Carbohydrates the meal has to reach
+     * @param rf Fat the meal has to reach
+     * @param prev Previous day's recipe for this slot, or null
+     * @param step Serving step
+     * @param steps Number of steps above the minimum serving
+     * @param closedForm Whether servings are solved in closed form
+     * @param scanned If not null, rows actually scored are added to scanned[0]
+     * @return Best row, or -1 if no row matches the meal type
+     */
+    int nearest(int mealType, double rc, double rp, double rcb, double rf,
+                Recipe prev, double step, int steps, boolean closedForm, long[] scanned) {
+        return nearest(mealType, rc, rp, rcb, rf, prev, step, steps, closedForm, Double.POSITIVE_INFINITY, scanned);
+    }
+
+    /**
+     * Find the best row scoring strictly below a cutoff. Subtrees that
+     * cannot beat the cutoff are never visited, so a caller that already
+     * holds a good answer elsewhere pays very little for a hopeless query.
+     *
+     * @param cutoff Only rows scoring below this are of interest
+     * @param scanned If not null, rows actually scored are added to scanned[0]
+     * @return Best row below the cutoff, or -1 if there is none
+     */
+    int nearest(int mealType, double rc, double rp, double rcb, double rf,
+                Recipe prev, double step, int steps, boolean closedForm, double cutoff, long[] scanned) {
+        if (nodeCount == 0) {
+            return -1;
+        }
+        Search search = new Search(mealType, rc, rp, rcb, rf, prev, step, steps, closedForm);
+        search.bestScore = cutoff;
+        search.visit(0);
+        if (scanned != null) scanned[0] += search.scored;
+        return search.bestRow;
+    }
+
+    // ===== BUILD =====
+
+    private int build(int from, int to) {
+        int node = nodeCount++;
+        ensureCapacity(nodeCount);
+        start[node] = from;
+        end[node] = to;
+        left[node] = -1;
+        right[node] = -1;
+
+        // Bounding box of the rows in this node
+        for (int d = 0; d < 4; d++) {
+            lo[node * 4 + d] = Double.POSITIVE_INFINITY;
+            hi[node * 4 + d] = Double.NEGATIVE_INFINITY;
+        }
+        for (int i = from; i < to; i++) {
+            int row = order[i];
+            for (int d = 0; d < 4; d++) {
+                double v = value(row, d);
+                if (v < lo[node * 4 + d]) lo[node * 4 + d] = v;
+                if (v > hi[node * 4 + d]) hi[node * 4 + d] = v;
+            }
+        }
+
+        if (to - from <= LEAF_SIZE) {
+            return node;
+        }
+
+        // Split on the widest weighted dimension
+        int dim = 0;
+        double widest = -1;
+        for (int d = 0; d < 4; d++) {
+            double spread = WEIGHTS[d] * (hi[node * 4 + d] - lo[node * 4 + d]);
+            if (spread > widest) {
+                widest = spread;
+                dim = d;
+            }
+        }
+        if (widest <= 0) {
+            return node; // every row identical - nothing to split
+        }
+
+        int mid = (from + to) >>> 1;
+        select(from, to - 1, mid, dim);
+        int l = build(from, mid);
+        int r = build(mid, to);
+        left[node] = l;
+        right[node] = r;
+        return node;
+    }
+
+    // Quickselect: put the k-th smallest row (by dim) at position k
+    private void select(int from, int to, int k, int dim) {
+        while (to > from) {
+            int mid = (from + to) >>> 1;
+            double pivot = medianOfThree(value(order[from], dim), value(order[mid], dim), value(order[to], dim));
+            int i = from, j = to;
+            while (i <= j) {
+                while (value(order[i], dim) < pivot) i++;
+                while (value(order[j], dim) > pivot) j--;
+                if (i <= j) {
+                    int tmp = order[i];
+                    order[i] = order[j];
+                    order[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                to = j;
+            } else if (k >= i) {
+                from = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static double medianOfThree(double a, double b, double c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private double value(int row, int dim) {
+        switch (dim) {
+            case 0: return matrix.calories[row];
+            case 1: return matrix.protein[row];
+            case 2: return matrix.carbs[row];
+            default: return matrix.fat[row];
+        }
+    }
+
+    private void ensureCapacity(int nodes) {
+        if (nodes <= start.length) {
+            return;
+        }
+        int capacity = start.length * 2;
+        start = Arrays.copyOf(start, capacity);
+        end = Arrays.copyOf(end, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        lo = Arrays.copyOf(lo, capacity * 4);
+        hi = Arrays.copyOf(hi, capacity * 4);
+    }
+
+    // ===== SEARCH =====
+
+    /**
+     * State of one query: target, serving grid and best row so far.
+     * One instance per pickBest call; nothing is allocated per node.
+     */
+    private final class Search {
+        private final int mealType;
+        private final double[] r;          // Remaining target per dimension
+        private final Recipe prev;
+        private final double step;
+        private final int steps;
+        private final boolean closedForm;
+        private final double sMin, sMax;   // Serving range actually on the grid
+
+        int bestRow = -1;
+        double bestScore = Double.POSITIVE_INFINITY;
+        long scored;                       // Rows scored in the leaves visited
+
+        Search(int mealType, double rc, double rp, double rcb, double rf,
+               Recipe prev, double step, int steps, boolean closedForm) {
+            this.mealType = mealType;
+            this.r = new double[] { rc, rp, rcb, rf };
+            this.prev = prev;
+            this.step = step;
+            this.steps = steps;
+            this.closedForm = closedForm;
+            this.sMin = Planner.MIN_SERV;
+            this.sMax = Planner.MIN_SERV + steps * step;
+        }
+
+        void visit(int node) {
+            if (left[node] < 0) {
+                scoreLeaf(node);
+                return;
+            }
+            // Nearer child first, so the far one is more likely to be pruned
+            int a = left[node], b = right[node];
+            double boundA = lowerBound(a), boundB = lowerBound(b);
+            if (boundB < boundA) {
+                int t = a; a = b; b = t;
+                double tb = boundA; boundA = boundB; boundB = tb;
+            }
+            if (!prunable(boundA)) visit(a);
+            if (!prunable(boundB)) visit(b);
+        }
+
+        /**
+         * Lowest weighted distance any row in the node's box can reach on
+         * the serving grid. A row at serving s lies inside [s*lo, s*hi] on
+         * every dimension, so the bound is the minimum over grid servings
+         * of the summed distances from the target to those intervals. That
+         * sum is convex and piecewise linear in s: its continuous minimum
+         * sits at a range end or at a breakpoint s = r/lo or s = r/hi, and
+         * the grid minimum at one of the two grid steps around it.
+         */
+        private double lowerBound(int node) {
+            double bestS = sMin;
+            double best = boxDistance(node, sMin);
+            double atMax = boxDistance(node, sMax);
+            if (atMax < best) {
+                best = atMax;
+                bestS = sMax;
+            }
+            for (int d = 0; d < 4; d++) {
+                double t = r[d];
+                double l = lo[node * 4 + d], h = hi[node * 4 + d];
+                for (int side = 0; side < 2; side++) {
+                    double edge = (side == 0) ? l : h;
+                    if (edge == 0) continue;
+                    double s = t / edge;
+                    if (s > sMin && s < sMax) {
+                        double dist = boxDistance(node, s);
+                        if (dist < best) {
+                            best = dist;
+                            bestS = s;
+                        }
+                    }
+                }
+            }
+
+            // Snap to the grid steps either side of the continuous minimum
+            int k = (int) Math.floor((bestS - sMin) / step);
+            k = Math.max(0, Math.min(steps, k));
+            double grid = boxDistance(node, sMin + k * step);
+            if (k < steps) {
+                grid = Math.min(grid, boxDistance(node, sMin + (k + 1) * step));
+            }
+            return grid;
+        }
+
+        // Weighted distance from the target to the box scaled by s
+        private double boxDistance(int node, double s) {
+            double dist = 0;
+            for (int d = 0; d < 4; d++) {
+                double min = lo[node * 4 + d] * s;
+                double max = hi[node * 4 + d] * s;
+                double t = r[d];
+                if (t < min) {
+                    dist += WEIGHTS[d] * (min - t);
+                } else if (t > max) {
+                    dist += WEIGHTS[d] * (t - max);
+                }
+            }
+            return dist;
+        }
+
+        // Strictly worse only: an equal bound may still hold an earlier row with an equal score
+        private boolean prunable(double bound) {
+            return bound - 1e-9 * (1.0 + bestScore) > bestScore;
+        }
+
+        private void scoreLeaf(int node) {
+            final double[] cal = matrix.calories, prot = matrix.protein;
+            final double[] carb = matrix.carbs, fat = matrix.fat;
+
+            for (int pos = start[node]; pos < end[node]; pos++) {
+                int row = order[pos];
+                if (mealType != RecipeMatrix.ANY && matrix.mealType[row] != mealType) continue;
+                scored++;
+
+                double c = cal[row], p = prot[row], cb = carb[row], f = fat[row];
+                int kFrom = Planner.firstStep(c, p, cb, f, r[0], r[1], r[2], r[3], step, steps, closedForm);
+                int kTo = Planner.lastStep(kFrom, steps, closedForm);
+
+                double rowBest = Double.POSITIVE_INFINITY;
+                for (int k = kFrom; k <= kTo; k++) {
+                    double score = Planner.mealScore(c, p, cb, f, Planner.MIN_SERV + k * step, r[0], r[1], r[2], r[3]);
+                    if (score < rowBest) {
+                        rowBest = score;
+                    }
+                }
+                if (prev != null && matrix.sameRecipe(row, prev)) {
+                    rowBest += Planner.REPEAT_PENALTY;
+                }
+
+                if (rowBest < bestScore || (rowBest == bestScore && row < bestRow)) {
+                    bestScore = rowBest;
+                    bestRow = row;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.mycompany.smartmealplanner.service;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.data.BinaryCatalog;
+import com.mycompany.smartmealplanner.data.RecipeCatalog;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Library snapshot partitioned by meal slot.
+ *
+ * Splits a recipe library once into dense breakfast, lunch and dinner
+ * RecipeMatrix slices, so each slot scan only touches recipes of its own
+ * type and needs no per-row type check. Row ids in every slice are the
+ * recipe's position in the full library. Immutable once built; it stays
+ * valid for as long as the library it was built from is unchanged.
+ * Every index gets a fresh version number, so anything cached against
+ * one index can never be mistaken for a result from another.
+ *
+ * An index over a mapped BinaryCatalog reads the meal types and macros
+ * straight from the file's columns and builds no Recipe up front; only
+ * the recipes a planner picks are decoded, once each.
+ */
+public final class MealTypeIndex {
+
+    public static final long NO_CATALOG = 0;   // Catalog version of an index not built from a RecipeCatalog
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    // ===== FIELDS =====
+    private final long version = VERSIONS.incrementAndGet();  // Unique per index built
+    private final long catalogVersion;     // RecipeCatalog snapshot indexed whole, or NO_CATALOG
+    private final Recipe[] library;        // Snapshot of the source library (for matches()), null if mapped
+    private final int[] rowIds;            // Row id of each library entry (position in the original library)
+    private final RecipeMatrix[] slots;    // Indexed by RecipeMatrix meal-type code
+    private final int size;                // Recipes indexed
+    private final Map<Integer, Recipe> decoded;  // Recipes decoded so far from a mapped catalog, else null
+
+    private MealTypeIndex(Recipe[] library) {
+        this(library.clone(), positions(library.length), NO_CATALOG);
+    }
+
+    /**
+     * @param library Recipes to index (not copied)
+     * @param rowIds Row id of each recipe, ascending
+     * @param catalogVersion Version of the catalog snapshot this is the whole of, or NO_CATALOG
+     */
+    private MealTypeIndex(Recipe[] library, int[] rowIds, long catalogVersion) {
+        this.library = library;
+        this.rowIds = rowIds;
+        this.catalogVersion = catalogVersion;
+        this.size = library.length;
+        this.decoded = null;
+
+        // Count first so every slice is allocated at its exact size
+        int[] counts = new int[3];
+        for (Recipe r : this.library) {
+            int type = RecipeMatrix.mealTypeOf(r);
+            if (type < counts.length) {
+                counts[type]++;
+            }
+        }
+
+        Recipe[][] rows = new Recipe[3][];
+        int[][] ids = new int[3][];
+        for (int t = 0; t < 3; t++) {
+            rows[t] = new Recipe[counts[t]];
+            ids[t] = new int[counts[t]];
+        }
+
+        int[] fill = new int[3];
+        for (int i = 0; i < this.library.length; i++) {
+            int type = RecipeMatrix.mealTypeOf(this.library[i]);
+            if (type < fill.length) {
+                rows[type][fill[type]] = this.library[i];
+                ids[type][fill[type]] = rowIds[i];
+                fill[type]++;
+            }
+        }
+
+        this.slots = new RecipeMatrix[3];
+        for (int t = 0; t < 3; t++) {
+            slots[t] = RecipeMatrix.of(rows[t], ids[t]);
+        }
+    }
+
+    /**
+     * Partition a library into per-slot candidate slices.
+     * The library array is copied, so later changes to it are not seen.
+     *
+     * @param library Recipes to index
+     * @return New index over a snapshot of the library
+     */
+    public static MealTypeIndex of(Recipe[] library) {
+        return new MealTypeIndex(library);
+    }
+
+    /**
+     * Partition a catalog snapshot. The index remembers the snapshot's
+     * version, so matches(catalog) is one comparison and an index built
+     * from an older snapshot never matches a reloaded one.
+     *
+     * @param catalog Catalog snapshot to index
+     * @return New index over the whole snapshot
+     */
+    public static MealTypeIndex of(RecipeCatalog catalog) {
+        Recipe[] library = catalog.toArray();
+        return new MealTypeIndex(library, positions(library.length), catalog.getVersion());
+    }
+
+    // Index over columns that are already split by slot (mapped catalogs)
+    private MealTypeIndex(RecipeMatrix[] slots, Map<Integer, Recipe> decoded) {
+        this.library = null;
+        this.rowIds = null;
+        this.catalogVersion = NO_CATALOG;
+        this.slots = slots;
+        this.size = slots[0].size() + slots[1].size() + slots[2].size();
+        this.decoded = decoded;
+    }
+
+    /**
+     * Partition a mapped binary catalog without decoding its recipes.
+     * Macros and meal types are copied from the file's columns; a
+     * recipe is decoded from the file the first time a planner picks it,
+     * and every later pick gets the same object. Row ids are the
+     * catalog's recipe ids.
+     *
+     * @param catalog Mapped catalog to index (must stay open and unchanged while the index is used)
+     * @return New index over every recipe in the file
+     */
+    public static MealTypeIndex of(BinaryCatalog catalog) {
+        // BinaryCatalog's MEAL_* codes are the RecipeMatrix slot codes
+        int n = catalog.size();
+        int[] counts = new int[3];
+        for (int row = 0; row < n; row++) {
+            counts[catalog.getMealType(row)]++;
+        }
+
+        Map<Integer, Recipe> decoded = new ConcurrentHashMap<>();
+        IntFunction<Recipe> decode = id -> decoded.computeIfAbsent(id, catalog::getRecipe);
+        double[][] calories = new double[3][], protein = new double[3][], carbs = new double[3][], fat = new double[3][];
+        byte[][] types = new byte[3][];
+        int[][] ids = new int[3][];
+        for (int t = 0; t < 3; t++) {
+            calories[t] = new double[counts[t]];
+            protein[t] = new double[counts[t]];
+            carbs[t] = new double[counts[t]];
+            fat[t] = new double[counts[t]];
+            types[t] = new byte[counts[t]];
+            ids[t] = new int[counts[t]];
+        }
+
+        int[] fill = new int[3];
+        for (int row = 0; row < n; row++) {
+            int t = catalog.getMealType(row);
+            int k = fill[t]++;
+            calories[t][k] = catalog.getCalories(row);
+            protein[t][k] = catalog.getProtein(row);
+            carbs[t][k] = catalog.getCarbs(row);
+            fat[t][k] = catalog.getFat(row);
+            types[t][k] = (byte) t;
+            ids[t][k] = row;
+        }
+
+        RecipeMatrix[] slots = new RecipeMatrix[3];
+        for (int t = 0; t < 3; t++) {
+            // Row ids and catalog ids are the same here
+            slots[t] = RecipeMatrix.ofColumns(calories[t], protein[t], carbs[t], fat[t], types[t],
+                    ids[t], ids[t].clone(), decode);
+        }
+        return new MealTypeIndex(slots, decoded);
+    }
+
+    private static int[] positions(int n) {
+        int[] all = new int[n];
+        for (int i = 0; i < n; i++) {
+            all[i] = i;
+        }
+        return all;
+    }
+
+    /**
+     * The candidates left once some recipes are ruled out, e.g. a
+     * user's dislikes compiled by DislikeIndex over the same library.
+     * Rows keep their ids, and the new index gets its own version, so
+     * selections cached against this one are never reused for it.
+     *
+     * @param excluded Row ids (positions in the original library) to drop
+     * @return This index if nothing is excluded, otherwise a new index
+     */
+    public MealTypeIndex without(BitSet excluded) {
+        if (library == null) {
+            RecipeMatrix[] kept = new RecipeMatrix[3];
+            for (int t = 0; t < 3; t++) {
+                kept[t] = slots[t].without(excluded);
+            }
+            MealTypeIndex filtered = new MealTypeIndex(kept, decoded);
+            return (filtered.size == size) ? this : filtered;
+        }
+        int kept = 0;
+        for (int id : rowIds) {
+            if (!excluded.get(id)) kept++;
+        }
+        if (kept == library.length) {
+            return this;
+        }
+        Recipe[] rows = new Recipe[kept];
+        int[] ids = new int[kept];
+        int k = 0;
+        for (int i = 0; i < library.length; i++) {
+            if (!excluded.get(rowIds[i])) {
+                rows[k] = library[i];
+                ids[k] = rowIds[i];
+                k++;
+            }
+        }
+        return new MealTypeIndex(rows, ids, NO_CATALOG);
+    }
+
+    /**
+     * Dense candidates for one meal slot
+     * @param mealType RecipeMatrix.BREAKFAST, LUNCH or DINNER
+     * @return Matrix holding only recipes of that type, in library order
+     */
+    public RecipeMatrix slot(int mealType) {
+        if (mealType < 0 || mealType >= slots.length) {
+            throw new IllegalArgumentException("Not a meal slot: " + mealType);
+        }
+        return slots[mealType];
+    }
+
+    /**
+     * Check whether this index still describes a library.
+     * True when the library holds the same recipe objects in the same
+     * order as when the index was built (reference comparison, no copying).
+     *
+     * @param other Library to compare against
+     * @return true if the index can be reused for it (never for an index over a mapped catalog)
+     */
+    public boolean matches(Recipe[] other) {
+        if (library == null || other == null || other.length != library.length) {
+            return false;
+        }
+        for (int i = 0; i < library.length; i++) {
+            if (other[i] != library[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check whether this index was built from a catalog snapshot
+     * @param catalog Snapshot to compare against
+     * @return true if the index covers exactly that snapshot
+     */
+    public boolean matches(RecipeCatalog catalog) {
+        return catalogVersion != NO_CATALOG && catalog != null && catalog.getVersion() == catalogVersion;
+    }
+
+    /**
+     * Version of the catalog snapshot this index covers
+     * @return RecipeCatalog version, or NO_CATALOG if built from an array or filtered
+     */
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    /**
+     * Library version: unique to this index, so a new index (a changed
+     * library) never shares a version with an old one
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Number of recipes in the indexed library (all slots, plus any
+     * recipe types that belong to no slot)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Recipes decoded so far from a mapped catalog, counting those
+     * decoded through indexes made from this one by without()
+     * @return Decoded recipe count, 0 for an index over Recipe objects
+     */
+    public int getDecodedCount() {
+        return (decoded != null) ? decoded.size() : 0;
+    }
+}
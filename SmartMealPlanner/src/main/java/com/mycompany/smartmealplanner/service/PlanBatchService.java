@@ -0,0 +1,370 @@
+package com.mycompany.smartmealplanner.service;
+
+import com.mycompany.smartmealplanner.model.*;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Batch Plan Generation Service
+ *
+ * Generates meal plans for many users at once (e.g. an overnight cohort
+ * run) on a ForkJoinPool or virtual-thread executor. Every job plans
+ * against the same immutable MealTypeIndex snapshot with one shared
+ * Planner, so results are identical to calling buildPlan for each user
+ * in turn. Results stream back in input order or completion order.
+ *
+ * Jobs are taken from the input stream only as results are read, and at
+ * most maxInFlight of them are planned or waiting to be read at once, so
+ * a cohort-sized stream never holds more than that many plans in memory.
+ * Each run() keeps its own statistics; the getters report the most
+ * recently started run.
+ */
+public class PlanBatchService implements AutoCloseable {
+
+    /**
+     * Order in which run() hands results back
+     */
+    public enum ResultOrder {
+        INPUT,       // Same order as the jobs were given
+        COMPLETION   // As soon as each plan is ready
+    }
+
+    private static final int IN_FLIGHT_PER_WORKER = 4;   // Keeps every worker busy while results are read
+
+    // ===== FIELDS =====
+    private final Planner planner;            // Shared, configured before the service is built
+    private final MealTypeIndex library;      // Shared immutable library snapshot
+    private final ExecutorService executor;   // Where plans are computed
+    private final boolean ownsExecutor;       // Shut down on close() if we created it
+    private final int maxInFlight;            // Jobs submitted but not yet read, per run
+    private volatile Run lastRun;             // Statistics of the most recently started run
+
+    /**
+     * Create a batch service on a caller-supplied executor, keeping a
+     * few jobs in flight per available processor.
+     * The executor is not shut down by close().
+     *
+     * @param planner Planner shared by all jobs
+     * @param library Library snapshot shared by all jobs
+     * @param executor Executor to run jobs on
+     */
+    public PlanBatchService(Planner planner, MealTypeIndex library, ExecutorService executor) {
+        this(planner, library, executor, Runtime.getRuntime().availableProcessors() * IN_FLIGHT_PER_WORKER);
+    }
+
+    /**
+     * Create a batch service on a caller-supplied executor.
+     * The executor is not shut down by close().
+     *
+     * @param planner Planner shared by all jobs
+     * @param library Library snapshot shared by all jobs
+     * @param executor Executor to run jobs on
+     * @param maxInFlight Most jobs submitted but not yet read at once (at least 1)
+     */
+    public PlanBatchService(Planner planner, MealTypeIndex library, ExecutorService executor, int maxInFlight) {
+        this(planner, library, executor, maxInFlight, false);
+    }
+
+    private PlanBatchService(Planner planner, MealTypeIndex library, ExecutorService executor, int maxInFlight,
+                             boolean ownsExecutor) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1");
+        }
+        this.planner = planner;
+        this.library = library;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Create a batch service with its own ForkJoinPool
+     * @param planner Planner shared by all jobs
+     * @param library Library snapshot shared by all jobs
+     * @param parallelism Number of worker threads
+     * @return New service; close() shuts the pool down
+     */
+    public static PlanBatchService withForkJoinPool(Planner planner, MealTypeIndex library, int parallelism) {
+        return new PlanBatchService(planner, library, new ForkJoinPool(parallelism),
+                parallelism * IN_FLIGHT_PER_WORKER, true);
+    }
+
+    /**
+     * Create a batch service that runs each job on its own virtual thread.
+     * Planning is CPU-bound, so jobs in flight are still bounded by the
+     * available processors.
+     *
+     * @param planner Planner shared by all jobs
+     * @param library Library snapshot shared by all jobs
+     * @return New service; close() shuts the executor down
+     */
+    public static PlanBatchService withVirtualThreads(Planner planner, MealTypeIndex library) {
+        return new PlanBatchService(planner, library, Executors.newVirtualThreadPerTaskExecutor(),
+                Runtime.getRuntime().availableProcessors() * IN_FLIGHT_PER_WORKER, true);
+    }
+
+    /**
+     * Plan every job and stream the results back.
+     * Nothing is submitted until the returned stream is read; each result
+     * read lets one more job be taken from the input, so at most
+     * maxInFlight jobs are planned or waiting at any time. The stream
+     * blocks only while the next result it needs is still being planned.
+     * A job that fails yields a Result carrying the error instead of a plan;
+     * a VirtualMachineError while planning is rethrown by the stream.
+     * The returned stream is meant for one consumer; closing it closes jobs.
+     *
+     * @param jobs Jobs to plan
+     * @param order Input order or completion order
+     * @return Stream of one Result per job
+     */
+    public Stream<Result> run(Stream<Job> jobs, ResultOrder order) {
+        Run run = new Run();
+        lastRun = run;
+        Iterator<Job> input = jobs.iterator();
+
+        Iterator<Result> results = new Iterator<Result>() {
+            // Input order: submitted futures, oldest first. Completion order: finished futures.
+            private final Deque<CompletableFuture<Result>> pending = new ArrayDeque<>();
+            private final BlockingQueue<CompletableFuture<Result>> ready = new LinkedBlockingQueue<>();
+            private long submitted = 0;
+            private long taken = 0;
+
+            @Override
+            public boolean hasNext() {
+                return taken < submitted || fill();
+            }
+
+            @Override
+            public Result next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                CompletableFuture<Result> future;
+                if (order == ResultOrder.INPUT) {
+                    future = pending.poll();
+                } else {
+                    try {
+                        future = ready.take();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while waiting for plans", e);
+                    }
+                }
+                taken++;
+                Result result = await(future);   // Futures are queued on completion, failed or not
+                fill();   // Replace the job just read
+                return result;
+            }
+
+            // Submit jobs until maxInFlight are unread or the input runs out; true if any are unread
+            private boolean fill() {
+                while (submitted - taken < maxInFlight && input.hasNext()) {
+                    Job job = input.next();
+                    CompletableFuture<Result> future = CompletableFuture.supplyAsync(() -> plan(job, run), executor);
+                    if (order == ResultOrder.INPUT) {
+                        pending.add(future);
+                    } else {
+                        future.whenComplete((r, e) -> ready.add(future));
+                    }
+                    submitted++;
+                }
+                if (!input.hasNext()) {
+                    run.finishSubmitting(submitted);
+                }
+                return taken < submitted;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(results, Spliterator.ORDERED), false)
+                .onClose(jobs::close);
+    }
+
+    // Plan one job. A failure of the job itself, including an Error such
+    // as a failed assertion, becomes a failed Result and the batch goes
+    // on. A VirtualMachineError (out of memory, stack overflow) means
+    // the JVM is in trouble: it is rethrown and reaches the reader of the
+    // result stream (see await) instead of being reported as one bad job.
+    private Result plan(Job job, Run run) {
+        long start = System.nanoTime();
+        Result result;
+        try {
+            PlanDay[] plan = planner.buildPlan(job.getDays(), job.getTarget(), library);
+            result = new Result(job, plan, null, System.nanoTime() - start);
+        } catch (VirtualMachineError e) {
+            throw e;
+        } catch (RuntimeException | Error e) {
+            result = new Result(job, null, e, System.nanoTime() - start);
+        } finally {
+            run.jobDone();
+        }
+        return result;
+    }
+
+    // Result of a finished job, rethrowing an Error that plan let through as itself
+    private static Result await(CompletableFuture<Result> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Statistics of one run(), so runs that overlap on one service do
+     * not reset each other's counts
+     */
+    private static final class Run {
+        private final AtomicLong completed = new AtomicLong();
+        private final long startNanos = System.nanoTime();
+        private volatile long jobs = Long.MAX_VALUE;   // Unknown until the input is exhausted
+        private volatile long endNanos;
+
+        void jobDone() {
+            if (completed.incrementAndGet() == jobs) {
+                endNanos = System.nanoTime();
+            }
+        }
+
+        void finishSubmitting(long submitted) {
+            if (jobs == Long.MAX_VALUE) {
+                jobs = submitted;
+                if (completed.get() == submitted) {
+                    endNanos = System.nanoTime();   // Everything finished before the input ran out
+                }
+            }
+        }
+    }
+
+    // ===== STATISTICS =====
+
+    /**
+     * Most jobs a run keeps submitted but not yet read
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Plans finished so far in the current (or most recent) run
+     */
+    public long getJobsCompleted() {
+        Run run = lastRun;
+        return (run != null) ? run.completed.get() : 0;
+    }
+
+    /**
+     * Throughput of the current (or most recent) run in plans per second.
+     * Measured from the start of the run to the last plan finishing, or
+     * to now while the run is still in progress.
+     */
+    public double getThroughput() {
+        Run run = lastRun;
+        if (run == null) {
+            return 0.0;
+        }
+        long end = run.endNanos != 0 ? run.endNanos : System.nanoTime();
+        double seconds = (end - run.startNanos) / 1e9;
+        return seconds > 0 ? run.completed.get() / seconds : 0.0;
+    }
+
+    /**
+     * Shut down the executor if this service created it
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    // ===== JOB AND RESULT =====
+
+    /**
+     * One user's planning request
+     */
+    public static class Job {
+        private final User user;     // Whose plan this is (may be null for anonymous jobs)
+        private final int days;      // Number of days to plan
+        private final Macro target;  // Daily macro targets
+
+        public Job(User user, int days, Macro target) {
+            this.user = user;
+            this.days = days;
+            this.target = target;
+        }
+
+        /**
+         * Job using the user's saved days and targets
+         * @param user User to plan for
+         */
+        public Job(User user) {
+            this(user, user.getSavedDays(), user.getSavedTargets());
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public int getDays() {
+            return days;
+        }
+
+        public Macro getTarget() {
+            return target;
+        }
+    }
+
+    /**
+     * Outcome of one job: the plan, or the error that stopped it
+     */
+    public static class Result {
+        private final Job job;
+        private final PlanDay[] plan;     // Null if planning failed
+        private final Throwable error;    // Null if planning succeeded
+        private final long nanos;         // Time spent planning this job
+
+        Result(Job job, PlanDay[] plan, Throwable error, long nanos) {
+            this.job = job;
+            this.plan = plan;
+            this.error = error;
+            this.nanos = nanos;
+        }
+
+        public Job getJob() {
+            return job;
+        }
+
+        public PlanDay[] getPlan() {
+            return plan;
+        }
+
+        public Throwable getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+}
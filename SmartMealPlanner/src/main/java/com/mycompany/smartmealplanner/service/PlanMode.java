@@ -0,0 +1,17 @@
+package com.mycompany.smartmealplanner.service;
+
+/**
+ * How the planner fills a day.
+ *
+ * PER_MEAL picks breakfast, lunch and dinner one after another, each
+ * against its fixed share (25/40/35 percent) of the daily target.
+ * JOINT_DAY chooses the three meals together against the whole daily
+ * target (see DayOptimizer), so one meal can make up for another.
+ * BEAM plans the whole horizon with a beam search (see BeamPlanner),
+ * weighing variety across the week instead of only against yesterday.
+ */
+public enum PlanMode {
+    PER_MEAL,
+    JOINT_DAY,
+    BEAM
+}
@@ -0,0 +1,100 @@
+package com.mycompany.smartmealplanner.service;
+
+import com.mycompany.smartmealplanner.model.*;
+
+/**
+ * Whole-plan objective shared by the multi-day planners.
+ *
+ * Scores a plan as the sum of every meal's weighted macro distance from
+ * its share of the daily target (the per-meal planner's score), plus
+ * variety penalties per slot: REPEAT_PENALTY when a recipe repeats the
+ * previous day, and VARIETY_PENALTY for every other day within the
+ * variety window that already had it. The greedy planner only sees the
+ * first of these; the beam planner optimises the whole thing, and both
+ * can be compared with score().
+ */
+public final class PlanScorer {
+
+    // ===== CONSTANTS =====
+    static final double VARIETY_PENALTY = 100.0;   // Per earlier use within the window (beyond yesterday)
+    public static final int DEFAULT_WINDOW = 7;    // Days a recipe counts as recently eaten
+
+    private static final int[] SLOTS = { RecipeMatrix.BREAKFAST, RecipeMatrix.LUNCH, RecipeMatrix.DINNER };
+
+    // ===== FIELDS =====
+    private final int window;   // Days looked back for repeats (1 = yesterday only)
+
+    /**
+     * Scorer with the default seven-day variety window
+     */
+    public PlanScorer() {
+        this(DEFAULT_WINDOW);
+    }
+
+    /**
+     * @param window Days looked back for repeats (at least 1)
+     */
+    public PlanScorer(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Variety window must be at least one day: " + window);
+        }
+        this.window = window;
+    }
+
+    /**
+     * Score a whole plan (lower is better)
+     * @param plan Days to score, in order
+     * @param target Daily macro-nutrient targets
+     * @return Summed meal distances plus variety penalties
+     */
+    public double score(PlanDay[] plan, Macro target) {
+        double total = 0;
+        for (int d = 0; d < plan.length; d++) {
+            for (int m = 0; m < 3; m++) {
+                RecipeSelection meal = meal(plan[d], m);
+                if (meal == null || meal.getRecipe() == null) continue;
+                total += mealFit(meal.getRecipe(), meal.getServings(), SLOTS[m], target);
+
+                for (int back = 1; back <= window && back <= d; back++) {
+                    RecipeSelection earlier = meal(plan[d - back], m);
+                    if (earlier != null && meal.getRecipe().isSameRecipe(earlier.getRecipe())) {
+                        total += penalty(back);
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Penalty for eating a recipe again in the same slot
+     * @param daysBack How many days ago it was last eaten (1 = yesterday)
+     * @return Penalty, or 0 outside the window
+     */
+    double penalty(int daysBack) {
+        if (daysBack == 1) {
+            return Planner.REPEAT_PENALTY;
+        }
+        return (daysBack <= window) ? VARIETY_PENALTY : 0;
+    }
+
+    // Weighted distance of one meal from its slot's share of the day
+    static double mealFit(Recipe r, double servings, int mealType, Macro target) {
+        double share = Planner.mealShare(mealType);
+        return Planner.mealScore(r.getCalories(), r.getProtein(), r.getCarbs(), r.getFat(), servings,
+                target.getCalories() * share, target.getProtein() * share,
+                target.getCarbs() * share, target.getFat() * share);
+    }
+
+    private static RecipeSelection meal(PlanDay day, int slot) {
+        switch (slot) {
+            case 0: return day.getBreakfast();
+            case 1: return day.getLunch();
+            default: return day.getDinner();
+        }
+    }
+
+    public int getWindow() {
+        return window;
+    }
+}
@@ -1,6 +1,15 @@
 package com.mycompany.smartmealplanner.service;
 
 import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.data.RecipeCatalog;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Meal Planning Service - Core Algorithm Implementation
@@ -8,28 +17,34 @@ import com.mycompany.smartmealplanner.model.*;
  * Implements a greedy optimization algorithm to generate meal plans that
  * match user's macro-nutrient targets. Features include:
  * - Meal-specific target distribution (25% breakfast, 40% lunch, 35% dinner)
- * - Serving size optimization (1.0x to 3.0x in 0.5 increments)
+ * - Serving size optimization (1.0x to 3.0x, 0.5 increments by default)
  * - Weighted macro distance minimization
  * - Recipe variety through repetition penalties
+ * - Optional joint day mode that picks all three meals together (DayOptimizer)
+ * - Optional beam search over the whole plan for variety across the week (BeamPlanner)
+ * - Anytime planning that answers within a time budget (AnytimePlanner)
  */
 public class Planner {
 
     // ===== CONSTANTS =====
     
     // Serving size constraints
-    private static final double MIN_SERV = 1.0;   // Minimum serving multiplier
+    static final double MIN_SERV = 1.0;           // Minimum serving multiplier
     private static final double MAX_SERV = 3.0;   // Maximum serving multiplier
-    private static final double SERV_STEP = 0.5;  // Increment step for serving sizes
+    private static final double SERV_STEP = 0.5;  // Default increment step for serving sizes
+    private static final int DEFAULT_BEAM_WIDTH = 8;  // Beam width for PlanMode.BEAM
+    private static final int DEFAULT_ALTERNATIVES = 5; // Swap options offered per meal
+    private static final Macro NO_MACROS = new Macro(0, 0, 0, 0);  // "Current" macros pickBest ignores
 
     // Algorithm tuning parameters
-    private static final double REPEAT_PENALTY = 300.0;  // Penalty for consecutive day repetition
+    static final double REPEAT_PENALTY = 300.0;          // Penalty for consecutive day repetition
 
     // Macro-nutrient weights for scoring function
     // Higher weights = more importance in optimization
-    private static final double W_KCAL = 1.0;   // Calorie weight (highest priority)
-    private static final double W_PROT = 0.9;   // Protein weight
-    private static final double W_CARB = 0.4;   // Carbohydrate weight
-    private static final double W_FAT  = 0.3;   // Fat weight (lowest priority)
+    static final double W_KCAL = 1.0;   // Calorie weight (highest priority)
+    static final double W_PROT = 0.9;   // Protein weight
+    static final double W_CARB = 0.4;   // Carbohydrate weight
+    static final double W_FAT  = 0.3;   // Fat weight (lowest priority)
 
     // Meal target distribution percentages
     // Based on typical meal distribution patterns
@@ -37,6 +52,20 @@ public class Planner {
     private static final double LUNCH_PERCENT = 0.40;     // 40% of daily target  
     private static final double DINNER_PERCENT = 0.35;    // 35% of daily target
 
+    // ===== CONFIGURATION =====
+    // Set before the planner is shared between threads
+    private double servingStep = SERV_STEP;                       // Serving granularity
+    private ServingSolver servingSolver = ServingSolver.ENUMERATE; // How servings are chosen
+    private CandidateSearch candidateSearch = CandidateSearch.SCAN; // How candidates are found
+    private ScoringKernel scoringKernel = ScoringKernel.detect();  // SIMD scan when the JVM has it
+    private PlanMode planMode = PlanMode.PER_MEAL;                 // Meal by meal, whole day, or whole plan
+    private int beamWidth = DEFAULT_BEAM_WIDTH;                    // Partial plans kept in BEAM mode
+    private SelectionCache selectionCache;                         // Shared slot selections (null = off)
+    private int alternativeCount = DEFAULT_ALTERNATIVES;           // Swap options returned by alternatives
+
+    // Index of the most recent library, reused while callers pass the same recipes
+    private volatile MealTypeIndex lastIndex;
+
     /**
      * Builds a complete meal plan for the specified number of days.
      * Uses a greedy algorithm to select recipes and serving sizes that
@@ -48,6 +77,35 @@ public class Planner {
      * @return Array of PlanDay objects containing the meal plan
      */
     public PlanDay[] buildPlan(int days, Macro target, Recipe[] library) {
+        return buildPlan(days, target, indexFor(library));
+    }
+
+    /**
+     * Builds a meal plan from one catalog snapshot, e.g. RecipeCatalog.get().
+     * The whole plan comes from that snapshot even if a reload swaps in
+     * a new catalog meanwhile; the index is rebuilt only when the
+     * snapshot's version differs from the last one planned with.
+     * 
+     * @param days Number of days to plan
+     * @param target Daily macro-nutrient targets
+     * @param catalog Catalog snapshot to choose recipes from
+     * @return Array of PlanDay objects containing the meal plan
+     */
+    public PlanDay[] buildPlan(int days, Macro target, RecipeCatalog catalog) {
+        return buildPlan(days, target, indexFor(catalog));
+    }
+
+    /**
+     * Builds a meal plan from a pre-built meal-type index.
+     * Lets callers that plan many times against one library build the
+     * index once and skip the per-call partitioning entirely.
+     * 
+     * @param days Number of days to plan
+     * @param target Daily macro-nutrient targets
+     * @param index Library partitioned into breakfast, lunch and dinner slices
+     * @return Array of PlanDay objects containing the meal plan
+     */
+    public PlanDay[] buildPlan(int days, Macro target, MealTypeIndex index) {
         PlanDay[] plan = new PlanDay[days];
         /* Oracle 2025
            Arrays (Java Platform SE 8)
@@ -56,36 +114,226 @@ public class Planner {
            Accessed 25 August 2025
         */
 
-        for (int d = 0; d < days; d++) {
-            Macro soFar = new Macro(0, 0, 0, 0);
+        BuildPlanEvent event = new BuildPlanEvent();
+        event.begin();
+        long scored;
 
-            // Breakfast
-            Recipe prevB = (d > 0) ? plan[d - 1].getBreakfast().getRecipe() : null;
-            Macro breakfastTarget = getMealTarget(target, "breakfast");
-            RecipeSelection bSel = pickBest(new Macro(0, 0, 0, 0), breakfastTarget, library, BreakfastRecipe.class, prevB);
-            soFar = addScaled(soFar, bSel.getRecipe(), bSel.getServings());
+        if (planMode == PlanMode.JOINT_DAY) {
+            DayOptimizer.JointPlan joint = new DayOptimizer(this).buildPlan(days, target, index);
+            plan = joint.getPlan();
+            scored = joint.getNodesExplored();
+        } else if (planMode == PlanMode.BEAM) {
+            BeamPlanner.BeamPlan beam = new BeamPlanner(this, beamWidth).buildPlan(days, target, index);
+            plan = beam.getPlan();
+            scored = beam.getCandidatesScored();
+        } else {
+            DayIterator planned = new DayIterator(days, target, index, null);
+            for (int d = 0; d < days; d++) {
+                plan[d] = planned.next();
+            }
+            scored = planned.scanned[0];
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.days = days;
+            event.planMode = planMode.name();
+            event.librarySize = index.size();
+            event.candidatesScored = scored;
+            event.targetCalories = target.getCalories();
+            event.commit();
+        }
+        return plan;
+    }
 
-            // Lunch
-            Recipe prevL = (d > 0) ? plan[d - 1].getLunch().getRecipe() : null;
-            Macro lunchTarget = getMealTarget(target, "lunch");
-            RecipeSelection lSel = pickBest(new Macro(0, 0, 0, 0), lunchTarget, library, LunchRecipe.class, prevL);
-            soFar = addScaled(soFar, lSel.getRecipe(), lSel.getServings());
+    /**
+     * Plans days lazily, one at a time, as the caller asks for them.
+     * Only the previous day's recipes are kept between calls, so a long
+     * horizon (90 or 365 days) never holds the whole plan in memory and
+     * the first day is available as soon as it is solved. Yields exactly
+     * the days buildPlan returns.
+     * 
+     * BEAM mode weighs each day against the whole horizon, so it has to
+     * solve the full plan on the first call and then hands the days out.
+     * 
+     * @param days Number of days to plan
+     * @param target Daily macro-nutrient targets
+     * @param index Library partitioned into breakfast, lunch and dinner slices
+     * @return Iterator over the plan, day 1 first
+     */
+    public Iterator<PlanDay> planDays(int days, Macro target, MealTypeIndex index) {
+        if (planMode == PlanMode.BEAM) {
+            return new Iterator<PlanDay>() {
+                private PlanDay[] plan;   // Solved on first use
+                private int next;
 
-            // Dinner
-            Recipe prevD = (d > 0) ? plan[d - 1].getDinner().getRecipe() : null;
-            Macro dinnerTarget = getMealTarget(target, "dinner");
-            RecipeSelection eSel = pickBest(new Macro(0, 0, 0, 0), dinnerTarget, library, DinnerRecipe.class, prevD);
+                @Override
+                public boolean hasNext() {
+                    return next < days;
+                }
 
-            plan[d] = new PlanDay(d + 1, bSel, lSel, eSel);
+                @Override
+                public PlanDay next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    if (plan == null) {
+                        plan = new BeamPlanner(Planner.this, beamWidth).buildPlan(days, target, index).getPlan();
+                    }
+                    return plan[next++];
+                }
+            };
         }
+        return new DayIterator(days, target, index, planMode == PlanMode.JOINT_DAY ? new DayOptimizer(this) : null);
+    }
 
-        return plan;
+    /**
+     * Stream view of planDays, for callers that want to map, limit or
+     * write days out as they are produced. Sequential and ordered.
+     * 
+     * @param days Number of days to plan
+     * @param target Daily macro-nutrient targets
+     * @param index Library partitioned into breakfast, lunch and dinner slices
+     * @return Stream of plan days, day 1 first
+     */
+    public Stream<PlanDay> streamPlan(int days, Macro target, MealTypeIndex index) {
+        /* Oracle 2025
+           StreamSupport (Java SE 21 & JDK 21) - stream(Spliterator, boolean)
+           Oracle Documentation
+           https://docs.oracle.com/en/java/javase/21/docs/api/java.base/java/util/stream/StreamSupport.html
+           Accessed 16 October 2026
+        */
+        Iterator<PlanDay> it = planDays(days, target, index);
+        return StreamSupport.stream(
+                Spliterators.spliterator(it, days, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Stream a plan from a recipe array (see streamPlan(int, Macro, MealTypeIndex))
+     */
+    public Stream<PlanDay> streamPlan(int days, Macro target, Recipe[] library) {
+        return streamPlan(days, target, indexFor(library));
+    }
+
+    /**
+     * Plans the whole horizon within a time budget.
+     * Starts from a fast greedy plan and keeps improving it by local
+     * search against the PlanScorer objective until the budget runs out
+     * or no single meal swap helps. Follows this planner's serving
+     * settings; the plan mode does not apply.
+     * 
+     * @param days Number of days to plan
+     * @param target Daily macro-nutrient targets
+     * @param index Library partitioned into breakfast, lunch and dinner slices
+     * @param budget Time allowed from now
+     * @return Best plan found, and whether the search converged
+     */
+    public AnytimePlanner.AnytimePlan planWithin(int days, Macro target, MealTypeIndex index, Duration budget) {
+        return new AnytimePlanner(this).buildPlan(days, target, index, budget);
+    }
+
+    /**
+     * Plans the whole horizon before a deadline (see planWithin)
+     * 
+     * @param days Number of days to plan
+     * @param target Daily macro-nutrient targets
+     * @param index Library partitioned into breakfast, lunch and dinner slices
+     * @param deadline Deadline on the System.nanoTime() clock
+     * @return Best plan found, and whether the search converged
+     */
+    public AnytimePlanner.AnytimePlan planUntil(int days, Macro target, MealTypeIndex index, long deadline) {
+        return new AnytimePlanner(this).buildPlanUntil(days, target, index, deadline);
+    }
+
+    /**
+     * Plans one day meal by meal, each slot chasing its own fixed share
+     * of the daily target. Also seeds the joint day optimiser.
+     * 
+     * @param dayNumber Day number in the plan
+     * @param target Daily macro-nutrient targets
+     * @param index Library partitioned by meal slot
+     * @param prevB Previous day's breakfast recipe (or null)
+     * @param prevL Previous day's lunch recipe (or null)
+     * @param prevD Previous day's dinner recipe (or null)
+     * @return The day's three selections
+     */
+    PlanDay greedyDay(int dayNumber, Macro target, MealTypeIndex index, Recipe prevB, Recipe prevL, Recipe prevD) {
+        return greedyDay(dayNumber, mealTargets(target), index, prevB, prevL, prevD, null);
+    }
+
+    // As above from targets already split by mealTargets, adding the recipes scanned to scanned[0] when it is given
+    private PlanDay greedyDay(int dayNumber, Macro[] mealTargets, MealTypeIndex index,
+                              Recipe prevB, Recipe prevL, Recipe prevD, long[] scanned) {
+        // Breakfast
+        RecipeSelection bSel = selectSlot(NO_MACROS, mealTargets[0], index, RecipeMatrix.BREAKFAST, prevB, scanned);
+
+        // Lunch
+        RecipeSelection lSel = selectSlot(NO_MACROS, mealTargets[1], index, RecipeMatrix.LUNCH, prevL, scanned);
+
+        // Dinner
+        RecipeSelection eSel = selectSlot(NO_MACROS, mealTargets[2], index, RecipeMatrix.DINNER, prevD, scanned);
+
+        return new PlanDay(dayNumber, bSel, lSel, eSel);
+    }
+
+    // Breakfast, lunch and dinner shares of a daily target; a plan splits its target once, not once per day
+    private Macro[] mealTargets(Macro dailyTarget) {
+        return new Macro[] {
+            getMealTarget(dailyTarget, "breakfast"),
+            getMealTarget(dailyTarget, "lunch"),
+            getMealTarget(dailyTarget, "dinner")
+        };
+    }
+
+    // Pick one slot, through the selection cache when one is configured; a cache hit scans nothing
+    private RecipeSelection selectSlot(Macro zero, Macro mealTarget, MealTypeIndex index, int mealType, Recipe prev,
+                                       long[] scanned) {
+        RecipeMatrix slot = index.slot(mealType);
+        SelectionCache cache = selectionCache;
+        if (cache == null) {
+            return pickBest(zero, mealTarget, slot, RecipeMatrix.ANY, prev, scanned);
+        }
+        return cache.get(index, mealType, mealTarget, prev, this,
+                snapped -> pickBest(zero, snapped, slot, RecipeMatrix.ANY, prev, scanned));
+    }
+
+    /**
+     * Get the meal-type index for a library, reusing the last one built
+     * when the library still holds the same recipes.
+     * 
+     * @param library Available recipes
+     * @return Index describing the library
+     */
+    private MealTypeIndex indexFor(Recipe[] library) {
+        MealTypeIndex index = lastIndex;
+        if (index == null || !index.matches(library)) {
+            index = MealTypeIndex.of(library);
+            lastIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Get the meal-type index for a catalog snapshot, reusing the last
+     * one built while the snapshot version is the same
+     * 
+     * @param catalog Catalog snapshot
+     * @return Index describing the snapshot
+     */
+    private MealTypeIndex indexFor(RecipeCatalog catalog) {
+        MealTypeIndex index = lastIndex;
+        if (index == null || !index.matches(catalog)) {
+            index = MealTypeIndex.of(catalog);
+            lastIndex = index;
+        }
+        return index;
     }
 
     /**
      * Selects the best recipe and serving size for a meal slot.
      * Implements greedy optimization by evaluating all combinations
      * and choosing the one with minimum weighted distance to target.
+     * Public so the benchmark module can measure slot selection on its own.
      * 
      * @param current Current accumulated macros (not used in new version)
      * @param target Target macros for this specific meal
@@ -94,8 +342,36 @@ public class Planner {
      * @param prevSameSlot Previous day's recipe for this slot (for variety)
      * @return RecipeSelection with chosen recipe and serving size
      */
-    private RecipeSelection pickBest(Macro current, Macro target, Recipe[] lib, Class<?> type, Recipe prevSameSlot) {
-        Recipe best = null;
+    public RecipeSelection pickBest(Macro current, Macro target, Recipe[] lib, Class<?> type, Recipe prevSameSlot) {
+        int mealType = RecipeMatrix.mealTypeOf(type);
+        if (mealType == RecipeMatrix.ANY) {
+            // Not one of the three slot classes - keep the old isInstance semantics
+            lib = java.util.Arrays.stream(lib).filter(type::isInstance).toArray(Recipe[]::new);
+        }
+        return pickBest(current, target, RecipeMatrix.of(lib), mealType, prevSameSlot);
+    }
+
+    /**
+     * Selects the best recipe and serving size for a meal slot from a
+     * columnar library. Same result as the Recipe[] version, but the
+     * scoring loop reads primitive columns and allocates nothing per
+     * candidate; only the returned selection is created.
+     * 
+     * @param current Current accumulated macros (not used in new version)
+     * @param target Target macros for this specific meal
+     * @param matrix Columnar recipe library
+     * @param mealType RecipeMatrix meal-type code to consider (or ANY)
+     * @param prevSameSlot Previous day's recipe for this slot (for variety)
+     * @return RecipeSelection with chosen recipe and serving size
+     */
+    public RecipeSelection pickBest(Macro current, Macro target, RecipeMatrix matrix, int mealType, Recipe prevSameSlot) {
+        return pickBest(current, target, matrix, mealType, prevSameSlot, null);
+    }
+
+    // As above, adding the rows actually scored to scanned[0] when it is given (the k-d tree skips most)
+    private RecipeSelection pickBest(Macro current, Macro target, RecipeMatrix matrix, int mealType,
+                                     Recipe prevSameSlot, long[] scanned) {
+        int best = -1;
         double bestServ = 1.0;
         double bestScore = Double.POSITIVE_INFINITY;
         /* Cormen et al. 2009
@@ -106,41 +382,204 @@ public class Planner {
         Accessed 21 August 2025
         */
 
-        for (Recipe r : lib) {
-            if (!type.isInstance(r)) continue;
+        // Hoist every object read out of the loop; r* is what this meal still has to reach
+        final double rCal = target.getCalories() - current.getCalories();
+        final double rProt = target.getProtein() - current.getProtein();
+        final double rCarb = target.getCarbs() - current.getCarbs();
+        final double rFat = target.getFat() - current.getFat();
+        final double step = servingStep;
+        final int steps = stepCount(step);
+        final boolean closedForm = servingSolver == ServingSolver.CLOSED_FORM;
+
+        final double[] cal = matrix.calories, prot = matrix.protein;
+        final double[] carb = matrix.carbs, fat = matrix.fat;
+        final byte[] types = matrix.mealType;
+
+        if (candidateSearch == CandidateSearch.KD_TREE) {
+            // Branch-and-bound over the macro tree; only promising leaves are scored
+            best = matrix.kdTree().nearest(mealType, rCal, rProt, rCarb, rFat, prevSameSlot, step, steps, closedForm,
+                    scanned);
+            if (best >= 0) {
+                double c = cal[best], p = prot[best], cb = carb[best], f = fat[best];
+                int kFrom = firstStep(c, p, cb, f, rCal, rProt, rCarb, rFat, step, steps, closedForm);
+                int kTo = lastStep(kFrom, steps, closedForm);
+                for (int k = kFrom; k <= kTo; k++) {
+                    double score = mealScore(c, p, cb, f, MIN_SERV + k * step, rCal, rProt, rCarb, rFat);
+                    if (score < bestScore) {
+                        bestScore = score;
+                        bestServ = roundServing(MIN_SERV + k * step);
+                    }
+                }
+            }
+            return new RecipeSelection(best >= 0 ? matrix.recipe(best) : null, bestServ);
+        }
+
+        if (scanned != null) scanned[0] += matrix.size;   // Both scans below visit every row
+
+        if (scoringKernel == ScoringKernel.VECTOR && !closedForm && mealType == RecipeMatrix.ANY) {
+            // SIMD lanes over the columns; same pick as the loop below, ties included
+            long seq = VectorScan.scan(matrix, rCal, rProt, rCarb, rFat, prevSameSlot, step, steps);
+            if (seq >= 0) {
+                best = (int) (seq / (steps + 1));
+                bestServ = roundServing(MIN_SERV + (seq % (steps + 1)) * step);
+            }
+            return new RecipeSelection(best >= 0 ? matrix.recipe(best) : null, bestServ);
+        }
 
-            for (double s = MIN_SERV; s <= MAX_SERV + 1e-9; s += SERV_STEP) {
-                Macro future = addScaled(current, r, s);
+        for (int i = 0; i < matrix.size; i++) {
+            if (mealType != RecipeMatrix.ANY && types[i] != mealType) continue;
 
-                double score =
-                        W_KCAL * Math.abs(future.getCalories() - target.getCalories()) +
-                        W_PROT * Math.abs(future.getProtein()  - target.getProtein())  +
-                        W_CARB * Math.abs(future.getCarbs()    - target.getCarbs())    +
-                        W_FAT  * Math.abs(future.getFat()      - target.getFat());
+            // discourage repeating yesterday's same-slot recipe (checked once per recipe)
+            boolean repeat = prevSameSlot != null && matrix.sameRecipe(i, prevSameSlot);
+            double c = cal[i], p = prot[i], cb = carb[i], f = fat[i];
 
-                // discourage repeating yesterday's same-slot recipe
-                if (prevSameSlot != null && prevSameSlot.getName().equalsIgnoreCase(r.getName())) {
+            // Closed form only scores the few steps around the analytic optimum
+            int kFrom = firstStep(c, p, cb, f, rCal, rProt, rCarb, rFat, step, steps, closedForm);
+            int kTo = lastStep(kFrom, steps, closedForm);
+
+            for (int k = kFrom; k <= kTo; k++) {
+                double s = MIN_SERV + k * step;
+                double score = mealScore(c, p, cb, f, s, rCal, rProt, rCarb, rFat);
+
+                if (repeat) {
                     score += REPEAT_PENALTY;
                 }
 
                 if (score < bestScore) {
                     bestScore = score;
-                    best = r;
-                    bestServ = roundHalf(s); // keep a tidy one-decimal value
+                    best = i;
+                    bestServ = roundServing(s); // keep a tidy value
                 }
             }
         }
 
-        return new RecipeSelection(best, bestServ);
+        return new RecipeSelection(best >= 0 ? matrix.recipe(best) : null, bestServ);
     }
 
-    private Macro addScaled(Macro base, Recipe r, double s) {
-        return new Macro(
-                base.getCalories() + r.getCalories() * s,
-                base.getProtein()  + r.getProtein()  * s,
-                base.getCarbs()    + r.getCarbs()    * s,
-                base.getFat()      + r.getFat()      * s
-        );
+    /**
+     * Ranks the best k recipes for a meal slot in one scan.
+     * Scores exactly as pickBest does (best serving per recipe, repeat
+     * penalty included) and keeps the k lowest in a bounded heap, so
+     * the first entry is always the recipe pickBest would choose and
+     * the cost over pickBest is an O(log k) heap update for the few
+     * recipes that beat the current k-th best. Always scans the matrix;
+     * the k-d tree search only finds the single best.
+     * 
+     * @param target Target macros for this meal
+     * @param matrix Columnar recipe library
+     * @param mealType RecipeMatrix meal-type code to consider (or ANY)
+     * @param prevSameSlot Previous day's recipe for this slot (for variety)
+     * @param k Number of recipes to return (at least 1)
+     * @return Up to k selections, best first, one per recipe
+     */
+    public RankedSelection[] topK(Macro target, RecipeMatrix matrix, int mealType, Recipe prevSameSlot, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1: " + k);
+        }
+        final double rCal = target.getCalories(), rProt = target.getProtein();
+        final double rCarb = target.getCarbs(), rFat = target.getFat();
+        final double step = servingStep;
+        final int steps = stepCount(step);
+        final boolean closedForm = servingSolver == ServingSolver.CLOSED_FORM;
+
+        final double[] cal = matrix.calories, prot = matrix.protein;
+        final double[] carb = matrix.carbs, fat = matrix.fat;
+        final byte[] types = matrix.mealType;
+
+        // Sequence number row * (steps + 1) + k: ties go to the lower row, as in pickBest
+        int capacity = Math.max(1, Math.min(k, matrix.size));
+        BoundedHeap heap = new BoundedHeap(capacity);
+        double cutoff = Double.POSITIVE_INFINITY;   // k-th best score once the heap is full
+        for (int i = 0; i < matrix.size; i++) {
+            if (mealType != RecipeMatrix.ANY && types[i] != mealType) continue;
+
+            boolean repeat = prevSameSlot != null && matrix.sameRecipe(i, prevSameSlot);
+            double c = cal[i], p = prot[i], cb = carb[i], f = fat[i];
+            int kFrom = firstStep(c, p, cb, f, rCal, rProt, rCarb, rFat, step, steps, closedForm);
+            int kTo = lastStep(kFrom, steps, closedForm);
+
+            // Start at the cutoff so, as in pickBest, the branch is rarely taken once the heap is full
+            double rowBest = repeat ? Double.POSITIVE_INFINITY : cutoff;
+            int rowK = -1;
+            for (int j = kFrom; j <= kTo; j++) {
+                double score = mealScore(c, p, cb, f, MIN_SERV + j * step, rCal, rProt, rCarb, rFat);
+                if (score < rowBest) {
+                    rowBest = score;
+                    rowK = j;
+                }
+            }
+            if (rowK < 0) continue;
+            if (repeat) {
+                rowBest += REPEAT_PENALTY;
+            }
+            // Later rows lose ties, so a row must beat the cutoff outright to get in
+            if (rowBest >= cutoff) continue;
+            heap.offer(rowBest, (long) i * (steps + 1) + rowK);
+            if (heap.size() == capacity) {
+                cutoff = heap.topScore();
+            }
+        }
+
+        // The heap pops worst first, so fill the result from the back
+        RankedSelection[] ranked = new RankedSelection[heap.size()];
+        for (int j = ranked.length - 1; j >= 0; j--) {
+            long seq = heap.topSeq();
+            int row = (int) (seq / (steps + 1));
+            double serving = roundServing(MIN_SERV + (seq % (steps + 1)) * step);
+            ranked[j] = new RankedSelection(matrix.recipe(row), serving, heap.topScore());
+            heap.pop();
+        }
+        return ranked;
+    }
+
+    /**
+     * Swap options for one meal of an existing plan.
+     * Ranks the slot against its share of the daily target and the
+     * previous day's recipe in that slot, leaving out the recipe already
+     * planned, so the UI can offer a swap without replanning.
+     * 
+     * @param plan Current plan
+     * @param dayIndex Day to change (0 = first day)
+     * @param mealType RecipeMatrix.BREAKFAST, LUNCH or DINNER
+     * @param dailyTarget Daily macro-nutrient targets
+     * @param index Library partitioned by meal slot
+     * @return Up to getAlternativeCount() other recipes, best first
+     */
+    public RankedSelection[] alternatives(PlanDay[] plan, int dayIndex, int mealType, Macro dailyTarget,
+                                          MealTypeIndex index) {
+        RecipeSelection current = slotOf(plan[dayIndex], mealType);
+        RecipeSelection before = (dayIndex > 0) ? slotOf(plan[dayIndex - 1], mealType) : null;
+        Recipe planned = (current != null) ? current.getRecipe() : null;
+        Recipe prev = (before != null) ? before.getRecipe() : null;
+
+        double share = mealShare(mealType);
+        Macro mealTarget = new Macro(dailyTarget.getCalories() * share, dailyTarget.getProtein() * share,
+                dailyTarget.getCarbs() * share, dailyTarget.getFat() * share);
+        RankedSelection[] ranked = topK(mealTarget, index.slot(mealType), RecipeMatrix.ANY, prev,
+                alternativeCount + 1);
+
+        RankedSelection[] others = new RankedSelection[Math.min(alternativeCount, ranked.length)];
+        int fill = 0;
+        for (RankedSelection option : ranked) {
+            if (fill < others.length && !option.getRecipe().isSameRecipe(planned)) {
+                others[fill++] = option;
+            }
+        }
+        return java.util.Arrays.copyOf(others, fill);
+    }
+
+    // Selection in one slot of a day
+    private static RecipeSelection slotOf(PlanDay day, int mealType) {
+        switch (mealType) {
+            case RecipeMatrix.BREAKFAST:
+                return day.getBreakfast();
+            case RecipeMatrix.LUNCH:
+                return day.getLunch();
+            case RecipeMatrix.DINNER:
+                return day.getDinner();
+            default:
+                throw new IllegalArgumentException("Not a meal slot: " + mealType);
+        }
     }
 
     // Get meal-specific target based on daily target and meal type
@@ -168,17 +607,270 @@ public class Planner {
         );
     }
 
-    // Utility to avoid floating-point noise (e.g., 1.4999999)
-    private double roundHalf(double v) {
-        return Math.round(v * 2.0) / 2.0;
+    /**
+     * Share of the daily target a meal slot aims for
+     * @param mealType RecipeMatrix.BREAKFAST, LUNCH or DINNER
+     * @return Fraction of the daily target
+     */
+    static double mealShare(int mealType) {
+        switch (mealType) {
+            case RecipeMatrix.BREAKFAST: return BREAKFAST_PERCENT;
+            case RecipeMatrix.LUNCH: return LUNCH_PERCENT;
+            case RecipeMatrix.DINNER: return DINNER_PERCENT;
+            default: return 0.33;
+        }
+    }
+
+    /**
+     * Weighted macro distance of one recipe at one serving size.
+     * The single scoring function every planner search path uses.
+     * 
+     * @param c Calories per serving
+     * @param p Protein per serving
+     * @param cb Carbohydrates per serving
+     * @param f Fat per serving
+     * @param s Serving multiplier
+     * @param rc Calories still to reach (target minus current)
+     * @param rp Protein still to reach
+     * @param rcb Carbohydrates still to reach
+     * @param rf Fat still to reach
+     * @return Weighted L1 distance (lower is better)
+     */
+    static double mealScore(double c, double p, double cb, double f, double s,
+                            double rc, double rp, double rcb, double rf) {
+        return W_KCAL * Math.abs(c  * s - rc)  +
+               W_PROT * Math.abs(p  * s - rp)  +
+               W_CARB * Math.abs(cb * s - rcb) +
+               W_FAT  * Math.abs(f  * s - rf);
+    }
+
+    /**
+     * First serving step worth scoring for a recipe.
+     * Enumeration starts at step 0; the closed form starts one step
+     * below the grid cell holding the analytic optimum.
+     */
+    static int firstStep(double c, double p, double cb, double f,
+                         double rc, double rp, double rcb, double rf,
+                         double step, int steps, boolean closedForm) {
+        if (!closedForm) {
+            return 0;
+        }
+        double opt = optimalServing(c, p, cb, f, rc, rp, rcb, rf);
+        opt = Math.max(MIN_SERV, Math.min(MAX_SERV, opt));
+        int k0 = (int) Math.floor((opt - MIN_SERV) / step);
+        return Math.max(0, Math.min(steps, k0 - 1));
+    }
+
+    /**
+     * Last serving step worth scoring, given the first one.
+     * The closed-form window of four steps always holds both grid
+     * neighbours of the optimum, with a step of slack for rounding.
+     */
+    static int lastStep(int first, int steps, boolean closedForm) {
+        return closedForm ? Math.min(steps, first + 3) : steps;
+    }
+
+    /**
+     * Leftmost serving size that minimises the weighted macro distance,
+     * ignoring the serving range. Each macro contributes |a*s - r| with a
+     * breakpoint at s = r/a and a slope change of 2*w*a there, so the
+     * minimum is the weighted median of the four breakpoints.
+     * 
+     * @param c Calories per serving
+     * @param p Protein per serving
+     * @param cb Carbohydrates per serving
+     * @param f Fat per serving
+     * @param rc Calories still to reach (target minus current)
+     * @param rp Protein still to reach
+     * @param rcb Carbohydrates still to reach
+     * @param rf Fat still to reach
+     * @return Optimal continuous serving size (MIN_SERV if no macro depends on it)
+     */
+    static double optimalServing(double c, double p, double cb, double f,
+                                 double rc, double rp, double rcb, double rf) {
+        // Slope weight and breakpoint of each term; zero-macro terms are flat
+        double wc = W_KCAL * Math.abs(c), wp = W_PROT * Math.abs(p);
+        double wcb = W_CARB * Math.abs(cb), wf = W_FAT * Math.abs(f);
+        double sc = (wc > 0) ? rc / c : 0, sp = (wp > 0) ? rp / p : 0;
+        double scb = (wcb > 0) ? rcb / cb : 0, sf = (wf > 0) ? rf / f : 0;
+
+        double half = (wc + wp + wcb + wf) / 2.0;
+        if (half == 0) {
+            return MIN_SERV;
+        }
+
+        // Smallest breakpoint with at least half the slope weight at or below it
+        double best = Double.POSITIVE_INFINITY;
+        if (wc > 0 && sc < best && weightUpTo(sc, wc, sc, wp, sp, wcb, scb, wf, sf) >= half) best = sc;
+        if (wp > 0 && sp < best && weightUpTo(sp, wc, sc, wp, sp, wcb, scb, wf, sf) >= half) best = sp;
+        if (wcb > 0 && scb < best && weightUpTo(scb, wc, sc, wp, sp, wcb, scb, wf, sf) >= half) best = scb;
+        if (wf > 0 && sf < best && weightUpTo(sf, wc, sc, wp, sp, wcb, scb, wf, sf) >= half) best = sf;
+        return best;
+    }
+
+    // Total slope weight of the breakpoints at or below x
+    private static double weightUpTo(double x, double wc, double sc, double wp, double sp,
+                                     double wcb, double scb, double wf, double sf) {
+        double w = 0;
+        if (sc <= x) w += wc;
+        if (sp <= x) w += wp;
+        if (scb <= x) w += wcb;
+        if (sf <= x) w += wf;
+        return w;
+    }
+
+    // Number of whole steps between MIN_SERV and MAX_SERV
+    static int stepCount(double step) {
+        return (int) Math.floor((MAX_SERV - MIN_SERV) / step + 1e-9);
+    }
+
+    // Utility to avoid floating-point noise (e.g., 1.4999999 or 1.3000000000000003)
+    static double roundServing(double v) {
+        return Math.round(v * 1e6) / 1e6;
+    }
+
+    // ===== CONFIGURATION GETTERS AND SETTERS =====
+
+    public double getServingStep() {
+        return servingStep;
+    }
+
+    /**
+     * Set the serving granularity (e.g. 0.5, 0.25 or 0.1)
+     * @param servingStep Step between candidate servings, within the 1.0x-3.0x range
+     */
+    public void setServingStep(double servingStep) {
+        if (!(servingStep > 0) || servingStep > MAX_SERV - MIN_SERV) {
+            throw new IllegalArgumentException("Serving step must be in (0, " + (MAX_SERV - MIN_SERV) + "]: " + servingStep);
+        }
+        this.servingStep = servingStep;
+    }
+
+    public ServingSolver getServingSolver() {
+        return servingSolver;
+    }
+
+    public void setServingSolver(ServingSolver servingSolver) {
+        this.servingSolver = servingSolver;
+    }
+
+    public ScoringKernel getScoringKernel() {
+        return scoringKernel;
+    }
+
+    /**
+     * Choose how the slot scan scores candidates. VECTOR is used for
+     * enumerated servings over a meal-type slice; other scans stay scalar.
+     * @param scoringKernel Kernel to use
+     * @throws IllegalStateException if the kernel cannot run in this JVM
+     */
+    public void setScoringKernel(ScoringKernel scoringKernel) {
+        if (!scoringKernel.isAvailable()) {
+            throw new IllegalStateException(scoringKernel
+                    + " kernel needs the JVM option --add-modules jdk.incubator.vector");
+        }
+        this.scoringKernel = scoringKernel;
+    }
+
+    public CandidateSearch getCandidateSearch() {
+        return candidateSearch;
+    }
+
+    public void setCandidateSearch(CandidateSearch candidateSearch) {
+        this.candidateSearch = candidateSearch;
+    }
+
+    public PlanMode getPlanMode() {
+        return planMode;
+    }
+
+    public void setPlanMode(PlanMode planMode) {
+        this.planMode = planMode;
+    }
+
+    public SelectionCache getSelectionCache() {
+        return selectionCache;
+    }
+
+    /**
+     * Put a memoising cache in front of per-meal slot selection.
+     * One cache can be shared by several planners and threads.
+     * @param selectionCache Cache to use, or null to turn caching off
+     */
+    public void setSelectionCache(SelectionCache selectionCache) {
+        this.selectionCache = selectionCache;
+    }
+
+    public int getBeamWidth() {
+        return beamWidth;
+    }
+
+    /**
+     * Set how many partial plans BEAM mode keeps (quality vs speed)
+     * @param beamWidth Beam width, at least 1
+     */
+    public void setBeamWidth(int beamWidth) {
+        if (beamWidth < 1) {
+            throw new IllegalArgumentException("Beam width must be at least 1: " + beamWidth);
+        }
+        this.beamWidth = beamWidth;
+    }
+
+    public int getAlternativeCount() {
+        return alternativeCount;
+    }
+
+    /**
+     * Set how many swap options alternatives returns
+     * @param alternativeCount Number of options (K), at least 1
+     */
+    public void setAlternativeCount(int alternativeCount) {
+        if (alternativeCount < 1) {
+            throw new IllegalArgumentException("Alternative count must be at least 1: " + alternativeCount);
+        }
+        this.alternativeCount = alternativeCount;
+    }
+
+    /**
+     * Lazy day-by-day planner for PER_MEAL and JOINT_DAY modes.
+     * Holds only the previous day's three recipes between calls.
+     */
+    private final class DayIterator implements Iterator<PlanDay> {
+        private final int days;
+        private final Macro target;
+        private final Macro[] mealTargets;      // target split once for meal-by-meal days
+        private final MealTypeIndex index;
+        private final DayOptimizer optimizer;   // JOINT_DAY only (null = meal by meal)
+        private int next;                       // Days already handed out
+        private Recipe prevB, prevL, prevD;     // Yesterday's recipes
+        final long[] scanned = new long[1];     // Recipes scanned by meal-by-meal days
+
+        DayIterator(int days, Macro target, MealTypeIndex index, DayOptimizer optimizer) {
+            this.days = days;
+            this.target = target;
+            this.mealTargets = mealTargets(target);
+            this.index = index;
+            this.optimizer = optimizer;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < days;
+        }
+
+        @Override
+        public PlanDay next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            next++;
+            PlanDay day = (optimizer != null)
+                    ? optimizer.optimizeDay(next, target, index, prevB, prevL, prevD).getDay()
+                    : greedyDay(next, mealTargets, index, prevB, prevL, prevD, scanned);
+            prevB = day.getBreakfast().getRecipe();
+            prevL = day.getLunch().getRecipe();
+            prevD = day.getDinner().getRecipe();
+            return day;
+        }
     }
-    
-    /* Stack Overflow 2011
-Round a double to the nearest 0.5 in Java
-Stack Overflow
-https://stackoverflow.com/questions/3571385/rounding-to-nearest-0-5-in-java
-Author: Bohemian♦
-        https://stackoverflow.com/users/256196/bohemian
-Accessed 22 August 2025
-*/
 }
@@ -0,0 +1,275 @@
+package com.mycompany.smartmealplanner.service;
+
+import com.mycompany.smartmealplanner.model.*;
+
+import java.util.BitSet;
+import java.util.function.IntFunction;
+
+/**
+ * Columnar (structure-of-arrays) view of a recipe library.
+ *
+ * Copies the four macros of every recipe into parallel double[] columns,
+ * plus a meal-type code and id per row, so the planner's scoring loop
+ * reads contiguous primitives instead of chasing Recipe objects and
+ * never allocates per candidate. Built once per library and read-only
+ * afterwards, so one matrix can be shared between planner threads.
+ *
+ * A matrix built from a mapped BinaryCatalog (through MealTypeIndex)
+ * holds only the columns; a row's Recipe is decoded the first time it
+ * is picked.
+ */
+public final class RecipeMatrix {
+
+    // ===== MEAL TYPE CODES =====
+    public static final int ANY = -1;        // Matches every row (no meal filter)
+    public static final int BREAKFAST = 0;
+    public static final int LUNCH = 1;
+    public static final int DINNER = 2;
+    public static final int OTHER = 3;       // Recipe subclass outside the three slots
+
+    // ===== COLUMNS =====
+    private final Recipe[] recipes;          // Row -> source recipe, or null if rows are decoded on demand
+    private final IntFunction<Recipe> decode; // Row id -> recipe when recipes is null (same object every call)
+    // Package-private so the planner's inner loop can index them directly
+    final double[] calories;  // Calories per base serving
+    final double[] protein;   // Protein grams per base serving
+    final double[] carbs;     // Carbohydrate grams per base serving
+    final double[] fat;       // Fat grams per base serving
+    final byte[] mealType;    // BREAKFAST / LUNCH / DINNER / OTHER
+    final int[] ids;          // Row id (position in the source library)
+    final int[] recipeIds;    // Catalog id of each row's recipe (Recipe.NO_ID if none)
+    final int size;
+
+    private volatile MacroKdTree kdTree;  // Built on first KD_TREE search
+
+    private RecipeMatrix(Recipe[] recipes, int[] ids) {
+        this.size = recipes.length;
+        this.recipes = recipes.clone();
+        this.decode = null;
+        this.calories = new double[size];
+        this.protein = new double[size];
+        this.carbs = new double[size];
+        this.fat = new double[size];
+        this.mealType = new byte[size];
+        this.ids = ids;
+        this.recipeIds = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            Recipe r = recipes[i];
+            calories[i] = r.getCalories();
+            protein[i] = r.getProtein();
+            carbs[i] = r.getCarbs();
+            fat[i] = r.getFat();
+            mealType[i] = (byte) mealTypeOf(r);
+            recipeIds[i] = r.getId();
+        }
+    }
+
+    private RecipeMatrix(double[] calories, double[] protein, double[] carbs, double[] fat,
+                         byte[] mealType, int[] ids, int[] recipeIds, IntFunction<Recipe> decode) {
+        this.size = ids.length;
+        this.recipes = null;
+        this.decode = decode;
+        this.calories = calories;
+        this.protein = protein;
+        this.carbs = carbs;
+        this.fat = fat;
+        this.mealType = mealType;
+        this.ids = ids;
+        this.recipeIds = recipeIds;
+    }
+
+    /**
+     * Build the columnar view of a library.
+     * The source array is copied, so later changes to it are not seen.
+     *
+     * @param library Recipes to lay out in columns
+     * @return New matrix with one row per recipe, in library order
+     */
+    public static RecipeMatrix of(Recipe[] library) {
+        int[] ids = new int[library.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+        }
+        return new RecipeMatrix(library, ids);
+    }
+
+    /**
+     * Build a matrix over a subset of a library, keeping each row's
+     * position in the full library as its id.
+     *
+     * @param rows Recipes to lay out in columns
+     * @param ids Id of each row (copied by reference - caller must not reuse it)
+     * @return New matrix with one row per recipe
+     */
+    static RecipeMatrix of(Recipe[] rows, int[] ids) {
+        return new RecipeMatrix(rows, ids);
+    }
+
+    /**
+     * Build a matrix from columns already read elsewhere (e.g. a mapped
+     * catalog file), decoding each row's recipe only when it is asked for.
+     * Arrays are used by reference - the caller must not reuse them.
+     *
+     * @param ids Row id of each row
+     * @param recipeIds Catalog id of each row's recipe
+     * @param decode Recipe for a row id; must return the same object for the same id
+     * @return New matrix over the columns
+     */
+    static RecipeMatrix ofColumns(double[] calories, double[] protein, double[] carbs, double[] fat,
+                                  byte[] mealType, int[] ids, int[] recipeIds, IntFunction<Recipe> decode) {
+        return new RecipeMatrix(calories, protein, carbs, fat, mealType, ids, recipeIds, decode);
+    }
+
+    /**
+     * The same rows minus some, keeping every column and row id; for
+     * matrices built by ofColumns (MealTypeIndex filters the others by
+     * rebuilding from its recipes)
+     * @param excluded Row ids to drop
+     * @return New matrix with the remaining rows, in order
+     */
+    RecipeMatrix without(BitSet excluded) {
+        int kept = 0;
+        for (int row = 0; row < size; row++) {
+            if (!excluded.get(ids[row])) kept++;
+        }
+        int[] keep = new int[kept];
+        int k = 0;
+        for (int row = 0; row < size; row++) {
+            if (!excluded.get(ids[row])) keep[k++] = row;
+        }
+        double[] cal = new double[kept], pro = new double[kept], carb = new double[kept], f = new double[kept];
+        byte[] type = new byte[kept];
+        int[] rowIds = new int[kept], catalogIds = new int[kept];
+        for (int i = 0; i < kept; i++) {
+            int row = keep[i];
+            cal[i] = calories[row];
+            pro[i] = protein[row];
+            carb[i] = carbs[row];
+            f[i] = fat[row];
+            type[i] = mealType[row];
+            rowIds[i] = ids[row];
+            catalogIds[i] = recipeIds[row];
+        }
+        return new RecipeMatrix(cal, pro, carb, f, type, rowIds, catalogIds, decode);
+    }
+
+    /**
+     * Meal-type code for a recipe
+     * @param r Recipe to classify
+     * @return BREAKFAST, LUNCH, DINNER or OTHER
+     */
+    public static int mealTypeOf(Recipe r) {
+        if (r instanceof BreakfastRecipe) return BREAKFAST;
+        if (r instanceof LunchRecipe) return LUNCH;
+        if (r instanceof DinnerRecipe) return DINNER;
+        return OTHER;
+    }
+
+    /**
+     * Meal-type code for a recipe class, as passed to Planner.pickBest
+     * @param type Recipe class
+     * @return Matching code, or ANY for a class that is not one of the three slots
+     */
+    public static int mealTypeOf(Class<?> type) {
+        if (type == BreakfastRecipe.class) return BREAKFAST;
+        if (type == LunchRecipe.class) return LUNCH;
+        if (type == DinnerRecipe.class) return DINNER;
+        return ANY;
+    }
+
+    /**
+     * Check whether a row holds the same recipe as another one.
+     * Same rule as Recipe.isSameRecipe, but reads the id column so the
+     * usual case (both recipes from a catalog) is one int comparison.
+     *
+     * @param row Row to check
+     * @param other Recipe to compare with (not null)
+     * @return true if the row's recipe is the same dish
+     */
+    boolean sameRecipe(int row, Recipe other) {
+        int id = recipeIds[row];
+        int otherId = other.getId();
+        if (id != Recipe.NO_ID && otherId != Recipe.NO_ID) {
+            return id == otherId;
+        }
+        return recipe(row).getName().equalsIgnoreCase(other.getName());
+    }
+
+    /**
+     * Check whether a row holds exactly this recipe object, without
+     * decoding the row. A matrix over columns decodes each id to one
+     * object, so there the id column decides.
+     *
+     * @param row Row to check
+     * @param recipe Recipe picked from this matrix or its index
+     * @return true if the row's recipe is that object
+     */
+    boolean holds(int row, Recipe recipe) {
+        return (recipes != null) ? recipes[row] == recipe : recipeIds[row] == recipe.getId();
+    }
+
+    /**
+     * Recipe of a row, decoding it first if the matrix was built from columns
+     * @param row Row to look up
+     * @return The row's recipe (the same object on every call)
+     */
+    Recipe recipe(int row) {
+        return (recipes != null) ? recipes[row] : decode.apply(ids[row]);
+    }
+
+    /**
+     * k-d tree over this matrix's macro columns, built on first use
+     * and shared by every later search.
+     */
+    MacroKdTree kdTree() {
+        MacroKdTree tree = kdTree;
+        if (tree == null) {
+            synchronized (this) {
+                tree = kdTree;
+                if (tree == null) {
+                    tree = new MacroKdTree(this);
+                    kdTree = tree;
+                }
+            }
+        }
+        return tree;
+    }
+
+    // ===== GETTERS =====
+    public int size() {
+        return size;
+    }
+
+    public Recipe getRecipe(int row) {
+        return recipe(row);
+    }
+
+    public double getCalories(int row) {
+        return calories[row];
+    }
+
+    public double getProtein(int row) {
+        return protein[row];
+    }
+
+    public double getCarbs(int row) {
+        return carbs[row];
+    }
+
+    public double getFat(int row) {
+        return fat[row];
+    }
+
+    public int getMealType(int row) {
+        return mealType[row];
+    }
+
+    public int getId(int row) {
+        return ids[row];
+    }
+
+    public int getRecipeId(int row) {
+        return recipeIds[row];
+    }
+}
@@ -23,6 +23,19 @@ public class RecipeViewer {
      * @param servings The number of servings to scale ingredients to
      */
     public static void displayRecipeCard(Recipe recipe, double servings) {
+        displayRecipeCard(new RecipeSelection(recipe, servings));
+    }
+    
+    /**
+     * Display a recipe card for a planned meal.
+     * Uses the selection's already scaled ingredients and macros, so showing
+     * the same plan again does not rescale its recipes.
+     * 
+     * @param meal The recipe and servings to display
+     */
+    public static void displayRecipeCard(RecipeSelection meal) {
+        Recipe recipe = meal.getRecipe();
+        double servings = meal.getServings();
         // Create formatted header
         System.out.println("\n" + "=".repeat(60));
         System.out.println("RECIPE: " + recipe.getName().toUpperCase());
@@ -41,35 +54,32 @@ public class RecipeViewer {
         System.out.println("Servings: " + servings);
         
         System.out.println("\n--- INGREDIENTS ---");
-        displayScaledIngredients(recipe, servings);
+        displayScaledIngredients(meal.getScaledIngredients());
         
         System.out.println("\n--- INSTRUCTIONS ---");
         System.out.print(recipe.getFormattedInstructions());
         
         System.out.println("\n--- NUTRITION (per serving) ---");
-        displayNutrition(recipe.macrosFor(servings));
+        displayNutrition(meal);
         
         System.out.println("\n" + "=".repeat(60));
     }
     
     /**
      * Display scaled ingredients list with categorization
-     * @param recipe The recipe
-     * @param servings Number of servings to scale to
+     * @param scaledIngredients Ingredients already scaled to the servings shown
      */
-    private static void displayScaledIngredients(Recipe recipe, double servings) {
-        Ingredient[] scaledIngredients = recipe.ingredientsFor(servings);
-        
-        if (scaledIngredients.length == 0) {
+    private static void displayScaledIngredients(List<Ingredient> scaledIngredients) {
+        if (scaledIngredients.isEmpty()) {
             System.out.println("(No ingredients)");
             return;
         }
         
         // Group ingredients by category
         Map<IngredientCategory, List<Ingredient>> categorizedIngredients = 
-            Arrays.stream(scaledIngredients)
+            scaledIngredients.stream()
                 .collect(Collectors.groupingBy(ingredient -> 
-                    IngredientCategorizer.categorizeIngredient(ingredient.getName())));
+                    IngredientCategorizer.categorize(ingredient.getNameId())));
         
         // Display ingredients in store layout order
         for (IngredientCategory category : IngredientCategory.getShoppingOrder()) {
@@ -99,13 +109,13 @@ public class RecipeViewer {
     
     /**
      * Display nutrition information
-     * @param macros The macro nutrients to display
+     * @param meal The selection whose scaled macros to display
      */
-    private static void displayNutrition(Macro macros) {
-        System.out.printf("Calories: %.0f kcal%n", macros.getCalories());
-        System.out.printf("Protein: %.1f g%n", macros.getProtein());
-        System.out.printf("Carbohydrates: %.1f g%n", macros.getCarbs());
-        System.out.printf("Fat: %.1f g%n", macros.getFat());
+    private static void displayNutrition(RecipeSelection meal) {
+        System.out.printf("Calories: %.0f kcal%n", meal.getCalories());
+        System.out.printf("Protein: %.1f g%n", meal.getProtein());
+        System.out.printf("Carbohydrates: %.1f g%n", meal.getCarbs());
+        System.out.printf("Fat: %.1f g%n", meal.getFat());
     }
     
     /**
@@ -162,7 +172,7 @@ public class RecipeViewer {
             for (RecipeSelection meal : meals) {
                 if (meal != null) {
                     if (index == choice) {
-                        displayRecipeCard(meal.getRecipe(), meal.getServings());
+                        displayRecipeCard(meal);
                         return;
                     }
                     index++;
@@ -251,19 +261,19 @@ public class RecipeViewer {
         // Display breakfast
         if (day.getBreakfast() != null) {
             System.out.println("\n>>> BREAKFAST <<<");
-            displayRecipeCard(day.getBreakfast().getRecipe(), day.getBreakfast().getServings());
+            displayRecipeCard(day.getBreakfast());
         }
         
         // Display lunch
         if (day.getLunch() != null) {
             System.out.println("\n>>> LUNCH <<<");
-            displayRecipeCard(day.getLunch().getRecipe(), day.getLunch().getServings());
+            displayRecipeCard(day.getLunch());
         }
         
         // Display dinner  
         if (day.getDinner() != null) {
             System.out.println("\n>>> DINNER <<<");
-            displayRecipeCard(day.getDinner().getRecipe(), day.getDinner().getServings());
+            displayRecipeCard(day.getDinner());
         }
         
         System.out.println("\n" + "=".repeat(60));
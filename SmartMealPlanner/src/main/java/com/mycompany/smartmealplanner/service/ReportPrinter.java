@@ -13,13 +13,31 @@ import java.util.stream.Collectors;
 public class ReportPrinter {
 
     public void printPlan(PlanDay[] days, Macro target) {
+        printPlan(Arrays.asList(days).iterator(), target);
+    }
+
+    /**
+     * Print a plan as its days arrive, e.g. from Planner.planDays.
+     * Each day is printed as soon as it is produced and then dropped;
+     * only the running macro total is kept for the average at the end.
+     *
+     * @param days Plan days in order
+     * @param target Daily macro-nutrient targets
+     */
+    public void printPlan(Iterator<PlanDay> days, Macro target) {
         System.out.println("\n==================================================");
         System.out.println("                  🍽️  MEAL PLAN  🍽️");
         System.out.println("==================================================");
 
-        Macro total = new Macro(0, 0, 0, 0);
+        // One accumulator reused for every day, so a long plan prints without Macro churn;
+        // the plan total is kept in fixed point (FixedPoint) so its average does not drift
+        MacroAccumulator day = new MacroAccumulator();
+        long totalKcal = 0, totalProtein = 0, totalCarbs = 0, totalFat = 0;
+        int count = 0;
 
-        for (PlanDay d : days) {
+        while (days.hasNext()) {
+            PlanDay d = days.next();
+            count++;
             RecipeSelection b = d.getBreakfast();
             RecipeSelection l = d.getLunch();
             RecipeSelection e = d.getDinner();
@@ -28,8 +46,11 @@ public class ReportPrinter {
                          + l.getRecipe().getTotalTime()
                          + e.getRecipe().getTotalTime();
 
-            Macro day = sumDay(b, l, e);
-            total = total.add(day);
+            sumDay(day.reset(), b, l, e);
+            totalKcal += FixedPoint.toFixed(day.getCalories(), FixedPoint.KCAL_SCALE);
+            totalProtein += FixedPoint.toFixed(day.getProtein(), FixedPoint.GRAM_SCALE);
+            totalCarbs += FixedPoint.toFixed(day.getCarbs(), FixedPoint.GRAM_SCALE);
+            totalFat += FixedPoint.toFixed(day.getFat(), FixedPoint.GRAM_SCALE);
 
             System.out.println();
             System.out.println("─────────────── DAY " + d.getDayNumber() + " ───────────────");
@@ -55,8 +76,11 @@ public class ReportPrinter {
         }
 
         // Average across days
-        double n = days.length;
-        Macro avg = new Macro(total.getCalories()/n, total.getProtein()/n, total.getCarbs()/n, total.getFat()/n);
+        MacroAccumulator avg = day.reset().add(
+                FixedPoint.toDouble(totalKcal, FixedPoint.KCAL_SCALE),
+                FixedPoint.toDouble(totalProtein, FixedPoint.GRAM_SCALE),
+                FixedPoint.toDouble(totalCarbs, FixedPoint.GRAM_SCALE),
+                FixedPoint.toDouble(totalFat, FixedPoint.GRAM_SCALE)).divide(count);
 
         System.out.println();
         System.out.println("📊 === AVERAGE DAILY MACROS ===");
@@ -90,29 +114,82 @@ public class ReportPrinter {
     }
     
     private List<GroceryItem> consolidateGroceryItems(PlanDay[] days) {
-        Map<String, GroceryItem> itemMap = new LinkedHashMap<>();
-        
+        GroceryConsolidationEvent event = new GroceryConsolidationEvent();
+        event.begin();
+        int itemsIn = 0;
+
+        Map<Object, RecipeTotal> recipeTotals = new LinkedHashMap<>();
         for (PlanDay d : days) {
             RecipeSelection[] sel = { d.getBreakfast(), d.getLunch(), d.getDinner() };
             for (RecipeSelection rs : sel) {
-                Ingredient[] ing = rs.getRecipe().getIngredients();
-                double s = rs.getServings();
-                for (Ingredient it : ing) {
-                    String key = (it.getName().toLowerCase() + "|" + it.getUnit());
-                    double add = it.getQuantityPerServing() * s;
-                    
-                    if (itemMap.containsKey(key)) {
-                        GroceryItem existing = itemMap.get(key);
-                        existing.setQuantity(existing.getQuantity() + add);
-                    } else {
-                        IngredientCategory category = IngredientCategorizer.categorizeIngredient(it.getName());
-                        itemMap.put(key, new GroceryItem(it.getName(), add, it.getUnit(), category));
+                Recipe r = rs.getRecipe();
+                itemsIn += r.getIngredientList().size();
+                Object key = (r.getId() != Recipe.NO_ID) ? (Object) r.getId() : r;
+                recipeTotals.computeIfAbsent(key, k -> new RecipeTotal(r)).milliServings += rs.getMilliServings();
+            }
+        }
+        
+        // Consolidate by IngredientDictionary ids: one map entry per (name id, unit id) pair,
+        // sized to this plan's ingredient lines rather than to the whole dictionary
+        int lines = 0;
+        for (RecipeTotal total : recipeTotals.values()) {
+            lines += total.recipe.getIngredientList().size();
+        }
+        Map<Long, Integer> itemOf = new HashMap<>(Math.max(16, lines * 4 / 3 + 1));
+        List<GroceryItem> items = new ArrayList<>();
+        long[] totals = new long[16];
+        
+        for (RecipeTotal total : recipeTotals.values()) {
+            for (Ingredient it : total.recipe.getIngredientList()) {
+                long add = FixedPoint.scale(it.getFixedQuantity(), total.milliServings, FixedPoint.SERVING_SCALE);
+                int nameId = it.getNameId();
+                long key = ((long) nameId << 32) | (it.getUnitId() & 0xffffffffL);
+                
+                Integer found = itemOf.get(key);
+                int item;
+                if (found != null) {
+                    item = found;
+                } else {
+                    item = items.size();
+                    if (item == totals.length) {
+                        totals = Arrays.copyOf(totals, item * 2);
                     }
+                    itemOf.put(key, item);
+                    IngredientCategory category = IngredientCategorizer.categorize(nameId);
+                    items.add(new GroceryItem(it.getName(), 0, it.getUnit(), category));
                 }
+                totals[item] += add;
             }
         }
+        for (int item = 0; item < items.size(); item++) {
+            items.get(item).setQuantity(FixedPoint.toDouble(totals[item], FixedPoint.QUANTITY_SCALE));
+        }
         
-        return new ArrayList<>(itemMap.values());
+        event.end();
+        if (event.shouldCommit()) {
+            event.days = days.length;
+            event.recipes = recipeTotals.size();
+            event.itemsIn = itemsIn;
+            event.itemsOut = items.size();
+            event.commit();
+        }
+        return items;
+    }
+    
+    /**
+     * Servings of one distinct recipe over the whole plan. Consolidation
+     * totals these first (by catalog id, or by the recipe itself when it
+     * has none), so a recipe eaten on many days has its ingredients
+     * scaled and looked up once, and the thousandth-servings add up
+     * exactly before any quantity is rounded.
+     */
+    private static final class RecipeTotal {
+        final Recipe recipe;
+        long milliServings;
+
+        RecipeTotal(Recipe recipe) {
+            this.recipe = recipe;
+        }
     }
     
     private void printCategorizedGroceryList(List<GroceryItem> items) {
@@ -164,13 +241,17 @@ public class ReportPrinter {
         System.out.println();
     }
 
-    private Macro sumDay(RecipeSelection b, RecipeSelection l, RecipeSelection e) {
-        return new Macro(
-            b.getRecipe().getCalories()*b.getServings() + l.getRecipe().getCalories()*l.getServings() + e.getRecipe().getCalories()*e.getServings(),
-            b.getRecipe().getProtein()*b.getServings()  + l.getRecipe().getProtein()*l.getServings()  + e.getRecipe().getProtein()*e.getServings(),
-            b.getRecipe().getCarbs()*b.getServings()    + l.getRecipe().getCarbs()*l.getServings()    + e.getRecipe().getCarbs()*e.getServings(),
-            b.getRecipe().getFat()*b.getServings()      + l.getRecipe().getFat()*l.getServings()      + e.getRecipe().getFat()*e.getServings()
-        );
+    // Add one day's three meals (per-serving macros times servings) to an accumulator
+    private static void sumDay(MacroAccumulator day, RecipeSelection b, RecipeSelection l, RecipeSelection e) {
+        addMeal(day, b);
+        addMeal(day, l);
+        addMeal(day, e);
+    }
+
+    private static void addMeal(MacroAccumulator day, RecipeSelection meal) {
+        Recipe r = meal.getRecipe();
+        double s = meal.getServings();
+        day.add(r.getCalories()*s, r.getProtein()*s, r.getCarbs()*s, r.getFat()*s);
     }
 
     private static String bar(double value, double target) {
@@ -0,0 +1,53 @@
+package com.mycompany.smartmealplanner.service;
+
+/**
+ * How the planner's slot scan evaluates the weighted macro distance.
+ *
+ * SCALAR scores one recipe and one serving step at a time. VECTOR uses
+ * the incubating Vector API (jdk.incubator.vector) to score a block of
+ * recipes per serving step in SIMD lanes over the RecipeMatrix columns,
+ * with the same operations in the same order, so both pick the same
+ * recipe and serving, ties included. VECTOR is only available when the
+ * JVM runs with --add-modules jdk.incubator.vector; detect() picks it
+ * when it is.
+ */
+public enum ScoringKernel {
+    SCALAR,
+    VECTOR;
+
+    /* Oracle 2025
+       JEP 489: Vector API (Ninth Incubator)
+       OpenJDK
+       https://openjdk.org/jeps/489
+       Accessed 16 October 2026
+    */
+
+    private static final boolean VECTOR_AVAILABLE = vectorModulePresent();
+
+    /**
+     * Best kernel this JVM can run
+     * @return VECTOR when the Vector API module is loaded, otherwise SCALAR
+     */
+    public static ScoringKernel detect() {
+        return VECTOR_AVAILABLE ? VECTOR : SCALAR;
+    }
+
+    /**
+     * @return true if this kernel can run in this JVM
+     */
+    public boolean isAvailable() {
+        return this == SCALAR || VECTOR_AVAILABLE;
+    }
+
+    // The module must be in the boot layer; VectorScan is only loaded once it is
+    private static boolean vectorModulePresent() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            return VectorScan.lanes() > 1;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
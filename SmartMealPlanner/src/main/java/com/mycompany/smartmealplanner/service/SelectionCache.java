@@ -0,0 +1,246 @@
+package com.mycompany.smartmealplanner.service;
+
+import com.mycompany.smartmealplanner.model.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Memoising cache for per-meal slot selections.
+ *
+ * MacroCalculator rounds daily targets to whole numbers, so many users
+ * end up with the same meal targets and the planner would repeat the
+ * same slot scan for each of them. The cache remembers the selection
+ * for a key of (quantised meal target, meal type, previous day's recipe,
+ * library version, and the planner's serving step, serving solver,
+ * candidate search and scoring kernel). Because the planner settings
+ * are part of the key, one cache can be shared by planners configured
+ * differently: each only ever hits selections made the way it would
+ * have made them.
+ *
+ * Targets are snapped to a grid of `quantum` (default 0.01) and the
+ * selection is computed for the snapped target, so a cached answer
+ * depends only on its key. The library version comes from MealTypeIndex:
+ * a changed library gets a new index and therefore new keys, so stale
+ * entries can never be hit and simply age out.
+ *
+ * Bounded LRU, split into independently locked segments so concurrent
+ * planners rarely wait on each other. A miss computes outside the lock;
+ * two threads missing on the same key may both compute it, which is
+ * harmless because the answer is deterministic.
+ */
+public final class SelectionCache {
+
+    /* Oracle 2025
+       LinkedHashMap (Java SE 21 & JDK 21) - removeEldestEntry
+       Oracle Documentation
+       https://docs.oracle.com/en/java/javase/21/docs/api/java.base/java/util/LinkedHashMap.html
+       Accessed 16 October 2026
+    */
+
+    public static final double DEFAULT_QUANTUM = 0.01;
+    private static final int SEGMENTS = 16;   // Power of two
+
+    // ===== FIELDS =====
+    private final double quantum;            // Grid the meal targets are snapped to
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Cache with the default target quantum
+     * @param capacity Maximum number of selections kept
+     */
+    public SelectionCache(int capacity) {
+        this(capacity, DEFAULT_QUANTUM);
+    }
+
+    /**
+     * @param capacity Maximum number of selections kept (at least 1)
+     * @param quantum Grid the meal targets are snapped to (greater than 0)
+     */
+    public SelectionCache(int capacity, double quantum) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be at least 1: " + capacity);
+        }
+        if (!(quantum > 0)) {
+            throw new IllegalArgumentException("Quantum must be positive: " + quantum);
+        }
+        this.quantum = quantum;
+        this.segments = new Segment[SEGMENTS];
+        int perSegment = Math.max(1, (capacity + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * Look up a selection, computing and storing it on a miss.
+     *
+     * @param index Library the selection comes from (its version is part of the key)
+     * @param mealType RecipeMatrix meal-type code
+     * @param target Meal target
+     * @param prev Previous day's recipe for this slot (or null)
+     * @param planner Planner asking; its selection settings are part of the key
+     * @param compute Computes the selection for the snapped target
+     * @return Cached or freshly computed selection
+     */
+    RecipeSelection get(MealTypeIndex index, int mealType, Macro target, Recipe prev, Planner planner,
+                        Function<Macro, RecipeSelection> compute) {
+        long c = Math.round(target.getCalories() / quantum);
+        long p = Math.round(target.getProtein() / quantum);
+        long cb = Math.round(target.getCarbs() / quantum);
+        long f = Math.round(target.getFat() / quantum);
+        // Catalog recipes are keyed by id; a recipe without one by its name, as the planner compares it
+        int prevId = (prev != null) ? prev.getId() : Recipe.NO_ID;
+        String prevName = (prev != null && prevId == Recipe.NO_ID) ? prev.getName().toLowerCase() : null;
+        int settings = planner.getServingSolver().ordinal()
+                | planner.getCandidateSearch().ordinal() << 8
+                | planner.getScoringKernel().ordinal() << 16;
+        Key key = new Key(c, p, cb, f, mealType, prevId, prevName, index.getVersion(),
+                Double.doubleToLongBits(planner.getServingStep()), settings);
+
+        Segment segment = segments[key.hash & (SEGMENTS - 1)];
+        RecipeSelection cached;
+        synchronized (segment) {
+            cached = segment.get(key);
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        RecipeSelection computed = compute.apply(new Macro(c * quantum, p * quantum, cb * quantum, f * quantum));
+        synchronized (segment) {
+            segment.put(key, computed);
+        }
+        return computed;
+    }
+
+    /**
+     * Drop every cached selection (counters are kept)
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    // ===== STATISTICS =====
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Selections currently held
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public double getQuantum() {
+        return quantum;
+    }
+
+    // ===== INTERNAL STRUCTURES =====
+
+    /**
+     * One LRU segment: an access-ordered LinkedHashMap that drops its
+     * least recently used entry when full. Guarded by its own monitor.
+     */
+    private final class Segment extends LinkedHashMap<Key, RecipeSelection> {
+        private static final long serialVersionUID = 1L;
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, RecipeSelection> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Cache key; the hash is computed once since every lookup needs it
+     */
+    private static final class Key {
+        private final long c, p, cb, f;      // Target in quanta
+        private final int mealType;
+        private final int prevId;            // Previous recipe's catalog id, or Recipe.NO_ID
+        private final String prevName;       // Lower-cased name of a previous recipe without an id, or null
+        private final long version;          // MealTypeIndex version
+        private final long stepBits;         // Serving step
+        private final int settings;          // Serving solver, candidate search and scoring kernel
+        final int hash;
+
+        Key(long c, long p, long cb, long f, int mealType, int prevId, String prevName, long version, long stepBits,
+            int settings) {
+            this.c = c;
+            this.p = p;
+            this.cb = cb;
+            this.f = f;
+            this.mealType = mealType;
+            this.prevId = prevId;
+            this.prevName = prevName;
+            this.version = version;
+            this.stepBits = stepBits;
+            this.settings = settings;
+
+            long h = c;
+            h = 31 * h + p;
+            h = 31 * h + cb;
+            h = 31 * h + f;
+            h = 31 * h + mealType;
+            h = 31 * h + prevId;
+            h = 31 * h + (prevName != null ? prevName.hashCode() : 0);
+            h = 31 * h + version;
+            h = 31 * h + stepBits;
+            h = 31 * h + settings;
+            int mixed = (int) (h ^ (h >>> 32));
+            this.hash = mixed ^ (mixed >>> 16);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return c == k.c && p == k.p && cb == k.cb && f == k.f && mealType == k.mealType && prevId == k.prevId
+                    && version == k.version && stepBits == k.stepBits && settings == k.settings
+                    && (prevName == null ? k.prevName == null : prevName.equals(k.prevName));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.mycompany.smartmealplanner.service;
+
+/**
+ * How the planner chooses a serving size for each candidate recipe.
+ *
+ * ENUMERATE scores every serving step between the minimum and maximum,
+ * so its cost grows with finer serving granularity. CLOSED_FORM uses the
+ * fact that the weighted macro distance is convex and piecewise linear in
+ * the serving size: the exact optimum lies on one of four breakpoints
+ * (where a macro hits its target), and only the grid steps next to it
+ * need scoring. Both pick the same recipe and serving.
+ */
+public enum ServingSolver {
+    ENUMERATE,
+    CLOSED_FORM
+}
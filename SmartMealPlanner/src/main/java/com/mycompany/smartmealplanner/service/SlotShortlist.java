@@ -0,0 +1,102 @@
+package com.mycompany.smartmealplanner.service;
+
+import com.mycompany.smartmealplanner.model.*;
+
+/**
+ * The best recipes of one meal slot by meal fit, each at its best serving,
+ * best first. Shared by the whole-plan searches that pick meals from a
+ * short list (AnytimePlanner, AnnealingPlanner): a plan is then one
+ * candidate index per meal, and repeats are found by comparing recipe
+ * classes instead of recipes.
+ */
+final class SlotShortlist {
+
+    // ===== FIELDS =====
+    final int size;
+    final int mealType;          // RecipeMatrix meal-type code
+    final Recipe[] recipe;
+    final double[] serving;
+    final double[] fit;          // PlanScorer meal fit at the serving
+    final int[] recipeClass;     // Equal for the same recipe (-1 for an empty slot)
+
+    private SlotShortlist(int mealType, Recipe[] recipe, double[] serving, double[] fit, int[] recipeClass) {
+        this.size = recipe.length;
+        this.mealType = mealType;
+        this.recipe = recipe;
+        this.serving = serving;
+        this.fit = fit;
+        this.recipeClass = recipeClass;
+    }
+
+    /**
+     * Shortlist a slot with one Planner.topK scan.
+     * An empty slot gets one empty candidate, as in BeamPlanner.
+     *
+     * @param planner Planner whose serving settings to follow
+     * @param m The slot's recipes
+     * @param target Daily macro-nutrient targets
+     * @param mealType RecipeMatrix.BREAKFAST, LUNCH or DINNER
+     * @param limit Recipes to keep (at least 1)
+     * @return Shortlist, best fit first
+     */
+    static SlotShortlist of(Planner planner, RecipeMatrix m, Macro target, int mealType, int limit) {
+        if (m.size == 0) {
+            return new SlotShortlist(mealType, new Recipe[] { null }, new double[] { 1.0 }, new double[] { 0.0 },
+                    new int[] { -1 });
+        }
+        double share = Planner.mealShare(mealType);
+        Macro mealTarget = new Macro(target.getCalories() * share, target.getProtein() * share,
+                target.getCarbs() * share, target.getFat() * share);
+        RankedSelection[] ranked = planner.topK(mealTarget, m, RecipeMatrix.ANY, null, limit);
+
+        int n = ranked.length;
+        Recipe[] recipe = new Recipe[n];
+        double[] serving = new double[n];
+        double[] fit = new double[n];
+        int[] recipeClass = new int[n];
+        int classes = 0;
+        for (int j = 0; j < n; j++) {
+            recipe[j] = ranked[j].getRecipe();
+            serving[j] = ranked[j].getServings();
+            // Scored as PlanScorer scores it, at the rounded serving
+            fit[j] = PlanScorer.mealFit(recipe[j], serving[j], mealType, target);
+            recipeClass[j] = -1;
+            for (int k = 0; k < j && recipeClass[j] < 0; k++) {
+                if (recipe[j].isSameRecipe(recipe[k])) {
+                    recipeClass[j] = recipeClass[k];
+                }
+            }
+            if (recipeClass[j] < 0) {
+                recipeClass[j] = classes++;
+            }
+        }
+        return new SlotShortlist(mealType, recipe, serving, fit, recipeClass);
+    }
+
+    boolean sameClass(int a, int b) {
+        return recipeClass[a] >= 0 && recipeClass[a] == recipeClass[b];
+    }
+
+    /**
+     * Penalties a meal would add with its same-slot neighbours, looking
+     * both back and forward over the variety window
+     *
+     * @param scorer Plan objective
+     * @param chosen Candidate index of this slot on every day
+     * @param day Day the meal is on
+     * @param candidate Candidate index being placed there
+     * @return Summed variety penalties (the day itself is not compared)
+     */
+    double varietyCost(PlanScorer scorer, int[] chosen, int day, int candidate) {
+        double cost = 0;
+        for (int back = 1; back <= scorer.getWindow(); back++) {
+            if (day - back >= 0 && sameClass(candidate, chosen[day - back])) {
+                cost += scorer.penalty(back);
+            }
+            if (day + back < chosen.length && sameClass(candidate, chosen[day + back])) {
+                cost += scorer.penalty(back);
+            }
+        }
+        return cost;
+    }
+}
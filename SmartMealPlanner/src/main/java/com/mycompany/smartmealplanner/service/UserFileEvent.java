@@ -0,0 +1,45 @@
+package com.mycompany.smartmealplanner.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for reading or writing one user's file in
+ * UserManager. Carries the username so slow saves and loads can be
+ * tied to a user and the size of the plan they keep. A save or load
+ * that fails is still recorded, marked as not succeeded.
+ */
+@Name(UserFileEvent.NAME)
+@Label("User File")
+@Category({ "Smart Meal Planner", "Persistence" })
+@Description("A user file saved or loaded by UserManager")
+@StackTrace(false)
+final class UserFileEvent extends Event {
+
+    static final String NAME = "smartmealplanner.UserFile";
+
+    @Label("Operation")
+    @Description("save or load")
+    String operation;
+
+    @Label("Succeeded")
+    @Description("false if the file could not be written or read")
+    boolean succeeded;
+
+    @Label("Username")
+    String username;
+
+    @Label("Bytes")
+    @Description("Size of the file on disk afterwards (the old file if a save failed)")
+    @DataAmount
+    long bytes;
+
+    @Label("Plan Days")
+    @Description("Plan days written or read (0 when there is no plan)")
+    int planDays;
+}
@@ -1,7 +1,12 @@
 package com.mycompany.smartmealplanner.service;
 
 import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.data.RecipeCatalog;
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Scanner;
 
 /**
@@ -86,13 +91,82 @@ public class UserManager {
      * @param user The user to save
      */
     public static void saveUser(User user) {
+        UserFileEvent event = new UserFileEvent();
+        event.begin();
+        File userFile = new File(USER_DIR + "/" + user.getUsername() + ".dat");
+        boolean succeeded = false;
         try {
-            File userFile = new File(USER_DIR + "/" + user.getUsername() + ".dat");
+            String contents = user.toFileString();   // Before opening, so a refused plan keeps the old file
             FileWriter writer = new FileWriter(userFile);
-            writer.write(user.toFileString());
+            writer.write(contents);
             writer.close();
-        } catch (IOException e) {
+            succeeded = true;
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Error saving user data: " + e.getMessage());
+        }
+        PlanDay[] plan = user.getLastPlan();
+        commitFileEvent(event, "save", succeeded, user.getUsername(), userFile,
+                (succeeded && plan != null) ? plan.length : 0);
+    }
+    
+    /**
+     * Save user settings and a plan that is still being produced.
+     * Each day is written as soon as the iterator yields it, so a long
+     * plan from Planner.planDays never has to be held in memory. The
+     * user's lastPlan is left untouched. The days go to a temporary
+     * file that replaces the user's file only once every day is written,
+     * so a day whose recipe cannot be saved (no catalog id), a write
+     * error or an exception from the iterator leaves the previous file
+     * as it was.
+     * 
+     * @param user The user to save
+     * @param plan Plan days in order
+     * @return Number of days written, 0 if the save failed
+     */
+    public static int saveUser(User user, java.util.Iterator<PlanDay> plan) {
+        UserFileEvent event = new UserFileEvent();
+        event.begin();
+        int written = 0;
+        boolean succeeded = false;
+        File userFile = new File(USER_DIR + "/" + user.getUsername() + ".dat");
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(Paths.get(USER_DIR), user.getUsername(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp)) {
+                writer.write(user.settingsString());
+                if (!plan.hasNext()) {
+                    writer.write("plan_exists=false\n");
+                } else {
+                    writer.write(User.planHeader());
+                    while (plan.hasNext()) {
+                        writer.write(User.planDayEntry(written, plan.next()));
+                        written++;
+                    }
+                }
+            }
+            Files.move(temp, userFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            succeeded = true;
+        } catch (IOException | IllegalArgumentException e) {
             System.out.println("Error saving user data: " + e.getMessage());
+        } finally {
+            if (!succeeded) {
+                written = 0;
+                deleteQuietly(temp);
+            }
+            commitFileEvent(event, "save", succeeded, user.getUsername(), userFile, written);
+        }
+        return written;
+    }
+
+    // Remove a leftover temporary file; a failure here must not hide the original one
+    private static void deleteQuietly(Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            System.out.println("Could not remove " + temp + ": " + e.getMessage());
         }
     }
     
@@ -108,6 +182,8 @@ public class UserManager {
             return null;
         }
         
+        UserFileEvent event = new UserFileEvent();
+        event.begin();
         try {
             Scanner fileScanner = new Scanner(userFile);
             String loadedUsername = "";
@@ -115,6 +191,7 @@ public class UserManager {
             double calories = 2200, protein = 120, carbs = 250, fat = 70;
             int days = 3;
             boolean planExists = false;
+            int planFormat = 1;   // Files written before plan_format existed hold recipe names
             java.util.Map<Integer, String> planData = new java.util.HashMap<>();
             
             while (fileScanner.hasNextLine()) {
@@ -133,6 +210,7 @@ public class UserManager {
                         case "fat" -> fat = Double.parseDouble(value);
                         case "days" -> days = Integer.parseInt(value);
                         case "plan_exists" -> planExists = Boolean.parseBoolean(value);
+                        case "plan_format" -> planFormat = Integer.parseInt(value);
                         default -> {
                             if (key.startsWith("plan_day_")) {
                                 String dayNumStr = key.substring("plan_day_".length());
@@ -151,66 +229,71 @@ public class UserManager {
             
             // Load meal plan if it exists
             if (planExists && !planData.isEmpty()) {
-                user.setLastPlan(loadMealPlan(planData, days));
+                user.setLastPlan(loadMealPlan(planData, planFormat));
             }
             
+            commitFileEvent(event, "load", true, username, userFile, planExists ? planData.size() : 0);
             return user;
             
         } catch (Exception e) {
             System.out.println("Error loading user data: " + e.getMessage());
+            commitFileEvent(event, "load", false, username, userFile, 0);
             return null;
         }
     }
     
+    /**
+     * End and commit a Flight Recorder event for a user file, filling in
+     * its fields only when a recording wants it. A failed save or load is
+     * committed too, with succeeded false, so it is not mistaken for a
+     * successful one.
+     */
+    private static void commitFileEvent(UserFileEvent event, String operation, boolean succeeded,
+                                        String username, File userFile, int planDays) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.succeeded = succeeded;
+            event.username = username;
+            event.bytes = userFile.length();
+            event.planDays = planDays;
+            event.commit();
+        }
+    }
+    
     /**
      * Load meal plan from saved data
      * @param planData Map of day number to plan data string
-     * @param days Number of days
+     * @param planFormat User.PLAN_FORMAT the plan was saved with
+     *                   (1 = recipe names, 2 = recipe ids, 3 = ids and thousandth-servings)
      * @return PlanDay array or null if loading fails
      */
-    private static PlanDay[] loadMealPlan(java.util.Map<Integer, String> planData, int days) {
+    private static PlanDay[] loadMealPlan(java.util.Map<Integer, String> planData, int planFormat) {
         try {
-            // Get recipe library to match saved recipe names
-            com.mycompany.smartmealplanner.data.RecipeLibrary library = new com.mycompany.smartmealplanner.data.RecipeLibrary();
-            Recipe[] recipes = library.getAll();
+            // Shared catalog (built once) matches saved recipe ids, or names in old files
+            RecipeCatalog catalog = RecipeCatalog.get();
+            boolean byName = planFormat < 2;
             
+            // Plan length comes from the saved days, which may differ from the days setting.
+            // Days are saved as 0..n-1, so n lines must hold exactly those keys; a key out
+            // of range (e.g. a corrupt plan_day_2000000000) or a gap rejects the plan
+            // rather than allocating by the largest key or leaving null days.
+            int days = planData.size();
             PlanDay[] plan = new PlanDay[days];
             
             for (int i = 0; i < days; i++) {
                 String dayData = planData.get(i);
-                if (dayData != null) {
-                    String[] parts = dayData.split(",");
-                    if (parts.length == 6) {
-                        // Parse breakfast
-                        RecipeSelection breakfast = null;
-                        if (!"null".equals(parts[0])) {
-                            Recipe bRecipe = findRecipeByName(recipes, parts[0]);
-                            if (bRecipe != null) {
-                                breakfast = new RecipeSelection(bRecipe, Double.parseDouble(parts[1]));
-                            }
-                        }
-                        
-                        // Parse lunch
-                        RecipeSelection lunch = null;
-                        if (!"null".equals(parts[2])) {
-                            Recipe lRecipe = findRecipeByName(recipes, parts[2]);
-                            if (lRecipe != null) {
-                                lunch = new RecipeSelection(lRecipe, Double.parseDouble(parts[3]));
-                            }
-                        }
-                        
-                        // Parse dinner
-                        RecipeSelection dinner = null;
-                        if (!"null".equals(parts[4])) {
-                            Recipe dRecipe = findRecipeByName(recipes, parts[4]);
-                            if (dRecipe != null) {
-                                dinner = new RecipeSelection(dRecipe, Double.parseDouble(parts[5]));
-                            }
-                        }
-                        
-                        plan[i] = new PlanDay(i + 1, breakfast, lunch, dinner);
-                    }
+                String[] parts = (dayData != null) ? dayData.split(",") : null;
+                if (parts == null || parts.length != 6) {
+                    System.out.println("Error loading meal plan: day " + i + " is missing or malformed");
+                    return null;
                 }
+                boolean fixed = planFormat >= 3;
+                RecipeSelection breakfast = parseMeal(catalog, byName, parts[0], parts[1], fixed);
+                RecipeSelection lunch = parseMeal(catalog, byName, parts[2], parts[3], fixed);
+                RecipeSelection dinner = parseMeal(catalog, byName, parts[4], parts[5], fixed);
+                
+                plan[i] = new PlanDay(i + 1, breakfast, lunch, dinner);
             }
             
             return plan;
@@ -222,18 +305,29 @@ public class UserManager {
     }
     
     /**
-     * Find recipe by name in the recipe library
-     * @param recipes Array of recipes
-     * @param name Recipe name to find
-     * @return Recipe object or null if not found
+     * Rebuild one saved meal
+     * @param catalog Recipe catalog
+     * @param byName true for legacy files, where the recipe field is a name rather than an id
+     * @param recipe Saved recipe id (or name)
+     * @param servings Saved servings
+     * @param fixed true if servings are thousandths (format 3), false for a decimal multiplier
+     * @return Selection, or null for an empty or unknown recipe
      */
-    private static Recipe findRecipeByName(Recipe[] recipes, String name) {
-        for (Recipe recipe : recipes) {
-            if (recipe.getName().equals(name)) {
-                return recipe;
-            }
+    private static RecipeSelection parseMeal(RecipeCatalog catalog, boolean byName,
+                                             String recipe, String servings, boolean fixed) {
+        Recipe found;
+        if (byName) {
+            found = "null".equals(recipe) ? null : catalog.findByName(recipe);
+        } else {
+            found = catalog.findById(Integer.parseInt(recipe));
+        }
+        if (found == null) {
+            return null;
         }
-        return null;
+        double multiplier = fixed
+                ? FixedPoint.toDouble(Long.parseLong(servings), FixedPoint.SERVING_SCALE)
+                : Double.parseDouble(servings);
+        return new RecipeSelection(found, multiplier);
     }
     
     /**
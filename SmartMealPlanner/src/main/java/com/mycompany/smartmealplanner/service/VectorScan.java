@@ -0,0 +1,154 @@
+package com.mycompany.smartmealplanner.service;
+
+import com.mycompany.smartmealplanner.model.Recipe;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD version of the enumerating slot scan in Planner.pickBest.
+ *
+ * Loads a block of rows from each macro column into one vector per
+ * macro, then for every serving step scores the whole block at once and
+ * keeps each lane's best score and step. The score is computed with the
+ * same IEEE operations in the same order as Planner.mealScore, and ties
+ * go to the earlier step, then the earlier lane, then the earlier block,
+ * so the pick matches the scalar row-by-row scan exactly.
+ *
+ * A block holding yesterday's recipe is scored row by row (the scalar
+ * scan adds the repeat penalty per step, which can round two steps to the
+ * same score), as are the rows left over after the last full block.
+ * Only loaded when ScoringKernel finds the Vector API module.
+ */
+final class VectorScan {
+
+    /* Oracle 2025
+       jdk.incubator.vector (Java SE 21 & JDK 21) - DoubleVector
+       Oracle Documentation
+       https://docs.oracle.com/en/java/javase/21/docs/api/jdk.incubator.vector/jdk/incubator/vector/DoubleVector.html
+       Accessed 16 October 2026
+    */
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorScan() {
+    }
+
+    /**
+     * Doubles per vector on this machine
+     */
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    /**
+     * Best row and serving step of a slot, scoring every serving step.
+     *
+     * @param m Rows to scan (no meal-type filter)
+     * @param rc Calorie target
+     * @param rp Protein target
+     * @param rcb Carbohydrate target
+     * @param rf Fat target
+     * @param prev Previous day's recipe for this slot, or null
+     * @param step Serving step
+     * @param steps Number of steps above the minimum serving
+     * @return row * (steps + 1) + step index of the best pick, or -1 for an empty matrix
+     */
+    static long scan(RecipeMatrix m, double rc, double rp, double rcb, double rf,
+                     Recipe prev, double step, int steps) {
+        final double[] cal = m.calories, prot = m.protein, carb = m.carbs, fat = m.fat;
+        final int lanes = SPECIES.length();
+        final int upper = SPECIES.loopBound(m.size);
+
+        double bestScore = Double.POSITIVE_INFINITY;
+        long bestSeq = -1;
+
+        for (int i = 0; i < upper; i += lanes) {
+            if (prev != null && holdsRecipe(m, i, i + lanes, prev)) {
+                for (int row = i; row < i + lanes; row++) {
+                    long seq = scalarRow(m, row, rc, rp, rcb, rf, prev, step, steps, bestScore);
+                    if (seq >= 0) {
+                        bestSeq = seq;
+                        bestScore = rowScore(m, seq, rc, rp, rcb, rf, prev, step, steps);
+                    }
+                }
+                continue;
+            }
+
+            DoubleVector c = DoubleVector.fromArray(SPECIES, cal, i);
+            DoubleVector p = DoubleVector.fromArray(SPECIES, prot, i);
+            DoubleVector cb = DoubleVector.fromArray(SPECIES, carb, i);
+            DoubleVector f = DoubleVector.fromArray(SPECIES, fat, i);
+            DoubleVector best = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+            DoubleVector bestK = DoubleVector.zero(SPECIES);
+
+            for (int k = 0; k <= steps; k++) {
+                double s = Planner.MIN_SERV + k * step;
+                // Same terms, same order as Planner.mealScore
+                DoubleVector score = c.mul(s).sub(rc).abs().mul(Planner.W_KCAL)
+                        .add(p.mul(s).sub(rp).abs().mul(Planner.W_PROT))
+                        .add(cb.mul(s).sub(rcb).abs().mul(Planner.W_CARB))
+                        .add(f.mul(s).sub(rf).abs().mul(Planner.W_FAT));
+                VectorMask<Double> better = score.lt(best);
+                best = best.blend(score, better);
+                bestK = bestK.blend(k, better);
+            }
+
+            double blockBest = best.reduceLanes(VectorOperators.MIN);
+            if (blockBest < bestScore) {
+                int lane = best.eq(blockBest).firstTrue();
+                bestScore = blockBest;
+                bestSeq = (long) (i + lane) * (steps + 1) + (long) bestK.lane(lane);
+            }
+        }
+
+        for (int row = upper; row < m.size; row++) {
+            long seq = scalarRow(m, row, rc, rp, rcb, rf, prev, step, steps, bestScore);
+            if (seq >= 0) {
+                bestSeq = seq;
+                bestScore = rowScore(m, seq, rc, rp, rcb, rf, prev, step, steps);
+            }
+        }
+        return bestSeq;
+    }
+
+    // Whether any row in [from, to) is yesterday's recipe
+    private static boolean holdsRecipe(RecipeMatrix m, int from, int to, Recipe prev) {
+        for (int row = from; row < to; row++) {
+            if (m.sameRecipe(row, prev)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // One row exactly as pickBest scores it; the row's sequence number if it beats bound, else -1
+    private static long scalarRow(RecipeMatrix m, int row, double rc, double rp, double rcb, double rf,
+                                  Recipe prev, double step, int steps, double bound) {
+        boolean repeat = prev != null && m.sameRecipe(row, prev);
+        double c = m.calories[row], p = m.protein[row], cb = m.carbs[row], f = m.fat[row];
+        long found = -1;
+        for (int k = 0; k <= steps; k++) {
+            double score = Planner.mealScore(c, p, cb, f, Planner.MIN_SERV + k * step, rc, rp, rcb, rf);
+            if (repeat) {
+                score += Planner.REPEAT_PENALTY;
+            }
+            if (score < bound) {
+                bound = score;
+                found = (long) row * (steps + 1) + k;
+            }
+        }
+        return found;
+    }
+
+    // Score of a pick found by scalarRow
+    private static double rowScore(RecipeMatrix m, long seq, double rc, double rp, double rcb, double rf,
+                                   Recipe prev, double step, int steps) {
+        int row = (int) (seq / (steps + 1));
+        int k = (int) (seq % (steps + 1));
+        double score = Planner.mealScore(m.calories[row], m.protein[row], m.carbs[row], m.fat[row],
+                Planner.MIN_SERV + k * step, rc, rp, rcb, rf);
+        return (prev != null && m.sameRecipe(row, prev)) ? score + Planner.REPEAT_PENALTY : score;
+    }
+}
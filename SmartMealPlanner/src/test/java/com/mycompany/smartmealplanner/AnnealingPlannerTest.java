@@ -0,0 +1,128 @@
+package com.mycompany.smartmealplanner;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.AnnealingPlanner;
+import com.mycompany.smartmealplanner.service.AnnealingPlanner.AnnealedPlan;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.PlanScorer;
+import com.mycompany.smartmealplanner.service.Planner;
+import com.mycompany.smartmealplanner.data.RecipeLibrary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * Unit Test Class for the simulated annealing planner
+ *
+ * Checks that a seed reproduces its plan whatever the thread count, that
+ * different seeds give different plans, and that the plan returned is the
+ * best restart under the PlanScorer objective.
+ */
+public class AnnealingPlannerTest {
+
+    public AnnealingPlannerTest() {
+    }
+
+    private static final double DELTA = 1e-6;
+
+    // ===== TEST FIELDS =====
+    private Planner planner;          // Greedy planner and serving settings
+    private PlanScorer scorer;        // Default seven-day objective
+    private AnnealingPlanner annealer;
+    private MealTypeIndex synthetic;  // Index over a synthetic library
+    private Macro target;             // Standard daily target
+
+    @BeforeEach
+    public void setUp() {
+        planner = new Planner();
+        scorer = new PlanScorer();
+        annealer = new AnnealingPlanner(planner, scorer);
+        annealer.setRestarts(4);
+        annealer.setIterations(5000);
+        synthetic = MealTypeIndex.of(PlannerReference.syntheticLibrary(1000, new Random(29)));
+        target = new Macro(2200, 120, 250, 70);
+    }
+
+    // ---------- REPRODUCIBILITY TESTS ----------
+
+    /**
+     * TEST CASE: Same seed gives the same plan on one thread or several
+     */
+    @Test
+    public void testSeedReproducible() {
+        annealer.setThreads(1);
+        AnnealedPlan sequential = annealer.buildPlan(14, target, synthetic, 42L);
+        annealer.setThreads(4);
+        AnnealedPlan parallel = annealer.buildPlan(14, target, synthetic, 42L);
+        AnnealedPlan again = annealer.buildPlan(14, target, synthetic, 42L);
+
+        PlannerReference.assertSamePlan(sequential.getPlan(), parallel.getPlan());
+        PlannerReference.assertSamePlan(sequential.getPlan(), again.getPlan());
+        assertArrayEquals(sequential.getRestartScores(), parallel.getRestartScores());
+        assertEquals(42L, parallel.getSeed());
+    }
+
+    /**
+     * TEST CASE: Different seeds give different plans for the same target
+     */
+    @Test
+    public void testSeedsGiveVariety() {
+        PlanDay[] first = annealer.buildPlan(7, target, synthetic, 1L).getPlan();
+        boolean differs = false;
+        for (long seed = 2; seed <= 5 && !differs; seed++) {
+            differs = !samePlan(first, annealer.buildPlan(7, target, synthetic, seed).getPlan());
+        }
+        assertTrue(differs, "Seeds 1-5 all gave the same plan");
+    }
+
+    // ---------- QUALITY TESTS ----------
+
+    /**
+     * TEST CASE: The plan is the best restart, scored by PlanScorer
+     * - Comparable with the greedy planner on the same objective, and no worse
+     */
+    @Test
+    public void testBestRestartScore() {
+        for (MealTypeIndex index : new MealTypeIndex[] { synthetic, MealTypeIndex.of(RecipeLibrary.getAll()) }) {
+            AnnealedPlan result = annealer.buildPlan(14, target, index, 7L);
+            double[] scores = result.getRestartScores();
+
+            assertEquals(4, scores.length);
+            assertEquals(scorer.score(result.getPlan(), target), result.getScore(), DELTA);
+            for (double s : scores) {
+                assertTrue(result.getScore() <= s);
+            }
+            assertEquals(scores[result.getBestRestart()], result.getScore(), DELTA);
+            assertTrue(result.getScore() <= scorer.score(planner.buildPlan(14, target, index), target) + DELTA,
+                    "Annealing should not lose to greedy on the whole-plan objective");
+        }
+    }
+
+    /**
+     * TEST CASE: Invalid settings are rejected
+     */
+    @Test
+    public void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> annealer.setRestarts(0));
+        assertThrows(IllegalArgumentException.class, () -> annealer.setThreads(0));
+        assertThrows(IllegalArgumentException.class, () -> annealer.setIterations(0));
+        assertThrows(IllegalArgumentException.class, () -> annealer.setShortlist(0));
+    }
+
+    private static boolean samePlan(PlanDay[] a, PlanDay[] b) {
+        for (int d = 0; d < a.length; d++) {
+            if (!sameMeal(a[d].getBreakfast(), b[d].getBreakfast())
+                    || !sameMeal(a[d].getLunch(), b[d].getLunch())
+                    || !sameMeal(a[d].getDinner(), b[d].getDinner())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameMeal(RecipeSelection a, RecipeSelection b) {
+        return a.getRecipe() == b.getRecipe() && a.getServings() == b.getServings();
+    }
+}
@@ -0,0 +1,136 @@
+package com.mycompany.smartmealplanner;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.AnytimePlanner;
+import com.mycompany.smartmealplanner.service.AnytimePlanner.AnytimePlan;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.PlanScorer;
+import com.mycompany.smartmealplanner.service.Planner;
+import com.mycompany.smartmealplanner.service.RecipeMatrix;
+import com.mycompany.smartmealplanner.data.RecipeLibrary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Unit Test Class for the anytime planner
+ *
+ * Checks that a search given enough time converges to a plan no single
+ * shortlisted swap can improve, that it never does worse than the greedy
+ * start, and that an expired budget still returns a complete plan.
+ */
+public class AnytimePlannerTest {
+
+    public AnytimePlannerTest() {
+    }
+
+    private static final double DELTA = 1e-6;
+    private static final Duration GENEROUS = Duration.ofSeconds(30);
+
+    // ===== TEST FIELDS =====
+    private Planner planner;          // Serving settings
+    private PlanScorer scorer;        // Default seven-day objective
+    private MealTypeIndex bundled;    // Index over the bundled library
+    private Macro target;             // Standard daily target
+
+    @BeforeEach
+    public void setUp() {
+        planner = new Planner();
+        scorer = new PlanScorer();
+        bundled = MealTypeIndex.of(RecipeLibrary.getAll());
+        target = new Macro(2200, 120, 250, 70);
+    }
+
+    // ---------- QUALITY TESTS ----------
+
+    /**
+     * TEST CASE: Converged plans score no worse than the greedy plans
+     * - Reported scores are the PlanScorer scores of the plans returned
+     */
+    @Test
+    public void testImprovesOnGreedy() {
+        Recipe[] synthetic = PlannerReference.syntheticLibrary(2000, new Random(17));
+
+        for (Recipe[] lib : new Recipe[][] { RecipeLibrary.getAll(), synthetic }) {
+            MealTypeIndex index = MealTypeIndex.of(lib);
+            AnytimePlan result = planner.planWithin(28, target, index, GENEROUS);
+
+            assertTrue(result.isConverged(), "Generous budget should converge");
+            assertEquals(28, result.getPlan().length);
+            assertEquals(scorer.score(result.getPlan(), target), result.getScore(), DELTA);
+            assertTrue(result.getScore() <= result.getGreedyScore() + DELTA);
+            assertTrue(result.getScore() <= scorer.score(planner.buildPlan(28, target, index), target) + DELTA,
+                    "Should beat the per-meal greedy planner on the whole-plan objective");
+        }
+    }
+
+    /**
+     * TEST CASE: A converged plan is a local optimum
+     * - Replacing any one meal with any shortlisted recipe does not lower the score
+     */
+    @Test
+    public void testConvergedIsLocalOptimum() {
+        AnytimePlanner anytime = new AnytimePlanner(planner, scorer, 6);
+        AnytimePlan result = anytime.buildPlan(10, target, bundled, GENEROUS);
+        assertTrue(result.isConverged());
+        assertTrue(result.getMoves() > 0, "Bundled library repeats under greedy, so search should move");
+
+        int[] slots = { RecipeMatrix.BREAKFAST, RecipeMatrix.LUNCH, RecipeMatrix.DINNER };
+        double[] shares = { 0.25, 0.40, 0.35 };
+        PlanDay[] plan = result.getPlan();
+        for (int m = 0; m < 3; m++) {
+            Macro mealTarget = new Macro(target.getCalories() * shares[m], target.getProtein() * shares[m],
+                    target.getCarbs() * shares[m], target.getFat() * shares[m]);
+            RankedSelection[] options = planner.topK(mealTarget, bundled.slot(slots[m]), RecipeMatrix.ANY, null, 6);
+            for (int d = 0; d < plan.length; d++) {
+                for (RankedSelection option : options) {
+                    PlanDay[] swapped = plan.clone();
+                    PlanDay day = plan[d];
+                    swapped[d] = new PlanDay(d + 1,
+                            m == 0 ? option : day.getBreakfast(),
+                            m == 1 ? option : day.getLunch(),
+                            m == 2 ? option : day.getDinner());
+                    assertTrue(scorer.score(swapped, target) >= result.getScore() - DELTA,
+                            "Swapping day " + (d + 1) + " slot " + m + " to " + option.getRecipe().getName());
+                }
+            }
+        }
+    }
+
+    // ---------- BUDGET TESTS ----------
+
+    /**
+     * TEST CASE: An expired deadline returns the complete greedy plan, not converged
+     */
+    @Test
+    public void testExpiredBudgetReturnsGreedy() {
+        AnytimePlan result = planner.planUntil(14, target, bundled, System.nanoTime() - 1);
+
+        assertFalse(result.isConverged());
+        assertEquals(0, result.getMoves());
+        assertEquals(result.getGreedyScore(), result.getScore(), DELTA);
+        for (PlanDay day : result.getPlan()) {
+            assertNotNull(day.getBreakfast().getRecipe());
+            assertNotNull(day.getLunch().getRecipe());
+            assertNotNull(day.getDinner().getRecipe());
+        }
+
+        AnytimePlan zero = planner.planWithin(14, target, bundled, Duration.ZERO);
+        assertEquals(result.getScore(), zero.getScore(), DELTA);
+    }
+
+    /**
+     * TEST CASE: Invalid budgets and shortlists are rejected
+     */
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> planner.planWithin(7, target, bundled, Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class, () -> new AnytimePlanner(planner, scorer, 0));
+        // An effectively unbounded budget must not overflow the deadline
+        assertTrue(planner.planWithin(3, target, bundled, Duration.ofDays(365_000)).isConverged());
+    }
+}
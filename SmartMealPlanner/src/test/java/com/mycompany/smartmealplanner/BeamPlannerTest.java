@@ -0,0 +1,116 @@
+package com.mycompany.smartmealplanner;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.BeamPlanner;
+import com.mycompany.smartmealplanner.service.BeamPlanner.BeamPlan;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.PlanMode;
+import com.mycompany.smartmealplanner.service.PlanScorer;
+import com.mycompany.smartmealplanner.service.Planner;
+import com.mycompany.smartmealplanner.data.RecipeLibrary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * Unit Test Class for the multi-day beam search planner
+ *
+ * Checks that a width-1 beam reproduces the greedy planner, that wider
+ * beams find plans with more variety, and that the reported score is the
+ * PlanScorer score of the plan returned.
+ */
+public class BeamPlannerTest {
+
+    public BeamPlannerTest() {
+    }
+
+    private static final double DELTA = 1e-6;
+
+    // ===== TEST FIELDS =====
+    private Planner planner;          // Greedy planner and serving settings
+    private Recipe[] recipes;         // Bundled recipe library
+    private MealTypeIndex bundled;    // Index over the bundled library
+    private Macro target;             // Standard daily target
+
+    @BeforeEach
+    public void setUp() {
+        planner = new Planner();
+        recipes = RecipeLibrary.getAll();
+        bundled = MealTypeIndex.of(recipes);
+        target = new Macro(2200, 120, 250, 70);
+    }
+
+    // ---------- EQUIVALENCE TESTS ----------
+
+    /**
+     * TEST CASE: Width 1 with a one-day window picks exactly what the greedy planner picks
+     */
+    @Test
+    public void testWidthOneMatchesGreedy() {
+        BeamPlanner beam = new BeamPlanner(planner, 1, new PlanScorer(1));
+        Recipe[] synthetic = PlannerReference.syntheticLibrary(300, new Random(21));
+
+        PlannerReference.assertSamePlan(planner.buildPlan(14, target, recipes), beam.buildPlan(14, target, bundled).getPlan());
+        PlannerReference.assertSamePlan(planner.buildPlan(14, target, synthetic),
+                       beam.buildPlan(14, target, MealTypeIndex.of(synthetic)).getPlan());
+    }
+
+    /**
+     * TEST CASE: Reported score is the PlanScorer score of the returned plan
+     */
+    @Test
+    public void testScoreMatchesScorer() {
+        PlanScorer scorer = new PlanScorer();
+        BeamPlan result = new BeamPlanner(planner, 8, scorer).buildPlan(10, target, bundled);
+
+        assertEquals(10, result.getPlan().length);
+        assertEquals(scorer.score(result.getPlan(), target), result.getScore(), DELTA);
+    }
+
+    // ---------- QUALITY TESTS ----------
+
+    /**
+     * TEST CASE: A wide beam plans more variety than the greedy planner over a fortnight
+     * - The bundled library has few recipes per slot, so repeats within a week are common
+     */
+    @Test
+    public void testWideBeamBeatsGreedy() {
+        PlanScorer scorer = new PlanScorer();
+        double greedy = scorer.score(planner.buildPlan(14, target, recipes), target);
+        double beam = new BeamPlanner(planner, 32, scorer).buildPlan(14, target, bundled).getScore();
+
+        assertTrue(beam < greedy, "Beam score " + beam + " should beat greedy " + greedy);
+    }
+
+    /**
+     * TEST CASE: Work per plan is bounded by days x slots x width x shortlist
+     */
+    @Test
+    public void testWorkIsBounded() {
+        Recipe[] synthetic = PlannerReference.syntheticLibrary(3000, new Random(4));
+        int width = 4;
+        BeamPlan result = new BeamPlanner(planner, width).buildPlan(30, target, MealTypeIndex.of(synthetic));
+
+        long shortlist = width + PlanScorer.DEFAULT_WINDOW;
+        assertTrue(result.getCandidatesScored() <= 30L * 3 * width * shortlist,
+                "Scored " + result.getCandidatesScored() + " candidates");
+    }
+
+    // ---------- CONFIGURATION TESTS ----------
+
+    /**
+     * TEST CASE: Planner in BEAM mode uses its beam width
+     */
+    @Test
+    public void testPlannerBeamMode() {
+        planner.setPlanMode(PlanMode.BEAM);
+        planner.setBeamWidth(8);
+        PlanDay[] expected = new BeamPlanner(planner, 8).buildPlan(7, target, bundled).getPlan();
+
+        PlannerReference.assertSamePlan(expected, planner.buildPlan(7, target, recipes));
+        assertThrows(IllegalArgumentException.class, () -> planner.setBeamWidth(0));
+        assertThrows(IllegalArgumentException.class, () -> new PlanScorer(0));
+    }
+}
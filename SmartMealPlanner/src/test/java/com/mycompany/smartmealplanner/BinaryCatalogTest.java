@@ -0,0 +1,241 @@
+package com.mycompany.smartmealplanner;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.data.BinaryCatalog;
+import com.mycompany.smartmealplanner.data.RecipeCatalog;
+import com.mycompany.smartmealplanner.data.RecipeCsv;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.Planner;
+import com.mycompany.smartmealplanner.service.RecipeMatrix;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Unit Test Class for the memory-mapped BinaryCatalog
+ *
+ * Checks that the bundled library and a converted text catalog read back
+ * unchanged, column by column and as decoded recipes, that the planner
+ * gives the same plan from the mapped columns, and that files that are
+ * not catalogs are refused.
+ */
+public class BinaryCatalogTest {
+
+    // ===== TEST FIELDS =====
+    @TempDir
+    Path dir;
+
+    public BinaryCatalogTest() {
+    }
+
+    // ---------- ROUND TRIP TESTS ----------
+
+    /**
+     * TEST CASE: The bundled library reads back from its binary file unchanged
+     */
+    @Test
+    public void testBundledLibraryRoundTrip() throws IOException {
+        List<Recipe> bundled = RecipeCatalog.get().getAll();
+        Path file = dir.resolve("recipes.bin");
+        BinaryCatalog.write(bundled, file);
+
+        BinaryCatalog mapped = BinaryCatalog.open(file);
+        assertEquals(bundled.size(), mapped.size());
+        for (Recipe expected : bundled) {
+            int row = expected.getId();
+            assertEquals(expected.getCalories(), mapped.getCalories(row));
+            assertEquals(expected.getProtein(), mapped.getProtein(row));
+            assertEquals(expected.getCarbs(), mapped.getCarbs(row));
+            assertEquals(expected.getFat(), mapped.getFat(row));
+            assertEquals(expected.getName(), mapped.getName(row));
+            assertEquals(expected.getMealType(), mapped.getRecipe(row).getMealType());
+            assertSameRecipe(expected, mapped.getRecipe(row));
+        }
+        assertEquals(BinaryCatalog.MEAL_BREAKFAST, mapped.getMealType(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> mapped.getCalories(bundled.size()));
+
+        RecipeCatalog decoded = mapped.toCatalog();
+        assertEquals(bundled.size(), decoded.size());
+        assertEquals(8, decoded.ofType(LunchRecipe.class).size());
+        assertSame(decoded.findById(3), decoded.findByName(bundled.get(3).getName()));
+    }
+
+    /**
+     * TEST CASE: The planner plans straight from the mapped columns
+     * - Same plan as from the catalog, picked recipes decoded once each
+     */
+    @Test
+    public void testPlannerReadsMappedColumns() throws IOException {
+        RecipeCatalog catalog = RecipeCatalog.get();
+        Path file = dir.resolve("recipes.bin");
+        BinaryCatalog.write(catalog.getAll(), file);
+        MealTypeIndex index = MealTypeIndex.of(BinaryCatalog.open(file));
+        Macro target = new Macro(2200, 120, 250, 70);
+        Planner planner = new Planner();
+
+        assertEquals(catalog.size(), index.size());
+        assertFalse(index.matches(catalog.toArray()), "Mapped index is not an array snapshot");
+        PlanDay[] expected = planner.buildPlan(7, target, catalog);
+        PlanDay[] mapped = planner.buildPlan(7, target, index);
+        for (int d = 0; d < expected.length; d++) {
+            assertSamePick(expected[d].getBreakfast(), mapped[d].getBreakfast());
+            assertSamePick(expected[d].getLunch(), mapped[d].getLunch());
+            assertSamePick(expected[d].getDinner(), mapped[d].getDinner());
+        }
+        assertSame(mapped[0].getLunch().getRecipe(), index.slot(RecipeMatrix.LUNCH).getRecipe(
+                rowOf(index.slot(RecipeMatrix.LUNCH), mapped[0].getLunch().getRecipe().getId())),
+                "A recipe should be decoded once and shared");
+
+        // Dropping recipes keeps the mapped columns and ids
+        java.util.BitSet excluded = new java.util.BitSet();
+        excluded.set(mapped[0].getLunch().getRecipe().getId());
+        MealTypeIndex filtered = index.without(excluded);
+        assertEquals(index.size() - 1, filtered.size());
+        assertNotEquals(mapped[0].getLunch().getRecipe().getId(),
+                planner.buildPlan(1, target, filtered)[0].getLunch().getRecipe().getId());
+        assertSame(index, index.without(new java.util.BitSet()));
+    }
+
+    /**
+     * TEST CASE: Joint-day planning on a mapped catalog decodes only picked recipes
+     * - Finding the seed day's rows must not decode the rows scanned past
+     */
+    @Test
+    public void testJointDayDecodesOnlyPicks() throws IOException {
+        Path file = dir.resolve("synthetic.bin");
+        BinaryCatalog.write(List.of(PlannerReference.syntheticLibrary(600, new java.util.Random(11))), file);
+        MealTypeIndex index = MealTypeIndex.of(BinaryCatalog.open(file));
+        Planner planner = new Planner();
+        planner.setPlanMode(com.mycompany.smartmealplanner.service.PlanMode.JOINT_DAY);
+
+        PlanDay[] plan = planner.buildPlan(3, new Macro(2200, 120, 250, 70), index);
+        assertEquals(3, plan.length);
+        assertTrue(index.getDecodedCount() > 0);
+        // At most the greedy seed's meals and the joint day's meals, per day
+        assertTrue(index.getDecodedCount() <= 2 * 3 * plan.length,
+                "Decoded " + index.getDecodedCount() + " of " + index.size() + " recipes");
+        assertEquals(0, MealTypeIndex.of(RecipeCatalog.get()).getDecodedCount());
+    }
+
+    // Decoded recipes are new objects, so compare by catalog id
+    private static void assertSamePick(RecipeSelection expected, RecipeSelection actual) {
+        assertEquals(expected.getRecipe().getId(), actual.getRecipe().getId(), expected.toString());
+        assertEquals(expected.getMilliServings(), actual.getMilliServings(), expected.toString());
+    }
+
+    private static int rowOf(RecipeMatrix matrix, int id) {
+        for (int row = 0; row < matrix.size(); row++) {
+            if (matrix.getId(row) == id) return row;
+        }
+        return -1;
+    }
+
+    /**
+     * TEST CASE: A text catalog converts to an equivalent binary catalog
+     */
+    @Test
+    public void testConvertFromCsv() throws IOException {
+        Path csv = dir.resolve("recipes.csv");
+        Files.writeString(csv, "type,name,calories,protein,carbs,fat,servings,ingredients,instructions\n"
+                + "dinner,Crème Brûlée Bowl,650.5,30,70,25,2,cream:100:ml;sugar:20:g;cream:50:ml,Whisk|Bake\n"
+                + "lunch,Plain Rice,400,8,88,1,,,\n");
+        Path file = dir.resolve("recipes.bin");
+        BinaryCatalog.convert(csv, file);
+
+        BinaryCatalog mapped = BinaryCatalog.open(file);
+        RecipeCatalog loaded = RecipeCsv.load(csv);
+        assertEquals(2, mapped.size());
+        for (Recipe expected : loaded.getAll()) {
+            assertSameRecipe(expected, mapped.getRecipe(expected.getId()));
+        }
+        assertEquals("Crème Brûlée Bowl", mapped.getName(0));
+        assertEquals(BinaryCatalog.MEAL_LUNCH, mapped.getMealType(1));
+        Recipe bowl = mapped.getRecipe(0);
+        assertSame(bowl.getIngredientList().get(0).getName(), mapped.getRecipe(0).getIngredientList().get(2).getName(),
+                "Dictionary strings should be decoded once");
+    }
+
+    // ---------- VALIDATION TESTS ----------
+
+    /**
+     * TEST CASE: Files that are not complete catalogs are refused
+     */
+    @Test
+    public void testRejectsOtherFiles() throws IOException {
+        Path text = dir.resolve("notes.bin");
+        try (Writer out = Files.newBufferedWriter(text)) {
+            out.write("not a recipe catalog, just some text that is long enough");
+        }
+        assertThrows(IOException.class, () -> BinaryCatalog.open(text));
+
+        Path file = dir.resolve("recipes.bin");
+        BinaryCatalog.write(RecipeCatalog.get().getAll(), file);
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = dir.resolve("truncated.bin");
+        Files.write(truncated, java.util.Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> BinaryCatalog.open(truncated));
+    }
+
+    /**
+     * TEST CASE: Damaged meal types, offsets and string indexes are refused on open
+     */
+    @Test
+    public void testRejectsDamagedColumns() throws IOException {
+        Path file = dir.resolve("recipes.bin");
+        BinaryCatalog.write(RecipeCatalog.get().getAll(), file);
+        byte[] bytes = Files.readAllBytes(file);
+        java.nio.ByteBuffer header = java.nio.ByteBuffer.wrap(bytes).order(java.nio.ByteOrder.LITTLE_ENDIAN);
+        int n = header.getInt(8), ingredients = header.getInt(16), stringBytes = header.getInt(24);
+        // Section offsets as laid out in the BinaryCatalog class comment
+        int mealType = bytes.length - stringBytes - n;
+        int name = 32 + 40 * n + 8 * ingredients + 8 * n;
+        int ingredientStart = name + 8 * n;
+
+        assertThrows(IOException.class, () -> BinaryCatalog.open(damaged(bytes, mealType + 2, 7)),
+                "Unknown meal type");
+        assertThrows(IOException.class, () -> BinaryCatalog.open(damaged(bytes, mealType, -1)),
+                "Negative meal type");
+        assertThrows(IOException.class, () -> BinaryCatalog.open(damaged(bytes, ingredientStart + 4 * 2 + 3, 0x7f)),
+                "Ingredient offset out of range");
+        assertThrows(IOException.class, () -> BinaryCatalog.open(damaged(bytes, name + 3, 0x7f)),
+                "Name index out of range");
+        assertEquals(n, BinaryCatalog.open(damaged(bytes, mealType, BinaryCatalog.MEAL_DINNER)).size(),
+                "A valid code is still accepted");
+    }
+
+    // Copy of a catalog file with one byte changed
+    private Path damaged(byte[] bytes, int at, int value) throws IOException {
+        byte[] copy = bytes.clone();
+        copy[at] = (byte) value;
+        return Files.write(dir.resolve("damaged.bin"), copy);
+    }
+
+    private static void assertSameRecipe(Recipe expected, Recipe actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getCalories(), actual.getCalories());
+        assertEquals(expected.getProtein(), actual.getProtein());
+        assertEquals(expected.getCarbs(), actual.getCarbs());
+        assertEquals(expected.getFat(), actual.getFat());
+        assertEquals(expected.getBaseServings(), actual.getBaseServings());
+        assertEquals(expected.getPrepTime(), actual.getPrepTime());
+        assertEquals(expected.getCookTime(), actual.getCookTime());
+        assertEquals(expected.getDifficulty(), actual.getDifficulty());
+        assertArrayEquals(expected.getInstructions(), actual.getInstructions());
+        assertEquals(expected.getIngredientList().size(), actual.getIngredientList().size());
+        for (int i = 0; i < expected.getIngredientList().size(); i++) {
+            Ingredient e = expected.getIngredientList().get(i);
+            Ingredient a = actual.getIngredientList().get(i);
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getUnit(), a.getUnit());
+            assertEquals(e.getQuantityPerServing(), a.getQuantityPerServing());
+        }
+    }
+}
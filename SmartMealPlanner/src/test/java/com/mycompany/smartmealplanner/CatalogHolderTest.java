@@ -0,0 +1,173 @@
+package com.mycompany.smartmealplanner;
+
+import com.mycompany.smartmealplanner.data.CatalogHolder;
+import com.mycompany.smartmealplanner.data.RecipeCatalog;
+import com.mycompany.smartmealplanner.data.RecipeCsv;
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.Planner;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit Test Class for the CatalogHolder
+ *
+ * Checks that a reload swaps in a new snapshot with a newer version, that
+ * work holding the old snapshot is unaffected, that indexes built from
+ * the old snapshot are not reused for the new one, and that a failed
+ * reload, including one that would change recipe ids, leaves the current
+ * catalog in place. Every test puts the bundled catalog back so other
+ * tests see it.
+ */
+public class CatalogHolderTest {
+
+    public CatalogHolderTest() {
+    }
+
+    // Same recipes as the bundled catalog, as new objects in a new snapshot
+    private static RecipeCatalog copyOf(RecipeCatalog catalog) throws IOException {
+        return load(catalog.getAll());
+    }
+
+    // A new snapshot of the given recipes, ids assigned in list order
+    private static RecipeCatalog load(List<Recipe> recipes) throws IOException {
+        StringWriter csv = new StringWriter();
+        RecipeCsv.write(recipes, csv);
+        return RecipeCsv.load(new StringReader(csv.toString()));
+    }
+
+    // ---------- RELOAD TESTS ----------
+
+    /**
+     * TEST CASE: A reload publishes a newer snapshot; the old one stays usable
+     */
+    @Test
+    public void testReloadSwapsSnapshot() throws IOException {
+        RecipeCatalog bundled = RecipeCatalog.get();
+        long reloads = CatalogHolder.getReloadCount();
+        try {
+            RecipeCatalog reloaded = CatalogHolder.reload(() -> copyOf(bundled));
+
+            assertSame(reloaded, RecipeCatalog.get());
+            assertSame(reloaded, CatalogHolder.current());
+            assertTrue(reloaded.getVersion() > bundled.getVersion());
+            assertEquals(bundled.size(), reloaded.size());
+            assertEquals(reloads + 1, CatalogHolder.getReloadCount());
+            assertTrue(CatalogHolder.getLastReloadNanos() > 0);
+            assertTrue(CatalogHolder.getTotalReloadNanos() >= CatalogHolder.getLastReloadNanos());
+            assertTrue(CatalogHolder.getLiveSnapshots() >= 1);
+
+            // The old snapshot is untouched and ids still match between them
+            Recipe first = bundled.findById(1);
+            assertSame(first, bundled.findById(1));
+            assertEquals(first.getName(), reloaded.findById(1).getName());
+            assertNotSame(first, reloaded.findById(1));
+        } finally {
+            CatalogHolder.replace(bundled);
+        }
+        assertSame(bundled, RecipeCatalog.get());
+    }
+
+    /**
+     * TEST CASE: A failed reload keeps the current snapshot and is counted
+     */
+    @Test
+    public void testFailedReloadKeepsSnapshot() {
+        RecipeCatalog bundled = RecipeCatalog.get();
+        long failed = CatalogHolder.getFailedReloadCount();
+        long reloads = CatalogHolder.getReloadCount();
+
+        assertThrows(IOException.class, () -> CatalogHolder.reload(() -> {
+            throw new IOException("missing file");
+        }));
+        assertThrows(IllegalArgumentException.class, () -> CatalogHolder.reload(
+                () -> RecipeCsv.load(new StringReader("breakfast,not a recipe\n"))));
+        assertThrows(IOException.class, () -> CatalogHolder.reload(() -> null));
+
+        assertSame(bundled, RecipeCatalog.get());
+        assertEquals(failed + 3, CatalogHolder.getFailedReloadCount());
+        assertEquals(reloads, CatalogHolder.getReloadCount());
+    }
+
+    /**
+     * TEST CASE: A catalog that moves or drops recipe ids is rejected
+     * - Saved plans would otherwise point at different recipes
+     */
+    @Test
+    public void testReloadMustKeepIds() {
+        RecipeCatalog bundled = RecipeCatalog.get();
+        long failed = CatalogHolder.getFailedReloadCount();
+        List<Recipe> reordered = new ArrayList<>(bundled.getAll());
+        Collections.swap(reordered, 0, 1);
+        List<Recipe> trimmed = bundled.getAll().subList(0, bundled.size() - 1);
+
+        assertThrows(IllegalArgumentException.class, () -> CatalogHolder.reload(() -> load(reordered)));
+        assertThrows(IllegalArgumentException.class, () -> CatalogHolder.reload(() -> load(trimmed)));
+        assertThrows(IllegalArgumentException.class, () -> CatalogHolder.replace(load(reordered)));
+
+        assertSame(bundled, RecipeCatalog.get());
+        assertEquals(failed + 2, CatalogHolder.getFailedReloadCount());
+    }
+
+    /**
+     * TEST CASE: A background reload completes and publishes its snapshot
+     */
+    @Test
+    public void testReloadAsync() throws Exception {
+        RecipeCatalog bundled = RecipeCatalog.get();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            RecipeCatalog reloaded = CatalogHolder.reloadAsync(() -> copyOf(bundled), pool)
+                    .get(30, TimeUnit.SECONDS);
+            assertSame(reloaded, RecipeCatalog.get());
+        } finally {
+            pool.shutdown();
+            CatalogHolder.replace(bundled);
+        }
+    }
+
+    // ---------- PLANNING TESTS ----------
+
+    /**
+     * TEST CASE: Plans come from the snapshot passed in, and indexes follow the version
+     */
+    @Test
+    public void testPlansKeepTheirSnapshot() throws IOException {
+        RecipeCatalog bundled = RecipeCatalog.get();
+        Macro target = new Macro(2200, 120, 250, 70);
+        Planner planner = new Planner();
+        try {
+            MealTypeIndex index = MealTypeIndex.of(bundled);
+            assertTrue(index.matches(bundled));
+            assertEquals(bundled.getVersion(), index.getCatalogVersion());
+
+            PlanDay[] before = planner.buildPlan(3, target, bundled);
+            RecipeCatalog reloaded = CatalogHolder.reload(() -> copyOf(bundled));
+            assertFalse(index.matches(reloaded));
+
+            // Work that took the old snapshot still plans from it
+            PlanDay[] during = planner.buildPlan(3, target, bundled);
+            PlanDay[] after = planner.buildPlan(3, target, RecipeCatalog.get());
+            for (int day = 0; day < 3; day++) {
+                Recipe old = during[day].getBreakfast().getRecipe();
+                Recipe fresh = after[day].getBreakfast().getRecipe();
+                assertSame(bundled.findById(old.getId()), old);
+                assertSame(reloaded.findById(fresh.getId()), fresh);
+                assertEquals(before[day].getBreakfast().getRecipe().getId(), fresh.getId(),
+                        "Same recipes should give the same plan");
+            }
+        } finally {
+            CatalogHolder.replace(bundled);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.mycompany.smartmealplanner;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.CandidateSearch;
+import com.mycompany.smartmealplanner.service.DayOptimizer;
+import com.mycompany.smartmealplanner.service.DayOptimizer.DayResult;
+import com.mycompany.smartmealplanner.service.DayOptimizer.JointPlan;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.PlanMode;
+import com.mycompany.smartmealplanner.service.Planner;
+import com.mycompany.smartmealplanner.service.RecipeMatrix;
+import com.mycompany.smartmealplanner.service.ServingSolver;
+import com.mycompany.smartmealplanner.data.RecipeLibrary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * Unit Test Class for the joint day optimiser
+ *
+ * Checks that branch and bound finds the same best day as trying every
+ * breakfast x lunch x dinner x serving combination, that it never does
+ * worse than the per-meal planner, and that the pruning actually cuts
+ * most of the search space.
+ */
+public class DayOptimizerTest {
+
+    public DayOptimizerTest() {
+    }
+
+    private static final double DELTA = 1e-6;
+
+    // ===== TEST FIELDS =====
+    private Planner planner;          // Planner supplying the serving grid
+    private DayOptimizer optimizer;   // Optimiser under test
+    private MealTypeIndex bundled;    // Bundled recipe library
+    private Macro target;             // Standard daily target
+
+    @BeforeEach
+    public void setUp() {
+        planner = new Planner();
+        optimizer = new DayOptimizer(planner);
+        optimizer.setOptimalityGap(0.0); // exact search unless a test says otherwise
+        bundled = MealTypeIndex.of(RecipeLibrary.getAll());
+        target = new Macro(2200, 120, 250, 70);
+    }
+
+    // ---------- OPTIMALITY TESTS ----------
+
+    /**
+     * TEST CASE: Best day matches exhaustive search on the bundled library
+     */
+    @Test
+    public void testMatchesExhaustiveSearch() {
+        Macro[] targets = { target, new Macro(1500, 100, 150, 50), new Macro(3254, 203, 366, 108) };
+
+        for (Macro t : targets) {
+            DayResult result = optimizer.optimizeDay(1, t, bundled, null, null, null);
+
+            assertTrue(result.isComplete(), "Small library should be searched to the end");
+            assertEquals(exhaustiveBest(bundled, t, 0.5), result.getScore(), DELTA, "Should find the best day");
+            assertEquals(result.getScore(), DayOptimizer.dayScore(result.getDay(), t, null), DELTA,
+                    "Reported score should match the day returned");
+        }
+    }
+
+    /**
+     * TEST CASE: Closed-form servings and k-d tree dinners give the same best score
+     */
+    @Test
+    public void testSearchSettingsAgree() {
+        MealTypeIndex index = MealTypeIndex.of(PlannerReference.syntheticLibrary(60, new Random(9)));
+        double expected = exhaustiveBest(index, target, 0.5);
+
+        planner.setServingSolver(ServingSolver.CLOSED_FORM);
+        assertEquals(expected, optimizer.optimizeDay(1, target, index, null, null, null).getScore(), DELTA);
+
+        planner.setCandidateSearch(CandidateSearch.KD_TREE);
+        assertEquals(expected, optimizer.optimizeDay(1, target, index, null, null, null).getScore(), DELTA);
+    }
+
+    /**
+     * TEST CASE: Joint plan never scores worse than the per-meal plan
+     * - Repeats of the previous day are penalised the same way in both
+     */
+    @Test
+    public void testNeverWorseThanPerMeal() {
+        PlanDay[] greedy = planner.buildPlan(5, target, bundled);
+        JointPlan joint = optimizer.buildPlan(5, target, bundled);
+        PlanDay[] plan = joint.getPlan();
+
+        double greedyTotal = 0;
+        for (int d = 0; d < 5; d++) {
+            double greedyScore = DayOptimizer.dayScore(greedy[d], target, d > 0 ? greedy[d - 1] : null);
+            double jointScore = DayOptimizer.dayScore(plan[d], target, d > 0 ? plan[d - 1] : null);
+            assertEquals(joint.getDays()[d].getScore(), jointScore, DELTA, "Score for day " + (d + 1));
+            greedyTotal += greedyScore;
+        }
+        assertTrue(joint.getTotalScore() <= greedyTotal + DELTA, "Joint plan should not be worse overall");
+        assertTrue(joint.getTotalScore() < greedyTotal, "Joint plan should improve on the fixed meal split");
+    }
+
+    // ---------- PRUNING TESTS ----------
+
+    /**
+     * TEST CASE: Lower bounds cut almost all of a large search space
+     * - With the default gap the search stops once no day can be noticeably better
+     */
+    @Test
+    public void testPruningIsEffective() {
+        MealTypeIndex index = MealTypeIndex.of(PlannerReference.syntheticLibrary(6000, new Random(13)));
+        planner.setCandidateSearch(CandidateSearch.KD_TREE);
+        optimizer.setOptimalityGap(0.5);
+        DayResult result = optimizer.optimizeDay(1, target, index, null, null, null);
+
+        long breakfasts = index.slot(RecipeMatrix.BREAKFAST).size() * 5L;
+        long lunches = index.slot(RecipeMatrix.LUNCH).size() * 5L;
+        long fullTree = breakfasts + breakfasts * lunches;
+
+        assertTrue(result.isComplete());
+        assertTrue(result.getScore() < 1.0, "Large library should get very close to the target");
+        assertTrue(result.getNodesPruned() > 0, "Something should be pruned");
+        assertTrue(result.getNodesExplored() < fullTree / 1000,
+                "Explored " + result.getNodesExplored() + " of " + fullTree + " nodes");
+        assertThrows(IllegalArgumentException.class, () -> optimizer.setOptimalityGap(-1));
+    }
+
+    /**
+     * TEST CASE: Node budget stops the search but keeps a valid day
+     */
+    @Test
+    public void testNodeBudget() {
+        optimizer.setMaxNodes(10);
+        DayResult result = optimizer.optimizeDay(1, target, bundled, null, null, null);
+
+        assertFalse(result.isComplete(), "Budget should stop the search early");
+        assertTrue(result.getNodesExplored() <= 10);
+        assertTrue(result.getNodesVisited() <= 10);
+        assertNotNull(result.getDay().getBreakfast().getRecipe());
+        assertThrows(IllegalArgumentException.class, () -> optimizer.setMaxNodes(0));
+    }
+
+    /**
+     * TEST CASE: Node budget counts pruned lunches too
+     * - An exact search of a large library stops after the budget, not after nb * nl pairs
+     */
+    @Test
+    public void testNodeBudgetCountsPrunedNodes() {
+        MealTypeIndex index = MealTypeIndex.of(PlannerReference.syntheticLibrary(6000, new Random(13)));
+        optimizer.setOptimalityGap(0);
+        optimizer.setMaxNodes(5000);
+        DayResult result = optimizer.optimizeDay(1, target, index, null, null, null);
+
+        assertFalse(result.isComplete(), "Budget should stop an exact search of a large library");
+        assertEquals(5000, result.getNodesVisited());
+        assertTrue(result.getNodesExplored() <= result.getNodesVisited());
+        assertNotNull(result.getDay().getDinner().getRecipe());
+    }
+
+    /**
+     * TEST CASE: A budget just large enough finishes the search with the same day
+     * - Only the breakfasts the budget can reach are ordered, and they are enough
+     */
+    @Test
+    public void testExactBudgetMatchesUnlimited() {
+        MealTypeIndex index = MealTypeIndex.of(PlannerReference.syntheticLibrary(600, new Random(17)));
+        optimizer.setOptimalityGap(0);
+        DayResult unlimited = optimizer.optimizeDay(1, target, index, null, null, null);
+        assertTrue(unlimited.isComplete());
+
+        optimizer.setMaxNodes(unlimited.getNodesVisited());
+        DayResult budgeted = optimizer.optimizeDay(1, target, index, null, null, null);
+        assertTrue(budgeted.isComplete(), "The budget covers every node the search needs");
+        assertEquals(unlimited.getNodesVisited(), budgeted.getNodesVisited());
+        PlannerReference.assertSamePlan(new PlanDay[] { unlimited.getDay() }, new PlanDay[] { budgeted.getDay() });
+    }
+
+    /**
+     * TEST CASE: Planner in JOINT_DAY mode returns the optimiser's plan
+     */
+    @Test
+    public void testPlannerJointMode() {
+        planner.setPlanMode(PlanMode.JOINT_DAY);
+        PlanDay[] plan = planner.buildPlan(3, target, RecipeLibrary.getAll());
+        PlanDay[] expected = new DayOptimizer(planner).buildPlan(3, target, bundled).getPlan(); // default gap
+
+        assertEquals(3, plan.length);
+        for (int d = 0; d < 3; d++) {
+            assertEquals(d + 1, plan[d].getDayNumber());
+            assertEquals(expected[d].getLunch().getRecipe().getName(), plan[d].getLunch().getRecipe().getName());
+            assertEquals(expected[d].getLunch().getServings(), plan[d].getLunch().getServings(), DELTA);
+        }
+    }
+
+    // Try every combination of breakfast, lunch and dinner servings
+    private static double exhaustiveBest(MealTypeIndex index, Macro t, double step) {
+        RecipeMatrix b = index.slot(RecipeMatrix.BREAKFAST);
+        RecipeMatrix l = index.slot(RecipeMatrix.LUNCH);
+        RecipeMatrix e = index.slot(RecipeMatrix.DINNER);
+        int steps = (int) Math.round(2.0 / step);
+        double best = Double.POSITIVE_INFINITY;
+
+        for (int i = 0; i < b.size(); i++) {
+            for (int j = 0; j < l.size(); j++) {
+                for (int k = 0; k < e.size(); k++) {
+                    for (int sb = 0; sb <= steps; sb++) {
+                        for (int sl = 0; sl <= steps; sl++) {
+                            for (int se = 0; se <= steps; se++) {
+                                double xb = 1.0 + sb * step, xl = 1.0 + sl * step, xe = 1.0 + se * step;
+                                double c = b.getCalories(i) * xb + l.getCalories(j) * xl + e.getCalories(k) * xe;
+                                double p = b.getProtein(i) * xb + l.getProtein(j) * xl + e.getProtein(k) * xe;
+                                double cb = b.getCarbs(i) * xb + l.getCarbs(j) * xl + e.getCarbs(k) * xe;
+                                double f = b.getFat(i) * xb + l.getFat(j) * xl + e.getFat(k) * xe;
+                                double score = 1.0 * Math.abs(c - t.getCalories()) + 0.9 * Math.abs(p - t.getProtein())
+                                        + 0.4 * Math.abs(cb - t.getCarbs()) + 0.3 * Math.abs(f - t.getFat());
+                                best = Math.min(best, score);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+}
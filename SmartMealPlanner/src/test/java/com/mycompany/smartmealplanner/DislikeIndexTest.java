@@ -0,0 +1,112 @@
+package com.mycompany.smartmealplanner;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.DislikeIndex;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.Planner;
+import com.mycompany.smartmealplanner.data.RecipeLibrary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+
+/**
+ * Unit Test Class for the dislike inverted index
+ *
+ * Checks that a compiled dislike list rules out exactly the recipes
+ * Recipe.matchesDislikes rules out, including partial words, phrases
+ * across words and mixed case, and that plans built on the filtered
+ * index never contain a disliked recipe.
+ */
+public class DislikeIndexTest {
+
+    public DislikeIndexTest() {
+    }
+
+    // ===== TEST FIELDS =====
+    private Recipe[] recipes;         // Bundled recipe library
+    private DislikeIndex index;       // Index over the bundled library
+
+    @BeforeEach
+    public void setUp() {
+        recipes = RecipeLibrary.getAll();
+        index = DislikeIndex.of(recipes);
+    }
+
+    // ---------- PARITY TESTS ----------
+
+    /**
+     * TEST CASE: Same recipes as matchesDislikes for every single dislike and some lists
+     * - Whole words, partial words, phrases, mixed case and padding spaces
+     */
+    @Test
+    public void testMatchesDislikesParity() {
+        String[][] lists = {
+            { "chicken" }, { "CHICKEN" }, { "chick" }, { "egg" }, { "oil" }, { "olive oil" },
+            { "n bre" }, { "rice" }, { "salmon", "beef" }, { "beef " }, { " " }, { "zzz" },
+            { "Greek Yogurt" }, { "", null, "tofu" }, {}, null
+        };
+
+        for (String[] dislikes : lists) {
+            assertSameExclusion(dislikes);
+        }
+        // Every ingredient name and recipe name as its own dislike, upper-cased
+        for (Recipe r : recipes) {
+            assertSameExclusion(new String[] { r.getName().toUpperCase() });
+            for (Ingredient ingredient : r.getIngredients()) {
+                assertSameExclusion(new String[] { ingredient.getName().toUpperCase() });
+            }
+        }
+    }
+
+    /**
+     * TEST CASE: Compiled sets are fresh copies, so callers can change them freely
+     */
+    @Test
+    public void testCompiledSetIsCallerOwned() {
+        BitSet first = index.compile(new String[] { "chicken" });
+        int count = first.cardinality();
+        assertTrue(count > 0);
+        first.clear();
+        assertEquals(count, index.compile(new String[] { "chicken" }).cardinality());
+        assertTrue(index.tokenCount() > 0);
+        assertEquals(recipes.length, index.size());
+    }
+
+    // ---------- PLANNING TESTS ----------
+
+    /**
+     * TEST CASE: Plans on the filtered index avoid every disliked recipe
+     * - Nothing excluded gives back the same index
+     */
+    @Test
+    public void testFilteredPlanAvoidsDislikes() {
+        MealTypeIndex all = MealTypeIndex.of(recipes);
+        String[] dislikes = { "chicken", "egg" };
+        MealTypeIndex filtered = all.without(index.compile(dislikes));
+
+        assertTrue(filtered.size() < all.size());
+        assertNotEquals(all.getVersion(), filtered.getVersion());
+        assertSame(all, all.without(new BitSet()));
+
+        PlanDay[] plan = new Planner().buildPlan(7, new Macro(2200, 120, 250, 70), filtered);
+        for (PlanDay day : plan) {
+            for (RecipeSelection meal : new RecipeSelection[] { day.getBreakfast(), day.getLunch(), day.getDinner() }) {
+                assertFalse(meal.getRecipe().matchesDislikes(dislikes), meal.getRecipe().getName());
+            }
+        }
+
+        // Filtering twice by library position still removes the right recipes
+        MealTypeIndex twice = filtered.without(index.compile(new String[] { "rice" }));
+        assertEquals(all.without(index.compile(new String[] { "chicken", "egg", "rice" })).size(), twice.size());
+    }
+
+    private void assertSameExclusion(String[] dislikes) {
+        BitSet excluded = index.compile(dislikes);
+        for (int i = 0; i < recipes.length; i++) {
+            assertEquals(recipes[i].matchesDislikes(dislikes), excluded.get(i),
+                    recipes[i].getName() + " with dislikes " + java.util.Arrays.toString(dislikes));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.mycompany.smartmealplanner;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.Planner;
+import com.mycompany.smartmealplanner.service.ReportPrinter;
+import com.mycompany.smartmealplanner.data.RecipeLibrary;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+/**
+ * Unit Test Class for the fixed-point nutrient units
+ *
+ * Checks rounding into and scaling in fixed point, that plan totals are
+ * exact and independent of the order days are added in, and that grocery
+ * consolidation adds quantities without floating-point drift.
+ */
+public class FixedPointTest {
+
+    public FixedPointTest() {
+    }
+
+    // ---------- CONVERSION TESTS ----------
+
+    /**
+     * TEST CASE: Values round half away from zero once, and scaling rounds once
+     */
+    @Test
+    public void testRoundingAndScaling() {
+        assertEquals(1500, FixedPoint.servings(1.5));
+        assertEquals(1000, FixedPoint.servings(0.9999999));
+        assertEquals(3, FixedPoint.toFixed(0.25, FixedPoint.KCAL_SCALE));
+        assertEquals(-3, FixedPoint.toFixed(-0.25, FixedPoint.KCAL_SCALE));
+        assertThrows(IllegalArgumentException.class, () -> FixedPoint.toFixed(Double.NaN, FixedPoint.GRAM_SCALE));
+
+        assertEquals(5, FixedPoint.scale(3, 1500, 1000), "4.5 rounds up");
+        assertEquals(-5, FixedPoint.scale(-3, 1500, 1000), "-4.5 rounds away from zero");
+        assertThrows(ArithmeticException.class, () -> FixedPoint.scale(Long.MAX_VALUE, 2, 1));
+        assertTrue(FixedPoint.isWhole(2000, FixedPoint.QUANTITY_SCALE));
+        assertFalse(FixedPoint.isWhole(2001, FixedPoint.QUANTITY_SCALE));
+    }
+
+    /**
+     * TEST CASE: Fixed macros follow macrosFor, including recipes with several base servings
+     */
+    @Test
+    public void testFixedMacrosMatchDoubleMacros() {
+        Recipe batch = new DinnerRecipe("Batch Chili", new Ingredient[0], 1801, 120.5, 150, 60.25, 4.0);
+        for (Recipe r : new Recipe[] { batch, RecipeLibrary.getAll()[5] }) {
+            for (double servings : new double[] { 1.0, 1.5, 2.5, 3.0 }) {
+                RecipeSelection meal = new RecipeSelection(r, servings);
+                assertEquals(FixedMacro.of(r.macrosFor(servings)), meal.getFixedMacros(), r.getName() + " x" + servings);
+                assertSame(meal.getFixedMacros(), meal.getFixedMacros(), "Fixed macros should be built once");
+            }
+        }
+        assertEquals(FixedMacro.ZERO, new RecipeSelection(null, 1.0).getFixedMacros());
+
+        Macro macro = new Macro(2200.04, 120.0005, 250, 70.1234);
+        FixedMacro fixed = FixedMacro.of(macro);
+        assertEquals(22000, fixed.getDeciKcal());
+        assertEquals(120001, fixed.getProteinMg());
+        assertEquals(70123, fixed.getFatMg());
+        assertEquals(250.0, fixed.toMacro().getCarbs());
+    }
+
+    // ---------- AGGREGATION TESTS ----------
+
+    /**
+     * TEST CASE: A long plan's total is exact whatever order its days are added in
+     */
+    @Test
+    public void testPlanTotalIsExact() {
+        PlanDay[] plan = new Planner().buildPlan(365, new Macro(2200, 120, 250, 70), RecipeLibrary.getAll());
+        FixedMacro total = FixedMacro.total(plan);
+
+        FixedMacro backwards = FixedMacro.ZERO;
+        for (int d = plan.length - 1; d >= 0; d--) {
+            backwards = backwards.plus(plan[d].getDailyFixedMacros());
+        }
+        assertEquals(total, backwards);
+        assertEquals(total.hashCode(), backwards.hashCode());
+
+        long kcal = 0;
+        for (PlanDay day : plan) {
+            kcal += day.getBreakfast().getFixedMacros().getDeciKcal()
+                    + day.getLunch().getFixedMacros().getDeciKcal()
+                    + day.getDinner().getFixedMacros().getDeciKcal();
+        }
+        assertEquals(kcal, total.getDeciKcal());
+    }
+
+    /**
+     * TEST CASE: Grocery quantities add up without drift and whole amounts print as whole
+     */
+    @Test
+    public void testGroceryQuantitiesAreExact() {
+        Ingredient[] pinch = { new Ingredient("sea salt", "g", 0.1) };
+        Recipe b = new BreakfastRecipe("Salted Oats", pinch, 300, 10, 50, 5);
+        Recipe l = new LunchRecipe("Salted Rice", pinch, 500, 20, 80, 10);
+        Recipe e = new DinnerRecipe("Salted Fish", pinch, 600, 40, 30, 20);
+        PlanDay[] plan = new PlanDay[10];
+        for (int d = 0; d < plan.length; d++) {
+            plan[d] = new PlanDay(d + 1, new RecipeSelection(b, 1.0), new RecipeSelection(l, 1.0),
+                    new RecipeSelection(e, 1.0));
+        }
+
+        List<GroceryItem> items = new ReportPrinter().getGroceryItems(plan);
+        assertEquals(1, items.size());
+        assertEquals(3.0, items.get(0).getQuantity(), "30 x 0.1 g should be exactly 3 g");
+        assertEquals("3 g", items.get(0).getFormattedQuantity());
+
+        assertEquals("2 g", new GroceryItem("oats", 2.0000000001, "g", IngredientCategory.PANTRY).getFormattedQuantity());
+        assertEquals("2.5 g", new GroceryItem("oats", 2.5, "g", IngredientCategory.PANTRY).getFormattedQuantity());
+    }
+}
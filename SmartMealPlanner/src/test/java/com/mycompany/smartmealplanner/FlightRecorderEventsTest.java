@@ -0,0 +1,204 @@
+package com.mycompany.smartmealplanner;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.CandidateSearch;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.PlanMode;
+import com.mycompany.smartmealplanner.service.Planner;
+import com.mycompany.smartmealplanner.service.ReportPrinter;
+import com.mycompany.smartmealplanner.service.UserManager;
+import com.mycompany.smartmealplanner.data.RecipeLibrary;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Unit Test Class for the Flight Recorder events
+ *
+ * Records planning, user file and grocery work with only the
+ * application's events enabled, and checks each event carries the
+ * numbers it describes.
+ */
+public class FlightRecorderEventsTest {
+
+    public FlightRecorderEventsTest() {
+    }
+
+    private static final String BUILD_PLAN = "smartmealplanner.BuildPlan";
+    private static final String USER_FILE = "smartmealplanner.UserFile";
+    private static final String GROCERY = "smartmealplanner.GroceryConsolidation";
+    private final String testUsername = "jfr_test_user";
+
+    @AfterEach
+    public void tearDown() {
+        new File("users/" + testUsername + ".dat/keep").delete();
+        new File("users/" + testUsername + ".dat").delete();
+    }
+
+    // ---------- PLANNING EVENTS ----------
+
+    /**
+     * TEST CASE: Every buildPlan call records its days, mode, library size and work done
+     */
+    @Test
+    public void testBuildPlanEvent() throws IOException {
+        Planner planner = new Planner();
+        Recipe[] recipes = RecipeLibrary.getAll();
+        MealTypeIndex index = MealTypeIndex.of(recipes);
+        Macro target = new Macro(2200, 120, 250, 70);
+
+        List<RecordedEvent> events = record(BUILD_PLAN, () -> {
+            planner.buildPlan(5, target, index);
+            planner.setPlanMode(PlanMode.BEAM);
+            planner.buildPlan(3, target, index);
+        });
+
+        assertEquals(2, events.size());
+        RecordedEvent perMeal = events.get(0);
+        assertEquals(5, perMeal.getInt("days"));
+        assertEquals("PER_MEAL", perMeal.getString("planMode"));
+        assertEquals(recipes.length, perMeal.getInt("librarySize"));
+        assertEquals(5L * recipes.length, perMeal.getLong("candidatesScored"), "Each day scans every slice once");
+        assertEquals(2200.0, perMeal.getDouble("targetCalories"));
+        assertFalse(perMeal.getDuration().isNegative());
+
+        assertEquals("BEAM", events.get(1).getString("planMode"));
+        assertTrue(events.get(1).getLong("candidatesScored") > 0);
+    }
+
+    /**
+     * TEST CASE: A k-d tree search counts only the recipes it actually scores
+     */
+    @Test
+    public void testKdTreeCountsScoredRows() throws IOException {
+        Planner planner = new Planner();
+        planner.setCandidateSearch(CandidateSearch.KD_TREE);
+        MealTypeIndex index = MealTypeIndex.of(PlannerReference.syntheticLibrary(3000, new java.util.Random(9)));
+
+        List<RecordedEvent> events = record(BUILD_PLAN,
+                () -> planner.buildPlan(4, new Macro(2200, 120, 250, 70), index));
+
+        assertEquals(1, events.size());
+        long scored = events.get(0).getLong("candidatesScored");
+        assertTrue(scored > 0, "Some leaves are always scored");
+        assertTrue(scored < 4L * index.size(), "Pruned rows are not counted: " + scored);
+    }
+
+    // ---------- PERSISTENCE AND REPORTING EVENTS ----------
+
+    /**
+     * TEST CASE: Saves and loads record the user, file size and plan days
+     */
+    @Test
+    public void testUserFileEvents() throws IOException {
+        User user = new User(testUsername, "TestPass123!");
+        user.setLastPlan(new Planner().buildPlan(4, new Macro(2200, 120, 250, 70), RecipeLibrary.getAll()));
+
+        List<RecordedEvent> events = record(USER_FILE, () -> {
+            UserManager.saveUser(user);
+            assertNotNull(UserManager.loadUser(testUsername));
+        });
+
+        long size = new File("users/" + testUsername + ".dat").length();
+        assertEquals(2, events.size());
+        for (int i = 0; i < 2; i++) {
+            RecordedEvent event = events.get(i);
+            assertEquals(i == 0 ? "save" : "load", event.getString("operation"));
+            assertTrue(event.getBoolean("succeeded"));
+            assertEquals(testUsername, event.getString("username"));
+            assertEquals(size, event.getLong("bytes"));
+            assertEquals(4, event.getInt("planDays"));
+        }
+    }
+
+    /**
+     * TEST CASE: A save that cannot write the file is recorded as failed
+     * - No plan days are claimed, even for days streamed before the failure
+     */
+    @Test
+    public void testFailedSaveEvent() throws IOException {
+        // A non-empty directory in place of the user file can be neither written nor replaced
+        File blocker = new File("users/" + testUsername + ".dat");
+        File inside = new File(blocker, "keep");
+        assertTrue(blocker.mkdirs());
+        assertTrue(inside.createNewFile());
+        User user = new User(testUsername, "TestPass123!");
+        user.setLastPlan(new Planner().buildPlan(2, new Macro(2200, 120, 250, 70), RecipeLibrary.getAll()));
+
+        List<RecordedEvent> events = record(USER_FILE, () -> {
+            UserManager.saveUser(user);
+            UserManager.saveUser(user, java.util.Arrays.asList(user.getLastPlan()).iterator());
+        });
+
+        assertEquals(2, events.size());
+        for (RecordedEvent event : events) {
+            assertEquals("save", event.getString("operation"));
+            assertFalse(event.getBoolean("succeeded"));
+            assertEquals(0, event.getInt("planDays"));
+        }
+
+        // A streamed save that fails after writing some days claims none of them
+        assertTrue(inside.delete());
+        assertTrue(blocker.delete());
+        Recipe adHoc = new LunchRecipe("Leftover Soup", new Ingredient[0], 200, 10, 20, 5);
+        PlanDay good = user.getLastPlan()[0];
+        PlanDay bad = new PlanDay(2, good.getBreakfast(), new RecipeSelection(adHoc, 1.0), good.getDinner());
+        events = record(USER_FILE, () -> UserManager.saveUser(user, List.of(good, bad).iterator()));
+        assertEquals(1, events.size());
+        assertFalse(events.get(0).getBoolean("succeeded"));
+        assertEquals(0, events.get(0).getInt("planDays"));
+    }
+
+    /**
+     * TEST CASE: Grocery consolidation records ingredient lines in and items out
+     */
+    @Test
+    public void testGroceryConsolidationEvent() throws IOException {
+        PlanDay[] plan = new Planner().buildPlan(3, new Macro(2200, 120, 250, 70), RecipeLibrary.getAll());
+        int lines = 0;
+        for (PlanDay day : plan) {
+            lines += day.getBreakfast().getRecipe().getIngredients().length
+                    + day.getLunch().getRecipe().getIngredients().length
+                    + day.getDinner().getRecipe().getIngredients().length;
+        }
+        final int expectedIn = lines;
+
+        int[] out = new int[1];
+        List<RecordedEvent> events = record(GROCERY,
+                () -> out[0] = new ReportPrinter().getGroceryItems(plan).size());
+
+        assertEquals(1, events.size());
+        assertEquals(3, events.get(0).getInt("days"));
+        assertEquals(expectedIn, events.get(0).getInt("itemsIn"));
+        assertEquals(out[0], events.get(0).getInt("itemsOut"));
+        assertTrue(events.get(0).getInt("itemsOut") <= expectedIn);
+    }
+
+    // Run an action with one event type enabled and return its events in order
+    private static List<RecordedEvent> record(String eventName, Runnable action) throws IOException {
+        Path file = Files.createTempFile("smartmealplanner", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals(eventName))
+                    .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
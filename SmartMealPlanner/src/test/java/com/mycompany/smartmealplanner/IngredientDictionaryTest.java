@@ -0,0 +1,178 @@
+package com.mycompany.smartmealplanner;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.IngredientCategorizer;
+import com.mycompany.smartmealplanner.service.ReportPrinter;
+import com.mycompany.smartmealplanner.data.CatalogHolder;
+import com.mycompany.smartmealplanner.data.RecipeCatalog;
+import com.mycompany.smartmealplanner.data.RecipeCsv;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit Test Class for the IngredientDictionary and the id-based grocery code
+ *
+ * Checks that names differing only in case share an id, that ids are
+ * stable across threads, that categories by id match categories by name,
+ * and that grocery consolidation merges by id but keeps units apart.
+ */
+public class IngredientDictionaryTest {
+
+    public IngredientDictionaryTest() {
+    }
+
+    // ---------- ID TESTS ----------
+
+    /**
+     * TEST CASE: Canonical names share one id; units are ids of their own
+     */
+    @Test
+    public void testIdsFollowCanonicalNames() {
+        Ingredient lower = new Ingredient("dictionary test oil", "ml", 10);
+        Ingredient upper = new Ingredient("  Dictionary Test OIL ", "ml", 5);
+        Ingredient other = new Ingredient("dictionary test oil", "tbsp", 1);
+
+        assertEquals(lower.getNameId(), upper.getNameId());
+        assertEquals(lower.getNameId(), other.getNameId());
+        assertNotEquals(lower.getUnitId(), other.getUnitId());
+        assertEquals("dictionary test oil", IngredientDictionary.nameOf(upper.getNameId()));
+        assertEquals("  Dictionary Test OIL ", upper.getName(), "Display spelling should be kept");
+        assertSame(lower.getName(), new Ingredient("dictionary test oil", "g", 1).getName(),
+                "Equal spellings should share one String");
+        assertTrue(lower.getNameId() < IngredientDictionary.nameCount());
+
+        Ingredient copy = new Ingredient(lower);
+        copy.setName("Dictionary Test Vinegar");
+        assertNotEquals(lower.getNameId(), copy.getNameId());
+        assertEquals(lower.getNameId(), lower.scaleToServings(2).getNameId());
+        assertThrows(IndexOutOfBoundsException.class, () -> IngredientDictionary.nameOf(-1));
+    }
+
+    /**
+     * TEST CASE: Threads creating the same new names agree on their ids
+     */
+    @Test
+    public void testIdsAreStableAcrossThreads() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<int[]>> results = new java.util.ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(pool.submit(() -> {
+                    int[] ids = new int[200];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = IngredientDictionary.nameId("concurrent ingredient " + i);
+                    }
+                    return ids;
+                }));
+            }
+            int[] first = results.get(0).get();
+            for (Future<int[]> result : results) {
+                assertArrayEquals(first, result.get());
+            }
+            for (int i = 0; i < first.length; i++) {
+                assertEquals("concurrent ingredient " + i, IngredientDictionary.nameOf(first[i]));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * TEST CASE: Reloading catalogs with known ingredients adds no ids
+     * - The dictionary is bounded by distinct names, not by reloads
+     */
+    @Test
+    public void testRepeatedReloadsDoNotGrowDictionary() throws IOException {
+        RecipeCatalog bundled = RecipeCatalog.get();
+        StringWriter csv = new StringWriter();
+        RecipeCsv.write(bundled.getAll(), csv);
+        try {
+            CatalogHolder.reload(() -> RecipeCsv.load(new StringReader(csv.toString())));
+            int names = IngredientDictionary.nameCount();
+            int units = IngredientDictionary.unitCount();
+            for (int i = 0; i < 20; i++) {
+                CatalogHolder.reload(() -> RecipeCsv.load(new StringReader(csv.toString())));
+                for (Recipe r : RecipeCatalog.get().getAll()) {
+                    for (Ingredient ingredient : r.getIngredientList()) {
+                        IngredientCategorizer.categorize(ingredient.getNameId());
+                    }
+                }
+            }
+            assertEquals(names, IngredientDictionary.nameCount(), "Reloads should reuse name ids");
+            assertEquals(units, IngredientDictionary.unitCount(), "Reloads should reuse unit ids");
+        } finally {
+            CatalogHolder.replace(bundled);
+        }
+    }
+
+    // ---------- GROCERY TESTS ----------
+
+    /**
+     * TEST CASE: Categories by id match categories by name for every bundled ingredient
+     */
+    @Test
+    public void testCategoryByIdMatchesByName() {
+        for (Recipe r : RecipeCatalog.get().getAll()) {
+            for (Ingredient ingredient : r.getIngredientList()) {
+                assertEquals(IngredientCategorizer.categorizeIngredient(ingredient.getName()),
+                        IngredientCategorizer.categorize(ingredient.getNameId()), ingredient.getName());
+            }
+        }
+    }
+
+    /**
+     * TEST CASE: Consolidation merges names that differ in case but keeps units apart
+     */
+    @Test
+    public void testConsolidationMergesByIdAndUnit() {
+        Recipe b = new BreakfastRecipe("Oat Bowl", new Ingredient[] {
+            new Ingredient("Oats", "g", 60), new Ingredient("banana", "pc", 1) }, 300, 10, 50, 5);
+        Recipe l = new LunchRecipe("Oat Bars", new Ingredient[] {
+            new Ingredient("oats", "g", 40), new Ingredient("banana", "g", 100) }, 500, 20, 80, 10);
+        Recipe d = new DinnerRecipe("Oat Crumble", new Ingredient[] {
+            new Ingredient("oats ", "g", 25) }, 600, 40, 30, 20);
+        PlanDay[] plan = {
+            new PlanDay(1, new RecipeSelection(b, 1.0), new RecipeSelection(l, 2.0), new RecipeSelection(d, 1.0))
+        };
+
+        List<GroceryItem> items = new ReportPrinter().getGroceryItems(plan);
+        assertEquals(3, items.size());
+        assertEquals("Oats", items.get(0).getName(), "First spelling seen is listed");
+        assertEquals(60 + 80 + 25, items.get(0).getQuantity());
+        assertEquals(IngredientCategory.PANTRY, items.get(0).getCategory());
+        assertEquals("pc", items.get(1).getUnit());
+        assertEquals(1.0, items.get(1).getQuantity());
+        assertEquals("g", items.get(2).getUnit());
+        assertEquals(200.0, items.get(2).getQuantity());
+        assertEquals(IngredientCategory.PRODUCE, items.get(2).getCategory());
+    }
+
+    /**
+     * TEST CASE: A recipe eaten on several days is totalled before it is scaled
+     * - Rounding happens once on the total, not once per day
+     */
+    @Test
+    public void testRepeatedRecipeIsScaledOnce() {
+        Recipe b = new BreakfastRecipe("Saffron Porridge", new Ingredient[] {
+            new Ingredient("saffron", "g", 0.001) }, 300, 10, 50, 5);
+        Recipe l = new LunchRecipe("Plain Rice", new Ingredient[0], 400, 8, 88, 1);
+        Recipe d = new DinnerRecipe("Plain Beans", new Ingredient[0], 400, 20, 60, 2);
+        PlanDay[] plan = new PlanDay[3];
+        for (int day = 0; day < plan.length; day++) {
+            plan[day] = new PlanDay(day + 1, new RecipeSelection(b, 1.5), new RecipeSelection(l, 1.0),
+                    new RecipeSelection(d, 1.0));
+        }
+
+        List<GroceryItem> items = new ReportPrinter().getGroceryItems(plan);
+        assertEquals(1, items.size());
+        assertEquals(0.005, items.get(0).getQuantity(), "4.5 thousandths round once to 5, not 3 x 2");
+    }
+}
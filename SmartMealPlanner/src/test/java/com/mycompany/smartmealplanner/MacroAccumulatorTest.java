@@ -0,0 +1,113 @@
+package com.mycompany.smartmealplanner;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.Planner;
+import com.mycompany.smartmealplanner.data.RecipeLibrary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test Class for the mutable macro accumulator
+ *
+ * Checks that the accumulator and the primitive helpers on Recipe,
+ * RecipeSelection and PlanDay give exactly the values of the Macro.add
+ * chains they replace, and that reset and divide work in place.
+ */
+public class MacroAccumulatorTest {
+
+    public MacroAccumulatorTest() {
+    }
+
+    // ===== TEST FIELDS =====
+    private PlanDay[] plan;           // Two-week plan over the bundled library
+
+    @BeforeEach
+    public void setUp() {
+        plan = new Planner().buildPlan(14, new Macro(2200, 120, 250, 70), RecipeLibrary.getAll());
+    }
+
+    // ---------- PARITY TESTS ----------
+
+    /**
+     * TEST CASE: Daily totals match the old Macro.add chain bit for bit
+     * - Including a day with a missing meal
+     */
+    @Test
+    public void testDailyMacrosParity() {
+        plan[3].setLunch(null);
+        MacroAccumulator total = new MacroAccumulator();
+        Macro chained = new Macro();
+
+        for (PlanDay day : plan) {
+            Macro expected = new Macro();
+            for (RecipeSelection meal : new RecipeSelection[] { day.getBreakfast(), day.getLunch(), day.getDinner() }) {
+                if (meal != null) {
+                    expected = expected.add(meal.getMacros());
+                }
+            }
+            assertMacroEquals(expected, day.getDailyMacros());
+            assertMacroEquals(expected, day.addDailyMacrosTo(new MacroAccumulator()).toMacro());
+
+            day.addDailyMacrosTo(total);
+            chained = chained.add(expected);
+        }
+        assertMacroEquals(chained, total.toMacro());
+    }
+
+    /**
+     * TEST CASE: Primitive helpers match macrosFor and getMacros
+     * - Recipes with more than one base serving are scaled the same way
+     */
+    @Test
+    public void testPrimitiveHelpers() {
+        Recipe batch = new DinnerRecipe("Batch Chili", new Ingredient[0], 1800, 120, 150, 60, 4.0);
+        for (Recipe r : new Recipe[] { batch, RecipeLibrary.getAll()[0] }) {
+            for (double servings : new double[] { 1.0, 1.5, 2.5 }) {
+                Macro m = r.macrosFor(servings);
+                assertEquals(m.getCalories(), r.caloriesFor(servings));
+                assertEquals(m.getProtein(), r.proteinFor(servings));
+                assertEquals(m.getCarbs(), r.carbsFor(servings));
+                assertEquals(m.getFat(), r.fatFor(servings));
+
+                RecipeSelection selection = new RecipeSelection(r, servings);
+                assertEquals(m.getCalories(), selection.getCalories());
+                assertEquals(m.getProtein(), selection.getProtein());
+                assertEquals(m.getCarbs(), selection.getCarbs());
+                assertEquals(m.getFat(), selection.getFat());
+                assertMacroEquals(m, new MacroAccumulator().add(selection).toMacro());
+                assertMacroEquals(m, new MacroAccumulator().add(r, servings).toMacro());
+            }
+        }
+    }
+
+    // ---------- IN-PLACE TESTS ----------
+
+    /**
+     * TEST CASE: Reset, divide and adding other totals change the accumulator in place
+     */
+    @Test
+    public void testResetAndDivide() {
+        MacroAccumulator acc = new MacroAccumulator();
+        assertSame(acc, acc.add(500, 30, 60, 15).add(new Macro(300, 20, 40, 10)).add((Macro) null));
+        assertMacroEquals(new Macro(800, 50, 100, 25), acc.toMacro());
+
+        assertMacroEquals(new Macro(400, 25, 50, 12.5), acc.divide(2).toMacro());
+        assertMacroEquals(new Macro(800, 50, 100, 25), new MacroAccumulator().add(acc).add(acc).toMacro());
+
+        acc.reset();
+        assertEquals(0, acc.getCalories());
+        assertEquals(0, acc.getProtein());
+        assertEquals(0, acc.getCarbs());
+        assertEquals(0, acc.getFat());
+        assertEquals(new Macro().toString(), acc.toString());
+    }
+
+    // Exact equality, field by field
+    private static void assertMacroEquals(Macro expected, Macro actual) {
+        assertEquals(expected.getCalories(), actual.getCalories(), "calories");
+        assertEquals(expected.getProtein(), actual.getProtein(), "protein");
+        assertEquals(expected.getCarbs(), actual.getCarbs(), "carbs");
+        assertEquals(expected.getFat(), actual.getFat(), "fat");
+    }
+}
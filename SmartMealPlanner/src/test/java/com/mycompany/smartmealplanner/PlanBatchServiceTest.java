@@ -0,0 +1,217 @@
+package com.mycompany.smartmealplanner;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.PlanBatchService;
+import com.mycompany.smartmealplanner.service.PlanBatchService.Job;
+import com.mycompany.smartmealplanner.service.PlanBatchService.Result;
+import com.mycompany.smartmealplanner.service.PlanBatchService.ResultOrder;
+import com.mycompany.smartmealplanner.service.Planner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Unit Test Class for the batch plan generation service
+ *
+ * Checks that plans built in parallel are identical to plans built one
+ * user at a time, in either result order and on either executor.
+ */
+public class PlanBatchServiceTest {
+
+    public PlanBatchServiceTest() {
+    }
+
+    // ===== TEST FIELDS =====
+    private Planner planner;          // Shared planner
+    private Recipe[] library;         // Synthetic library shared by every job
+    private MealTypeIndex index;      // Snapshot of the library
+    private List<Job> jobs;           // One job per synthetic user
+
+    @BeforeEach
+    public void setUp() {
+        planner = new Planner();
+        library = PlannerReference.syntheticLibrary(300, new Random(3));
+        index = MealTypeIndex.of(library);
+
+        Random random = new Random(5);
+        jobs = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Macro target = new Macro(1500 + random.nextInt(2000), 80 + random.nextInt(150),
+                                     120 + random.nextInt(300), 40 + random.nextInt(80));
+            User user = new User("user" + i, "Passw0rd!");
+            jobs.add(new Job(user, 1 + random.nextInt(10), target));
+        }
+    }
+
+    // ---------- PARITY TESTS ----------
+
+    /**
+     * TEST CASE: Input order returns each job's plan in the order given
+     * - Plans match the sequential planner exactly
+     */
+    @Test
+    public void testInputOrderMatchesSequential() {
+        try (PlanBatchService service = PlanBatchService.withForkJoinPool(planner, index, 4)) {
+            List<Result> results = service.run(jobs.stream(), ResultOrder.INPUT).collect(Collectors.toList());
+
+            assertEquals(jobs.size(), results.size(), "One result per job");
+            for (int i = 0; i < jobs.size(); i++) {
+                assertSame(jobs.get(i), results.get(i).getJob(), "Results should keep input order");
+                assertMatchesSequential(results.get(i));
+            }
+            assertEquals(jobs.size(), service.getJobsCompleted());
+            assertTrue(service.getThroughput() > 0, "Throughput should be reported");
+        }
+    }
+
+    /**
+     * TEST CASE: Completion order on virtual threads returns every job once
+     * - Plans match the sequential planner exactly
+     */
+    @Test
+    public void testCompletionOrderMatchesSequential() {
+        try (PlanBatchService service = PlanBatchService.withVirtualThreads(planner, index)) {
+            List<Result> results = service.run(jobs.stream(), ResultOrder.COMPLETION).collect(Collectors.toList());
+
+            assertEquals(jobs.size(), results.size(), "One result per job");
+            Set<Job> seen = new HashSet<>();
+            for (Result result : results) {
+                assertTrue(seen.add(result.getJob()), "Each job should be returned once");
+                assertMatchesSequential(result);
+            }
+        }
+    }
+
+    /**
+     * TEST CASE: A failing job is reported without stopping the batch
+     */
+    @Test
+    public void testFailedJobReportsError() {
+        List<Job> withBad = new ArrayList<>(jobs.subList(0, 3));
+        withBad.add(1, new Job(null, 3, null)); // No target - planning throws
+
+        try (PlanBatchService service = PlanBatchService.withForkJoinPool(planner, index, 2)) {
+            List<Result> results = service.run(withBad.stream(), ResultOrder.INPUT).collect(Collectors.toList());
+
+            assertEquals(4, results.size());
+            assertFalse(results.get(1).isSuccess(), "Job without a target should fail");
+            assertNull(results.get(1).getPlan());
+            assertTrue(results.get(0).isSuccess());
+            assertTrue(results.get(3).isSuccess());
+        }
+    }
+
+    /**
+     * TEST CASE: A job whose planner throws an ordinary Error still yields a Result
+     * - Completion order does not wait forever for it
+     */
+    @Test
+    public void testErrorInPlannerReportsError() {
+        Macro poison = new Macro(2000, 100, 250, 70);
+        Planner failing = throwingPlanner(poison, new AssertionError("planner check failed"));
+        List<Job> withBad = new ArrayList<>(jobs.subList(0, 3));
+        withBad.add(1, new Job(null, 2, poison));
+
+        try (PlanBatchService service = PlanBatchService.withForkJoinPool(failing, index, 2)) {
+            List<Result> results = service.run(withBad.stream(), ResultOrder.COMPLETION).collect(Collectors.toList());
+
+            assertEquals(4, results.size(), "One result per job");
+            List<Result> failed = results.stream().filter(r -> !r.isSuccess()).collect(Collectors.toList());
+            assertEquals(1, failed.size(), "Only the throwing job should fail");
+            assertInstanceOf(AssertionError.class, failed.get(0).getError());
+            assertEquals(4, service.getJobsCompleted());
+        }
+    }
+
+    /**
+     * TEST CASE: A VirtualMachineError is not turned into a failed Result
+     * - It reaches the reader of the results, in either order
+     */
+    @Test
+    public void testVirtualMachineErrorPropagates() {
+        Macro poison = new Macro(2000, 100, 250, 70);
+        Planner failing = throwingPlanner(poison, new StackOverflowError("planner blew up"));
+        List<Job> withBad = new ArrayList<>(jobs.subList(0, 3));
+        withBad.add(1, new Job(null, 2, poison));
+
+        for (ResultOrder order : ResultOrder.values()) {
+            try (PlanBatchService service = PlanBatchService.withForkJoinPool(failing, index, 2)) {
+                assertThrows(StackOverflowError.class,
+                        () -> service.run(withBad.stream(), order).collect(Collectors.toList()), order.name());
+            }
+        }
+    }
+
+    // A planner that throws the given error for one target and plans normally otherwise
+    private static Planner throwingPlanner(Macro poison, Error error) {
+        return new Planner() {
+            @Override
+            public PlanDay[] buildPlan(int days, Macro target, MealTypeIndex index) {
+                if (target == poison) {
+                    throw error;
+                }
+                return super.buildPlan(days, target, index);
+            }
+        };
+    }
+
+    // ---------- STREAMING TESTS ----------
+
+    /**
+     * TEST CASE: Jobs are taken from the input only as results are read
+     * - An endless job stream still yields results, with bounded work in flight
+     */
+    @Test
+    public void testInputIsReadLazily() {
+        for (ResultOrder order : ResultOrder.values()) {
+            java.util.concurrent.atomic.AtomicLong pulled = new java.util.concurrent.atomic.AtomicLong();
+            Job job = jobs.get(0);
+            try (PlanBatchService service = PlanBatchService.withForkJoinPool(planner, index, 2)) {
+                Stream<Job> endless = Stream.generate(() -> job).peek(j -> pulled.incrementAndGet());
+                Stream<Result> results = service.run(endless, order);
+                assertEquals(0, pulled.get(), "Nothing is submitted before the stream is read");
+
+                List<Result> first = results.limit(10).collect(Collectors.toList());
+                assertEquals(10, first.size());
+                first.forEach(this::assertMatchesSequential);
+                // Plus one: a stream's iterator reads one job ahead to answer hasNext
+                assertTrue(pulled.get() <= 10 + service.getMaxInFlight() + 1,
+                        order + ": pulled " + pulled.get() + " jobs for 10 results");
+            }
+        }
+    }
+
+    /**
+     * TEST CASE: Statistics belong to the run that produced them
+     */
+    @Test
+    public void testStatisticsFollowLatestRun() {
+        try (PlanBatchService service = PlanBatchService.withForkJoinPool(planner, index, 2)) {
+            Stream<Result> first = service.run(jobs.stream(), ResultOrder.INPUT);
+            assertEquals(0, service.getJobsCompleted(), "A new run starts from zero");
+            assertEquals(jobs.size(), first.count());
+            assertEquals(jobs.size(), service.getJobsCompleted());
+
+            assertEquals(5, service.run(jobs.stream().limit(5), ResultOrder.COMPLETION).count());
+            assertEquals(5, service.getJobsCompleted(), "Counts describe the latest run only");
+            assertTrue(service.getThroughput() > 0);
+        }
+    }
+
+    // Compare a batch result with planning the same job on its own
+    private void assertMatchesSequential(Result result) {
+        assertTrue(result.isSuccess(), "Job should succeed");
+        Job job = result.getJob();
+        PlanDay[] expected = planner.buildPlan(job.getDays(), job.getTarget(), library);
+        PlannerReference.assertSamePlan(expected, result.getPlan());
+    }
+}
@@ -0,0 +1,105 @@
+package com.mycompany.smartmealplanner;
+
+import com.mycompany.smartmealplanner.model.*;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reference copy of the original object-based greedy planner.
+ *
+ * Kept verbatim (Recipe getters, isInstance filter, name comparison) so
+ * optimised planner paths can be checked for identical picks. Also holds
+ * the synthetic library and the selection and plan assertions the
+ * planner tests share.
+ */
+final class PlannerReference {
+
+    private static final double MIN_SERV = 1.0;
+    private static final double MAX_SERV = 3.0;
+    private static final double SERV_STEP = 0.5;
+    private static final double REPEAT_PENALTY = 300.0;
+    private static final double W_KCAL = 1.0, W_PROT = 0.9, W_CARB = 0.4, W_FAT = 0.3;
+
+    private PlannerReference() {
+    }
+
+    static PlanDay[] buildPlan(int days, Macro target, Recipe[] library) {
+        PlanDay[] plan = new PlanDay[days];
+        for (int d = 0; d < days; d++) {
+            Recipe prevB = (d > 0) ? plan[d - 1].getBreakfast().getRecipe() : null;
+            Recipe prevL = (d > 0) ? plan[d - 1].getLunch().getRecipe() : null;
+            Recipe prevD = (d > 0) ? plan[d - 1].getDinner().getRecipe() : null;
+            RecipeSelection b = pickBest(target.scale(0.25), library, BreakfastRecipe.class, prevB);
+            RecipeSelection l = pickBest(target.scale(0.40), library, LunchRecipe.class, prevL);
+            RecipeSelection e = pickBest(target.scale(0.35), library, DinnerRecipe.class, prevD);
+            plan[d] = new PlanDay(d + 1, b, l, e);
+        }
+        return plan;
+    }
+
+    static RecipeSelection pickBest(Macro target, Recipe[] lib, Class<?> type, Recipe prev) {
+        Recipe best = null;
+        double bestServ = 1.0;
+        double bestScore = Double.POSITIVE_INFINITY;
+
+        for (Recipe r : lib) {
+            if (!type.isInstance(r)) continue;
+            for (double s = MIN_SERV; s <= MAX_SERV + 1e-9; s += SERV_STEP) {
+                double score =
+                        W_KCAL * Math.abs(r.getCalories() * s - target.getCalories()) +
+                        W_PROT * Math.abs(r.getProtein()  * s - target.getProtein())  +
+                        W_CARB * Math.abs(r.getCarbs()    * s - target.getCarbs())    +
+                        W_FAT  * Math.abs(r.getFat()      * s - target.getFat());
+                if (prev != null && prev.getName().equalsIgnoreCase(r.getName())) {
+                    score += REPEAT_PENALTY;
+                }
+                if (score < bestScore) {
+                    bestScore = score;
+                    best = r;
+                    bestServ = Math.round(s * 2.0) / 2.0;
+                }
+            }
+        }
+        return new RecipeSelection(best, bestServ);
+    }
+
+    /**
+     * Random library with whole-number macros (like the bundled recipes)
+     * and all three meal types interleaved.
+     */
+    static Recipe[] syntheticLibrary(int size, Random random) {
+        Recipe[] lib = new Recipe[size];
+        Ingredient[] ingredients = { new Ingredient("rice (cooked)", "g", 100) };
+        for (int i = 0; i < size; i++) {
+            double kcal = 200 + random.nextInt(600);
+            double prot = 5 + random.nextInt(50);
+            double carb = 10 + random.nextInt(90);
+            double fat = 2 + random.nextInt(30);
+            String name = "Synthetic " + i;
+            lib[i] = switch (i % 3) {
+                case 0 -> new BreakfastRecipe(name, ingredients, kcal, prot, carb, fat);
+                case 1 -> new LunchRecipe(name, ingredients, kcal, prot, carb, fat);
+                default -> new DinnerRecipe(name, ingredients, kcal, prot, carb, fat);
+            };
+        }
+        return lib;
+    }
+
+    static void assertSameSelection(RecipeSelection expected, RecipeSelection actual) {
+        assertSame(expected.getRecipe(), actual.getRecipe(),
+            "Expected " + expected + " but got " + actual);
+        assertEquals(expected.getServings(), actual.getServings(),
+            "Servings differ for " + expected.getRecipe().getName());
+    }
+
+    static void assertSamePlan(PlanDay[] expected, PlanDay[] actual) {
+        assertEquals(expected.length, actual.length, "Plan length");
+        for (int d = 0; d < expected.length; d++) {
+            assertSameSelection(expected[d].getBreakfast(), actual[d].getBreakfast());
+            assertSameSelection(expected[d].getLunch(), actual[d].getLunch());
+            assertSameSelection(expected[d].getDinner(), actual[d].getDinner());
+        }
+    }
+}
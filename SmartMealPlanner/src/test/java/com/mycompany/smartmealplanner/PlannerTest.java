@@ -1,12 +1,25 @@
 package com.mycompany.smartmealplanner;
 
 import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.CandidateSearch;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.PlanMode;
 import com.mycompany.smartmealplanner.service.Planner;
+import com.mycompany.smartmealplanner.service.RecipeMatrix;
+import com.mycompany.smartmealplanner.service.ReportPrinter;
+import com.mycompany.smartmealplanner.service.SelectionCache;
+import com.mycompany.smartmealplanner.service.ServingSolver;
 import com.mycompany.smartmealplanner.data.RecipeLibrary;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
 /**
  * Unit Test Class for Planner Service (LITE Version)
  * 
@@ -320,4 +333,251 @@ public class PlannerTest {
         assertTrue(hasLunch, "Recipe library should contain LunchRecipe");
         assertTrue(hasDinner, "Recipe library should contain DinnerRecipe");
     }
-}
\ No newline at end of file
+    
+    // ---------- SERVING SOLVER TESTS ----------
+    
+    /**
+     * TEST CASE: Closed-form servings match exhaustive enumeration
+     * - Same recipe and serving for every slot, at several granularities
+     * - Checked on the bundled library and a larger random one
+     */
+    @Test
+    public void testClosedFormMatchesEnumeration() {
+        Recipe[][] libraries = { recipes, PlannerReference.syntheticLibrary(450, new java.util.Random(3)) };
+        Macro[] targets = { target, new Macro(1500, 100, 150, 50), new Macro(3254, 203, 366, 108) };
+        double[] steps = { 0.5, 0.25, 0.1 };
+        
+        for (double step : steps) {
+            Planner enumerate = new Planner();
+            enumerate.setServingStep(step);
+            
+            Planner closedForm = new Planner();
+            closedForm.setServingStep(step);
+            closedForm.setServingSolver(ServingSolver.CLOSED_FORM);
+            
+            for (Recipe[] lib : libraries) {
+                for (Macro t : targets) {
+                    PlanDay[] expected = enumerate.buildPlan(5, t, lib);
+                    PlanDay[] actual = closedForm.buildPlan(5, t, lib);
+                    
+                    PlannerReference.assertSamePlan(expected, actual);
+                }
+            }
+        }
+    }
+    
+    /**
+     * TEST CASE: Finer granularity yields tidy servings on the chosen grid
+     * - 0.1x steps should give values like 1.3, never 1.3000000000000003
+     */
+    @Test
+    public void testFineServingStepStaysOnGrid() {
+        planner.setServingStep(0.1);
+        planner.setServingSolver(ServingSolver.CLOSED_FORM);
+        PlanDay[] plan = planner.buildPlan(5, target, recipes);
+        
+        for (PlanDay day : plan) {
+            RecipeSelection[] meals = {day.getBreakfast(), day.getLunch(), day.getDinner()};
+            for (RecipeSelection meal : meals) {
+                double servings = meal.getServings();
+                assertTrue(servings >= 1.0 && servings <= 3.0, "Serving out of range: " + servings);
+                assertEquals(Math.round(servings * 10) / 10.0, servings, 0.0,
+                    "Serving should be a tidy 0.1 multiple, was: " + servings);
+            }
+        }
+    }
+    
+    /**
+     * TEST CASE: Invalid serving steps are rejected
+     */
+    @Test
+    public void testInvalidServingStepRejected() {
+        assertThrows(IllegalArgumentException.class, () -> planner.setServingStep(0));
+        assertThrows(IllegalArgumentException.class, () -> planner.setServingStep(-0.5));
+        assertThrows(IllegalArgumentException.class, () -> planner.setServingStep(2.5));
+        assertEquals(0.5, planner.getServingStep(), DELTA, "Rejected steps should leave the default");
+    }
+    
+    // ---------- CANDIDATE SEARCH TESTS ----------
+    
+    /**
+     * TEST CASE: k-d tree search picks exactly what the full scan picks
+     * - Large random library with many duplicate macro vectors (ties)
+     * - Both serving solvers and two serving steps
+     */
+    @Test
+    public void testKdTreeMatchesScan() {
+        Recipe[] lib = PlannerReference.syntheticLibrary(6000, new java.util.Random(5));
+        java.util.Random random = new java.util.Random(9);
+        
+        for (ServingSolver solver : ServingSolver.values()) {
+            for (double step : new double[] { 0.5, 0.25 }) {
+                Planner scan = new Planner();
+                scan.setServingSolver(solver);
+                scan.setServingStep(step);
+                
+                Planner tree = new Planner();
+                tree.setServingSolver(solver);
+                tree.setServingStep(step);
+                tree.setCandidateSearch(CandidateSearch.KD_TREE);
+                
+                for (int i = 0; i < 4; i++) {
+                    Macro t = new Macro(1200 + random.nextInt(3000), 60 + random.nextInt(200),
+                                        100 + random.nextInt(400), 30 + random.nextInt(100));
+                    PlanDay[] expected = scan.buildPlan(4, t, lib);
+                    PlanDay[] actual = tree.buildPlan(4, t, lib);
+                    
+                    PlannerReference.assertSamePlan(expected, actual);
+                }
+            }
+        }
+    }
+    
+    /**
+     * TEST CASE: k-d tree search works on the small bundled library
+     */
+    @Test
+    public void testKdTreeOnBundledLibrary() {
+        Planner tree = new Planner();
+        tree.setCandidateSearch(CandidateSearch.KD_TREE);
+        
+        PlanDay[] expected = planner.buildPlan(5, target, recipes);
+        PlanDay[] actual = tree.buildPlan(5, target, recipes);
+        
+        PlannerReference.assertSamePlan(expected, actual);
+    }
+    
+    // ---------- TOP-K TESTS ----------
+    
+    /**
+     * TEST CASE: Top-K ranking agrees with pickBest
+     * - First entry is pickBest's choice, scores never decrease,
+     *   each recipe appears once at the serving pickBest would give it alone
+     */
+    @Test
+    public void testTopKMatchesPickBest() {
+        Recipe[] synthetic = PlannerReference.syntheticLibrary(900, new Random(12));
+        RecipeMatrix lunches = MealTypeIndex.of(synthetic).slot(RecipeMatrix.LUNCH);
+        Macro zero = new Macro(0, 0, 0, 0);
+        Macro lunchTarget = new Macro(880, 48, 100, 28);
+        Recipe prev = lunches.getRecipe(7);
+        
+        RecipeSelection best = planner.pickBest(zero, lunchTarget, lunches, RecipeMatrix.ANY, prev);
+        RankedSelection[] all = planner.topK(lunchTarget, lunches, RecipeMatrix.ANY, prev, lunches.size());
+        RankedSelection[] top = planner.topK(lunchTarget, lunches, RecipeMatrix.ANY, prev, 10);
+        
+        assertEquals(lunches.size(), all.length);
+        assertEquals(10, top.length);
+        PlannerReference.assertSameSelection(best, top[0]);
+        java.util.Set<Recipe> seen = new java.util.HashSet<>();
+        for (int i = 0; i < all.length; i++) {
+            assertTrue(seen.add(all[i].getRecipe()), "Each recipe once");
+            if (i > 0) {
+                assertTrue(all[i].getScore() >= all[i - 1].getScore(), "Ranked best first");
+            }
+            if (i < top.length) {
+                PlannerReference.assertSameSelection(all[i], top[i]);
+            }
+            RecipeSelection alone = planner.pickBest(zero, lunchTarget, new Recipe[] { all[i].getRecipe() },
+                    LunchRecipe.class, prev);
+            assertEquals(alone.getServings(), all[i].getServings(), DELTA);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> planner.topK(lunchTarget, lunches, RecipeMatrix.ANY, prev, 0));
+    }
+    
+    /**
+     * TEST CASE: Swap options leave out the planned recipe and respect K
+     */
+    @Test
+    public void testAlternativesForSwap() {
+        MealTypeIndex index = MealTypeIndex.of(recipes);
+        PlanDay[] plan = planner.buildPlan(3, target, index);
+        planner.setAlternativeCount(4);
+        
+        RankedSelection[] options = planner.alternatives(plan, 1, RecipeMatrix.DINNER, target, index);
+        assertEquals(4, options.length);
+        for (RankedSelection option : options) {
+            assertFalse(option.getRecipe().isSameRecipe(plan[1].getDinner().getRecipe()), "Planned recipe left out");
+            assertTrue(option.getRecipe() instanceof DinnerRecipe);
+        }
+        
+        planner.setAlternativeCount(50);
+        assertEquals(index.slot(RecipeMatrix.DINNER).size() - 1,
+                planner.alternatives(plan, 0, RecipeMatrix.DINNER, target, index).length,
+                "Every other dinner when K exceeds the library");
+        assertThrows(IllegalArgumentException.class, () -> planner.setAlternativeCount(0));
+    }
+    
+    // ---------- STREAMING TESTS ----------
+    
+    /**
+     * TEST CASE: Streamed days are the days buildPlan returns, in every plan mode
+     */
+    @Test
+    public void testStreamMatchesBuildPlan() {
+        MealTypeIndex index = MealTypeIndex.of(recipes);
+        for (PlanMode mode : PlanMode.values()) {
+            planner.setPlanMode(mode);
+            PlanDay[] expected = planner.buildPlan(10, target, index);
+            PlanDay[] streamed = planner.streamPlan(10, target, index).toArray(PlanDay[]::new);
+            
+            assertEquals(expected.length, streamed.length, mode + " plan length");
+            for (int d = 0; d < expected.length; d++) {
+                assertEquals(d + 1, streamed[d].getDayNumber());
+                PlannerReference.assertSameSelection(expected[d].getBreakfast(), streamed[d].getBreakfast());
+                PlannerReference.assertSameSelection(expected[d].getLunch(), streamed[d].getLunch());
+                PlannerReference.assertSameSelection(expected[d].getDinner(), streamed[d].getDinner());
+            }
+        }
+    }
+    
+    /**
+     * TEST CASE: Days are only solved when asked for
+     * - A year-long plan costs three slot selections per day taken
+     */
+    @Test
+    public void testStreamIsLazy() {
+        SelectionCache counter = new SelectionCache(1000);
+        planner.setSelectionCache(counter);
+        
+        Iterator<PlanDay> days = planner.planDays(365, target, MealTypeIndex.of(recipes));
+        days.next();
+        days.next();
+        assertEquals(6, counter.getHits() + counter.getMisses(), "Only two days should be solved");
+        
+        assertEquals(3, planner.streamPlan(365, target, recipes).limit(3).count());
+        
+        Iterator<PlanDay> one = planner.planDays(1, target, MealTypeIndex.of(recipes));
+        one.next();
+        assertFalse(one.hasNext());
+        assertThrows(NoSuchElementException.class, one::next);
+    }
+    
+    /**
+     * TEST CASE: Printing a streamed plan gives the same report as printing the array
+     */
+    @Test
+    public void testPrintStreamedPlan() {
+        ReportPrinter printer = new ReportPrinter();
+        PlanDay[] plan = planner.buildPlan(4, target, recipes);
+        
+        String fromArray = capture(() -> printer.printPlan(plan, target));
+        String fromStream = capture(() -> printer.printPlan(planner.planDays(4, target, MealTypeIndex.of(recipes)), target));
+        
+        assertEquals(fromArray, fromStream);
+        assertTrue(fromStream.contains("DAY 4"));
+    }
+    
+    private static String capture(Runnable action) {
+        PrintStream original = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out, true));
+        try {
+            action.run();
+        } finally {
+            System.setOut(original);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,103 @@
+package com.mycompany.smartmealplanner;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.data.RecipeCatalog;
+import com.mycompany.smartmealplanner.data.RecipeLibrary;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit Test Class for the shared RecipeCatalog
+ *
+ * Checks that the catalog is built once and shared, that its lookups by
+ * id, name and meal type agree with the library, and that neither the
+ * catalog nor its recipes can be changed by callers.
+ */
+public class RecipeCatalogTest {
+
+    public RecipeCatalogTest() {
+    }
+
+    // ---------- SHARING TESTS ----------
+
+    /**
+     * TEST CASE: Every caller, on any thread, gets the same catalog and recipes
+     */
+    @Test
+    public void testCatalogIsSharedAcrossThreads() throws Exception {
+        RecipeCatalog catalog = RecipeCatalog.get();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<RecipeCatalog>> results = new java.util.ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(RecipeCatalog::get));
+            }
+            for (Future<RecipeCatalog> result : results) {
+                assertSame(catalog, result.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Recipe[] first = RecipeLibrary.getAll();
+        Recipe[] second = RecipeLibrary.getAll();
+        assertNotSame(first, second, "Callers should get their own array");
+        for (int i = 0; i < first.length; i++) {
+            assertSame(first[i], second[i], "Recipes should be built once and shared");
+            assertSame(first[i], catalog.getAll().get(i));
+        }
+    }
+
+    /**
+     * TEST CASE: Neither the catalog nor its recipes can be changed by callers
+     */
+    @Test
+    public void testCatalogIsImmutable() {
+        RecipeCatalog catalog = RecipeCatalog.get();
+        Recipe recipe = catalog.findById(0);
+        assertThrows(UnsupportedOperationException.class, () -> catalog.getAll().clear());
+        assertThrows(UnsupportedOperationException.class, () -> catalog.ofType(BreakfastRecipe.class).remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> recipe.getIngredientList().get(0).setQuantityPerServing(0));
+        assertThrows(UnsupportedOperationException.class, () -> recipe.getIngredients()[0].setName("changed"));
+
+        recipe.getIngredients()[0] = null;
+        recipe.getInstructions()[0] = null;
+        assertNotNull(recipe.getIngredients()[0], "Recipe arrays should be copies");
+        assertNotNull(recipe.getInstructions()[0]);
+    }
+
+    // ---------- LOOKUP TESTS ----------
+
+    /**
+     * TEST CASE: Lookups by id, name and meal type match the library
+     */
+    @Test
+    public void testLookups() {
+        RecipeCatalog catalog = RecipeCatalog.get();
+        Recipe[] library = RecipeLibrary.getAll();
+        assertEquals(library.length, catalog.size());
+        for (Recipe r : library) {
+            assertSame(r, catalog.findById(r.getId()));
+            assertSame(r, catalog.findByName(r.getName().toUpperCase(java.util.Locale.ROOT)));
+        }
+        assertNull(catalog.findById(-1));
+        assertNull(catalog.findById(library.length));
+        assertNull(catalog.findByName("No Such Recipe"));
+        assertNull(catalog.findByName(null));
+
+        assertEquals(8, catalog.ofType(BreakfastRecipe.class).size());
+        assertEquals(8, catalog.ofType(LunchRecipe.class).size());
+        assertEquals(9, catalog.ofType(DinnerRecipe.class).size());
+        assertTrue(catalog.ofType(Recipe.class).isEmpty());
+        for (Recipe r : catalog.ofType(LunchRecipe.class)) {
+            assertInstanceOf(LunchRecipe.class, r);
+        }
+        assertArrayEquals(RecipeLibrary.getDinnerRecipes(),
+                catalog.ofType(DinnerRecipe.class).toArray(new Recipe[0]));
+    }
+}
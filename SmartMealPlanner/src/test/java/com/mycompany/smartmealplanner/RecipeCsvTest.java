@@ -0,0 +1,149 @@
+package com.mycompany.smartmealplanner;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.data.RecipeCatalog;
+import com.mycompany.smartmealplanner.data.RecipeCsv;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+/**
+ * Unit Test Class for the external CSV recipe catalog
+ *
+ * Checks that the bundled library survives a write and load unchanged,
+ * that quoting, optional columns and number formats are read correctly,
+ * and that malformed rows are rejected with their line number.
+ */
+public class RecipeCsvTest {
+
+    private static final String HEADER = "type,name,calories,protein,carbs,fat\n";
+
+    public RecipeCsvTest() {
+    }
+
+    // ---------- ROUND TRIP TESTS ----------
+
+    /**
+     * TEST CASE: The bundled library written as CSV loads back identical
+     */
+    @Test
+    public void testBundledLibraryRoundTrip() throws Exception {
+        List<Recipe> bundled = RecipeCatalog.get().getAll();
+        StringWriter csv = new StringWriter();
+        RecipeCsv.write(bundled, csv);
+
+        RecipeCatalog loaded = RecipeCsv.load(new StringReader(csv.toString()));
+        assertEquals(bundled.size(), loaded.size());
+        for (Recipe expected : bundled) {
+            Recipe actual = loaded.findById(expected.getId());
+            assertEquals(expected.getClass(), actual.getClass());
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getCalories(), actual.getCalories());
+            assertEquals(expected.getProtein(), actual.getProtein());
+            assertEquals(expected.getCarbs(), actual.getCarbs());
+            assertEquals(expected.getFat(), actual.getFat());
+            assertEquals(expected.getBaseServings(), actual.getBaseServings());
+            assertEquals(expected.getTotalTime(), actual.getTotalTime());
+            assertEquals(expected.getDifficulty(), actual.getDifficulty());
+            assertArrayEquals(expected.getInstructions(), actual.getInstructions());
+            assertEquals(expected.getIngredientList().size(), actual.getIngredientList().size());
+            for (int i = 0; i < expected.getIngredientList().size(); i++) {
+                Ingredient e = expected.getIngredientList().get(i);
+                Ingredient a = actual.getIngredientList().get(i);
+                assertEquals(e.getName(), a.getName());
+                assertEquals(e.getUnit(), a.getUnit());
+                assertEquals(e.getQuantityPerServing(), a.getQuantityPerServing());
+            }
+        }
+        assertSame(loaded.findById(0), loaded.findByName(bundled.get(0).getName()));
+        assertNotSame(RecipeCatalog.get(), loaded);
+    }
+
+    // ---------- PARSING TESTS ----------
+
+    /**
+     * TEST CASE: Quoted fields, reordered and missing optional columns and number formats
+     */
+    @Test
+    public void testParsesQuotingAndOptionalColumns() throws Exception {
+        String csv = "\uFEFFname,fat,carbs,protein,calories,type,ingredients,servings\r\n"
+                + "\"Rice, \"\"Fried\"\"\",12.5,80,1e1,640.25, Dinner ,rice:150:g;eggs:2:pc;rice:0.1:g,2\r\n"
+                + "\r\n"
+                + "\"Two\nLine Oats\",5,60,14,370,breakfast,oats:60:g\n"
+                + "Plain Toast,3,30,6,180,LUNCH";
+        RecipeCatalog catalog = RecipeCsv.load(new StringReader(csv));
+        assertEquals(3, catalog.size());
+
+        Recipe rice = catalog.findById(0);
+        assertInstanceOf(DinnerRecipe.class, rice);
+        assertEquals("Rice, \"Fried\"", rice.getName());
+        assertEquals(640.25, rice.getCalories());
+        assertEquals(10.0, rice.getProtein());
+        assertEquals(12.5, rice.getFat());
+        assertEquals(2.0, rice.getBaseServings());
+        assertEquals(3, rice.getIngredientList().size());
+        assertSame(rice.getIngredientList().get(0).getName(), rice.getIngredientList().get(2).getName(),
+                "Repeated ingredient names should be shared");
+        assertEquals(0.1, rice.getIngredientList().get(2).getQuantityPerServing());
+
+        assertInstanceOf(BreakfastRecipe.class, catalog.findById(1));
+        assertEquals("Two\nLine Oats", catalog.findById(1).getName());
+        Recipe toast = catalog.findByName("plain toast");
+        assertInstanceOf(LunchRecipe.class, toast);
+        assertEquals(2, toast.getId());
+        assertEquals(1.0, toast.getBaseServings());
+        assertEquals(0, toast.getIngredientList().size());
+        assertEquals(30, toast.getTotalTime());
+    }
+
+    /**
+     * TEST CASE: Decimals read from characters equal Double.parseDouble
+     */
+    @Test
+    public void testDecimalsMatchParseDouble() throws Exception {
+        String[] values = { "0.1", "0.3", "123.456", "2.675", "1.0000000000000002", "99999.99999", "0.000001",
+                "4503599627370497", "7", "5.", ".5", "-0.0" };
+        StringBuilder csv = new StringBuilder("type,name,calories,protein,carbs,fat,servings\n");
+        for (String value : values) {
+            csv.append("lunch,").append(value).append(",1,1,1,1,").append(value.startsWith("-") ? "1" : value).append('\n');
+        }
+        RecipeCatalog catalog = RecipeCsv.load(new StringReader(csv.toString()));
+        for (int i = 0; i < values.length; i++) {
+            if (!values[i].startsWith("-")) {
+                assertEquals(Double.parseDouble(values[i]), catalog.findById(i).getBaseServings(), values[i]);
+            }
+        }
+    }
+
+    // ---------- VALIDATION TESTS ----------
+
+    /**
+     * TEST CASE: Malformed rows are rejected with the line they start on
+     */
+    @Test
+    public void testRejectsInvalidRows() {
+        assertInvalid(HEADER + "snack,Chips,100,1,10,5", "line 2", "meal type");
+        assertInvalid(HEADER + "lunch,Salad,-5,1,10,5", "line 2", "calories");
+        assertInvalid(HEADER + "lunch,Salad,NaN,1,10,5", "line 2", "finite");
+        assertInvalid(HEADER + "lunch,Salad,100,abc,10,5", "line 2", "protein");
+        assertInvalid(HEADER + "\nlunch,Salad,100,1,10", "line 3", "fat");
+        assertInvalid(HEADER + "lunch,\"Salad,100,1,10,5", "line 2", "quoted");
+        assertInvalid("type,name,calories,protein,carbs\n", "line 1", "fat");
+        assertInvalid("type,name,calories,protein,carbs,fat,ingredients\nlunch,Salad,100,1,10,5,lettuce:50",
+                "line 2", "ingredient");
+        assertInvalid("type,name,calories,protein,carbs,fat,servings\nlunch,Salad,100,1,10,5,0",
+                "line 2", "servings");
+        assertInvalid("", "line", "header");
+    }
+
+    private static void assertInvalid(String csv, String... fragments) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> RecipeCsv.load(new StringReader(csv)));
+        for (String fragment : fragments) {
+            assertTrue(e.getMessage().contains(fragment), e.getMessage() + " should mention " + fragment);
+        }
+    }
+}
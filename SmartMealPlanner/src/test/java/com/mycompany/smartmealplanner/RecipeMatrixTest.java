@@ -0,0 +1,153 @@
+package com.mycompany.smartmealplanner;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.Planner;
+import com.mycompany.smartmealplanner.service.RecipeMatrix;
+import com.mycompany.smartmealplanner.data.RecipeLibrary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * Unit Test Class for the columnar RecipeMatrix and MealTypeIndex
+ *
+ * Checks that the matrix mirrors the source recipes, that the index
+ * partitions them by slot, and that the planner picks exactly what the
+ * original object-based greedy scan picked.
+ */
+public class RecipeMatrixTest {
+
+    public RecipeMatrixTest() {
+    }
+
+    // ===== TEST FIELDS =====
+    private Planner planner;                    // Planner service under test
+    private Recipe[] recipes;                   // Bundled recipe library
+    private Macro target;                       // Standard daily target
+
+    @BeforeEach
+    public void setUp() {
+        planner = new Planner();
+        recipes = RecipeLibrary.getAll();
+        target = new Macro(2200, 120, 250, 70);
+    }
+
+    // ---------- COLUMN TESTS ----------
+
+    /**
+     * TEST CASE: Columns mirror the source recipes row by row
+     */
+    @Test
+    public void testColumnsMatchRecipes() {
+        RecipeMatrix matrix = RecipeMatrix.of(recipes);
+
+        assertEquals(recipes.length, matrix.size(), "One row per recipe");
+
+        for (int i = 0; i < recipes.length; i++) {
+            assertSame(recipes[i], matrix.getRecipe(i), "Row should point at its recipe");
+            assertEquals(recipes[i].getCalories(), matrix.getCalories(i));
+            assertEquals(recipes[i].getProtein(), matrix.getProtein(i));
+            assertEquals(recipes[i].getCarbs(), matrix.getCarbs(i));
+            assertEquals(recipes[i].getFat(), matrix.getFat(i));
+            assertEquals(i, matrix.getId(i), "Id column should hold the library position");
+        }
+    }
+
+    /**
+     * TEST CASE: Meal-type column uses the slot codes
+     */
+    @Test
+    public void testMealTypeCodes() {
+        RecipeMatrix matrix = RecipeMatrix.of(recipes);
+
+        for (int i = 0; i < recipes.length; i++) {
+            int expected = switch (recipes[i].getMealType()) {
+                case "Breakfast" -> RecipeMatrix.BREAKFAST;
+                case "Lunch" -> RecipeMatrix.LUNCH;
+                default -> RecipeMatrix.DINNER;
+            };
+            assertEquals(expected, matrix.getMealType(i), "Wrong code for " + recipes[i].getName());
+        }
+    }
+
+    // ---------- MEAL TYPE INDEX TESTS ----------
+
+    /**
+     * TEST CASE: Each slot slice holds only its own meal type, in library order
+     * - Slice ids point back at the recipe's position in the full library
+     */
+    @Test
+    public void testIndexPartitionsBySlot() {
+        MealTypeIndex index = MealTypeIndex.of(recipes);
+        int total = 0;
+
+        for (int slot = RecipeMatrix.BREAKFAST; slot <= RecipeMatrix.DINNER; slot++) {
+            RecipeMatrix slice = index.slot(slot);
+            total += slice.size();
+
+            for (int row = 0; row < slice.size(); row++) {
+                assertEquals(slot, slice.getMealType(row), "Slice should hold a single meal type");
+                assertSame(recipes[slice.getId(row)], slice.getRecipe(row), "Id should be the library position");
+                if (row > 0) {
+                    assertTrue(slice.getId(row) > slice.getId(row - 1), "Slice should keep library order");
+                }
+            }
+        }
+
+        assertEquals(recipes.length, total, "Every bundled recipe belongs to exactly one slot");
+    }
+
+    /**
+     * TEST CASE: Index stays valid only while the library is unchanged
+     */
+    @Test
+    public void testIndexMatchesLibrary() {
+        MealTypeIndex index = MealTypeIndex.of(recipes);
+
+        assertTrue(index.matches(recipes), "Same recipes should match");
+        assertTrue(index.matches(recipes.clone()), "A copy with the same recipes should match");
+        assertTrue(index.matches(RecipeLibrary.getAll()), "The library shares one set of recipes");
+
+        Recipe[] changed = recipes.clone();
+        changed[0] = recipes[1];
+        assertFalse(index.matches(changed), "Replacing a recipe should invalidate the index");
+        assertFalse(index.matches(java.util.Arrays.copyOf(recipes, recipes.length - 1)), "Removing a recipe should invalidate the index");
+    }
+
+    // ---------- PARITY TESTS ----------
+
+    /**
+     * TEST CASE: Matrix planner matches the original scan on the bundled library
+     */
+    @Test
+    public void testPlanMatchesReferenceOnBundledLibrary() {
+        Macro[] targets = {
+            target,
+            new Macro(1500, 100, 150, 50),
+            new Macro(3254, 203, 366, 108),
+            new Macro(1800, 160, 120, 60)
+        };
+
+        for (Macro t : targets) {
+            PlannerReference.assertSamePlan(PlannerReference.buildPlan(7, t, recipes), planner.buildPlan(7, t, recipes));
+        }
+    }
+
+    /**
+     * TEST CASE: Matrix planner matches the original scan on a larger random library
+     */
+    @Test
+    public void testPlanMatchesReferenceOnSyntheticLibrary() {
+        Recipe[] lib = PlannerReference.syntheticLibrary(600, new Random(7));
+        Random random = new Random(11);
+
+        for (int i = 0; i < 5; i++) {
+            Macro t = new Macro(1500 + random.nextInt(2000), 80 + random.nextInt(150),
+                                120 + random.nextInt(300), 40 + random.nextInt(80));
+            PlannerReference.assertSamePlan(PlannerReference.buildPlan(5, t, lib), planner.buildPlan(5, t, lib));
+        }
+    }
+}
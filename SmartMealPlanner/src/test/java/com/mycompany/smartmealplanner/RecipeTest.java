@@ -1,6 +1,7 @@
 package com.mycompany.smartmealplanner;
 
 import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.data.RecipeLibrary;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
@@ -141,4 +142,72 @@ public class RecipeTest {
         assertEquals("Lunch", lunch.getMealType());
         assertEquals("Dinner", dinner.getMealType());
     }
-}
\ No newline at end of file
+    
+    /**
+     * Test catalog ids - position in the library, stable across calls
+     */
+    @Test
+    public void testCatalogIds() {
+        Recipe[] first = RecipeLibrary.getAll();
+        Recipe[] second = RecipeLibrary.getAll();
+        
+        for (int i = 0; i < first.length; i++) {
+            assertEquals(i, first[i].getId(), "Id should be the catalog position");
+            assertTrue(first[i].isSameRecipe(second[i]), "Rebuilt recipe should be the same recipe");
+            assertSame(first[i], RecipeLibrary.findById(first, i));
+        }
+        assertNull(RecipeLibrary.findById(first, first.length));
+        assertNull(RecipeLibrary.findById(first, Recipe.NO_ID));
+        
+        Recipe breakfast = RecipeLibrary.getBreakfastRecipes()[0];
+        assertEquals(first[0].getId(), breakfast.getId(), "Meal lists should keep catalog ids");
+    }
+    
+    /**
+     * Test recipe identity - ids when both have one, names otherwise
+     */
+    @Test
+    public void testSameRecipe() {
+        Recipe copy = new LunchRecipe("chicken bowl", ingredients, 450, 35, 50, 12);
+        assertEquals(Recipe.NO_ID, testRecipe.getId());
+        assertTrue(testRecipe.isSameRecipe(copy), "Without ids the name decides, ignoring case");
+        
+        testRecipe.assignId(3);
+        copy.assignId(4);
+        assertFalse(testRecipe.isSameRecipe(copy), "Different ids are different recipes");
+        assertFalse(testRecipe.isSameRecipe(null));
+        
+        testRecipe.assignId(3);   // Same id again is allowed
+        assertThrows(IllegalStateException.class, () -> testRecipe.assignId(5));
+        assertThrows(IllegalArgumentException.class, () -> copy.assignId(-2));
+    }
+    
+    /**
+     * Test selection caching - macros match macrosFor and scaled ingredients are one shared read-only view
+     */
+    @Test
+    public void testSelectionCachesScaledValues() {
+        RecipeSelection selection = new RecipeSelection(testRecipe, 2.0);
+        Macro expected = testRecipe.macrosFor(2.0);
+        
+        assertEquals(expected.getCalories(), selection.getMacros().getCalories());
+        assertEquals(expected.getFat(), selection.getFat());
+        assertNotSame(selection.getMacros(), selection.getMacros(), "Macro is mutable, so each call gets a copy");
+        
+        java.util.List<Ingredient> scaled = selection.getScaledIngredients();
+        assertSame(scaled, selection.getScaledIngredients(), "Scaled ingredients should be built once");
+        assertEquals(3, scaled.size());
+        assertEquals(300, scaled.get(0).getQuantityPerServing(), 0.01, "Chicken should be doubled");
+        assertEquals(150, ingredients[0].getQuantityPerServing(), 0.01, "Recipe ingredients should be untouched");
+        assertSame(scaled.get(1), selection.getIngredients()[1]);
+        assertNotSame(selection.getIngredients(), selection.getIngredients(), "Arrays can be changed, so each call gets one");
+        
+        assertThrows(UnsupportedOperationException.class, () -> scaled.set(0, ingredients[0]));
+        assertThrows(UnsupportedOperationException.class, () -> scaled.get(0).setQuantityPerServing(1));
+        assertThrows(UnsupportedOperationException.class, () -> selection.getIngredients()[0].setName("tofu"));
+        
+        PlanDay day = new PlanDay(1, selection, null, selection);
+        assertEquals(6, day.getAllIngredients().length);
+        assertSame(scaled.get(2), day.getAllIngredients()[5]);
+    }
+}
@@ -0,0 +1,119 @@
+package com.mycompany.smartmealplanner;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.Planner;
+import com.mycompany.smartmealplanner.service.RecipeMatrix;
+import com.mycompany.smartmealplanner.service.ScoringKernel;
+import com.mycompany.smartmealplanner.data.RecipeLibrary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Random;
+
+/**
+ * Unit Test Class for the SIMD scoring kernel
+ *
+ * The build runs tests with --add-modules jdk.incubator.vector, so the
+ * vector kernel is available here. Checks that it picks exactly what the
+ * scalar scan picks, including ties between recipes and serving steps,
+ * and the repeat penalty in full blocks and in the leftover rows.
+ */
+public class ScoringKernelTest {
+
+    public ScoringKernelTest() {
+    }
+
+    // ===== TEST FIELDS =====
+    private Planner scalar;           // Planner forced to the scalar scan
+    private Planner vector;           // Planner using the Vector API scan
+
+    @BeforeEach
+    public void setUp() {
+        assumeTrue(ScoringKernel.VECTOR.isAvailable(), "Vector API module not loaded");
+        scalar = new Planner();
+        scalar.setScoringKernel(ScoringKernel.SCALAR);
+        vector = new Planner();
+        vector.setScoringKernel(ScoringKernel.VECTOR);
+    }
+
+    // ---------- SELECTION TESTS ----------
+
+    /**
+     * TEST CASE: Vector kernel is picked by default when the module is present
+     */
+    @Test
+    public void testDetectsVectorKernel() {
+        assertEquals(ScoringKernel.VECTOR, ScoringKernel.detect());
+        assertEquals(ScoringKernel.VECTOR, new Planner().getScoringKernel());
+        assertTrue(ScoringKernel.SCALAR.isAvailable());
+    }
+
+    // ---------- PARITY TESTS ----------
+
+    /**
+     * TEST CASE: Same pick as the scalar scan for random slots, targets and serving steps
+     * - Odd library sizes leave rows after the last full vector block
+     * - Duplicated recipes and whole-number macros force exact score ties
+     */
+    @Test
+    public void testPickBestParity() {
+        Random random = new Random(13);
+        Macro zero = new Macro(0, 0, 0, 0);
+        double[] steps = { 0.5, 0.25, 0.1, 0.05 };
+
+        for (int size : new int[] { 1, 5, 37, 1001 }) {
+            Recipe[] lib = withDuplicates(PlannerReference.syntheticLibrary(size * 3, random), random);
+            MealTypeIndex index = MealTypeIndex.of(lib);
+
+            for (int trial = 0; trial < 40; trial++) {
+                double step = steps[trial % steps.length];
+                scalar.setServingStep(step);
+                vector.setServingStep(step);
+                RecipeMatrix slot = index.slot(trial % 3);
+                Macro target = new Macro(200 + random.nextInt(900), 10 + random.nextInt(60),
+                        20 + random.nextInt(120), 5 + random.nextInt(40));
+                Recipe prev = (trial % 2 == 0) ? null : slot.getRecipe(random.nextInt(slot.size()));
+
+                PlannerReference.assertSameSelection(
+                        scalar.pickBest(zero, target, slot, RecipeMatrix.ANY, prev),
+                        vector.pickBest(zero, target, slot, RecipeMatrix.ANY, prev));
+            }
+        }
+    }
+
+    /**
+     * TEST CASE: Whole plans match, with yesterday's recipe in every slot
+     */
+    @Test
+    public void testBuildPlanParity() {
+        Recipe[] synthetic = PlannerReference.syntheticLibrary(2000, new Random(5));
+        Macro target = new Macro(2200, 120, 250, 70);
+
+        for (Recipe[] lib : new Recipe[][] { RecipeLibrary.getAll(), synthetic }) {
+            PlanDay[] expected = scalar.buildPlan(14, target, lib);
+            PlanDay[] actual = vector.buildPlan(14, target, lib);
+            PlannerReference.assertSamePlan(expected, actual);
+        }
+    }
+
+    // Library where every fourth recipe is followed by a copy of an earlier one (same macros, new name)
+    private static Recipe[] withDuplicates(Recipe[] base, Random random) {
+        Recipe[] lib = base.clone();
+        for (int i = 3; i < lib.length; i += 4) {
+            Recipe copy = lib[random.nextInt(i)];
+            String name = "Copy " + i;
+            lib[i] = switch (RecipeMatrix.mealTypeOf(copy)) {
+                case RecipeMatrix.BREAKFAST -> new BreakfastRecipe(name, copy.getIngredients(),
+                        copy.getCalories(), copy.getProtein(), copy.getCarbs(), copy.getFat());
+                case RecipeMatrix.LUNCH -> new LunchRecipe(name, copy.getIngredients(),
+                        copy.getCalories(), copy.getProtein(), copy.getCarbs(), copy.getFat());
+                default -> new DinnerRecipe(name, copy.getIngredients(),
+                        copy.getCalories(), copy.getProtein(), copy.getCarbs(), copy.getFat());
+            };
+        }
+        return lib;
+    }
+}
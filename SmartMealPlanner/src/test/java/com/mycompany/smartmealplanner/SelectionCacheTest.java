@@ -0,0 +1,171 @@
+package com.mycompany.smartmealplanner;
+
+import com.mycompany.smartmealplanner.model.*;
+import com.mycompany.smartmealplanner.service.CandidateSearch;
+import com.mycompany.smartmealplanner.service.MealTypeIndex;
+import com.mycompany.smartmealplanner.service.PlanBatchService;
+import com.mycompany.smartmealplanner.service.PlanBatchService.Job;
+import com.mycompany.smartmealplanner.service.PlanBatchService.Result;
+import com.mycompany.smartmealplanner.service.PlanBatchService.ResultOrder;
+import com.mycompany.smartmealplanner.service.Planner;
+import com.mycompany.smartmealplanner.service.SelectionCache;
+import com.mycompany.smartmealplanner.service.ServingSolver;
+import com.mycompany.smartmealplanner.data.RecipeLibrary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Unit Test Class for the slot selection cache
+ *
+ * Checks that cached plans are the plans the planner would build anyway,
+ * that repeated targets hit, that the cache stays within its capacity,
+ * that a changed library never serves stale selections, and that
+ * planners with other settings never share selections.
+ */
+public class SelectionCacheTest {
+
+    public SelectionCacheTest() {
+    }
+
+    // ===== TEST FIELDS =====
+    private Planner plain;            // Planner without a cache
+    private Planner cached;           // Planner with a cache
+    private SelectionCache cache;     // Cache under test
+    private Recipe[] recipes;         // Bundled recipe library
+    private Macro target;             // Whole-number daily target, as MacroCalculator produces
+
+    @BeforeEach
+    public void setUp() {
+        plain = new Planner();
+        cache = new SelectionCache(1000);
+        cached = new Planner();
+        cached.setSelectionCache(cache);
+        recipes = RecipeLibrary.getAll();
+        target = new Macro(2200, 120, 250, 70);
+    }
+
+    // ---------- CORRECTNESS TESTS ----------
+
+    /**
+     * TEST CASE: Cached plans match uncached plans for whole-number targets
+     */
+    @Test
+    public void testCachedPlanMatchesUncached() {
+        Recipe[] synthetic = PlannerReference.syntheticLibrary(600, new Random(2));
+        Macro[] targets = { target, new Macro(1500, 100, 150, 50), new Macro(3254, 203, 366, 108) };
+
+        for (int round = 0; round < 2; round++) {   // second round is served from the cache
+            for (Macro t : targets) {
+                PlannerReference.assertSamePlan(plain.buildPlan(7, t, recipes), cached.buildPlan(7, t, recipes));
+                PlannerReference.assertSamePlan(plain.buildPlan(7, t, synthetic), cached.buildPlan(7, t, synthetic));
+            }
+        }
+        assertTrue(cache.getHits() > 0, "Second round should hit");
+    }
+
+    /**
+     * TEST CASE: Users with the same target share selections
+     * - First plan misses once per new key, an identical second plan only hits
+     */
+    @Test
+    public void testHitAndMissCounters() {
+        cached.buildPlan(5, target, recipes);
+        long misses = cache.getMisses();
+        long hits = cache.getHits();
+        assertTrue(misses > 0);
+        assertEquals(15, misses + hits, "One lookup per meal");
+        assertEquals(misses, cache.size(), "Every miss should be stored");
+
+        cached.buildPlan(5, new Macro(2200, 120, 250, 70), recipes);
+        assertEquals(misses, cache.getMisses(), "Same target should not miss again");
+        assertEquals(hits + 15, cache.getHits(), "Every slot of the second plan should hit");
+    }
+
+    /**
+     * TEST CASE: Cache never grows past its capacity and counts evictions
+     */
+    @Test
+    public void testEvictionsWhenFull() {
+        SelectionCache small = new SelectionCache(16);
+        cached.setSelectionCache(small);
+        Random random = new Random(8);
+
+        for (int i = 0; i < 50; i++) {
+            cached.buildPlan(2, new Macro(1500 + random.nextInt(2000), 100, 200, 60), recipes);
+        }
+        assertTrue(small.size() <= 16, "Size " + small.size() + " exceeds capacity");
+        assertTrue(small.getEvictions() > 0, "Full cache should evict");
+        assertEquals(small.getMisses(), small.size() + small.getEvictions());
+        assertThrows(IllegalArgumentException.class, () -> new SelectionCache(0));
+    }
+
+    /**
+     * TEST CASE: A changed library gets new keys, so old selections are never served
+     */
+    @Test
+    public void testLibraryChangeInvalidates() {
+        cached.buildPlan(3, target, recipes);
+        long misses = cache.getMisses();
+
+        // Same recipes except the first breakfast, which now has very different macros
+        Recipe[] changed = recipes.clone();
+        changed[0] = new BreakfastRecipe("Changed Oats", recipes[0].getIngredients(), 900, 60, 80, 30,
+                recipes[0].getInstructions(), 5, 10, "Easy");
+
+        assertNotEquals(MealTypeIndex.of(recipes).getVersion(), MealTypeIndex.of(recipes).getVersion(),
+                "Every index should get its own version");
+        PlannerReference.assertSamePlan(plain.buildPlan(3, target, changed), cached.buildPlan(3, target, changed));
+        assertTrue(cache.getMisses() > misses, "New library should miss");
+    }
+
+    /**
+     * TEST CASE: Planners configured differently never share each other's selections
+     */
+    @Test
+    public void testPlannerSettingsAreKeyed() {
+        MealTypeIndex index = MealTypeIndex.of(recipes);
+        cached.buildPlan(3, target, index);
+        long misses = cache.getMisses();
+
+        Planner other = new Planner();
+        other.setServingSolver(ServingSolver.CLOSED_FORM);
+        other.setCandidateSearch(CandidateSearch.KD_TREE);
+        other.setSelectionCache(cache);
+        long hits = cache.getHits();
+        other.buildPlan(3, target, index);
+        assertEquals(hits, cache.getHits(), "Another configuration should not hit the first planner's entries");
+        assertTrue(cache.getMisses() > misses);
+
+        Planner same = new Planner();
+        same.setSelectionCache(cache);
+        same.buildPlan(3, target, index);
+        assertEquals(hits + 9, cache.getHits(), "The same configuration shares every selection");
+    }
+
+    /**
+     * TEST CASE: One cache shared by concurrent batch planning gives sequential results
+     */
+    @Test
+    public void testConcurrentPlanners() {
+        MealTypeIndex index = MealTypeIndex.of(recipes);
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            jobs.add(new Job(null, 7, new Macro(1800 + 100 * (i % 5), 120, 220, 65)));
+        }
+
+        try (PlanBatchService service = PlanBatchService.withForkJoinPool(cached, index, 4)) {
+            List<Result> results = service.run(jobs.stream(), ResultOrder.INPUT).collect(Collectors.toList());
+            for (Result result : results) {
+                assertTrue(result.isSuccess());
+                PlannerReference.assertSamePlan(plain.buildPlan(7, result.getJob().getTarget(), recipes), result.getPlan());
+            }
+        }
+        assertTrue(cache.getHits() > cache.getMisses(), "Five distinct targets should mostly hit");
+    }
+}
@@ -2,12 +2,21 @@ package com.mycompany.smartmealplanner;
 
 import com.mycompany.smartmealplanner.model.User;
 import com.mycompany.smartmealplanner.model.Macro;
+import com.mycompany.smartmealplanner.model.PlanDay;
+import com.mycompany.smartmealplanner.model.Ingredient;
+import com.mycompany.smartmealplanner.model.LunchRecipe;
+import com.mycompany.smartmealplanner.model.Recipe;
+import com.mycompany.smartmealplanner.model.RecipeSelection;
+import com.mycompany.smartmealplanner.data.RecipeLibrary;
+import com.mycompany.smartmealplanner.service.Planner;
 import com.mycompany.smartmealplanner.service.UserManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.*;
 import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
 
 /**
  * Unit Test Class for UserManager Service
@@ -333,4 +342,204 @@ public class UserManagerTest {
         assertEquals(5, reloadedUser.getSavedDays(), 
             "Days setting should persist between sessions");
     }
-}
\ No newline at end of file
+    
+    // ---------- MEAL PLAN PERSISTENCE TESTS ----------
+    
+    /**
+     * TEST CASE: Saved meal plan is restored by recipe id
+     * - Save a plan, check the file holds ids rather than names, reload it
+     */
+    @Test
+    public void testMealPlanRoundTrip() throws IOException {
+        Recipe[] recipes = RecipeLibrary.getAll();
+        User user = UserManager.register(testUsername, testPassword);
+        assertNotNull(user, "User should be created");
+        user.setSavedDays(2);
+        user.setLastPlan(new PlanDay[] {
+            new PlanDay(1, new RecipeSelection(recipes[3], 2.0), new RecipeSelection(recipes[13], 1.5),
+                    new RecipeSelection(recipes[17], 2.5)),
+            new PlanDay(2, new RecipeSelection(recipes[7], 1.0), null, new RecipeSelection(recipes[24], 1.0))
+        });
+        UserManager.saveUser(user);
+        
+        String saved = new String(java.nio.file.Files.readAllBytes(new File("users/" + testUsername + ".dat").toPath()));
+        assertTrue(saved.contains("plan_format=" + User.PLAN_FORMAT), "Plan format should be recorded");
+        assertTrue(saved.contains("plan_day_0=3,2000,13,1500,17,2500"), "Plan should be saved by id in thousandth-servings");
+        assertTrue(saved.contains("plan_day_1=7,1000,-1,0,24,1000"), "Empty meal should be saved as no recipe");
+        
+        PlanDay[] loaded = UserManager.loadUser(testUsername).getLastPlan();
+        assertEquals(2, loaded.length);
+        assertEquals(recipes[3].getName(), loaded[0].getBreakfast().getRecipe().getName());
+        assertEquals(1.5, loaded[0].getLunch().getServings(), 0.01);
+        assertEquals(recipes[17].getName(), loaded[0].getDinner().getRecipe().getName());
+        assertNull(loaded[1].getLunch(), "Empty meal should stay empty");
+        assertEquals(recipes[24].getName(), loaded[1].getDinner().getRecipe().getName());
+    }
+    
+    /**
+     * TEST CASE: A plan with a recipe from outside the catalog is not saved as empty meals
+     * - The save is refused and the previous file is kept
+     */
+    @Test
+    public void testPlanWithoutCatalogIdIsRefused() throws IOException {
+        Recipe[] recipes = RecipeLibrary.getAll();
+        User user = UserManager.register(testUsername, testPassword);
+        assertNotNull(user, "User should be created");
+        user.setLastPlan(new PlanDay[] {
+            new PlanDay(1, new RecipeSelection(recipes[3], 1.0), new RecipeSelection(recipes[13], 1.0),
+                    new RecipeSelection(recipes[17], 1.0))
+        });
+        UserManager.saveUser(user);
+        
+        Recipe adHoc = new LunchRecipe("Leftover Soup", new Ingredient[] {
+            new Ingredient("stock", "ml", 300) }, 200, 10, 20, 5);
+        PlanDay day = new PlanDay(1, new RecipeSelection(recipes[3], 1.0), new RecipeSelection(adHoc, 1.0),
+                new RecipeSelection(recipes[17], 1.0));
+        assertThrows(IllegalArgumentException.class, () -> User.planDayEntry(0, day));
+        user.setLastPlan(new PlanDay[] { day });
+        UserManager.saveUser(user);
+        
+        PlanDay[] loaded = UserManager.loadUser(testUsername).getLastPlan();
+        assertEquals(recipes[13].getName(), loaded[0].getLunch().getRecipe().getName(),
+                "Refused save should leave the previous plan in place");
+    }
+    
+    /**
+     * TEST CASE: Plans saved before recipe ids still load by name
+     */
+    @Test
+    public void testLegacyMealPlanLoads() throws IOException {
+        try (FileWriter writer = new FileWriter("users/" + testUsername + ".dat")) {
+            writer.write("username=" + testUsername + "\n"
+                    + "password=" + testPassword.hashCode() + "\n"
+                    + "days=1\n"
+                    + "plan_exists=true\n"
+                    + "plan_day_0=Avocado Toast with Eggs,2.0,Burrito Bowl,2.0,Stir-Fry Tofu & Veg,2.5\n");
+        }
+        
+        PlanDay[] loaded = UserManager.loadUser(testUsername).getLastPlan();
+        assertEquals("Avocado Toast with Eggs", loaded[0].getBreakfast().getRecipe().getName());
+        assertEquals("Burrito Bowl", loaded[0].getLunch().getRecipe().getName());
+        assertEquals("Stir-Fry Tofu & Veg", loaded[0].getDinner().getRecipe().getName());
+        assertEquals(2.5, loaded[0].getDinner().getServings(), 0.01);
+        assertTrue(loaded[0].getDinner().getRecipe().getId() >= 0, "Legacy plan should get catalog recipes");
+    }
+    
+    /**
+     * TEST CASE: Plans saved with decimal servings (format 2) still load
+     */
+    @Test
+    public void testDecimalServingsPlanLoads() throws IOException {
+        Recipe[] recipes = RecipeLibrary.getAll();
+        try (FileWriter writer = new FileWriter("users/" + testUsername + ".dat")) {
+            writer.write("username=" + testUsername + "\n"
+                    + "password=" + testPassword.hashCode() + "\n"
+                    + "days=1\n"
+                    + "plan_exists=true\n"
+                    + "plan_format=2\n"
+                    + "plan_day_0=3,2.0,13,1.5,17,2.5\n");
+        }
+        
+        PlanDay[] loaded = UserManager.loadUser(testUsername).getLastPlan();
+        assertEquals(recipes[13].getName(), loaded[0].getLunch().getRecipe().getName());
+        assertEquals(1.5, loaded[0].getLunch().getServings());
+        assertEquals(2500, loaded[0].getDinner().getMilliServings());
+    }
+    
+    /**
+     * TEST CASE: A corrupt day key does not size the plan
+     * - A huge key or a gap drops the plan but still logs the user in
+     */
+    @Test
+    public void testCorruptPlanDayKeyIsRejected() throws IOException {
+        try (FileWriter writer = new FileWriter("users/" + testUsername + ".dat")) {
+            writer.write("username=" + testUsername + "\n"
+                    + "password=" + testPassword.hashCode() + "\n"
+                    + "days=2\n"
+                    + "plan_exists=true\n"
+                    + "plan_format=3\n"
+                    + "plan_day_0=3,2000,13,1500,17,2500\n"
+                    + "plan_day_2000000000=3,2000,13,1500,17,2500\n");
+        }
+        User user = UserManager.loadUser(testUsername);
+        assertNotNull(user, "User should still load");
+        assertNull(user.getLastPlan(), "Plan with an out-of-range day should be dropped");
+        
+        try (FileWriter writer = new FileWriter("users/" + testUsername + ".dat")) {
+            writer.write("username=" + testUsername + "\n"
+                    + "password=" + testPassword.hashCode() + "\n"
+                    + "days=3\n"
+                    + "plan_exists=true\n"
+                    + "plan_format=3\n"
+                    + "plan_day_0=3,2000,13,1500,17,2500\n"
+                    + "plan_day_2=3,2000,13,1500,17,2500\n");
+        }
+        user = UserManager.loadUser(testUsername);
+        assertNotNull(user, "User should still load");
+        assertNull(user.getLastPlan(), "Plan with a missing day should be dropped");
+    }
+    
+    /**
+     * TEST CASE: A plan saved day by day as it is produced matches a plan saved in one go
+     */
+    @Test
+    public void testStreamedPlanSave() throws IOException {
+        Planner planner = new Planner();
+        User user = UserManager.register(testUsername, testPassword);
+        assertNotNull(user, "User should be created");
+        Macro target = user.getSavedTargets();
+        
+        int written = UserManager.saveUser(user, planner.streamPlan(30, target, RecipeLibrary.getAll()).iterator());
+        assertEquals(30, written, "Every day should be written");
+        assertNull(user.getLastPlan(), "Streaming save should not keep the plan");
+        String streamed = new String(java.nio.file.Files.readAllBytes(new File("users/" + testUsername + ".dat").toPath()));
+        
+        user.setLastPlan(planner.buildPlan(30, target, RecipeLibrary.getAll()));
+        assertEquals(user.toFileString(), streamed, "Same file either way");
+        
+        PlanDay[] loaded = UserManager.loadUser(testUsername).getLastPlan();
+        assertEquals(30, loaded.length, "Plan length comes from the saved days, not the days setting");
+    }
+    
+    /**
+     * TEST CASE: A streamed save that fails part way keeps the previous file
+     * - Neither a refused day nor an exception from the planner truncates it
+     */
+    @Test
+    public void testFailedStreamedSaveKeepsFile() throws IOException {
+        Recipe[] recipes = RecipeLibrary.getAll();
+        User user = UserManager.register(testUsername, testPassword);
+        assertNotNull(user, "User should be created");
+        Macro target = user.getSavedTargets();
+        UserManager.saveUser(user, new Planner().streamPlan(5, target, recipes).iterator());
+        File userFile = new File("users/" + testUsername + ".dat");
+        String before = new String(java.nio.file.Files.readAllBytes(userFile.toPath()));
+        
+        PlanDay good = new Planner().buildPlan(1, target, recipes)[0];
+        PlanDay refused = new PlanDay(2, good.getBreakfast(),
+                new RecipeSelection(new LunchRecipe("Leftover Soup", new Ingredient[0], 200, 10, 20, 5), 1.0),
+                good.getDinner());
+        assertEquals(0, UserManager.saveUser(user, java.util.List.of(good, refused).iterator()));
+        
+        java.util.Iterator<PlanDay> failing = new java.util.Iterator<>() {
+            private boolean first = true;
+            public boolean hasNext() {
+                return true;
+            }
+            public PlanDay next() {
+                if (first) {
+                    first = false;
+                    return good;
+                }
+                throw new IllegalStateException("planner failed");
+            }
+        };
+        assertThrows(IllegalStateException.class, () -> UserManager.saveUser(user, failing));
+        
+        assertEquals(before, new String(java.nio.file.Files.readAllBytes(userFile.toPath())),
+                "Previous file should be untouched");
+        assertEquals(5, UserManager.loadUser(testUsername).getLastPlan().length);
+        String[] leftovers = new File("users").list((dir, name) -> name.startsWith(testUsername) && name.endsWith(".tmp"));
+        assertEquals(0, leftovers.length, "Temporary files should be removed");
+    }
+}